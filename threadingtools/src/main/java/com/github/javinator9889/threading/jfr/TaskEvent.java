@@ -0,0 +1,438 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.jfr;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@code TaskEvent} contains the <b>Java Flight Recorder</b> events emitted by the pools and the
+ * {@link com.github.javinator9889.threading.threads.notifyingthread.NotifyingThread}s, so the time
+ * spent by their tasks can be correlated with GC, lock contention, etc. at JDK Mission Control.
+ * <p>
+ * As the library is compiled for Java 8, the events are created at runtime by using {@code
+ * jdk.jfr.EventFactory}, accessed by reflection. Use {@link #isSupported()} for checking whether
+ * the running JVM supports them - if not, events are never enabled and emitting them does
+ * nothing.
+ * <p>
+ * Events are only created when they are {@linkplain #isEnabled() enabled} at a running recording,
+ * so instrumented code must check it first:
+ * <pre>{@code
+ * if (TaskEvent.REJECTED.isEnabled())
+ *     TaskEvent.REJECTED.emit(poolName, taskName, queueSize);
+ * }</pre>
+ * For <b>duration</b> events, {@link #begin()} starts the event (returning {@code null} if not
+ * enabled) and {@link #commit(Object, Object...)} ends it.
+ */
+public enum TaskEvent {
+    /**
+     * A task has been given to a pool, before including it at the queue. It is <b>disabled</b> by
+     * default, as there is one per task and {@link #EXECUTION} already contains the queue wait.
+     * <p>
+     * Values: pool name and task name.
+     */
+    ENQUEUED("TaskEnqueued",
+            "Task Enqueued",
+            "A task has been given to a pool",
+            false,
+            field(String.class, "pool", "Pool", false),
+            field(String.class, "task", "Task", false)),
+    /**
+     * <b>Duration</b> event of a task run by a pool, from its start to its end.
+     * <p>
+     * Values: pool name, task name and time the task waited at the queue, in nanoseconds.
+     */
+    EXECUTION("TaskExecution",
+            "Task Execution",
+            "A task has been run by a pool",
+            true,
+            field(String.class, "pool", "Pool", false),
+            field(String.class, "task", "Task", false),
+            field(long.class, "queueWait", "Queue Wait", true)),
+    /**
+     * A task has been given to the {@link java.util.concurrent.RejectedExecutionHandler} of a
+     * pool.
+     * <p>
+     * Values: pool name, task name and amount of queued tasks.
+     */
+    REJECTED("TaskRejected",
+            "Task Rejected",
+            "A task has been rejected by a pool",
+            true,
+            field(String.class, "pool", "Pool", false),
+            field(String.class, "task", "Task", false),
+            field(int.class, "queueSize", "Queue Size", false)),
+    /**
+     * <b>Duration</b> event of a {@code NotifyingThread} calling its subscribed classes - when
+     * calling them asynchronously, it only covers starting the new threads.
+     * <p>
+     * Values: thread name, amount of subscribed classes, whether the thread failed and whether
+     * the subscribed classes are called asynchronously.
+     */
+    LISTENER_DISPATCH("ListenerDispatch",
+            "Listener Dispatch",
+            "A NotifyingThread has called its subscribed classes",
+            true,
+            field(String.class, "thread", "Thread", false),
+            field(int.class, "listeners", "Listeners", false),
+            field(boolean.class, "failed", "Failed", false),
+            field(boolean.class, "asynchronous", "Asynchronous", false));
+
+    /**
+     * Prefix of the names of the events.
+     */
+    public static final String NAME_PREFIX = "com.github.javinator9889.threading.";
+
+    /**
+     * Category the events are shown under at JDK Mission Control.
+     */
+    public static final String CATEGORY = "ThreadingTools";
+
+    private final String mName;
+
+    /**
+     * {@code EventType#isEnabled()} bound to the event type - {@code null} if not supported.
+     */
+    private final MethodHandle mIsEnabled;
+
+    /**
+     * {@code EventFactory#newEvent()} bound to the event factory - {@code null} if not supported.
+     */
+    private final MethodHandle mNewEvent;
+
+    /**
+     * Creates the event type at the Flight Recorder.
+     *
+     * @param name             the simple name of the event.
+     * @param label            the name shown at JDK Mission Control.
+     * @param description      the description of the event.
+     * @param enabledByDefault whether the event is enabled when not configured by the recording.
+     * @param fields           the fields of the event, in the order values are given.
+     */
+    TaskEvent(@NotNull String name,
+              @NotNull String label,
+              @NotNull String description,
+              boolean enabledByDefault,
+              @NotNull Field... fields) {
+        mName = NAME_PREFIX + name;
+        MethodHandle[] handles = FlightRecorder.createEvent(mName,
+                label,
+                description,
+                enabledByDefault,
+                fields);
+        mIsEnabled = handles[0];
+        mNewEvent = handles[1];
+    }
+
+    /**
+     * Checks whether the running JVM supports Flight Recorder events (Java 11 or higher, or Java 8
+     * update 262 or higher).
+     *
+     * @return {@code true} if events can be emitted, else {@code false}.
+     */
+    public static boolean isSupported() {
+        return FlightRecorder.SUPPORTED;
+    }
+
+    /**
+     * Gets the name of this event at the Flight Recorder, used for configuring recordings.
+     *
+     * @return {@code String} with the name, such as {@code com.github.javinator9889.threading
+     * .TaskExecution}.
+     */
+    @NotNull
+    public String getName() {
+        return mName;
+    }
+
+    /**
+     * Checks whether this event is enabled at any running recording. This is a cheap check, and
+     * no event is created if it returns {@code false}.
+     *
+     * @return {@code true} if the event should be emitted, else {@code false}.
+     */
+    public boolean isEnabled() {
+        if (mIsEnabled == null)
+            return false;
+        try {
+            return (boolean) mIsEnabled.invokeExact();
+        } catch (Throwable ignored) {
+            return false;
+        }
+    }
+
+    /**
+     * Starts a new duration event.
+     *
+     * @return {@code Object} with the started event - {@code null} if this event is not
+     * {@linkplain #isEnabled() enabled}.
+     */
+    @Nullable
+    public Object begin() {
+        if (!isEnabled())
+            return null;
+        try {
+            Object event = (Object) mNewEvent.invokeExact();
+            FlightRecorder.BEGIN.invokeExact(event);
+            return event;
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * Ends a duration event, setting its values and giving it to the Flight Recorder.
+     *
+     * @param event  the event returned by {@link #begin()} - nothing is done if {@code null}.
+     * @param values the values of the event fields, in order.
+     */
+    public void commit(@Nullable Object event, Object... values) {
+        if (event == null)
+            return;
+        try {
+            for (int index = 0; index < values.length; ++index)
+                FlightRecorder.SET.invokeExact(event, index, values[index]);
+            FlightRecorder.COMMIT.invokeExact(event);
+        } catch (Throwable ignored) {
+            // a failing event must never break the instrumented code
+        }
+    }
+
+    /**
+     * Emits a new instant event with the given values, if it is {@linkplain #isEnabled()
+     * enabled}.
+     *
+     * @param values the values of the event fields, in order.
+     */
+    public void emit(Object... values) {
+        if (!isEnabled())
+            return;
+        try {
+            commit((Object) mNewEvent.invokeExact(), values);
+        } catch (Throwable ignored) {
+            // a failing event must never break the instrumented code
+        }
+    }
+
+    /**
+     * Describes a field of an event.
+     *
+     * @param type     the type of the field.
+     * @param name     the name of the field.
+     * @param label    the name shown at JDK Mission Control.
+     * @param timespan whether the field is a duration in nanoseconds.
+     *
+     * @return {@code Field} with the description.
+     */
+    private static Field field(@NotNull Class<?> type,
+                               @NotNull String name,
+                               @NotNull String label,
+                               boolean timespan) {
+        return new Field(type, name, label, timespan);
+    }
+
+    /**
+     * Description of a field of an event.
+     */
+    private static final class Field {
+        private final Class<?> mType;
+        private final String mName;
+        private final String mLabel;
+        private final boolean mTimespan;
+
+        private Field(@NotNull Class<?> type,
+                      @NotNull String name,
+                      @NotNull String label,
+                      boolean timespan) {
+            mType = type;
+            mName = name;
+            mLabel = label;
+            mTimespan = timespan;
+        }
+    }
+
+    /**
+     * Access to the {@code jdk.jfr} API, by reflection.
+     */
+    private static final class FlightRecorder {
+        /**
+         * Whether the {@code jdk.jfr} API is available.
+         */
+        private static final boolean SUPPORTED;
+
+        /**
+         * {@code Event#begin()}, as {@code (Object)void}.
+         */
+        private static final MethodHandle BEGIN;
+
+        /**
+         * {@code Event#set(int, Object)}, as {@code (Object, int, Object)void}.
+         */
+        private static final MethodHandle SET;
+
+        /**
+         * {@code Event#commit()}, as {@code (Object)void}.
+         */
+        private static final MethodHandle COMMIT;
+
+        private static final Constructor<?> ANNOTATION;
+        private static final Constructor<?> VALUE_DESCRIPTOR;
+        private static final MethodHandle CREATE;
+        private static final MethodHandle GET_EVENT_TYPE;
+        private static final MethodHandle IS_ENABLED;
+        private static final MethodHandle NEW_EVENT;
+
+        static {
+            boolean supported = true;
+            MethodHandle begin = null;
+            MethodHandle set = null;
+            MethodHandle commit = null;
+            Constructor<?> annotation = null;
+            Constructor<?> valueDescriptor = null;
+            MethodHandle create = null;
+            MethodHandle getEventType = null;
+            MethodHandle isEnabled = null;
+            MethodHandle newEvent = null;
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                Class<?> eventClass = Class.forName("jdk.jfr.Event");
+                Class<?> eventTypeClass = Class.forName("jdk.jfr.EventType");
+                Class<?> factoryClass = Class.forName("jdk.jfr.EventFactory");
+                Class<?> annotationClass = Class.forName("jdk.jfr.AnnotationElement");
+                MethodType voidType = MethodType.methodType(void.class, Object.class);
+                begin = lookup.findVirtual(eventClass, "begin", MethodType.methodType(void.class))
+                        .asType(voidType);
+                commit = lookup.findVirtual(eventClass, "commit",
+                        MethodType.methodType(void.class)).asType(voidType);
+                set = lookup.findVirtual(eventClass, "set",
+                        MethodType.methodType(void.class, int.class, Object.class))
+                        .asType(MethodType.methodType(void.class,
+                                Object.class,
+                                int.class,
+                                Object.class));
+                annotation = annotationClass.getConstructor(Class.class, Object.class);
+                valueDescriptor = Class.forName("jdk.jfr.ValueDescriptor")
+                        .getConstructor(Class.class, String.class, List.class);
+                create = lookup.findStatic(factoryClass, "create",
+                        MethodType.methodType(factoryClass, List.class, List.class))
+                        .asType(MethodType.methodType(Object.class, List.class, List.class));
+                getEventType = lookup.findVirtual(factoryClass, "getEventType",
+                        MethodType.methodType(eventTypeClass))
+                        .asType(MethodType.methodType(Object.class, Object.class));
+                isEnabled = lookup.findVirtual(eventTypeClass, "isEnabled",
+                        MethodType.methodType(boolean.class))
+                        .asType(MethodType.methodType(boolean.class, Object.class));
+                newEvent = lookup.findVirtual(factoryClass, "newEvent",
+                        MethodType.methodType(eventClass))
+                        .asType(MethodType.methodType(Object.class, Object.class));
+            } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException |
+                    RuntimeException ignored) {
+                supported = false;
+            }
+            SUPPORTED = supported;
+            BEGIN = begin;
+            SET = set;
+            COMMIT = commit;
+            ANNOTATION = annotation;
+            VALUE_DESCRIPTOR = valueDescriptor;
+            CREATE = create;
+            GET_EVENT_TYPE = getEventType;
+            IS_ENABLED = isEnabled;
+            NEW_EVENT = newEvent;
+        }
+
+        /**
+         * Creates and registers a new event type.
+         *
+         * @param name             the full name of the event.
+         * @param label            the name shown at JDK Mission Control.
+         * @param description      the description of the event.
+         * @param enabledByDefault whether the event is enabled when not configured by the
+         *                         recording.
+         * @param fields           the fields of the event.
+         *
+         * @return {@code MethodHandle[]} with {@code isEnabled()} and {@code newEvent()}, bound to
+         * the event type and factory - both {@code null} if the event could not be created.
+         */
+        private static MethodHandle[] createEvent(@NotNull String name,
+                                                  @NotNull String label,
+                                                  @NotNull String description,
+                                                  boolean enabledByDefault,
+                                                  @NotNull Field... fields) {
+            if (!SUPPORTED)
+                return new MethodHandle[2];
+            try {
+                List<Object> annotations = new ArrayList<>(Arrays.asList(
+                        annotation("jdk.jfr.Name", name),
+                        annotation("jdk.jfr.Label", label),
+                        annotation("jdk.jfr.Description", description),
+                        annotation("jdk.jfr.Category", new String[]{CATEGORY}),
+                        annotation("jdk.jfr.Enabled", enabledByDefault),
+                        annotation("jdk.jfr.StackTrace", false)));
+                List<Object> descriptors = new ArrayList<>(fields.length);
+                for (Field field : fields) {
+                    List<Object> fieldAnnotations = new ArrayList<>(2);
+                    fieldAnnotations.add(annotation("jdk.jfr.Label", field.mLabel));
+                    if (field.mTimespan)
+                        fieldAnnotations.add(annotation("jdk.jfr.Timespan", "NANOSECONDS"));
+                    descriptors.add(VALUE_DESCRIPTOR.newInstance(field.mType,
+                            field.mName,
+                            fieldAnnotations));
+                }
+                Object factory = (Object) CREATE.invokeExact((List) annotations,
+                        (List) descriptors);
+                Object eventType = (Object) GET_EVENT_TYPE.invokeExact(factory);
+                return new MethodHandle[]{
+                        IS_ENABLED.bindTo(eventType),
+                        NEW_EVENT.bindTo(factory)
+                };
+            } catch (Throwable ignored) {
+                return new MethodHandle[2];
+            }
+        }
+
+        /**
+         * Creates a new {@code jdk.jfr.AnnotationElement}.
+         *
+         * @param type  the name of the annotation class.
+         * @param value the value of the annotation.
+         *
+         * @return {@code Object} with the annotation element.
+         */
+        @SuppressWarnings("unchecked")
+        private static Object annotation(@NotNull String type, @NotNull Object value)
+                throws ClassNotFoundException, InstantiationException, IllegalAccessException,
+                InvocationTargetException {
+            Class<? extends Annotation> annotationType =
+                    (Class<? extends Annotation>) Class.forName(type);
+            return ANNOTATION.newInstance(annotationType, value);
+        }
+    }
+}
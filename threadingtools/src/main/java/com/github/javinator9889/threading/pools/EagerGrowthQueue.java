@@ -0,0 +1,148 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Queue given to the {@link ThreadPoolExecutor} of a {@link ThreadsPooling} that {@linkplain
+ * ThreadsPooling.Builder#withEagerGrowth() grows eagerly}, wrapping the working threads queue.
+ * <p>
+ * A {@link ThreadPoolExecutor} only creates threads above its core size when {@link
+ * #offer(Object)} fails, that is, when the queue is full. This queue keeps track of the
+ * <b>idle workers</b> (the ones waiting at {@link #take()} or {@link #poll(long, TimeUnit)}) and
+ * refuses new tasks when there is no idle worker for them and the pool can still grow, so the
+ * executor creates a new thread instead of queueing the task. If the pool reached its maximum size
+ * meanwhile, the rejected task is {@linkplain #force(Runnable) forced} into the queue.
+ * <p>
+ * Every other operation is delegated to the wrapped queue.
+ */
+final class EagerGrowthQueue extends ForwardingBlockingQueue {
+    /**
+     * Amount of workers waiting for new tasks.
+     */
+    private final AtomicInteger mIdleWorkers = new AtomicInteger();
+
+    /**
+     * The executor using this queue - set right after creating it.
+     */
+    private volatile ThreadPoolExecutor mExecutor;
+
+    /**
+     * Creates a new queue wrapping the given one.
+     *
+     * @param queue the working threads queue.
+     */
+    EagerGrowthQueue(@NotNull BlockingQueue<Runnable> queue) {
+        super(queue);
+    }
+
+    /**
+     * Sets the executor using this queue, whose pool size is checked before queueing tasks.
+     *
+     * @param executor the executor.
+     */
+    void setExecutor(@NotNull ThreadPoolExecutor executor) {
+        mExecutor = executor;
+    }
+
+    /**
+     * Checks whether a new task needs a new worker: there are not enough idle workers for the
+     * queued tasks plus the new one, and the pool has not reached its maximum size.
+     *
+     * @return {@code true} if a new worker should be created, else {@code false}.
+     */
+    boolean needsWorker() {
+        ThreadPoolExecutor executor = mExecutor;
+        return executor != null &&
+                mIdleWorkers.get() <= mQueue.size() &&
+                executor.getPoolSize() < executor.getMaximumPoolSize();
+    }
+
+    /**
+     * Inserts the task at the wrapped queue, regardless of the pool size.
+     *
+     * @param thread the task to insert.
+     *
+     * @return {@code true} if inserted, {@code false} if the queue is full.
+     */
+    boolean force(@NotNull Runnable thread) {
+        return mQueue.offer(thread);
+    }
+
+    /**
+     * Inserts the task at the wrapped queue, unless a new worker should be created for it.
+     *
+     * @param thread the task to insert.
+     *
+     * @return {@code true} if inserted, else {@code false}.
+     */
+    @Override
+    public boolean offer(@NotNull Runnable thread) {
+        return !needsWorker() && mQueue.offer(thread);
+    }
+
+    /**
+     * Retrieves and removes the head of the wrapped queue, waiting as an <b>idle worker</b> if
+     * necessary until a task becomes available.
+     *
+     * @return the head of the queue.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    @NotNull
+    @Override
+    public Runnable take() throws InterruptedException {
+        mIdleWorkers.incrementAndGet();
+        try {
+            return mQueue.take();
+        } finally {
+            mIdleWorkers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Retrieves and removes the head of the wrapped queue, waiting as an <b>idle worker</b> up to
+     * the specified wait time if necessary for a task to become available.
+     *
+     * @param timeout how long to wait before giving up, in units of {@code unit}.
+     * @param unit    a {@code TimeUnit} determining how to interpret the {@code timeout}
+     *                parameter.
+     *
+     * @return the head of the queue, or {@code null} if the specified waiting time elapses before
+     * a task is available.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    @Override
+    public Runnable poll(long timeout, @NotNull TimeUnit unit) throws InterruptedException {
+        mIdleWorkers.incrementAndGet();
+        try {
+            return mQueue.poll(timeout, unit);
+        } finally {
+            mIdleWorkers.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BlockingQueue} that delegates every operation to a wrapped queue. It is the base of the
+ * queues given to the {@link java.util.concurrent.ThreadPoolExecutor} of a {@link ThreadsPooling}
+ * for changing how workers take or include threads, while the threads are still stored at the
+ * working threads queue.
+ */
+abstract class ForwardingBlockingQueue extends AbstractQueue<Runnable>
+        implements BlockingQueue<Runnable> {
+    /**
+     * The wrapped queue.
+     */
+    protected final BlockingQueue<Runnable> mQueue;
+
+    /**
+     * Creates a new queue wrapping the given one.
+     *
+     * @param queue the wrapped queue.
+     */
+    ForwardingBlockingQueue(@NotNull BlockingQueue<Runnable> queue) {
+        mQueue = queue;
+    }
+
+    @Override
+    public boolean offer(@NotNull Runnable thread) {
+        return mQueue.offer(thread);
+    }
+
+    @Override
+    public boolean offer(Runnable thread, long timeout, @NotNull TimeUnit unit)
+            throws InterruptedException {
+        return mQueue.offer(thread, timeout, unit);
+    }
+
+    @Override
+    public void put(@NotNull Runnable thread) throws InterruptedException {
+        mQueue.put(thread);
+    }
+
+    @NotNull
+    @Override
+    public Runnable take() throws InterruptedException {
+        return mQueue.take();
+    }
+
+    @Override
+    public Runnable poll(long timeout, @NotNull TimeUnit unit) throws InterruptedException {
+        return mQueue.poll(timeout, unit);
+    }
+
+    @Override
+    public Runnable poll() {
+        return mQueue.poll();
+    }
+
+    @Override
+    public Runnable peek() {
+        return mQueue.peek();
+    }
+
+    @Override
+    public int size() {
+        return mQueue.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return mQueue.isEmpty();
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return mQueue.remainingCapacity();
+    }
+
+    @Override
+    public boolean remove(Object object) {
+        return mQueue.remove(object);
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        return mQueue.contains(object);
+    }
+
+    @NotNull
+    @Override
+    public Object[] toArray() {
+        return mQueue.toArray();
+    }
+
+    @NotNull
+    @Override
+    public <T> T[] toArray(@NotNull T[] array) {
+        return mQueue.toArray(array);
+    }
+
+    @Override
+    public int drainTo(@NotNull Collection<? super Runnable> collection) {
+        return mQueue.drainTo(collection);
+    }
+
+    @Override
+    public int drainTo(@NotNull Collection<? super Runnable> collection, int maxElements) {
+        return mQueue.drainTo(collection, maxElements);
+    }
+
+    @NotNull
+    @Override
+    public Iterator<Runnable> iterator() {
+        return mQueue.iterator();
+    }
+
+    /**
+     * Human readable representation of this class.
+     *
+     * @return {@code String} with the representation.
+     */
+    @Override
+    public String toString() {
+        return mQueue.toString();
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free mailbox containing the pending tasks of a key, used by {@link
+ * ThreadsPooling#addKeyed(Object, Runnable)}.
+ * <p>
+ * The mailbox itself is the {@link Runnable} included at the pool: it is scheduled when its first
+ * task arrives and it runs its tasks in order, one by one, so tasks of the same key never run
+ * concurrently. After {@link #TASKS_PER_RUN} tasks, the mailbox is scheduled again, so a busy key
+ * does not keep a worker for itself.
+ * <p>
+ * The amount of reserved tasks is kept at a counter whose sign bit marks the mailbox as
+ * <b>closed</b>: when it drains, the mailbox is closed and removed from the pool, so keys without
+ * pending tasks use no memory. Producers that find a closed mailbox just create a new one.
+ */
+final class KeyedMailbox implements Runnable {
+    /**
+     * Maximum amount of tasks run before yielding the worker to other mailboxes.
+     */
+    static final int TASKS_PER_RUN = 32;
+
+    /**
+     * Bit of {@link #mPending} that marks the mailbox as closed.
+     */
+    private static final int CLOSED = Integer.MIN_VALUE;
+
+    private final Object mKey;
+    private final ThreadsPooling mPooling;
+    private final ConcurrentLinkedQueue<Runnable> mTasks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Amount of tasks reserved (included or about to be included) and not finished yet, plus the
+     * {@link #CLOSED} bit.
+     */
+    private final AtomicInteger mPending = new AtomicInteger();
+
+    /**
+     * Creates a new empty mailbox.
+     *
+     * @param key     the key of the tasks.
+     * @param pooling the pool running the tasks.
+     */
+    KeyedMailbox(@NotNull Object key, @NotNull ThreadsPooling pooling) {
+        mKey = key;
+        mPooling = pooling;
+    }
+
+    /**
+     * Gets the key of the tasks of this mailbox.
+     *
+     * @return {@code Object} with the key.
+     */
+    Object getKey() {
+        return mKey;
+    }
+
+    /**
+     * Includes a new task at the mailbox.
+     *
+     * @param task the task to include.
+     *
+     * @return {@code int} with the amount of tasks pending before this one - if zero, the mailbox
+     * must be scheduled by the caller - or {@code -1} if the mailbox is closed and a new one must be
+     * used.
+     */
+    int add(@NotNull Runnable task) {
+        int pending;
+        do {
+            pending = mPending.get();
+            if ((pending & CLOSED) != 0)
+                return -1;
+        } while (!mPending.compareAndSet(pending, pending + 1));
+        mTasks.offer(task);
+        return pending;
+    }
+
+    /**
+     * Closes the mailbox and takes all its pending tasks - used when the mailbox cannot be
+     * scheduled. It must only be called when the mailbox is not running.
+     *
+     * @return {@code List} with the pending tasks, in order.
+     */
+    List<Runnable> closeAndDrain() {
+        int pending;
+        do {
+            pending = mPending.get();
+        } while (!mPending.compareAndSet(pending, pending | CLOSED));
+        List<Runnable> tasks = new ArrayList<>(pending);
+        for (int i = 0; i < pending; ++i)
+            tasks.add(nextTask());
+        return tasks;
+    }
+
+    /**
+     * Runs the pending tasks in order. It closes the mailbox when it drains or schedules it again
+     * after {@link #TASKS_PER_RUN} tasks.
+     */
+    @Override
+    public void run() {
+        while (true) {
+            for (int i = 0; i < TASKS_PER_RUN; ++i) {
+                runSafely(nextTask());
+                if (mPending.decrementAndGet() == 0) {
+                    if (mPending.compareAndSet(0, CLOSED))
+                        mPooling.removeMailbox(this);
+                    return;
+                }
+            }
+            if (mPooling.offerMailbox(this))
+                return;
+        }
+    }
+
+    /**
+     * Takes the next task - it may have been reserved but not included yet, so this waits for it.
+     *
+     * @return {@code Runnable} with the next task.
+     */
+    private Runnable nextTask() {
+        Runnable task;
+        while ((task = mTasks.poll()) == null)
+            Thread.yield();
+        return task;
+    }
+
+    /**
+     * Runs a task, giving any exception to the uncaught exception handler of the current thread,
+     * so the rest of tasks of the key keep running.
+     *
+     * @param task the task to run.
+     */
+    private static void runSafely(@NotNull Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable throwable) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+        }
+    }
+
+    /**
+     * Human readable representation of this class.
+     *
+     * @return {@code String} with the representation.
+     */
+    @Override
+    public String toString() {
+        return "KeyedMailbox{key=" + mKey + ", pending=" + (mPending.get() & ~CLOSED) + '}';
+    }
+}
@@ -0,0 +1,523 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * {@code MicroBatcher} groups lots of tiny items (log records, database writes...) into
+ * <b>batches</b> that are given to a consumer running at the workers of a {@link ThreadsPooling},
+ * so the per-task overhead is paid once per batch instead of once per item.
+ * <p>
+ * Items {@linkplain #add(Object) added} are kept at a lock-free buffer and a batch is dispatched
+ * to the pool whenever:
+ * <ul>
+ * <li>
+ * The buffered items reach the <b>batch size</b>.
+ * </li>
+ * <li>
+ * The {@linkplain Builder#withLinger(long, TimeUnit) linger time} elapses since the first item of
+ * a batch was buffered - so items never wait longer than that when the load is low.
+ * </li>
+ * </ul>
+ * The batch size <b>adapts to the arrival rate</b>: it is the amount of items expected during the
+ * linger time, between one and the {@linkplain Builder#withMaximumBatchSize(int) maximum batch
+ * size}. With a low rate, every item is dispatched at once (no added latency) while, with a high
+ * one, items are grouped into bigger batches.
+ * <p>
+ * At most {@linkplain Builder#withMaximumConcurrentBatches(int) a few batches} run at the same
+ * time - when the consumer cannot keep up, items wait at the buffer and each batch that finishes
+ * dispatches the next one. When the buffer is full, the item is given to the {@link
+ * RejectedExecutionHandler} of the pool as a {@link Runnable} that delivers it to the consumer as
+ * a batch of one. Batches rejected by the pool are given to the handler the same way.
+ * <pre>{@code
+ * ThreadsPooling pooling = ThreadsPooling.builder().build();
+ * MicroBatcher<String> batcher = pooling.batcher((List<String> records) -> write(records))
+ *         .withMaximumBatchSize(500)
+ *         .withLinger(5, TimeUnit.MILLISECONDS)
+ *         .build();
+ * pooling.start();
+ * batcher.add("record");
+ * }</pre>
+ *
+ * @param <T> the type of the items.
+ */
+public final class MicroBatcher<T> {
+    /**
+     * Default maximum amount of items per batch.
+     */
+    public static final int DEFAULT_MAXIMUM_BATCH_SIZE = 100;
+
+    /**
+     * Default linger time, in milliseconds.
+     */
+    public static final long DEFAULT_LINGER = 10;
+
+    /**
+     * Default maximum amount of buffered items.
+     */
+    public static final int DEFAULT_BUFFER_CAPACITY = 10000;
+
+    /**
+     * Weight of the newest sample at the arrival rate moving average.
+     */
+    private static final double SMOOTHING_FACTOR = 0.5;
+
+    private final ThreadsPooling mPooling;
+    private final Consumer<List<T>> mConsumer;
+    private final int mMaximumBatchSize;
+    private final long mLingerNanos;
+    private final int mBufferCapacity;
+    private final int mMaximumConcurrentBatches;
+    private final ConcurrentLinkedQueue<T> mBuffer = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Amount of items reserved at the buffer - may be higher than the real amount for a moment.
+     */
+    private final AtomicInteger mBuffered = new AtomicInteger();
+
+    /**
+     * Whether a linger flush has been scheduled and has not run yet.
+     */
+    private final AtomicBoolean mLingerScheduled = new AtomicBoolean();
+
+    /**
+     * Amount of batches dispatched and not finished yet.
+     */
+    private final AtomicInteger mRunningBatches = new AtomicInteger();
+
+    /**
+     * Items added since the creation of the batcher.
+     */
+    private final AtomicLong mArrivals = new AtomicLong();
+
+    /**
+     * Time of the last arrival rate sample, comparable with {@link System#nanoTime()}.
+     */
+    private final AtomicLong mLastSampleNanos;
+
+    /**
+     * Flush run at the pool when the linger time elapses.
+     */
+    private final Runnable mLingerFlush = this::lingerFlush;
+
+    private long mLastSampleArrivals;
+    private double mArrivalRate;
+
+    /**
+     * Current batch size, adapted to the arrival rate.
+     */
+    private volatile int mBatchSize = 1;
+
+    /**
+     * Creates a new batcher - use {@link #builder(ThreadsPooling, Consumer)}.
+     *
+     * @param builder the builder with the configuration.
+     */
+    private MicroBatcher(@NotNull Builder<T> builder) {
+        mPooling = builder.mPooling;
+        mConsumer = builder.mConsumer;
+        mMaximumBatchSize = builder.mMaximumBatchSize;
+        mLingerNanos = builder.mLingerNanos;
+        mBufferCapacity = builder.mBufferCapacity;
+        mMaximumConcurrentBatches = builder.mMaximumConcurrentBatches;
+        mLastSampleNanos = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Creates a new {@link Builder} for a batcher that gives its batches to the consumer, running
+     * at the given pool.
+     *
+     * @param pooling  the pool running the consumer.
+     * @param consumer the consumer of the batches.
+     * @param <T>      the type of the items.
+     *
+     * @return {@code Builder} with the default values.
+     */
+    public static <T> Builder<T> builder(@NotNull ThreadsPooling pooling,
+                                         @NotNull Consumer<List<T>> consumer) {
+        return new Builder<>(pooling, consumer);
+    }
+
+    /**
+     * Adds a new item, which is given to the consumer in a batch as soon as the batch size or the
+     * linger time is reached. If the buffer is full, the item is given to the {@link
+     * RejectedExecutionHandler} of the pool.
+     *
+     * @param item the item to add.
+     *
+     * @return {@code true} if the item was buffered, {@code false} if it was rejected.
+     *
+     * @throws NullPointerException if the item is {@code null}.
+     */
+    public boolean add(@NotNull T item) {
+        if (item == null)
+            throw new NullPointerException("Items cannot be null");
+        if (mBuffered.incrementAndGet() > mBufferCapacity) {
+            mBuffered.decrementAndGet();
+            mPooling.rejectAll(Collections.singletonList(
+                    new BatchTask(Collections.singletonList(item), false)));
+            return false;
+        }
+        mBuffer.offer(item);
+        mArrivals.incrementAndGet();
+        if (mBuffered.get() >= mBatchSize)
+            dispatch(mBatchSize);
+        if (mBuffered.get() > 0 && mLingerScheduled.compareAndSet(false, true))
+            scheduleLingerFlush();
+        return true;
+    }
+
+    /**
+     * Dispatches the buffered items to the pool right now, in batches of the maximum size - as
+     * much batches as the {@linkplain Builder#withMaximumConcurrentBatches(int) concurrent batches}
+     * allow, the rest are dispatched as soon as the running ones finish.
+     */
+    public void flush() {
+        while (mBuffered.get() > 0)
+            if (!dispatch(mMaximumBatchSize))
+                return;
+    }
+
+    /**
+     * Gets the amount of items waiting at the buffer.
+     *
+     * @return {@code int} with the amount of items.
+     */
+    public int getBufferedCount() {
+        return Math.max(0, mBuffered.get());
+    }
+
+    /**
+     * Gets the current batch size, adapted to the arrival rate.
+     *
+     * @return {@code int} with the batch size.
+     */
+    public int getBatchSize() {
+        return mBatchSize;
+    }
+
+    /**
+     * Dispatches a batch with up to the given amount of buffered items to the pool.
+     *
+     * @param maximumItems maximum amount of items of the batch.
+     *
+     * @return {@code true} if a batch was dispatched, {@code false} if the buffer was empty.
+     */
+    private boolean dispatch(int maximumItems) {
+        sampleArrivalRate();
+        if (!tryStartBatch())
+            return false;
+        List<T> batch = drain(maximumItems);
+        if (batch.isEmpty()) {
+            mRunningBatches.decrementAndGet();
+            return false;
+        }
+        if (!mPooling.offer(new BatchTask(batch, true))) {
+            mRunningBatches.decrementAndGet();
+            mPooling.rejectAll(Collections.singletonList(new BatchTask(batch, false)));
+        }
+        return true;
+    }
+
+    /**
+     * Reserves one of the concurrent batches.
+     *
+     * @return {@code true} if reserved, {@code false} if every batch is already running.
+     */
+    private boolean tryStartBatch() {
+        int runningBatches;
+        do {
+            runningBatches = mRunningBatches.get();
+            if (runningBatches >= mMaximumConcurrentBatches)
+                return false;
+        } while (!mRunningBatches.compareAndSet(runningBatches, runningBatches + 1));
+        return true;
+    }
+
+    /**
+     * Releases a concurrent batch that has finished, dispatching the next one if there are enough
+     * buffered items - else, the linger flush is scheduled for the remaining ones.
+     */
+    private void batchFinished() {
+        mRunningBatches.decrementAndGet();
+        if (mBuffered.get() >= mBatchSize)
+            dispatch(mBatchSize);
+        if (mBuffered.get() > 0 && mLingerScheduled.compareAndSet(false, true))
+            scheduleLingerFlush();
+    }
+
+    /**
+     * Schedules the linger flush at the pool timer. If the pool has been shut down, or the pool
+     * rejects the flush when the linger time elapses (e.g. its queue is full), the buffered items
+     * are dispatched right now, so they are given to the pool that handles them as any other
+     * rejected task - and the next items schedule a new linger flush.
+     */
+    private void scheduleLingerFlush() {
+        try {
+            mPooling.schedule(mLingerFlush,
+                    mLingerNanos,
+                    TimeUnit.NANOSECONDS,
+                    this::lingerRejected);
+        } catch (RejectedExecutionException ignored) {
+            lingerRejected();
+        }
+    }
+
+    /**
+     * Runs when the linger flush cannot be scheduled or is rejected by the pool.
+     */
+    private void lingerRejected() {
+        mLingerScheduled.set(false);
+        flush();
+    }
+
+    /**
+     * Runs when the linger time elapses, at a worker of the pool: a batch of the buffered items is
+     * given to the consumer directly from this worker and the rest are dispatched to other
+     * workers, so the worker is not kept while items keep arriving. If every concurrent batch is
+     * already running, the buffered items are dispatched when one of them finishes.
+     */
+    private void lingerFlush() {
+        mLingerScheduled.set(false);
+        sampleArrivalRate();
+        if (!tryStartBatch())
+            return;
+        try {
+            List<T> batch = drain(mMaximumBatchSize);
+            flush();
+            if (!batch.isEmpty())
+                mConsumer.accept(batch);
+        } finally {
+            batchFinished();
+        }
+    }
+
+    /**
+     * Takes up to the given amount of items from the buffer.
+     *
+     * @param maximumItems maximum amount of items to take.
+     *
+     * @return {@code List} with the items, in the order they were added.
+     */
+    private List<T> drain(int maximumItems) {
+        List<T> batch = new ArrayList<>(Math.min(maximumItems, Math.max(1, mBuffered.get())));
+        T item;
+        while (batch.size() < maximumItems && (item = mBuffer.poll()) != null) {
+            batch.add(item);
+            mBuffered.decrementAndGet();
+        }
+        return batch;
+    }
+
+    /**
+     * Updates the arrival rate and the batch size, at most once per linger time.
+     */
+    private void sampleArrivalRate() {
+        long now = System.nanoTime();
+        long lastSampleNanos = mLastSampleNanos.get();
+        long elapsed = now - lastSampleNanos;
+        if (elapsed < mLingerNanos || !mLastSampleNanos.compareAndSet(lastSampleNanos, now))
+            return;
+        synchronized (mLastSampleNanos) {
+            long arrivals = mArrivals.get();
+            double rate = (double) (arrivals - mLastSampleArrivals) / elapsed;
+            mLastSampleArrivals = arrivals;
+            mArrivalRate = SMOOTHING_FACTOR * rate + (1D - SMOOTHING_FACTOR) * mArrivalRate;
+            mBatchSize = (int) Math.max(1L, Math.min(Math.min(mMaximumBatchSize,
+                    mBufferCapacity), Math.round(mArrivalRate * mLingerNanos)));
+        }
+    }
+
+    /**
+     * Human readable representation of this class.
+     *
+     * @return {@code String} with the representation.
+     */
+    @Override
+    public String toString() {
+        return "MicroBatcher{batchSize=" + mBatchSize + ", maximumBatchSize=" +
+                mMaximumBatchSize + ", lingerMs=" + TimeUnit.NANOSECONDS.toMillis(mLingerNanos) +
+                ", buffered=" + getBufferedCount() + ", bufferCapacity=" + mBufferCapacity + '}';
+    }
+
+    /**
+     * Task that gives a batch to the consumer.
+     */
+    private final class BatchTask implements Runnable {
+        private final List<T> mBatch;
+        private final boolean mReserved;
+
+        /**
+         * Creates a new task for the given batch.
+         *
+         * @param batch    the items.
+         * @param reserved whether the task holds one of the concurrent batches, which is released
+         *                 when it finishes.
+         */
+        private BatchTask(@NotNull List<T> batch, boolean reserved) {
+            mBatch = batch;
+            mReserved = reserved;
+        }
+
+        @Override
+        public void run() {
+            try {
+                mConsumer.accept(mBatch);
+            } finally {
+                if (mReserved)
+                    batchFinished();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "BatchTask{size=" + mBatch.size() + '}';
+        }
+    }
+
+    /**
+     * Class for generating a new instance of {@link MicroBatcher}.
+     *
+     * @param <T> the type of the items.
+     */
+    public static final class Builder<T> {
+        private final ThreadsPooling mPooling;
+        private final Consumer<List<T>> mConsumer;
+        private int mMaximumBatchSize;
+        private long mLingerNanos;
+        private int mBufferCapacity;
+        private int mMaximumConcurrentBatches;
+
+        /**
+         * Creates a new builder with the default values.
+         *
+         * @param pooling  the pool running the consumer.
+         * @param consumer the consumer of the batches.
+         */
+        private Builder(@NotNull ThreadsPooling pooling, @NotNull Consumer<List<T>> consumer) {
+            mPooling = pooling;
+            mConsumer = consumer;
+            mMaximumBatchSize = DEFAULT_MAXIMUM_BATCH_SIZE;
+            mLingerNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_LINGER);
+            mBufferCapacity = DEFAULT_BUFFER_CAPACITY;
+            mMaximumConcurrentBatches = Math.max(1, pooling.getConcurrentThreadsRunning());
+        }
+
+        /**
+         * Sets the maximum amount of items of a batch.
+         *
+         * @param maximumBatchSize the maximum batch size - must be higher than zero.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if the param is not valid.
+         */
+        public Builder<T> withMaximumBatchSize(int maximumBatchSize) {
+            if (maximumBatchSize > 0) {
+                mMaximumBatchSize = maximumBatchSize;
+                return this;
+            } else
+                throw new IllegalArgumentException(String.format("Maximum batch size must be " +
+                        "higher than zero, not '%d'", maximumBatchSize));
+        }
+
+        /**
+         * Sets the maximum time an item waits at the buffer before its batch is dispatched - it
+         * is rounded up to the {@linkplain ThreadsPooling.Builder#withTimerTick(long, TimeUnit)
+         * timer tick} of the pool.
+         *
+         * @param linger the linger time - must be higher than zero.
+         * @param unit   the time unit of the param.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if the param is not valid.
+         */
+        public Builder<T> withLinger(long linger, @NotNull TimeUnit unit) {
+            if (linger > 0) {
+                mLingerNanos = unit.toNanos(linger);
+                return this;
+            } else
+                throw new IllegalArgumentException(String.format("Linger time must be higher " +
+                        "than zero, not '%d'", linger));
+        }
+
+        /**
+         * Sets the maximum amount of items waiting at the buffer - new items are rejected when it
+         * is full.
+         *
+         * @param bufferCapacity the capacity - must be higher than zero.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if the param is not valid.
+         */
+        public Builder<T> withBufferCapacity(int bufferCapacity) {
+            if (bufferCapacity > 0) {
+                mBufferCapacity = bufferCapacity;
+                return this;
+            } else
+                throw new IllegalArgumentException(String.format("Buffer capacity must be " +
+                        "higher than zero, not '%d'", bufferCapacity));
+        }
+
+        /**
+         * Sets the maximum amount of batches running at the same time - by default, the
+         * {@linkplain ThreadsPooling#getConcurrentThreadsRunning() concurrent threads} of the
+         * pool.
+         *
+         * @param maximumConcurrentBatches the maximum amount - must be higher than zero.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if the param is not valid.
+         */
+        public Builder<T> withMaximumConcurrentBatches(int maximumConcurrentBatches) {
+            if (maximumConcurrentBatches > 0) {
+                mMaximumConcurrentBatches = maximumConcurrentBatches;
+                return this;
+            } else
+                throw new IllegalArgumentException(String.format("Maximum concurrent batches " +
+                        "must be higher than zero, not '%d'", maximumConcurrentBatches));
+        }
+
+        /**
+         * Generates the new {@link MicroBatcher}.
+         *
+         * @return {@code MicroBatcher} the new batcher.
+         */
+        public MicroBatcher<T> build() {
+            return new MicroBatcher<>(this);
+        }
+    }
+}
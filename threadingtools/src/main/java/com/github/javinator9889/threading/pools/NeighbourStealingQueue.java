@@ -0,0 +1,172 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queue given to the {@link java.util.concurrent.ThreadPoolExecutor} of a shard of a {@link
+ * ShardedThreadsPooling} that {@linkplain ThreadsPooling.Builder#withNeighbourStealing() steals
+ * from its neighbours}, wrapping the working threads queue of the shard.
+ * <p>
+ * An idle worker waits at the wrapped queue for, at most, the <b>steal interval</b>. If no task
+ * arrives meanwhile, it takes the head of the first non-empty queue of the neighbour shards,
+ * starting at the next one, so a shard whose workers are all busy (or blocked) is helped by the
+ * idle ones.
+ * <p>
+ * Stealing is not free: an idle worker wakes up after every interval for polling its neighbours.
+ * While they are all empty, the worker <b>backs off</b> by doubling its interval, up to {@value
+ * #MAXIMUM_BACKOFF} times the steal interval, so an idle pool rarely wakes up - at the cost of
+ * helping a neighbour that becomes overloaded after a long idle period a bit later. The interval
+ * is reset every time the worker gets a task.
+ * <p>
+ * Every other operation is delegated to the wrapped queue.
+ */
+final class NeighbourStealingQueue extends ForwardingBlockingQueue {
+    /**
+     * Times the steal interval an idle worker waits, at most, while every neighbour is empty.
+     */
+    static final int MAXIMUM_BACKOFF = 32;
+
+    private final long mStealIntervalNanos;
+
+    /**
+     * Longest interval between steals, in nanoseconds.
+     */
+    private final long mMaximumIntervalNanos;
+
+    /**
+     * Working threads queues of the neighbour shards, starting at the next one - set right after
+     * creating every shard.
+     */
+    private volatile List<BlockingQueue<Runnable>> mNeighbours = Collections.emptyList();
+
+    /**
+     * Creates a new queue wrapping the given one.
+     *
+     * @param queue              the working threads queue of the shard.
+     * @param stealIntervalNanos time a worker waits for new tasks before stealing, in nanoseconds.
+     */
+    NeighbourStealingQueue(@NotNull BlockingQueue<Runnable> queue, long stealIntervalNanos) {
+        super(queue);
+        mStealIntervalNanos = stealIntervalNanos;
+        mMaximumIntervalNanos = (stealIntervalNanos > Long.MAX_VALUE / MAXIMUM_BACKOFF) ?
+                Long.MAX_VALUE :
+                stealIntervalNanos * MAXIMUM_BACKOFF;
+    }
+
+    /**
+     * Sets the queues tasks are stolen from.
+     *
+     * @param neighbours the working threads queues of the neighbour shards, in the order they are
+     *                   looked at.
+     */
+    void setNeighbours(@NotNull List<BlockingQueue<Runnable>> neighbours) {
+        mNeighbours = neighbours;
+    }
+
+    /**
+     * Takes the head of the first non-empty neighbour queue.
+     *
+     * @return {@code Runnable} stolen - {@code null} if every neighbour queue is empty.
+     */
+    private Runnable steal() {
+        for (BlockingQueue<Runnable> neighbour : mNeighbours) {
+            Runnable thread = neighbour.poll();
+            if (thread != null)
+                return thread;
+        }
+        return null;
+    }
+
+    /**
+     * Doubles the interval between steals, up to the maximum one.
+     *
+     * @param intervalNanos the current interval, in nanoseconds.
+     *
+     * @return {@code long} with the next interval, in nanoseconds.
+     */
+    private long backOff(long intervalNanos) {
+        return (intervalNanos > mMaximumIntervalNanos / 2) ?
+                mMaximumIntervalNanos :
+                intervalNanos * 2;
+    }
+
+    /**
+     * Retrieves and removes the head of the wrapped queue, waiting if necessary until a task
+     * becomes available, or <b>steals</b> a task from a neighbour after every steal interval
+     * without tasks - backing off while every neighbour is empty.
+     *
+     * @return the head of the queue or the stolen task.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    @NotNull
+    @Override
+    public Runnable take() throws InterruptedException {
+        long intervalNanos = mStealIntervalNanos;
+        while (true) {
+            Runnable thread = mQueue.poll(intervalNanos, TimeUnit.NANOSECONDS);
+            if (thread == null)
+                thread = steal();
+            if (thread != null)
+                return thread;
+            intervalNanos = backOff(intervalNanos);
+        }
+    }
+
+    /**
+     * Retrieves and removes the head of the wrapped queue, waiting up to the specified wait time
+     * if necessary for a task to become available, or <b>steals</b> a task from a neighbour after
+     * every steal interval without tasks - backing off while every neighbour is empty.
+     *
+     * @param timeout how long to wait before giving up, in units of {@code unit}.
+     * @param unit    a {@code TimeUnit} determining how to interpret the {@code timeout}
+     *                parameter.
+     *
+     * @return the head of the queue or the stolen task, or {@code null} if the specified waiting
+     * time elapses before a task is available.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    @Override
+    public Runnable poll(long timeout, @NotNull TimeUnit unit) throws InterruptedException {
+        long remainingNanos = unit.toNanos(timeout);
+        long deadline = System.nanoTime() + remainingNanos;
+        long intervalNanos = mStealIntervalNanos;
+        while (true) {
+            Runnable thread = mQueue.poll(Math.min(remainingNanos, intervalNanos),
+                    TimeUnit.NANOSECONDS);
+            if (thread == null)
+                thread = steal();
+            if (thread != null)
+                return thread;
+            remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0L)
+                return null;
+            intervalNanos = backOff(intervalNanos);
+        }
+    }
+}
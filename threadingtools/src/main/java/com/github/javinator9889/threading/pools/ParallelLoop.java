@@ -0,0 +1,355 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Data-parallel loop over a range of indexes, used by {@link ThreadsPooling#parallelFor(int, int,
+ * IntConsumer)}, {@link ThreadsPooling#parallelMap(List, Function)} and {@link
+ * ThreadsPooling#parallelReduce(int, int, Object, BiFunction, BinaryOperator)}.
+ * <p>
+ * The range is shared by the caller and some <b>helpers</b> (the loop itself is the {@link
+ * Runnable} included at the pool), which repeatedly claim the next <b>chunk</b> of indexes with a
+ * single atomic operation until the range is exhausted. Chunks are sized adaptively:
+ * <ul>
+ * <li>
+ * Each chunk is a fraction of the remaining indexes, so chunks get <b>finer</b> as the loop
+ * progresses and every participant finishes at about the same time.
+ * </li>
+ * <li>
+ * While workers are idle, the range is split among more helpers and in {@link #FINE_SPLITS}
+ * times more chunks, so the idle workers can take part.
+ * </li>
+ * <li>
+ * When other tasks are waiting at the queue, chunks are <b>coarser</b>, so the loop does not pay
+ * for splitting work that no other worker can take.
+ * </li>
+ * </ul>
+ * The caller runs chunks too and then waits for the chunks claimed by the helpers, so only the
+ * caller blocks: helpers never wait for each other and a loop started from a worker of the same
+ * pool cannot deadlock it. Helpers that run after the range is exhausted just return.
+ */
+final class ParallelLoop implements Runnable {
+    /**
+     * Chunks per participant while there are no other tasks waiting at the queue.
+     */
+    static final int FINE_SPLITS = 4;
+
+    private final ThreadsPooling mPooling;
+    private final int mTo;
+    private final Chunk mChunk;
+    private final Thread mCaller;
+    private final int mMaximumHelpers;
+    private final AtomicInteger mNext;
+    private final AtomicLong mRemaining;
+    private final AtomicInteger mHelpers = new AtomicInteger();
+    private final AtomicInteger mQueuedHelpers = new AtomicInteger();
+    private final AtomicReference<Throwable> mFailure = new AtomicReference<>();
+
+    /**
+     * Creates a new loop.
+     *
+     * @param pooling the pool whose workers help running the loop.
+     * @param from    the first index, inclusive.
+     * @param to      the last index, exclusive.
+     * @param chunk   the body run for each chunk.
+     */
+    private ParallelLoop(@NotNull ThreadsPooling pooling, int from, int to, @NotNull Chunk chunk) {
+        mPooling = pooling;
+        mTo = to;
+        mChunk = chunk;
+        mCaller = Thread.currentThread();
+        int workers = pooling.isUsingVirtualThreads() ?
+                Runtime.getRuntime().availableProcessors() :
+                pooling.getConcurrentThreadsRunning();
+        mMaximumHelpers = (int) Math.min(workers, (long) to - from - 1L);
+        mNext = new AtomicInteger(from);
+        mRemaining = new AtomicLong((long) to - from);
+    }
+
+    /**
+     * Runs the body for every index between {@code from} and {@code to}.
+     *
+     * @param pooling the pool whose workers help running the loop.
+     * @param from    the first index, inclusive.
+     * @param to      the last index, exclusive.
+     * @param body    the body run for each index.
+     */
+    static void forRange(@NotNull ThreadsPooling pooling,
+                         int from,
+                         int to,
+                         @NotNull IntConsumer body) {
+        invoke(pooling, from, to, (chunkFrom, chunkTo) -> {
+            for (int index = chunkFrom; index < chunkTo; ++index)
+                body.accept(index);
+        });
+    }
+
+    /**
+     * Applies the function to every item.
+     *
+     * @param pooling  the pool whose workers help running the loop.
+     * @param items    the items.
+     * @param function the function applied to each item.
+     * @param <T>      the type of the items.
+     * @param <R>      the type of the results.
+     *
+     * @return {@code List} with the results, in the same order as the items.
+     */
+    @SuppressWarnings("unchecked")
+    static <T, R> List<R> map(@NotNull ThreadsPooling pooling,
+                              @NotNull List<T> items,
+                              @NotNull Function<? super T, ? extends R> function) {
+        final List<T> source = (items instanceof RandomAccess) ? items : new ArrayList<>(items);
+        final Object[] results = new Object[source.size()];
+        invoke(pooling, 0, results.length, (chunkFrom, chunkTo) -> {
+            for (int index = chunkFrom; index < chunkTo; ++index)
+                results[index] = function.apply(source.get(index));
+        });
+        return Arrays.asList((R[]) results);
+    }
+
+    /**
+     * Reduces the indexes between {@code from} and {@code to}: each chunk is accumulated starting
+     * from the identity and the results of the chunks are combined in index order.
+     *
+     * @param pooling     the pool whose workers help running the loop.
+     * @param from        the first index, inclusive.
+     * @param to          the last index, exclusive.
+     * @param identity    the identity value.
+     * @param accumulator the function that includes an index at a result.
+     * @param combiner    the function that combines two results.
+     * @param <R>         the type of the result.
+     *
+     * @return the result of the reduction - the identity if the range is empty.
+     */
+    static <R> R reduce(@NotNull ThreadsPooling pooling,
+                        int from,
+                        int to,
+                        R identity,
+                        @NotNull BiFunction<R, ? super Integer, R> accumulator,
+                        @NotNull BinaryOperator<R> combiner) {
+        final ConcurrentLinkedQueue<PartialResult<R>> partialResults =
+                new ConcurrentLinkedQueue<>();
+        invoke(pooling, from, to, (chunkFrom, chunkTo) -> {
+            R result = identity;
+            for (int index = chunkFrom; index < chunkTo; ++index)
+                result = accumulator.apply(result, index);
+            partialResults.add(new PartialResult<>(chunkFrom, result));
+        });
+        List<PartialResult<R>> sortedResults = new ArrayList<>(partialResults);
+        sortedResults.sort(Comparator.comparingInt(partialResult -> partialResult.mFrom));
+        R result = identity;
+        for (PartialResult<R> partialResult : sortedResults)
+            result = combiner.apply(result, partialResult.mResult);
+        return result;
+    }
+
+    /**
+     * Runs the chunk body for the whole range, blocking until every chunk has finished.
+     *
+     * @param pooling the pool whose workers help running the loop.
+     * @param from    the first index, inclusive.
+     * @param to      the last index, exclusive.
+     * @param chunk   the body run for each chunk.
+     *
+     * @throws RejectedExecutionException if the pool has been shut down.
+     * @throws IllegalArgumentException   if {@code from} is higher than {@code to}.
+     */
+    private static void invoke(@NotNull ThreadsPooling pooling,
+                               int from,
+                               int to,
+                               @NotNull Chunk chunk) {
+        if (from > to)
+            throw new IllegalArgumentException(String.format("Range start must be lower or " +
+                    "equal than its end, not '%d'", from));
+        if (pooling.isShutdown())
+            throw new RejectedExecutionException("Pool has been shut down");
+        if (from == to)
+            return;
+        new ParallelLoop(pooling, from, to, chunk).invoke();
+    }
+
+    /**
+     * Adds the helpers the idle workers can run, runs chunks until the range is exhausted and
+     * waits for the chunks claimed by the helpers.
+     */
+    private void invoke() {
+        addHelpers(idleWorkers());
+        while (runNextChunk()) {
+            if (mHelpers.get() < mMaximumHelpers && mNext.get() < mTo)
+                addHelpers(idleWorkers());
+        }
+        boolean interrupted = false;
+        while (mRemaining.get() > 0) {
+            LockSupport.park(this);
+            interrupted |= Thread.interrupted();
+        }
+        if (interrupted)
+            mCaller.interrupt();
+        Throwable failure = mFailure.get();
+        if (failure instanceof RuntimeException)
+            throw (RuntimeException) failure;
+        if (failure instanceof Error)
+            throw (Error) failure;
+    }
+
+    /**
+     * Runs chunks as a helper, until the range is exhausted.
+     */
+    @Override
+    public void run() {
+        mQueuedHelpers.decrementAndGet();
+        while (runNextChunk())
+            ;
+    }
+
+    /**
+     * Claims the next chunk and runs it. Once a chunk has failed, the remaining ones are claimed
+     * but not run, and the failure is thrown at the caller.
+     *
+     * @return {@code true} if a chunk was claimed, {@code false} if the range is exhausted.
+     */
+    private boolean runNextChunk() {
+        int from;
+        int size;
+        do {
+            from = mNext.get();
+            long remaining = (long) mTo - from;
+            if (remaining <= 0L)
+                return false;
+            size = chunkSize(remaining);
+        } while (!mNext.compareAndSet(from, from + size));
+        try {
+            if (mFailure.get() == null)
+                mChunk.run(from, from + size);
+        } catch (Throwable throwable) {
+            mFailure.compareAndSet(null, throwable);
+        } finally {
+            if (mRemaining.addAndGet(-size) == 0L)
+                LockSupport.unpark(mCaller);
+        }
+        return true;
+    }
+
+    /**
+     * Calculates the size of the next chunk, which is a fraction of the remaining indexes
+     * depending on the amount of participants and whether other tasks are waiting at the queue.
+     *
+     * @param remaining amount of indexes not claimed yet.
+     *
+     * @return {@code int} with the chunk size, between one and {@code remaining}.
+     */
+    private int chunkSize(long remaining) {
+        int participants = mHelpers.get() + 1;
+        boolean busyQueue =
+                mPooling.getWorkingThreadsQueue().size() > Math.max(0, mQueuedHelpers.get());
+        int chunks = busyQueue ? participants : participants * FINE_SPLITS;
+        return (int) Math.max(1L, Math.min(remaining / chunks, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Obtains the amount of workers that are not running any task.
+     *
+     * @return {@code int} with the amount of idle workers.
+     */
+    private int idleWorkers() {
+        if (mPooling.isUsingVirtualThreads())
+            return mMaximumHelpers;
+        return mPooling.getPoolSize() - mPooling.getActiveThreadsCount() - mQueuedHelpers.get();
+    }
+
+    /**
+     * Includes new helpers at the pool, without exceeding the maximum amount.
+     *
+     * @param amount amount of helpers to include.
+     */
+    private void addHelpers(int amount) {
+        for (int i = 0; i < amount; ++i) {
+            int helpers = mHelpers.get();
+            if (helpers >= mMaximumHelpers)
+                return;
+            if (!mHelpers.compareAndSet(helpers, helpers + 1))
+                continue;
+            mQueuedHelpers.incrementAndGet();
+            if (!mPooling.offer(this)) {
+                mQueuedHelpers.decrementAndGet();
+                mHelpers.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Human readable representation of this class.
+     *
+     * @return {@code String} with the representation.
+     */
+    @Override
+    public String toString() {
+        return "ParallelLoop{next=" + mNext + ", to=" + mTo + ", helpers=" + mHelpers + '}';
+    }
+
+    /**
+     * Body run for each chunk of indexes.
+     */
+    @FunctionalInterface
+    private interface Chunk {
+        /**
+         * Runs the body for the indexes between {@code from} and {@code to}.
+         *
+         * @param from the first index, inclusive.
+         * @param to   the last index, exclusive.
+         */
+        void run(int from, int to);
+    }
+
+    /**
+     * Result of reducing a chunk, together with the first index of the chunk.
+     *
+     * @param <R> the type of the result.
+     */
+    private static final class PartialResult<R> {
+        private final int mFrom;
+        private final R mResult;
+
+        private PartialResult(int from, R result) {
+            mFrom = from;
+            mResult = result;
+        }
+    }
+}
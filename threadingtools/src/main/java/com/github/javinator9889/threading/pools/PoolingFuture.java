@@ -0,0 +1,193 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * {@link CompletableFuture} returned by {@link ThreadsPooling#submit(Callable)}, {@link
+ * ThreadsPooling#submit(Runnable)} and {@link ThreadsPooling#supply(java.util.function.Supplier)}.
+ * It is completed by the worker that runs the task, so there is no need of creating a {@link
+ * com.github.javinator9889.threading.threads.notifyingthread.NotifyingThread} per task nor polling
+ * any {@link java.util.concurrent.atomic.AtomicReference}.
+ * <p>
+ * The <b>asynchronous</b> dependent stages created without an explicit {@link Executor} (for
+ * example, {@link #thenApplyAsync(Function)}) run at the <b>same pool</b> instead of at the {@link
+ * java.util.concurrent.ForkJoinPool#commonPool() common pool}. Since Java 9, the futures created by
+ * the dependent stages are also {@code PoolingFuture}s, so the whole chain keeps using the pool.
+ * On Java 8, only the stages created directly from this future do so.
+ * <p>
+ * {@linkplain #cancel(boolean) Cancelling} the future before the task starts prevents it from
+ * running - a running task is never interrupted.
+ *
+ * @param <T> the result type.
+ */
+public class PoolingFuture<T> extends CompletableFuture<T> {
+    /**
+     * Executor used for the asynchronous dependent stages - the pool that created this future.
+     */
+    private final Executor mExecutor;
+
+    /**
+     * Creates a new incomplete future whose dependent stages run at the given executor.
+     *
+     * @param executor executor for the asynchronous stages.
+     */
+    PoolingFuture(@NotNull Executor executor) {
+        mExecutor = executor;
+    }
+
+    /**
+     * Creates the {@link Runnable} that, when executed, runs the given task and completes this
+     * future with its result or exception.
+     *
+     * @param task the task to run.
+     *
+     * @return {@code Runnable} which runs the task.
+     */
+    Runnable newTask(@NotNull Callable<? extends T> task) {
+        return new Task(task);
+    }
+
+    /**
+     * Returns the default executor used for async methods that do not specify an executor - the
+     * pool that created this future. Called by the JDK since Java 9.
+     *
+     * @return {@code Executor} with the pool.
+     */
+    public Executor defaultExecutor() {
+        return mExecutor;
+    }
+
+    /**
+     * Returns a new incomplete future of the same type, so dependent stages also run at the pool.
+     * Called by the JDK since Java 9.
+     *
+     * @param <U> the type of the value.
+     *
+     * @return {@code CompletableFuture} a new {@code PoolingFuture}.
+     */
+    public <U> CompletableFuture<U> newIncompleteFuture() {
+        return new PoolingFuture<>(mExecutor);
+    }
+
+    @Override
+    public <U> CompletableFuture<U> thenApplyAsync(Function<? super T, ? extends U> fn) {
+        return thenApplyAsync(fn, mExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Void> thenAcceptAsync(Consumer<? super T> action) {
+        return thenAcceptAsync(action, mExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Void> thenRunAsync(Runnable action) {
+        return thenRunAsync(action, mExecutor);
+    }
+
+    @Override
+    public <U, V> CompletableFuture<V> thenCombineAsync(
+            CompletionStage<? extends U> other,
+            BiFunction<? super T, ? super U, ? extends V> fn) {
+        return thenCombineAsync(other, fn, mExecutor);
+    }
+
+    @Override
+    public <U> CompletableFuture<Void> thenAcceptBothAsync(
+            CompletionStage<? extends U> other,
+            BiConsumer<? super T, ? super U> action) {
+        return thenAcceptBothAsync(other, action, mExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Void> runAfterBothAsync(CompletionStage<?> other, Runnable action) {
+        return runAfterBothAsync(other, action, mExecutor);
+    }
+
+    @Override
+    public <U> CompletableFuture<U> applyToEitherAsync(CompletionStage<? extends T> other,
+                                                       Function<? super T, U> fn) {
+        return applyToEitherAsync(other, fn, mExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Void> acceptEitherAsync(CompletionStage<? extends T> other,
+                                                     Consumer<? super T> action) {
+        return acceptEitherAsync(other, action, mExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Void> runAfterEitherAsync(CompletionStage<?> other, Runnable action) {
+        return runAfterEitherAsync(other, action, mExecutor);
+    }
+
+    @Override
+    public <U> CompletableFuture<U> thenComposeAsync(
+            Function<? super T, ? extends CompletionStage<U>> fn) {
+        return thenComposeAsync(fn, mExecutor);
+    }
+
+    @Override
+    public CompletableFuture<T> whenCompleteAsync(BiConsumer<? super T, ? super Throwable> action) {
+        return whenCompleteAsync(action, mExecutor);
+    }
+
+    @Override
+    public <U> CompletableFuture<U> handleAsync(BiFunction<? super T, Throwable, ? extends U> fn) {
+        return handleAsync(fn, mExecutor);
+    }
+
+    /**
+     * Task included at the pool's queue, which completes the future when finished.
+     */
+    private final class Task implements Runnable {
+        private final Callable<? extends T> mCallable;
+
+        private Task(@NotNull Callable<? extends T> callable) {
+            mCallable = callable;
+        }
+
+        @Override
+        public void run() {
+            if (isDone())
+                return;
+            try {
+                complete(mCallable.call());
+            } catch (Throwable throwable) {
+                completeExceptionally(throwable);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "PoolingFuture.Task{" + mCallable + '}';
+        }
+    }
+}
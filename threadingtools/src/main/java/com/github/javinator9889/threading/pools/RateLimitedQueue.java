@@ -0,0 +1,131 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queue given to the {@link java.util.concurrent.ThreadPoolExecutor} of a {@link ThreadsPooling}
+ * with a {@linkplain ThreadsPooling.Builder#withRateLimit(int, long, TimeUnit, int) rate limit},
+ * wrapping the working threads queue.
+ * <p>
+ * A worker takes a thread and then waits for a permit of the {@link TokenBucket} before running
+ * it, so the threads waiting for permits stay at the working threads queue instead of holding a
+ * worker each - at most, one thread per worker is out of the queue waiting for its permit. Such a
+ * thread is held by its parked worker: it is no longer counted by the queue and it is not returned
+ * when the pool is shut down immediately, although it has not started yet.
+ * <p>
+ * Only the threads taken from the queue are limited, so this queue cannot be used with {@linkplain
+ * ThreadsPooling.Builder#withEagerGrowth() eager growth}.
+ * <p>
+ * Every other operation is delegated to the wrapped queue.
+ */
+final class RateLimitedQueue extends ForwardingBlockingQueue {
+    private final TokenBucket mBucket;
+
+    /**
+     * The executor using this queue - set right after creating it.
+     */
+    private volatile ThreadPoolExecutor mExecutor;
+
+    /**
+     * Creates a new queue wrapping the given one.
+     *
+     * @param queue  the working threads queue.
+     * @param bucket the bucket the permits are taken from.
+     */
+    RateLimitedQueue(@NotNull BlockingQueue<Runnable> queue, @NotNull TokenBucket bucket) {
+        super(queue);
+        mBucket = bucket;
+    }
+
+    /**
+     * Sets the executor using this queue, whose state is checked when a worker waiting for a
+     * permit is interrupted.
+     *
+     * @param executor the executor.
+     */
+    void setExecutor(@NotNull ThreadPoolExecutor executor) {
+        mExecutor = executor;
+    }
+
+    /**
+     * Checks whether the executor using this queue is being shut down.
+     *
+     * @return {@code true} if shutting down, else {@code false}.
+     */
+    private boolean isShutdown() {
+        ThreadPoolExecutor executor = mExecutor;
+        return executor != null && executor.isShutdown();
+    }
+
+    /**
+     * Waits for a permit for the thread. The executor interrupts idle workers whenever it is
+     * retuned (its sizes or keep alive time change), so an interruption is only honoured when the
+     * pool is being shut down: the thread is returned at once so it is not lost - the worker runs
+     * it as any other thread taken right before the interruption. Any other interruption is kept
+     * until the permit is due.
+     *
+     * @param thread the thread taken from the wrapped queue - nothing is done if {@code null}.
+     *
+     * @return {@code Runnable} the given thread.
+     */
+    private Runnable permit(Runnable thread) {
+        if (thread != null)
+            mBucket.acquire(this::isShutdown);
+        return thread;
+    }
+
+    /**
+     * Retrieves and removes the head of the wrapped queue, waiting if necessary until a task
+     * becomes available and then until its permit is due.
+     *
+     * @return the head of the queue.
+     *
+     * @throws InterruptedException if interrupted while waiting for a task.
+     */
+    @NotNull
+    @Override
+    public Runnable take() throws InterruptedException {
+        return permit(mQueue.take());
+    }
+
+    /**
+     * Retrieves and removes the head of the wrapped queue, waiting up to the specified wait time
+     * if necessary for a task to become available, and then until its permit is due.
+     *
+     * @param timeout how long to wait for a task, in units of {@code unit}.
+     * @param unit    a {@code TimeUnit} determining how to interpret the {@code timeout}
+     *                parameter.
+     *
+     * @return the head of the queue, or {@code null} if the specified waiting time elapses before
+     * a task is available.
+     *
+     * @throws InterruptedException if interrupted while waiting for a task.
+     */
+    @Override
+    public Runnable poll(long timeout, @NotNull TimeUnit unit) throws InterruptedException {
+        return permit(mQueue.poll(timeout, unit));
+    }
+}
@@ -0,0 +1,422 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools;
+
+import com.github.javinator9889.utils.ArgumentParser;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * {@code ResultCache} memoizes a function of an {@link ArgumentParser} run at the workers of a
+ * {@link ThreadsPooling}, for the cases in which lots of threads (for example, {@linkplain
+ * com.github.javinator9889.threading.threads.notifyingthread.NotifyingThread notifying threads}
+ * executing a function) compute the same function over equal arguments - as told by {@link
+ * ArgumentParser#equals(Object)}:
+ * <ul>
+ * <li>
+ * <b>Single flight</b>: concurrent calls with equal arguments share a single execution of the
+ * function, which runs at the pool once.
+ * </li>
+ * <li>
+ * <b>Cached results</b>: the results are kept for the {@linkplain
+ * Builder#withTimeToLive(long, TimeUnit) time to live}, up to a {@linkplain
+ * Builder#withMaximumSize(int) maximum amount} of them - the oldest ones are evicted first. A
+ * call whose result is cached does not use the pool at all.
+ * </li>
+ * </ul>
+ * Failed executions are not cached, so the next call with the same arguments runs the function
+ * again. An execution the pool cannot include fails with a {@link RejectedExecutionException}
+ * without being given to the {@link java.util.concurrent.RejectedExecutionHandler} of the pool, so
+ * its calls never wait for an execution that was discarded. The arguments are copied when the
+ * function is run, so they can be modified or reused afterwards.
+ * <pre>{@code
+ * ThreadsPooling pooling = ThreadsPooling.builder().build();
+ * ResultCache<Double> cache = pooling.resultCache(Calculator::doVeryBigMathCalc)
+ *         .withMaximumSize(1000)
+ *         .withTimeToLive(1, TimeUnit.MINUTES)
+ *         .build();
+ * pooling.start();
+ * ArgumentParser parser = new ArgumentParser(2);
+ * parser.putParam("first", 1.0);
+ * parser.putParam("second", 2.0);
+ * cache.apply(parser).thenAccept(System.out::println);
+ * }</pre>
+ *
+ * @param <R> the type of the results.
+ */
+public final class ResultCache<R> {
+    /**
+     * Default maximum amount of cached results.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private final ThreadsPooling mPooling;
+    private final Function<ArgumentParser, ? extends R> mFunction;
+    private final int mMaximumSize;
+
+    /**
+     * Time a result is kept, in nanoseconds - zero if results do not expire.
+     */
+    private final long mTimeToLiveNanos;
+
+    /**
+     * Cached results and running executions, by their arguments.
+     */
+    private final ConcurrentMap<ArgumentParser, Entry<R>> mEntries = new ConcurrentHashMap<>();
+
+    /**
+     * Cached results, in the order they were completed.
+     */
+    private final ConcurrentLinkedQueue<Entry<R>> mCompletedEntries = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Amount of results at {@link #mCompletedEntries}.
+     */
+    private final AtomicInteger mCompletedCount = new AtomicInteger();
+    private final LongAdder mHits = new LongAdder();
+    private final LongAdder mMisses = new LongAdder();
+
+    /**
+     * Creates a new cache - use {@link ThreadsPooling#resultCache(Function)}.
+     *
+     * @param builder the builder with the configuration.
+     */
+    private ResultCache(@NotNull Builder<R> builder) {
+        mPooling = builder.mPooling;
+        mFunction = builder.mFunction;
+        mMaximumSize = builder.mMaximumSize;
+        mTimeToLiveNanos = builder.mTimeToLiveNanos;
+    }
+
+    /**
+     * Creates a new {@link Builder} for a cache of the given function, running at the given pool.
+     *
+     * @param pooling  the pool running the function.
+     * @param function the function.
+     * @param <R>      the type of the results.
+     *
+     * @return {@code Builder} with the default values.
+     */
+    public static <R> Builder<R> builder(@NotNull ThreadsPooling pooling,
+                                         @NotNull Function<ArgumentParser, ? extends R> function) {
+        return new Builder<>(pooling, function);
+    }
+
+    /**
+     * Obtains the result of the function for the given arguments: the cached one, the one of the
+     * running execution with equal arguments or, if there is none, the one of a new execution at
+     * the pool.
+     *
+     * @param args the arguments of the function.
+     *
+     * @return {@code CompletableFuture} with the result - already completed if it was cached.
+     */
+    public CompletableFuture<R> apply(@NotNull ArgumentParser args) {
+        Entry<R> entry = mEntries.get(args);
+        if (entry != null) {
+            CompletableFuture<R> result = hit(entry, args);
+            if (result != null)
+                return result;
+        }
+        Entry<R> newEntry = new Entry<>(new ArgumentParser(args));
+        while ((entry = mEntries.putIfAbsent(newEntry.mKey, newEntry)) != null) {
+            CompletableFuture<R> result = hit(entry, args);
+            if (result != null)
+                return result;
+        }
+        mMisses.increment();
+        execute(newEntry);
+        return newEntry.mFuture.thenApply(Function.identity());
+    }
+
+    /**
+     * Obtains the result of an existing entry, removing it if it has expired.
+     *
+     * @param entry the entry.
+     * @param args  the arguments of the entry.
+     *
+     * @return {@code CompletableFuture} with the result - {@code null} if the entry has expired.
+     */
+    private CompletableFuture<R> hit(@NotNull Entry<R> entry, @NotNull ArgumentParser args) {
+        if (entry.mCompleted) {
+            if (mTimeToLiveNanos > 0L && System.nanoTime() - entry.mExpirationNanos >= 0L) {
+                discard(entry);
+                return null;
+            }
+            mHits.increment();
+            return CompletableFuture.completedFuture(entry.mResult);
+        }
+        mHits.increment();
+        return entry.mFuture.thenApply(Function.identity());
+    }
+
+    /**
+     * Runs the function for a new entry at the pool, caching its result when it finishes
+     * successfully. If the pool cannot include the execution, the entry fails at once.
+     *
+     * @param entry the new entry.
+     */
+    private void execute(@NotNull Entry<R> entry) {
+        PoolingFuture<R> future = mPooling.newFuture();
+        future.whenComplete((result, error) -> {
+            if (error == null) {
+                cache(entry, result);
+                entry.mFuture.complete(result);
+            } else {
+                mEntries.remove(entry.mKey, entry);
+                entry.mFuture.completeExceptionally(error);
+            }
+        });
+        if (!mPooling.offer(future.newTask(() -> mFunction.apply(new ArgumentParser(entry.mKey)))))
+            future.completeExceptionally(new RejectedExecutionException("The pool cannot " +
+                    "include the execution"));
+    }
+
+    /**
+     * Keeps the result of an entry, evicting the oldest results if there are too much of them.
+     *
+     * @param entry  the entry.
+     * @param result the result.
+     */
+    private void cache(@NotNull Entry<R> entry, R result) {
+        entry.mResult = result;
+        entry.mExpirationNanos = System.nanoTime() + mTimeToLiveNanos;
+        mCompletedEntries.offer(entry);
+        int completedCount = mCompletedCount.incrementAndGet();
+        entry.mCompleted = true;
+        if (completedCount <= mMaximumSize)
+            return;
+        while (mCompletedCount.get() > mMaximumSize) {
+            Entry<R> eldest = mCompletedEntries.poll();
+            if (eldest == null)
+                return;
+            mCompletedCount.decrementAndGet();
+            mEntries.remove(eldest.mKey, eldest);
+        }
+    }
+
+    /**
+     * Removes the cached result of the given arguments, if any - a running execution is not
+     * affected.
+     *
+     * @param args the arguments.
+     */
+    public void invalidate(@NotNull ArgumentParser args) {
+        Entry<R> entry = mEntries.get(args);
+        if (entry != null && entry.mCompleted)
+            discard(entry);
+    }
+
+    /**
+     * Removes every cached result - running executions are not affected.
+     */
+    public void invalidateAll() {
+        Entry<R> entry;
+        while ((entry = mCompletedEntries.poll()) != null) {
+            mCompletedCount.decrementAndGet();
+            mEntries.remove(entry.mKey, entry);
+        }
+    }
+
+    /**
+     * Removes a cached result, both from the entries and from the results kept in completion
+     * order.
+     *
+     * @param entry the entry of the result.
+     */
+    private void discard(@NotNull Entry<R> entry) {
+        mEntries.remove(entry.mKey, entry);
+        if (mCompletedEntries.remove(entry))
+            mCompletedCount.decrementAndGet();
+    }
+
+    /**
+     * Gets the amount of cached results.
+     *
+     * @return {@code int} with the amount of results.
+     */
+    public int size() {
+        int size = 0;
+        for (Entry<R> entry : mEntries.values())
+            if (entry.mCompleted)
+                ++size;
+        return size;
+    }
+
+    /**
+     * Gets the amount of calls that used a cached result or a running execution.
+     *
+     * @return {@code long} with the amount of hits.
+     */
+    public long getHitCount() {
+        return mHits.sum();
+    }
+
+    /**
+     * Gets the amount of calls that started a new execution of the function.
+     *
+     * @return {@code long} with the amount of misses.
+     */
+    public long getMissCount() {
+        return mMisses.sum();
+    }
+
+    /**
+     * Gets the ratio of calls that used a cached result or a running execution.
+     *
+     * @return {@code double} between {@code 0} and {@code 1} - {@code 0} if there have been no
+     * calls.
+     */
+    public double getHitRate() {
+        long hits = getHitCount();
+        long calls = hits + getMissCount();
+        return (calls == 0L) ? 0D : (double) hits / calls;
+    }
+
+    /**
+     * Gets the ratio of calls that started a new execution of the function.
+     *
+     * @return {@code double} between {@code 0} and {@code 1} - {@code 0} if there have been no
+     * calls.
+     */
+    public double getMissRate() {
+        long misses = getMissCount();
+        long calls = misses + getHitCount();
+        return (calls == 0L) ? 0D : (double) misses / calls;
+    }
+
+    /**
+     * Human readable representation of this class.
+     *
+     * @return {@code String} with the representation.
+     */
+    @Override
+    public String toString() {
+        return "ResultCache{size=" + size() + ", maximumSize=" + mMaximumSize +
+                ", timeToLiveMs=" + TimeUnit.NANOSECONDS.toMillis(mTimeToLiveNanos) +
+                ", hits=" + getHitCount() + ", misses=" + getMissCount() + '}';
+    }
+
+    /**
+     * Cached result or running execution of the function for some arguments.
+     *
+     * @param <R> the type of the result.
+     */
+    private static final class Entry<R> {
+        private final ArgumentParser mKey;
+        private final CompletableFuture<R> mFuture = new CompletableFuture<>();
+        private R mResult;
+        private long mExpirationNanos;
+
+        /**
+         * Whether the execution finished successfully - written after the result and the
+         * expiration time, so they are visible once this is {@code true}, and after including the
+         * entry at the results kept in completion order.
+         */
+        private volatile boolean mCompleted;
+
+        private Entry(@NotNull ArgumentParser key) {
+            mKey = key;
+        }
+    }
+
+    /**
+     * Class for generating a new instance of {@link ResultCache}.
+     *
+     * @param <R> the type of the results.
+     */
+    public static final class Builder<R> {
+        private final ThreadsPooling mPooling;
+        private final Function<ArgumentParser, ? extends R> mFunction;
+        private int mMaximumSize;
+        private long mTimeToLiveNanos;
+
+        /**
+         * Creates a new builder with the default values: up to {@linkplain #DEFAULT_MAXIMUM_SIZE
+         * the default maximum size} results, which do not expire.
+         *
+         * @param pooling  the pool running the function.
+         * @param function the function.
+         */
+        private Builder(@NotNull ThreadsPooling pooling,
+                        @NotNull Function<ArgumentParser, ? extends R> function) {
+            mPooling = pooling;
+            mFunction = function;
+            mMaximumSize = DEFAULT_MAXIMUM_SIZE;
+            mTimeToLiveNanos = 0L;
+        }
+
+        /**
+         * Sets the maximum amount of cached results - the oldest ones are evicted when exceeded.
+         *
+         * @param maximumSize the maximum size - must be higher than zero.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if the param is not valid.
+         */
+        public Builder<R> withMaximumSize(int maximumSize) {
+            if (maximumSize > 0) {
+                mMaximumSize = maximumSize;
+                return this;
+            } else
+                throw new IllegalArgumentException(String.format("Maximum size must be higher " +
+                        "than zero, not '%d'", maximumSize));
+        }
+
+        /**
+         * Sets the time a result is kept since its execution finished - by default, results do
+         * not expire.
+         *
+         * @param timeToLive the time to live - must be higher than zero.
+         * @param unit       the time unit of the param.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if the param is not valid.
+         */
+        public Builder<R> withTimeToLive(long timeToLive, @NotNull TimeUnit unit) {
+            if (timeToLive > 0) {
+                mTimeToLiveNanos = unit.toNanos(timeToLive);
+                return this;
+            } else
+                throw new IllegalArgumentException(String.format("Time to live must be higher " +
+                        "than zero, not '%d'", timeToLive));
+        }
+
+        /**
+         * Generates the new {@link ResultCache}.
+         *
+         * @return {@code ResultCache} the new cache.
+         */
+        public ResultCache<R> build() {
+            return new ResultCache<>(this);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Task scheduled at a {@link TimingWheel} - returned as a {@link
+ * java.util.concurrent.ScheduledFuture} by the {@code schedule} methods of {@link ThreadsPooling}.
+ * <p>
+ * When its deadline expires, it is dispatched to the pool's workers. Periodic tasks schedule
+ * themselves again after each successful execution, so they stop if an execution throws an
+ * exception or if they are {@linkplain #cancel(boolean) cancelled}.
+ *
+ * @param <V> the result type.
+ */
+final class ScheduledTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+    /**
+     * Wheel at which this task is scheduled.
+     */
+    private final TimingWheel mWheel;
+
+    /**
+     * Period of the task, in nanoseconds: zero for one-shot tasks, positive for fixed-rate ones and
+     * negative for fixed-delay ones.
+     */
+    private final long mPeriodNanos;
+
+    /**
+     * Time ({@link System#nanoTime()}) at which the task must be run.
+     */
+    private volatile long mDeadlineNanos;
+
+    /**
+     * Action run instead of the pool's {@link java.util.concurrent.RejectedExecutionHandler} if
+     * the task is rejected when it expires - {@code null} for using the handler.
+     */
+    private volatile Runnable mRejectedAction;
+
+    /**
+     * Tick of the wheel at which the task expires - only accessed by the wheel thread.
+     */
+    long mDeadlineTick;
+
+    /**
+     * Bucket containing the task and its neighbours - only accessed by the wheel thread.
+     */
+    TimingWheel.Bucket mBucket;
+    ScheduledTask<?> mPrevious;
+    ScheduledTask<?> mNext;
+
+    /**
+     * Creates a new one-shot task.
+     *
+     * @param callable      the task to run.
+     * @param deadlineNanos time at which the task must be run.
+     * @param wheel         the wheel at which the task is scheduled.
+     */
+    ScheduledTask(@NotNull Callable<V> callable, long deadlineNanos, @NotNull TimingWheel wheel) {
+        super(callable);
+        mWheel = wheel;
+        mPeriodNanos = 0L;
+        mDeadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Creates a new task.
+     *
+     * @param runnable      the task to run.
+     * @param result        the result returned when finished.
+     * @param deadlineNanos time at which the task must be run first.
+     * @param periodNanos   zero for one-shot tasks, positive for fixed-rate ones and negative for
+     *                      fixed-delay ones.
+     * @param wheel         the wheel at which the task is scheduled.
+     */
+    ScheduledTask(@NotNull Runnable runnable,
+                  V result,
+                  long deadlineNanos,
+                  long periodNanos,
+                  @NotNull TimingWheel wheel) {
+        super(runnable, result);
+        mWheel = wheel;
+        mPeriodNanos = periodNanos;
+        mDeadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Gets the time at which the task must be run.
+     *
+     * @return {@code long} with the deadline, comparable with {@link System#nanoTime()}.
+     */
+    long getDeadlineNanos() {
+        return mDeadlineNanos;
+    }
+
+    /**
+     * Gets the action run if the task is rejected when it expires.
+     *
+     * @return {@code Runnable} with the action, or {@code null} if the pool's handler is used.
+     */
+    Runnable getRejectedAction() {
+        return mRejectedAction;
+    }
+
+    /**
+     * Sets the action run if the task is rejected when it expires, instead of giving the task to
+     * the pool's handler. It must be set before the task is scheduled.
+     *
+     * @param action the action to run.
+     */
+    void setRejectedAction(@NotNull Runnable action) {
+        mRejectedAction = action;
+    }
+
+    /**
+     * Completes the task with the exception thrown when it was rejected by the pool.
+     *
+     * @param exception the rejection cause.
+     */
+    void setRejected(@NotNull Throwable exception) {
+        setException(exception);
+    }
+
+    /**
+     * Runs the task - periodic tasks are scheduled again if they finish normally.
+     */
+    @Override
+    public void run() {
+        if (!isPeriodic())
+            super.run();
+        else if (runAndReset()) {
+            mDeadlineNanos = (mPeriodNanos > 0L) ?
+                    mDeadlineNanos + mPeriodNanos :
+                    System.nanoTime() - mPeriodNanos;
+            try {
+                mWheel.schedule(this);
+            } catch (RejectedExecutionException ignored) {
+                super.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Cancels the task, removing it from the wheel.
+     *
+     * @param mayInterruptIfRunning whether the thread running the task should be interrupted.
+     *
+     * @return {@code false} if the task could not be cancelled, typically because it has already
+     * completed normally, else {@code true}.
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+        if (cancelled)
+            mWheel.cancelled(this);
+        return cancelled;
+    }
+
+    @Override
+    public boolean isPeriodic() {
+        return mPeriodNanos != 0L;
+    }
+
+    @Override
+    public long getDelay(@NotNull TimeUnit unit) {
+        return unit.convert(mDeadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(@NotNull Delayed other) {
+        if (other == this)
+            return 0;
+        long difference = (other instanceof ScheduledTask) ?
+                mDeadlineNanos - ((ScheduledTask<?>) other).mDeadlineNanos :
+                getDelay(TimeUnit.NANOSECONDS) - other.getDelay(TimeUnit.NANOSECONDS);
+        return (difference < 0L) ? -1 : (difference > 0L) ? 1 : 0;
+    }
+}
@@ -0,0 +1,360 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * {@code ShardedThreadsPooling} spreads the threads among several independent {@link
+ * ThreadsPooling}s (<b>shards</b>), each one with its own executor and working threads queue, so
+ * producers adding threads at the same time do not compete for a single queue: contention drops
+ * roughly linearly with the amount of shards.
+ * <p>
+ * Each thread (or batch of threads) is given to the <b>less loaded of two random shards</b> (the
+ * one with less queued threads) - the "power of two choices", which keeps the shards balanced
+ * almost as well as looking at every shard but only reads two queue sizes. Besides, the shards can
+ * {@linkplain ThreadsPooling.Builder#withNeighbourStealing() steal} queued threads from their
+ * neighbours when their workers are idle.
+ * <p>
+ * The shards are built with {@link ThreadsPooling.Builder#buildSharded(int)}, so every one of them
+ * has the configuration of the builder, and are named as the pool followed by their index
+ * ({@code pool-1-0}, {@code pool-1-1}...). They can be accessed with {@link #getShards()} for
+ * operations this class does not provide.
+ */
+public final class ShardedThreadsPooling {
+    private final String mName;
+    private final ThreadsPooling[] mShards;
+
+    /**
+     * Creates a new sharded pool.
+     *
+     * @param name   the name of the pool.
+     * @param shards the shards, already built.
+     */
+    ShardedThreadsPooling(@NotNull String name, @NotNull ThreadsPooling[] shards) {
+        mName = name;
+        mShards = shards;
+    }
+
+    /**
+     * Chooses the shard for the next thread: the one with less queued threads of two different
+     * random shards.
+     *
+     * @return {@code ThreadsPooling} chosen.
+     */
+    private ThreadsPooling nextShard() {
+        if (mShards.length == 1)
+            return mShards[0];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(mShards.length);
+        int second = random.nextInt(mShards.length - 1);
+        if (second >= first)
+            ++second;
+        return (mShards[second].getWorkingThreadsQueue().size() <
+                mShards[first].getWorkingThreadsQueue().size()) ?
+                mShards[second] :
+                mShards[first];
+    }
+
+    /**
+     * Adds a new {@code Runnable} to the less loaded of two random shards - see {@link
+     * ThreadsPooling#add(Runnable)}.
+     *
+     * @param thread the new thread to include for execution.
+     */
+    public void add(@NotNull Runnable thread) {
+        nextShard().add(thread);
+    }
+
+    /**
+     * Adds new {@code Runnable}s to the same shard. It has the same behaviour as calling {@link
+     * #addAll(Collection)} with {@code addAll(Arrays.asList(threads))}.
+     *
+     * @param threads the new threads to include for execution.
+     *
+     * @see #addAll(Collection)
+     */
+    public void add(@NotNull Runnable... threads) {
+        addAll(Arrays.asList(threads));
+    }
+
+    /**
+     * Adds a batch of {@code Runnable}s to the less loaded of two random shards <b>at once</b>, so
+     * the batch keeps waking up the workers once - see {@link ThreadsPooling#addAll(Collection)}.
+     * Big batches can be split by the caller for spreading them among several shards.
+     *
+     * @param threads the new threads to include for execution.
+     *
+     * @return {@code int} with the amount of threads included.
+     *
+     * @throws NullPointerException if any of the threads is {@code null} - no thread is included
+     *                              then.
+     */
+    public int addAll(@NotNull Collection<? extends Runnable> threads) {
+        return nextShard().addAll(threads);
+    }
+
+    /**
+     * Adds a new task to the less loaded of two random shards, returning a {@link
+     * CompletableFuture} which is completed with its result - see {@link
+     * ThreadsPooling#submit(Callable)}.
+     *
+     * @param task the task to run.
+     * @param <T>  the result type.
+     *
+     * @return {@code CompletableFuture} that will contain the task result.
+     */
+    public <T> CompletableFuture<T> submit(@NotNull Callable<T> task) {
+        return nextShard().submit(task);
+    }
+
+    /**
+     * Adds a new task to the less loaded of two random shards, returning a {@link
+     * CompletableFuture} which is completed when the task finishes - see {@link
+     * ThreadsPooling#submit(Runnable)}.
+     *
+     * @param task the task to run.
+     *
+     * @return {@code CompletableFuture} completed with {@code null} when the task finishes.
+     */
+    public CompletableFuture<Void> submit(@NotNull Runnable task) {
+        return nextShard().submit(task);
+    }
+
+    /**
+     * Adds a new task to the less loaded of two random shards, returning a {@link
+     * CompletableFuture} which is completed with the supplied value - see {@link
+     * ThreadsPooling#supply(Supplier)}.
+     *
+     * @param supplier the task to run.
+     * @param <T>      the result type.
+     *
+     * @return {@code CompletableFuture} that will contain the supplied value.
+     */
+    public <T> CompletableFuture<T> supply(@NotNull Supplier<T> supplier) {
+        return nextShard().supply(supplier);
+    }
+
+    /**
+     * Starts running the threads of every shard - see {@link ThreadsPooling#start()}.
+     *
+     * @return {@code int} with the amount of threads started.
+     */
+    public int start() {
+        int startedThreads = 0;
+        for (ThreadsPooling shard : mShards)
+            startedThreads += shard.start();
+        return startedThreads;
+    }
+
+    /**
+     * Shuts down every shard, waiting until all the threads have finished, or {@code 100 ms}
+     * until stopping abruptly.
+     *
+     * @return {@code true} if all threads finished normally, {@code false} if they were interrupted
+     * by this method.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public boolean shutdownWaitTermination() throws InterruptedException {
+        return shutdownWaitTermination(ThreadsPooling.DEFAULT_KEEP_ALIVE,
+                ThreadsPooling.DEFAULT_TIME_UNIT);
+    }
+
+    /**
+     * Shuts down every shard, waiting until all the threads have finished, or {@code timeout
+     * waitingUnit} (shared by all the shards) until stopping abruptly.
+     * <p>
+     * If {@code timeout} is set to zero, then it will be automatically changed by {@code 100 ms}.
+     *
+     * @param timeout     waiting time until a thread is interrupted - must be zero or higher.
+     * @param waitingUnit the time unit for the timeout waiting.
+     *
+     * @return {@code true} if all threads finished normally, {@code false} if they were interrupted
+     * by this method.
+     *
+     * @throws InterruptedException     if interrupted while waiting.
+     * @throws IllegalArgumentException if the timeout is lower than zero.
+     */
+    public boolean shutdownWaitTermination(long timeout, @NotNull TimeUnit waitingUnit)
+            throws InterruptedException {
+        if (timeout < 0)
+            throw new IllegalArgumentException("Timeout must be zero or higher, not " + timeout);
+        if (timeout == 0) {
+            timeout = ThreadsPooling.DEFAULT_KEEP_ALIVE;
+            waitingUnit = ThreadsPooling.DEFAULT_TIME_UNIT;
+        }
+        shutdownNotWaiting();
+        long deadline = System.nanoTime() + waitingUnit.toNanos(timeout);
+        boolean terminated = true;
+        for (ThreadsPooling shard : mShards)
+            terminated &= shard.shutdownWaitTermination(Math.max(1L,
+                    deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        return terminated;
+    }
+
+    /**
+     * Shuts down every shard, executing the submitted threads but without waiting them to finish
+     * - see {@link ThreadsPooling#shutdownNotWaiting()}.
+     */
+    public void shutdownNotWaiting() {
+        for (ThreadsPooling shard : mShards)
+            shard.shutdownNotWaiting();
+    }
+
+    /**
+     * Attempts to stop the threads running at every shard, returning the threads that were
+     * awaiting execution - see {@link ThreadsPooling#shutdownImmediately()}.
+     *
+     * @return list of threads that never commenced execution.
+     */
+    public List<Runnable> shutdownImmediately() {
+        List<Runnable> pendingThreads = new ArrayList<>();
+        for (ThreadsPooling shard : mShards)
+            pendingThreads.addAll(shard.shutdownImmediately());
+        return pendingThreads;
+    }
+
+    /**
+     * Checks whether every shard has been shut down.
+     *
+     * @return {@code true} if shut down, else {@code false}.
+     */
+    public boolean isShutdown() {
+        for (ThreadsPooling shard : mShards)
+            if (!shard.isShutdown())
+                return false;
+        return true;
+    }
+
+    /**
+     * Gets the name of the pool - the shards are named as the pool followed by their index.
+     *
+     * @return {@code String} with the name of the pool.
+     */
+    @NotNull
+    public String getName() {
+        return mName;
+    }
+
+    /**
+     * Gets the shards of this pool.
+     *
+     * @return {@code List} with the shards, which cannot be modified.
+     */
+    @NotNull
+    public List<ThreadsPooling> getShards() {
+        return Collections.unmodifiableList(Arrays.asList(mShards));
+    }
+
+    /**
+     * Gets the amount of shards.
+     *
+     * @return {@code int} with the amount of shards.
+     */
+    public int getShardCount() {
+        return mShards.length;
+    }
+
+    /**
+     * Gets the amount of threads waiting at the queues of every shard.
+     *
+     * @return {@code int} with the amount of queued threads.
+     */
+    public int getQueuedThreadsCount() {
+        int queuedThreads = 0;
+        for (ThreadsPooling shard : mShards)
+            queuedThreads += shard.getWorkingThreadsQueue().size();
+        return queuedThreads;
+    }
+
+    /**
+     * Gets the approximate amount of threads that are running at every shard.
+     *
+     * @return {@code int} with the amount of running threads.
+     */
+    public int getActiveThreadsCount() {
+        int activeThreads = 0;
+        for (ThreadsPooling shard : mShards)
+            activeThreads += shard.getActiveThreadsCount();
+        return activeThreads;
+    }
+
+    /**
+     * Gets the approximate amount of threads that have completed their execution at every shard.
+     *
+     * @return {@code long} with the amount of completed threads.
+     */
+    public long getCompletedThreadCount() {
+        long completedThreads = 0L;
+        for (ThreadsPooling shard : mShards)
+            completedThreads += shard.getCompletedThreadCount();
+        return completedThreads;
+    }
+
+    /**
+     * Gets the amount of threads that have been given to the rejected execution handlers of the
+     * shards.
+     *
+     * @return {@code long} with the amount of rejected threads.
+     */
+    public long getRejectedThreadCount() {
+        long rejectedThreads = 0L;
+        for (ThreadsPooling shard : mShards)
+            rejectedThreads += shard.getRejectedThreadCount();
+        return rejectedThreads;
+    }
+
+    /**
+     * Estimates the native memory currently released by the shards that {@linkplain
+     * ThreadsPooling.Builder#withScaleToZero() scale to zero} - see {@link
+     * ThreadsPooling#getNativeMemorySavings()}.
+     *
+     * @return {@code long} with the estimated released memory, in bytes.
+     */
+    public long getNativeMemorySavings() {
+        long savings = 0L;
+        for (ThreadsPooling shard : mShards)
+            savings += shard.getNativeMemorySavings();
+        return savings;
+    }
+
+    /**
+     * Human readable representation of this class.
+     *
+     * @return {@code String} with the representation.
+     */
+    @Override
+    public String toString() {
+        return "ShardedThreadsPooling{name=" + mName + ", shards=" + Arrays.toString(mShards) +
+                '}';
+    }
+}
@@ -0,0 +1,376 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code SubPool} is a <b>logical pool</b> carved out of the workers of a {@link ThreadsPooling},
+ * so several workloads can share one set of threads instead of over-provisioning a pool each,
+ * while keeping them isolated from each other:
+ * <ul>
+ * <li>
+ * Each sub-pool has its own <b>queue</b>, with its own {@linkplain Builder#withQueueCapacity(int)
+ * capacity}, and its own {@linkplain Builder#withRejectedExecutionHandler(RejectedExecutionHandler)
+ * rejected execution handler}.
+ * </li>
+ * <li>
+ * Each sub-pool is <b>guaranteed</b> a {@linkplain Builder#withMinimumConcurrency(int) minimum
+ * amount} of the workers and never uses more than a {@linkplain
+ * Builder#withMaximumConcurrency(int) maximum amount} of them.
+ * </li>
+ * <li>
+ * The workers not guaranteed to any sub-pool can be <b>borrowed</b> by any of them, up to its
+ * maximum. The guaranteed workers a sub-pool does not use are never borrowed, so its threads are
+ * given to a worker at once while it is below its minimum.
+ * </li>
+ * </ul>
+ * The threads of the sub-pools never take more workers than the {@linkplain
+ * ThreadsPooling#getConcurrentThreadsRunning() concurrent threads} of the pool, so they wait at
+ * their sub-pool queue instead of at the pool queue. Threads added directly to the pool compete
+ * with them for the workers.
+ * <pre>{@code
+ * ThreadsPooling pooling = ThreadsPooling.builder()
+ *         .withConcurrentThreadsRunning(8)
+ *         .build();
+ * SubPool orders = pooling.subPool("orders")
+ *         .withMinimumConcurrency(4)
+ *         .withMaximumConcurrency(8)
+ *         .build();
+ * SubPool reports = pooling.subPool("reports")
+ *         .withMaximumConcurrency(2)
+ *         .build();
+ * pooling.start();
+ * orders.add(() -> process(order));
+ * }</pre>
+ */
+public final class SubPool {
+    private final SubPoolScheduler mScheduler;
+    private final String mName;
+    private final int mMinimumConcurrency;
+    private final int mMaximumConcurrency;
+    private final int mQueueCapacity;
+    private final RejectedExecutionHandler mRejectedExecutionHandler;
+    private final LongAdder mCompletedCount = new LongAdder();
+    private final LongAdder mRejectedCount = new LongAdder();
+
+    /**
+     * Threads waiting for a worker - guarded by the {@link #mScheduler}.
+     */
+    final ArrayDeque<Runnable> mQueue = new ArrayDeque<>();
+
+    /**
+     * Amount of threads of this sub-pool given to the workers - guarded by the {@link
+     * #mScheduler}.
+     */
+    int mActiveThreads;
+
+    /**
+     * Creates a new sub-pool - use {@link ThreadsPooling#subPool(String)}.
+     *
+     * @param builder the builder with the configuration.
+     */
+    private SubPool(@NotNull Builder builder) {
+        mScheduler = builder.mPooling.subPoolScheduler();
+        mName = builder.mName;
+        mMinimumConcurrency = builder.mMinimumConcurrency;
+        mMaximumConcurrency = builder.mMaximumConcurrency;
+        mQueueCapacity = builder.mQueueCapacity;
+        mRejectedExecutionHandler = builder.mRejectedExecutionHandler;
+    }
+
+    /**
+     * Creates a new {@link Builder} for a sub-pool running at the workers of the given pool.
+     *
+     * @param pooling the pool whose workers are shared.
+     * @param name    the name of the sub-pool.
+     *
+     * @return {@code Builder} with the default values.
+     */
+    static Builder builder(@NotNull ThreadsPooling pooling, @NotNull String name) {
+        return new Builder(pooling, name);
+    }
+
+    /**
+     * Adds a new {@code Runnable} to the queue of this sub-pool, which is run as soon as the
+     * sub-pool gets a worker. If the queue is full, or the thread is rejected by the pool (for
+     * example, because it has been shut down), the thread is given to the {@linkplain
+     * #getRejectedExecutionHandler() rejected execution handler} of this sub-pool.
+     *
+     * @param thread the new thread to include for execution.
+     */
+    public void add(@NotNull Runnable thread) {
+        if (thread == null || !mScheduler.enqueue(this, thread)) {
+            reject(thread);
+            return;
+        }
+        mScheduler.dispatch();
+    }
+
+    /**
+     * Adds new {@code Runnable}s to the queue of this sub-pool, as {@link #add(Runnable)} does.
+     *
+     * @param threads the new threads to include for execution.
+     */
+    public void add(@NotNull Runnable... threads) {
+        for (Runnable thread : threads)
+            add(thread);
+    }
+
+    /**
+     * Gives a rejected thread to the rejected execution handler of this sub-pool.
+     *
+     * @param thread the thread that has been rejected.
+     */
+    void reject(Runnable thread) {
+        mRejectedCount.increment();
+        mScheduler.getPooling().reject(thread, getRejectedExecutionHandler());
+    }
+
+    /**
+     * Records that a thread of this sub-pool has finished.
+     */
+    void threadCompleted() {
+        mCompletedCount.increment();
+    }
+
+    /**
+     * Gets the name of this sub-pool.
+     *
+     * @return {@code String} with the name.
+     */
+    public String getName() {
+        return mName;
+    }
+
+    /**
+     * Gets the amount of workers guaranteed to this sub-pool.
+     *
+     * @return {@code int} with the minimum concurrency.
+     */
+    public int getMinimumConcurrency() {
+        return mMinimumConcurrency;
+    }
+
+    /**
+     * Gets the maximum amount of workers this sub-pool can use at the same time.
+     *
+     * @return {@code int} with the maximum concurrency.
+     */
+    public int getMaximumConcurrency() {
+        return mMaximumConcurrency;
+    }
+
+    /**
+     * Gets the maximum amount of threads waiting at the queue of this sub-pool.
+     *
+     * @return {@code int} with the queue capacity.
+     */
+    public int getQueueCapacity() {
+        return mQueueCapacity;
+    }
+
+    /**
+     * Gets the amount of threads waiting at the queue of this sub-pool.
+     *
+     * @return {@code int} with the amount of queued threads.
+     */
+    public int getQueuedThreadsCount() {
+        synchronized (mScheduler) {
+            return mQueue.size();
+        }
+    }
+
+    /**
+     * Gets the amount of threads of this sub-pool currently given to the workers.
+     *
+     * @return {@code int} with the amount of active threads.
+     */
+    public int getActiveThreadsCount() {
+        synchronized (mScheduler) {
+            return mActiveThreads;
+        }
+    }
+
+    /**
+     * Gets the amount of threads of this sub-pool that have finished.
+     *
+     * @return {@code long} with the amount of completed threads.
+     */
+    public long getCompletedThreadCount() {
+        return mCompletedCount.sum();
+    }
+
+    /**
+     * Gets the amount of threads of this sub-pool that have been given to its rejected execution
+     * handler.
+     *
+     * @return {@code long} with the amount of rejected threads.
+     */
+    public long getRejectedThreadCount() {
+        return mRejectedCount.sum();
+    }
+
+    /**
+     * Gets the rejected execution handler of this sub-pool - the one of the pool if none was set.
+     *
+     * @return {@code RejectedExecutionHandler} of this sub-pool.
+     */
+    public RejectedExecutionHandler getRejectedExecutionHandler() {
+        return (mRejectedExecutionHandler != null) ?
+                mRejectedExecutionHandler :
+                mScheduler.getPooling().getRejectedExecutionHandler();
+    }
+
+    /**
+     * Human readable representation of this class.
+     *
+     * @return {@code String} with the representation.
+     */
+    @Override
+    public String toString() {
+        return "SubPool{name=" + mName + ", minimumConcurrency=" + mMinimumConcurrency +
+                ", maximumConcurrency=" + mMaximumConcurrency + ", queued=" +
+                getQueuedThreadsCount() + ", active=" + getActiveThreadsCount() + '}';
+    }
+
+    /**
+     * Class for generating a new instance of {@link SubPool}.
+     */
+    public static final class Builder {
+        private final ThreadsPooling mPooling;
+        private final String mName;
+        private int mMinimumConcurrency;
+        private int mMaximumConcurrency;
+        private int mQueueCapacity;
+        private RejectedExecutionHandler mRejectedExecutionHandler;
+
+        /**
+         * Creates a new builder with the default values: no guaranteed workers, up to every
+         * worker of the pool and the {@linkplain ThreadsPooling#DEFAULT_QUEUE_CAPACITY default
+         * queue capacity}.
+         *
+         * @param pooling the pool whose workers are shared.
+         * @param name    the name of the sub-pool.
+         */
+        private Builder(@NotNull ThreadsPooling pooling, @NotNull String name) {
+            mPooling = pooling;
+            mName = name;
+            mMinimumConcurrency = 0;
+            mMaximumConcurrency = Math.max(1, pooling.getConcurrentThreadsRunning());
+            mQueueCapacity = ThreadsPooling.DEFAULT_QUEUE_CAPACITY;
+            mRejectedExecutionHandler = null;
+        }
+
+        /**
+         * Sets the amount of workers guaranteed to the sub-pool - by default, none. The
+         * guaranteed workers of every sub-pool of a pool cannot exceed its {@linkplain
+         * ThreadsPooling#getConcurrentThreadsRunning() concurrent threads}.
+         *
+         * @param minimumConcurrency the minimum concurrency - must be zero or higher.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if the param is not valid.
+         */
+        public Builder withMinimumConcurrency(int minimumConcurrency) {
+            if (minimumConcurrency >= 0) {
+                mMinimumConcurrency = minimumConcurrency;
+                return this;
+            } else
+                throw new IllegalArgumentException(String.format("Minimum concurrency must be " +
+                        "zero or higher, not '%d'", minimumConcurrency));
+        }
+
+        /**
+         * Sets the maximum amount of workers the sub-pool can use at the same time - by default,
+         * every worker of the pool.
+         *
+         * @param maximumConcurrency the maximum concurrency - must be higher than zero.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if the param is not valid.
+         */
+        public Builder withMaximumConcurrency(int maximumConcurrency) {
+            if (maximumConcurrency > 0) {
+                mMaximumConcurrency = maximumConcurrency;
+                return this;
+            } else
+                throw new IllegalArgumentException(String.format("Maximum concurrency must be " +
+                        "higher than zero, not '%d'", maximumConcurrency));
+        }
+
+        /**
+         * Sets the maximum amount of threads waiting at the queue of the sub-pool - new threads
+         * are rejected when it is full.
+         *
+         * @param queueCapacity the capacity - must be higher than zero.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if the param is not valid.
+         */
+        public Builder withQueueCapacity(int queueCapacity) {
+            if (queueCapacity > 0) {
+                mQueueCapacity = queueCapacity;
+                return this;
+            } else
+                throw new IllegalArgumentException(String.format("Queue capacity must be " +
+                        "higher than zero, not '%d'", queueCapacity));
+        }
+
+        /**
+         * Sets the handler of the threads rejected by the sub-pool.
+         *
+         * @param handler the handler - use {@code null} for the one of the pool.
+         *
+         * @return {@code Builder} itself.
+         */
+        public Builder withRejectedExecutionHandler(@Nullable RejectedExecutionHandler handler) {
+            mRejectedExecutionHandler = handler;
+            return this;
+        }
+
+        /**
+         * Generates the new {@link SubPool}.
+         *
+         * @return {@code SubPool} the new sub-pool.
+         *
+         * @throws IllegalArgumentException if the minimum concurrency is higher than the maximum
+         *                                  one, or if the guaranteed workers of the sub-pools of
+         *                                  the pool would exceed its concurrent threads.
+         */
+        public SubPool build() {
+            if (mMinimumConcurrency > mMaximumConcurrency)
+                throw new IllegalArgumentException(String.format("Minimum concurrency '%d' " +
+                        "cannot be higher than maximum concurrency '%d'", mMinimumConcurrency,
+                        mMaximumConcurrency));
+            SubPool subPool = new SubPool(this);
+            subPool.mScheduler.register(subPool);
+            return subPool;
+        }
+    }
+}
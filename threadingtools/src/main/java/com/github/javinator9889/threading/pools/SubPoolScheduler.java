@@ -0,0 +1,243 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shares the workers of a {@link ThreadsPooling} among its {@link SubPool}s.
+ * <p>
+ * At most the {@linkplain ThreadsPooling#getConcurrentThreadsRunning() concurrent threads} of the
+ * pool are given to the workers at once. Whenever there is room for one more, the next thread is
+ * taken, in round-robin order, from a sub-pool below its minimum concurrency or - if there is
+ * none - from any sub-pool below its maximum one. The latter only borrows the workers not
+ * guaranteed to any sub-pool: the guaranteed workers a sub-pool is not using are kept for it, so
+ * its next thread never waits for a borrowed worker to finish.
+ * <p>
+ * The decisions are taken under the monitor of the scheduler, which is only held while choosing
+ * the threads: they are given to the pool, and run, out of it.
+ */
+final class SubPoolScheduler {
+    private final ThreadsPooling mPooling;
+    private final List<SubPool> mSubPools = new ArrayList<>();
+
+    /**
+     * Sum of the minimum concurrency of every sub-pool.
+     */
+    private int mGuaranteedConcurrency;
+
+    /**
+     * Sum of the guaranteed workers each sub-pool is not using.
+     */
+    private int mUnusedGuaranteedConcurrency;
+
+    /**
+     * Amount of threads of every sub-pool given to the workers.
+     */
+    private int mActiveThreads;
+
+    /**
+     * Index of the sub-pool to check first when looking for the next thread.
+     */
+    private int mNextSubPool;
+
+    /**
+     * Creates a new scheduler.
+     *
+     * @param pooling the pool whose workers are shared.
+     */
+    SubPoolScheduler(@NotNull ThreadsPooling pooling) {
+        mPooling = pooling;
+    }
+
+    /**
+     * Gets the pool whose workers are shared.
+     *
+     * @return {@code ThreadsPooling} of the sub-pools.
+     */
+    ThreadsPooling getPooling() {
+        return mPooling;
+    }
+
+    /**
+     * Registers a new sub-pool, so its threads start sharing the workers.
+     *
+     * @param subPool the sub-pool.
+     *
+     * @throws IllegalArgumentException if the guaranteed workers of the sub-pools would exceed the
+     *                                  concurrent threads of the pool.
+     */
+    synchronized void register(@NotNull SubPool subPool) {
+        int concurrency = getConcurrency();
+        if (mGuaranteedConcurrency + subPool.getMinimumConcurrency() > concurrency)
+            throw new IllegalArgumentException(String.format("Sub-pool '%s' cannot be " +
+                    "guaranteed %d workers, only %d of %d are not guaranteed yet",
+                    subPool.getName(), subPool.getMinimumConcurrency(),
+                    concurrency - mGuaranteedConcurrency, concurrency));
+        mGuaranteedConcurrency += subPool.getMinimumConcurrency();
+        mUnusedGuaranteedConcurrency += subPool.getMinimumConcurrency();
+        mSubPools.add(subPool);
+    }
+
+    /**
+     * Includes a thread at the queue of a sub-pool, if there is space available.
+     *
+     * @param subPool the sub-pool.
+     * @param thread  the thread.
+     *
+     * @return {@code true} if the thread was included, else {@code false}.
+     */
+    synchronized boolean enqueue(@NotNull SubPool subPool, @NotNull Runnable thread) {
+        if (subPool.mQueue.size() >= subPool.getQueueCapacity())
+            return false;
+        subPool.mQueue.offer(thread);
+        return true;
+    }
+
+    /**
+     * Gives the next threads of the sub-pools to the pool, while there is room for them. The
+     * threads rejected by the pool are given to the rejected execution handler of their
+     * sub-pool.
+     */
+    void dispatch() {
+        List<SubPoolTask> tasks = null;
+        synchronized (this) {
+            int concurrency = getConcurrency();
+            SubPool subPool;
+            while (mActiveThreads < concurrency && (subPool = nextSubPool(concurrency)) != null) {
+                if (subPool.mActiveThreads < subPool.getMinimumConcurrency())
+                    --mUnusedGuaranteedConcurrency;
+                ++subPool.mActiveThreads;
+                ++mActiveThreads;
+                if (tasks == null)
+                    tasks = new ArrayList<>();
+                tasks.add(new SubPoolTask(subPool, subPool.mQueue.poll()));
+            }
+        }
+        if (tasks == null)
+            return;
+        for (SubPoolTask task : tasks)
+            if (!mPooling.offer(task)) {
+                finished(task.mSubPool);
+                task.mSubPool.reject(task.mThread);
+            }
+    }
+
+    /**
+     * Chooses the sub-pool whose next thread is given to the workers. A sub-pool at or above its
+     * minimum concurrency is only chosen if there is a worker that is neither running a thread
+     * nor guaranteed to another sub-pool.
+     *
+     * @param concurrency the amount of workers shared by the sub-pools.
+     *
+     * @return {@code SubPool} with pending threads - {@code null} if there is none that can run
+     * one more thread.
+     */
+    private SubPool nextSubPool(int concurrency) {
+        int subPools = mSubPools.size();
+        for (int i = 0; i < subPools; ++i) {
+            int index = (mNextSubPool + i) % subPools;
+            SubPool subPool = mSubPools.get(index);
+            if (!subPool.mQueue.isEmpty() &&
+                    subPool.mActiveThreads < subPool.getMinimumConcurrency()) {
+                mNextSubPool = (index + 1) % subPools;
+                return subPool;
+            }
+        }
+        if (mActiveThreads + mUnusedGuaranteedConcurrency >= concurrency)
+            return null;
+        for (int i = 0; i < subPools; ++i) {
+            int index = (mNextSubPool + i) % subPools;
+            SubPool subPool = mSubPools.get(index);
+            if (!subPool.mQueue.isEmpty() &&
+                    subPool.mActiveThreads < subPool.getMaximumConcurrency()) {
+                mNextSubPool = (index + 1) % subPools;
+                return subPool;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Releases the worker held by a thread of the sub-pool.
+     *
+     * @param subPool the sub-pool.
+     */
+    private synchronized void finished(@NotNull SubPool subPool) {
+        --subPool.mActiveThreads;
+        --mActiveThreads;
+        if (subPool.mActiveThreads < subPool.getMinimumConcurrency())
+            ++mUnusedGuaranteedConcurrency;
+    }
+
+    /**
+     * Gets the amount of workers shared by the sub-pools.
+     *
+     * @return {@code int} with the concurrent threads of the pool.
+     */
+    private int getConcurrency() {
+        return Math.max(1, mPooling.getConcurrentThreadsRunning());
+    }
+
+    /**
+     * Human readable representation of this class.
+     *
+     * @return {@code String} with the representation.
+     */
+    @Override
+    public synchronized String toString() {
+        return "SubPoolScheduler{subPools=" + mSubPools.size() + ", guaranteedConcurrency=" +
+                mGuaranteedConcurrency + ", unusedGuaranteedConcurrency=" +
+                mUnusedGuaranteedConcurrency + ", activeThreads=" + mActiveThreads + '}';
+    }
+
+    /**
+     * Wrapper that runs a thread of a sub-pool, giving its worker to the next thread when it
+     * finishes.
+     */
+    private final class SubPoolTask implements Runnable {
+        private final SubPool mSubPool;
+        private final Runnable mThread;
+
+        private SubPoolTask(@NotNull SubPool subPool, @NotNull Runnable thread) {
+            mSubPool = subPool;
+            mThread = thread;
+        }
+
+        @Override
+        public void run() {
+            try {
+                mThread.run();
+            } finally {
+                mSubPool.threadCompleted();
+                finished(mSubPool);
+                dispatch();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return mThread.toString();
+        }
+    }
+}
@@ -0,0 +1,448 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@code TaskGraph} runs a <b>dependency graph</b> (DAG) of tasks at the workers of a {@link
+ * ThreadsPooling}, instead of wiring {@link com.github.javinator9889.threading.threads.notifyingthread.OnThreadCompletedListener}s
+ * that add the next {@link com.github.javinator9889.threading.threads.notifyingthread.NotifyingThread}.
+ * <p>
+ * Each node declares its dependencies (its <b>parents</b>) and becomes ready when every parent
+ * has completed: each node keeps a counter of pending parents that is decremented by the worker
+ * that completes a parent, so there is no lock and no worker waits for another one - the worker
+ * that completes the last parent dispatches the node at once. The graph is defined with a {@link
+ * Builder} (see {@link ThreadsPooling#graph()}) and can be {@linkplain #execute() executed} many
+ * times:
+ * <pre>{@code
+ * TaskGraph graph = pooling.graph()
+ *         .add("load", 5, loadTask)
+ *         .add("parse", 20, parseTask, "load")
+ *         .add("thumbnails", 2, thumbnailsTask, "load")
+ *         .add("index", 10, indexTask, "parse")
+ *         .build();
+ * graph.execute().join();
+ * }</pre>
+ * Nodes on the <b>critical path</b> are dispatched first: each node has a <b>rank</b>, which is
+ * the highest sum of (estimated) costs from the node to the end of the graph, and when several
+ * nodes become ready at once they are dispatched from the highest rank to the lowest. Besides, if
+ * the pool {@linkplain ThreadsPooling.Builder#withPriorityQueue() uses a priority queue}, the rank
+ * is used as the priority of the node, so critical nodes overtake the rest at the queue.
+ * <p>
+ * When a node <b>fails</b> (it throws an exception or it is rejected by the pool), its dependents
+ * are <b>skipped</b> without running, while the independent nodes go on. The future returned by
+ * {@link #execute()} is completed when every node has completed or been skipped - exceptionally
+ * with the first failure, if any. Cancelling that future skips the nodes that have not started
+ * yet.
+ */
+public final class TaskGraph {
+    /**
+     * Default estimated cost of a node.
+     */
+    public static final long DEFAULT_COST = 1L;
+
+    private static final int PENDING = 0;
+    private static final int STARTED = 1;
+    private static final int SKIPPED = 2;
+
+    private final ThreadsPooling mPooling;
+    private final String[] mNames;
+    private final Runnable[] mTasks;
+    private final int[][] mChildren;
+    private final int[] mParentsCount;
+    private final long[] mRanks;
+    private final int[] mPriorities;
+    private final int[] mRoots;
+
+    /**
+     * Creates a new graph from the nodes of the builder, which must be in topological order.
+     *
+     * @param pooling the pool that runs the nodes.
+     * @param nodes   the nodes, in topological order.
+     */
+    private TaskGraph(@NotNull ThreadsPooling pooling, @NotNull List<Node> nodes) {
+        int size = nodes.size();
+        mPooling = pooling;
+        mNames = new String[size];
+        mTasks = new Runnable[size];
+        mChildren = new int[size][];
+        mParentsCount = new int[size];
+        mRanks = new long[size];
+        mPriorities = new int[size];
+        Map<String, Integer> indexes = new HashMap<>(size * 2);
+        List<List<Integer>> children = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            Node node = nodes.get(i);
+            mNames[i] = node.mName;
+            mTasks[i] = node.mTask;
+            mParentsCount[i] = node.mDependencies.size();
+            indexes.put(node.mName, i);
+            children.add(new ArrayList<>());
+            for (String dependency : node.mDependencies)
+                children.get(indexes.get(dependency)).add(i);
+        }
+        long maximumRank = 1L;
+        for (int i = size - 1; i >= 0; --i) {
+            List<Integer> nodeChildren = children.get(i);
+            nodeChildren.sort((first, second) -> Long.compare(mRanks[second], mRanks[first]));
+            mChildren[i] = new int[nodeChildren.size()];
+            long childrenRank = 0L;
+            for (int j = 0; j < mChildren[i].length; ++j) {
+                mChildren[i][j] = nodeChildren.get(j);
+                childrenRank = Math.max(childrenRank, mRanks[mChildren[i][j]]);
+            }
+            mRanks[i] = nodes.get(i).mCost + childrenRank;
+            maximumRank = Math.max(maximumRank, mRanks[i]);
+        }
+        List<Integer> roots = new ArrayList<>();
+        for (int i = 0; i < size; ++i) {
+            mPriorities[i] = Thread.MIN_PRIORITY + (int) Math.round((double) mRanks[i] /
+                    maximumRank * (Thread.MAX_PRIORITY - Thread.MIN_PRIORITY));
+            if (mParentsCount[i] == 0)
+                roots.add(i);
+        }
+        roots.sort((first, second) -> Long.compare(mRanks[second], mRanks[first]));
+        mRoots = new int[roots.size()];
+        for (int i = 0; i < mRoots.length; ++i)
+            mRoots[i] = roots.get(i);
+    }
+
+    /**
+     * Creates a new builder for a graph whose nodes run at the given pool.
+     *
+     * @param pooling the pool that runs the nodes.
+     *
+     * @return {@code Builder} without nodes.
+     */
+    @NotNull
+    static Builder builder(@NotNull ThreadsPooling pooling) {
+        return new Builder(pooling);
+    }
+
+    /**
+     * Starts running the graph: the nodes without dependencies are dispatched at once and the
+     * rest as soon as their parents complete.
+     *
+     * @return {@code CompletableFuture} completed when every node has completed or been skipped -
+     * exceptionally with the first failure, if any.
+     */
+    @NotNull
+    public CompletableFuture<Void> execute() {
+        Execution execution = new Execution();
+        if (mNames.length == 0)
+            execution.mFuture.complete(null);
+        else
+            execution.dispatch(mRoots, mRoots.length);
+        return execution.mFuture;
+    }
+
+    /**
+     * Gets the critical path of the graph: the sequence of nodes with the highest sum of costs,
+     * which limits how fast the whole graph can be run.
+     *
+     * @return {@code List} with the names of the nodes, from the first to the last one.
+     */
+    @NotNull
+    public List<String> getCriticalPath() {
+        List<String> path = new ArrayList<>();
+        if (mRoots.length == 0)
+            return path;
+        int node = mRoots[0];
+        while (true) {
+            path.add(mNames[node]);
+            if (mChildren[node].length == 0)
+                return path;
+            node = mChildren[node][0];
+        }
+    }
+
+    /**
+     * Gets the rank of a node: the highest sum of costs from the node to the end of the graph.
+     *
+     * @param name the name of the node.
+     *
+     * @return {@code long} with the rank.
+     *
+     * @throws IllegalArgumentException if there is no node with that name.
+     */
+    public long getRank(@NotNull String name) {
+        for (int i = 0; i < mNames.length; ++i)
+            if (mNames[i].equals(name))
+                return mRanks[i];
+        throw new IllegalArgumentException(String.format("There is no node named '%s'", name));
+    }
+
+    /**
+     * Gets the amount of nodes of the graph.
+     *
+     * @return {@code int} with the amount of nodes.
+     */
+    public int size() {
+        return mNames.length;
+    }
+
+    /**
+     * Human readable representation of this class.
+     *
+     * @return {@code String} with the representation.
+     */
+    @Override
+    public String toString() {
+        return "TaskGraph{nodes=" + Arrays.toString(mNames) + ", criticalPath=" +
+                getCriticalPath() + '}';
+    }
+
+    /**
+     * State of an execution of the graph.
+     */
+    private final class Execution {
+        private final PoolingFuture<Void> mFuture = mPooling.newFuture();
+        private final AtomicIntegerArray mPendingParents = new AtomicIntegerArray(mParentsCount);
+        private final AtomicIntegerArray mStates = new AtomicIntegerArray(mNames.length);
+        private final AtomicInteger mUnfinished = new AtomicInteger(mNames.length);
+        private final AtomicReference<Throwable> mFailure = new AtomicReference<>();
+
+        /**
+         * Dispatches the ready nodes, from the highest rank to the lowest one.
+         *
+         * @param nodes the ready nodes, sorted by rank.
+         * @param count amount of nodes to dispatch.
+         */
+        private void dispatch(@NotNull int[] nodes, int count) {
+            for (int i = 0; i < count; ++i) {
+                final int node = nodes[i];
+                if (!mStates.compareAndSet(node, PENDING, STARTED))
+                    continue;
+                if (!mPooling.offer(() -> run(node), mPriorities[node]))
+                    failed(node, new RejectedExecutionException(
+                            "The pool cannot include the node " + mNames[node]));
+            }
+        }
+
+        /**
+         * Runs a node and dispatches the children that become ready.
+         *
+         * @param node the node.
+         */
+        private void run(int node) {
+            if (mFuture.isDone()) {
+                failed(node, null);
+                return;
+            }
+            try {
+                mTasks[node].run();
+            } catch (Throwable throwable) {
+                failed(node, throwable);
+                return;
+            }
+            int[] children = mChildren[node];
+            int[] readyChildren = new int[children.length];
+            int ready = 0;
+            for (int child : children)
+                if (mPendingParents.decrementAndGet(child) == 0)
+                    readyChildren[ready++] = child;
+            dispatch(readyChildren, ready);
+            finished();
+        }
+
+        /**
+         * Marks a node as failed, skipping its dependents.
+         *
+         * @param node      the node.
+         * @param throwable why the node failed - {@code null} if it was skipped because the
+         *                  execution was cancelled.
+         */
+        private void failed(int node, Throwable throwable) {
+            if (throwable != null)
+                mFailure.compareAndSet(null, throwable);
+            Deque<Integer> dependents = new ArrayDeque<>();
+            for (int child : mChildren[node])
+                dependents.push(child);
+            while (!dependents.isEmpty()) {
+                int dependent = dependents.pop();
+                if (!mStates.compareAndSet(dependent, PENDING, SKIPPED))
+                    continue;
+                for (int child : mChildren[dependent])
+                    dependents.push(child);
+                finished();
+            }
+            finished();
+        }
+
+        /**
+         * Called every time a node completes or is skipped: the last one completes the future.
+         */
+        private void finished() {
+            if (mUnfinished.decrementAndGet() != 0)
+                return;
+            Throwable failure = mFailure.get();
+            if (failure == null)
+                mFuture.complete(null);
+            else
+                mFuture.completeExceptionally(failure);
+        }
+    }
+
+    /**
+     * Node definition, filled in by the {@link Builder}.
+     */
+    private static final class Node {
+        private final String mName;
+        private final long mCost;
+        private final Runnable mTask;
+        private final List<String> mDependencies;
+
+        private Node(@NotNull String name,
+                     long cost,
+                     @NotNull Runnable task,
+                     @NotNull List<String> dependencies) {
+            mName = name;
+            mCost = cost;
+            mTask = task;
+            mDependencies = dependencies;
+        }
+    }
+
+    /**
+     * Builder for {@link TaskGraph}s. Nodes can be added in any order, as long as every dependency
+     * is added before {@linkplain #build() building} the graph.
+     */
+    public static final class Builder {
+        private final ThreadsPooling mPooling;
+        private final Map<String, Node> mNodes = new LinkedHashMap<>();
+
+        /**
+         * Private constructor - use {@link ThreadsPooling#graph()}.
+         *
+         * @param pooling the pool that runs the nodes.
+         */
+        private Builder(@NotNull ThreadsPooling pooling) {
+            mPooling = pooling;
+        }
+
+        /**
+         * Adds a new node with the {@linkplain #DEFAULT_COST default cost}.
+         *
+         * @param name         the unique name of the node.
+         * @param task         the task of the node.
+         * @param dependencies names of the nodes that must complete before this one.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if there is another node with the same name.
+         */
+        @NotNull
+        public Builder add(@NotNull String name,
+                           @NotNull Runnable task,
+                           @NotNull String... dependencies) {
+            return add(name, DEFAULT_COST, task, dependencies);
+        }
+
+        /**
+         * Adds a new node with the given estimated cost, which is used for finding out the
+         * critical path. Costs are relative to each other - for example, the expected running
+         * time in milliseconds.
+         *
+         * @param name         the unique name of the node.
+         * @param cost         the estimated cost of the node - must be higher than zero.
+         * @param task         the task of the node.
+         * @param dependencies names of the nodes that must complete before this one.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if the cost is zero or lower, or if there is another
+         *                                  node with the same name.
+         */
+        @NotNull
+        public Builder add(@NotNull String name,
+                           long cost,
+                           @NotNull Runnable task,
+                           @NotNull String... dependencies) {
+            if (cost <= 0)
+                throw new IllegalArgumentException(String.format("Node cost must be higher " +
+                        "than zero, not '%d'", cost));
+            if (mNodes.containsKey(name))
+                throw new IllegalArgumentException(String.format("There is already a node " +
+                        "named '%s'", name));
+            List<String> uniqueDependencies = new ArrayList<>(dependencies.length);
+            for (String dependency : dependencies)
+                if (!uniqueDependencies.contains(dependency))
+                    uniqueDependencies.add(dependency);
+            mNodes.put(name, new Node(name, cost, task,
+                    Collections.unmodifiableList(uniqueDependencies)));
+            return this;
+        }
+
+        /**
+         * Generates a new {@link TaskGraph} with the provided nodes.
+         *
+         * @return {@code TaskGraph} with the nodes.
+         *
+         * @throws IllegalArgumentException if a dependency has not been added or if the
+         *                                  dependencies contain a cycle.
+         */
+        @NotNull
+        public TaskGraph build() {
+            Map<String, Integer> pendingParents = new HashMap<>(mNodes.size() * 2);
+            Map<String, List<String>> children = new HashMap<>(mNodes.size() * 2);
+            Deque<String> ready = new ArrayDeque<>();
+            for (Node node : mNodes.values()) {
+                for (String dependency : node.mDependencies) {
+                    if (!mNodes.containsKey(dependency))
+                        throw new IllegalArgumentException(String.format("Node '%s' depends " +
+                                "on '%s', which has not been added", node.mName, dependency));
+                    children.computeIfAbsent(dependency, key -> new ArrayList<>())
+                            .add(node.mName);
+                }
+                pendingParents.put(node.mName, node.mDependencies.size());
+                if (node.mDependencies.isEmpty())
+                    ready.add(node.mName);
+            }
+            List<Node> sortedNodes = new ArrayList<>(mNodes.size());
+            while (!ready.isEmpty()) {
+                String name = ready.poll();
+                sortedNodes.add(mNodes.get(name));
+                for (String child : children.getOrDefault(name, Collections.emptyList()))
+                    if (pendingParents.merge(child, -1, Integer::sum) == 0)
+                        ready.add(child);
+            }
+            if (sortedNodes.size() != mNodes.size())
+                throw new IllegalArgumentException("The dependencies of the nodes contain a " +
+                        "cycle");
+            return new TaskGraph(mPooling, sortedNodes);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools;
+
+import com.github.javinator9889.threading.jfr.TaskEvent;
+import com.github.javinator9889.threading.pools.statistics.PoolStatistics;
+import com.github.javinator9889.threading.pools.statistics.TaskLatencyRecorder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the latencies of the threads run by a {@link ThreadsPooling} that {@linkplain
+ * ThreadsPooling.Builder#withStatistics() records statistics}, and emits the {@link
+ * TaskEvent#ENQUEUED} and {@link TaskEvent#EXECUTION} Flight Recorder events of the pool.
+ * <p>
+ * Each thread is wrapped, when added, into a {@link TimedTask} holding the time it was added, and
+ * the wrapper records the thread latencies when it finishes. Threads are only wrapped when there
+ * is something to measure, so a pool without statistics does not pay anything while the Flight
+ * Recorder is not recording its events. Wrappers never leave the pool: the
+ * threads given to the {@link java.util.concurrent.RejectedExecutionHandler} or returned by
+ * {@link ThreadsPooling#shutdownImmediately()} are {@linkplain #unwrap(Runnable) unwrapped}
+ * first.
+ */
+final class TaskTimer {
+    private final String mPoolName;
+
+    /**
+     * Recorder of the latencies - {@code null} if the pool does not record statistics.
+     */
+    private final TaskLatencyRecorder mRecorder;
+
+    /**
+     * Creates a new timer.
+     *
+     * @param poolName         the name of the pool, included at the Flight Recorder events.
+     * @param recordStatistics whether to record the latencies of the threads.
+     */
+    TaskTimer(@NotNull String poolName, boolean recordStatistics) {
+        mPoolName = poolName;
+        mRecorder = recordStatistics ? new TaskLatencyRecorder() : null;
+    }
+
+    /**
+     * Wraps a thread, taking the current time as the time it was added.
+     *
+     * @param thread the thread - {@code null} is returned as is, so the queue rejects it.
+     *
+     * @return {@code Runnable} that runs and measures the thread - the thread itself if there is
+     * nothing to measure.
+     */
+    Runnable wrap(Runnable thread) {
+        if (thread == null)
+            return null;
+        if (TaskEvent.ENQUEUED.isEnabled())
+            TaskEvent.ENQUEUED.emit(mPoolName, describe(thread));
+        return isMeasuring() ? new TimedTask(thread, System.nanoTime()) : thread;
+    }
+
+    /**
+     * Wraps every thread, as {@link #wrap(Runnable)} does.
+     *
+     * @param threads the threads.
+     *
+     * @return {@code List} with the wrapped threads, in the same order - the given list itself if
+     * there is nothing to measure.
+     */
+    @NotNull
+    List<Runnable> wrapAll(@NotNull List<Runnable> threads) {
+        if (TaskEvent.ENQUEUED.isEnabled())
+            for (Runnable thread : threads)
+                if (thread != null)
+                    TaskEvent.ENQUEUED.emit(mPoolName, describe(thread));
+        if (!isMeasuring())
+            return threads;
+        long enqueueNanos = System.nanoTime();
+        List<Runnable> timedThreads = new ArrayList<>(threads.size());
+        for (Runnable thread : threads)
+            timedThreads.add((thread == null) ? null : new TimedTask(thread, enqueueNanos));
+        return timedThreads;
+    }
+
+    /**
+     * Checks whether new threads must be wrapped - when recording statistics or while the
+     * {@link TaskEvent#EXECUTION} event is being recorded.
+     *
+     * @return {@code true} if threads are wrapped, else {@code false}.
+     */
+    private boolean isMeasuring() {
+        return mRecorder != null || TaskEvent.EXECUTION.isEnabled();
+    }
+
+    /**
+     * Describes a thread at the Flight Recorder events: the name of {@link Thread}s or the class
+     * name of any other {@code Runnable}.
+     *
+     * @param thread the thread, wrapped or not - {@code null} is described as {@code "null"}.
+     *
+     * @return {@code String} with the description.
+     */
+    @NotNull
+    static String describe(@Nullable Runnable thread) {
+        Runnable originalThread = unwrap(thread);
+        if (originalThread == null)
+            return "null";
+        return (originalThread instanceof Thread) ?
+                ((Thread) originalThread).getName() :
+                originalThread.getClass().getName();
+    }
+
+    /**
+     * Obtains the thread wrapped by a {@link TimedTask}.
+     *
+     * @param thread the thread, wrapped or not.
+     *
+     * @return {@code Runnable} with the original thread.
+     */
+    static Runnable unwrap(Runnable thread) {
+        return (thread instanceof TimedTask) ? ((TimedTask) thread).mThread : thread;
+    }
+
+    /**
+     * Obtains the threads wrapped by {@link TimedTask}s.
+     *
+     * @param threads the threads, wrapped or not.
+     *
+     * @return {@code List} with the original threads, in the same order.
+     */
+    @NotNull
+    static List<Runnable> unwrapAll(@NotNull List<Runnable> threads) {
+        List<Runnable> originalThreads = new ArrayList<>(threads.size());
+        for (Runnable thread : threads)
+            originalThreads.add(unwrap(thread));
+        return originalThreads;
+    }
+
+    /**
+     * Takes a snapshot of the latencies recorded during the current interval.
+     *
+     * @param reset whether to start a new interval.
+     *
+     * @return {@code PoolStatistics} with the latencies - {@code null} if statistics are not
+     * recorded.
+     */
+    @Nullable
+    PoolStatistics getStatistics(boolean reset) {
+        return (mRecorder == null) ? null : mRecorder.getStatistics(reset);
+    }
+
+    /**
+     * Checks whether the latencies of the threads are recorded.
+     *
+     * @return {@code true} if recorded, else {@code false}.
+     */
+    boolean isRecordingStatistics() {
+        return mRecorder != null;
+    }
+
+    /**
+     * Wrapper that runs a thread, recording its latencies and its {@link TaskEvent#EXECUTION}
+     * event.
+     */
+    private final class TimedTask implements Runnable {
+        private final Runnable mThread;
+        private final long mEnqueueNanos;
+
+        private TimedTask(@NotNull Runnable thread, long enqueueNanos) {
+            mThread = thread;
+            mEnqueueNanos = enqueueNanos;
+        }
+
+        @Override
+        public void run() {
+            long startNanos = System.nanoTime();
+            Object event = TaskEvent.EXECUTION.begin();
+            try {
+                mThread.run();
+            } finally {
+                if (mRecorder != null)
+                    mRecorder.record(mEnqueueNanos, startNanos, System.nanoTime());
+                if (event != null)
+                    TaskEvent.EXECUTION.commit(event,
+                            mPoolName,
+                            describe(mThread),
+                            startNanos - mEnqueueNanos);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return mThread.toString();
+        }
+    }
+}
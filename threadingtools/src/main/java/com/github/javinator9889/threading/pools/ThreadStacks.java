@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Obtains the size of the stack reserved by the JVM for each platform thread, used for estimating
+ * the native memory released by the pools that {@linkplain ThreadsPooling.Builder#withScaleToZero()
+ * scale to zero}.
+ * <p>
+ * The size is the {@code ThreadStackSize} option of the running JVM (set with {@code -Xss}), read
+ * from the {@code HotSpotDiagnostic} MBean so this library does not depend on {@code
+ * com.sun.management}. On any other JVM, or if the option is not set, the usual default of
+ * {@linkplain #DEFAULT_STACK_SIZE 1 MiB} is used.
+ */
+final class ThreadStacks {
+    /**
+     * Stack size assumed when the running JVM does not tell it, in bytes.
+     */
+    static final long DEFAULT_STACK_SIZE = 1024L * 1024L;
+
+    /**
+     * Stack size of the platform threads, in bytes.
+     */
+    private static final long STACK_SIZE = readStackSize();
+
+    /**
+     * Private constructor - this class cannot be instantiated.
+     */
+    private ThreadStacks() {
+    }
+
+    /**
+     * Gets the size of the stack reserved for each platform thread.
+     *
+     * @return {@code long} with the stack size, in bytes.
+     */
+    static long getStackSize() {
+        return STACK_SIZE;
+    }
+
+    /**
+     * Reads the {@code ThreadStackSize} option of the running JVM.
+     *
+     * @return {@code long} with the stack size, in bytes - {@link #DEFAULT_STACK_SIZE} if it
+     * cannot be read.
+     */
+    private static long readStackSize() {
+        try {
+            Object option = ManagementFactory.getPlatformMBeanServer().invoke(
+                    new ObjectName("com.sun.management:type=HotSpotDiagnostic"),
+                    "getVMOption",
+                    new Object[]{"ThreadStackSize"},
+                    new String[]{String.class.getName()});
+            long stackSizeKiB = Long.parseLong(String.valueOf(((CompositeData) option)
+                    .get("value")));
+            return (stackSizeKiB > 0) ? stackSizeKiB * 1024L : DEFAULT_STACK_SIZE;
+        } catch (JMException | RuntimeException ignored) {
+            return DEFAULT_STACK_SIZE;
+        }
+    }
+}
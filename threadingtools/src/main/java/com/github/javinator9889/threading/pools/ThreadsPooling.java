@@ -19,16 +19,44 @@
 
 package com.github.javinator9889.threading.pools;
 
+import com.github.javinator9889.threading.jfr.TaskEvent;
+import com.github.javinator9889.threading.pools.queues.ConcurrentBlockingQueue;
+import com.github.javinator9889.threading.pools.queues.DeadlineBlockingQueue;
+import com.github.javinator9889.threading.pools.queues.OnElementExpiredListener;
+import com.github.javinator9889.threading.pools.queues.PriorityBucketBlockingQueue;
+import com.github.javinator9889.threading.pools.queues.RingBufferBlockingQueue;
+import com.github.javinator9889.threading.pools.queues.SpinningLinkedBlockingQueue;
+import com.github.javinator9889.threading.pools.queues.WaitStrategy;
+import com.github.javinator9889.threading.pools.queues.WeightedFairBlockingQueue;
+import com.github.javinator9889.threading.pools.queues.WorkStealingBlockingQueue;
+import com.github.javinator9889.threading.pools.rejectedhandlers.BatchRejectedExecutionHandler;
 import com.github.javinator9889.threading.pools.rejectedhandlers.DefaultRejectedExecutionHandler;
 import com.github.javinator9889.threading.pools.rejectedhandlers.ImmediatelyRunOnRejectedExecutionHandler;
 import com.github.javinator9889.threading.pools.rejectedhandlers.NoRejectedExecutionHandler;
 import com.github.javinator9889.threading.pools.rejectedhandlers.RunWhenTasksFinishedOnRejectedHandler;
+import com.github.javinator9889.threading.pools.statistics.PoolStatistics;
+import com.github.javinator9889.threading.threads.VirtualThreads;
+import com.github.javinator9889.utils.ArgumentParser;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import javax.management.ObjectName;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
 
 /**
  * {@code ThreadsPooling} provides a <b>fast, easy</b> access to a pool of threads that concurrently
@@ -62,7 +90,9 @@ import java.util.concurrent.*;
  * <p>
  * All those handlers can be access instantly from within the class and used {@linkplain
  * Builder#withRejectedExecutionHandler(RejectedExecutionHandler) inside the builder} for using the
- * one you prefer.
+ * one you prefer. All of them are {@link BatchRejectedExecutionHandler}s, so when a batch of
+ * threads is {@linkplain #addAll(Collection) added at once}, they receive <b>all</b> the threads
+ * that did not fit in a single call.
  */
 public class ThreadsPooling {
     /**
@@ -130,6 +160,35 @@ public class ThreadsPooling {
     public static final RejectedExecutionHandler WAIT_SHUTDOWN_RUN_TASK_ON_REJECTED_HANDLER =
             new RunWhenTasksFinishedOnRejectedHandler(10000, TimeUnit.MILLISECONDS);
 
+    /**
+     * Prefix used for naming the virtual threads created when {@linkplain
+     * Builder#withVirtualThreads(int) virtual threads mode} is used.
+     */
+    public static final String VIRTUAL_THREADS_PREFIX = "ThreadsPooling-virtual-";
+
+    /**
+     * Default duration of a tick of the timer used for {@linkplain #schedule(Runnable, long,
+     * TimeUnit) scheduled tasks}, in milliseconds - it is the precision of their delays.
+     */
+    public static final long DEFAULT_TIMER_TICK = 10;
+
+    /**
+     * Name of the thread that dispatches the scheduled tasks.
+     */
+    public static final String TIMER_THREAD_NAME = "ThreadsPooling-timer";
+
+    /**
+     * Default time an idle worker of a {@linkplain Builder#buildSharded(int) shard} waits for new
+     * tasks before {@linkplain Builder#withNeighbourStealing() stealing} from its neighbours, in
+     * milliseconds.
+     */
+    public static final long DEFAULT_STEAL_INTERVAL = 10;
+
+    /**
+     * Counter used for naming the pools built without a name.
+     */
+    private static final AtomicInteger sPoolNumber = new AtomicInteger();
+
     /**
      * The {@link ThreadPoolExecutor} that manages the process running.
      */
@@ -141,6 +200,91 @@ public class ThreadsPooling {
      */
     private BlockingQueue<Runnable> mWorkingThreadsQueue;
 
+    /**
+     * Whether each task runs on its own virtual thread - when {@code true}, the core and maximum
+     * pool sizes are both the concurrency limit.
+     */
+    private boolean mUsesVirtualThreads;
+
+    /**
+     * The queue given to the {@link #mPoolExecutor} when the pool {@linkplain
+     * Builder#withEagerGrowth() grows eagerly}, wrapping {@link #mWorkingThreadsQueue} - {@code
+     * null} otherwise.
+     */
+    private EagerGrowthQueue mEagerGrowthQueue;
+
+    /**
+     * Whether every worker, core ones included, finishes after being idle for the keep alive time
+     * - see {@link Builder#withScaleToZero()}.
+     */
+    private boolean mScalesToZero;
+
+    /**
+     * Whether the pool has been {@linkplain #start() started}.
+     */
+    private volatile boolean mStarted;
+
+    /**
+     * Name of the pool, used at the MBean server and at the Flight Recorder events.
+     */
+    private String mName;
+
+    /**
+     * Measures the latencies of the threads when the pool {@linkplain Builder#withStatistics()
+     * records statistics} and emits their Flight Recorder events.
+     */
+    private TaskTimer mTaskTimer;
+
+    /**
+     * Amount of threads given to the {@link RejectedExecutionHandler}.
+     */
+    private final LongAdder mRejectedCount = new LongAdder();
+
+    /**
+     * Name the pool is {@linkplain Builder#withMBean(String) registered with} at the platform
+     * MBean server - {@code null} if not registered.
+     */
+    private volatile ObjectName mObjectName;
+
+    /**
+     * The handler used when a new thread is rejected - the {@link ThreadPoolExecutor} uses a
+     * {@link RejectionDispatcher} which calls this one.
+     */
+    private volatile RejectedExecutionHandler mRejectedExecutionHandler;
+
+    /**
+     * When a batch of threads is being added by the current thread, the list in which the threads
+     * rejected by the {@link ThreadPoolExecutor} are collected.
+     */
+    private final ThreadLocal<List<Runnable>> mRejectedBatch = new ThreadLocal<>();
+
+    /**
+     * {@link Executor} used by the {@link PoolingFuture}s for running their dependent stages at
+     * this pool.
+     */
+    private final Executor mStagesExecutor = thread -> add(thread);
+
+    /**
+     * Duration of a tick of the {@link #mTimingWheel}, in nanoseconds.
+     */
+    private long mTimerTickNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_TIMER_TICK);
+
+    /**
+     * Timer for the scheduled tasks - created when the first task is scheduled.
+     */
+    private volatile TimingWheel mTimingWheel;
+
+    /**
+     * Shares the workers among the {@linkplain #subPool(String) sub-pools} - created when the
+     * first one is built.
+     */
+    private volatile SubPoolScheduler mSubPoolScheduler;
+
+    /**
+     * Mailboxes of the keys with pending tasks - see {@link #addKeyed(Object, Runnable)}.
+     */
+    private final ConcurrentMap<Object, KeyedMailbox> mMailboxes = new ConcurrentHashMap<>();
+
     /**
      * Private constructor used by {@link Builder} - cannot be accessed from outside.
      * <p>
@@ -216,12 +360,13 @@ public class ThreadsPooling {
                            TimeUnit timeUnit, BlockingQueue<Runnable> workingThreadsQueue,
                            RejectedExecutionHandler rejectedExecutionHandler) {
         mWorkingThreadsQueue = workingThreadsQueue;
+        mRejectedExecutionHandler = rejectedExecutionHandler;
         mPoolExecutor = new ThreadPoolExecutor(coreThreads,
                 maximumPoolSize,
                 keepAliveTime,
                 timeUnit,
                 workingThreadsQueue,
-                rejectedExecutionHandler);
+                new RejectionDispatcher());
     }
 
     /**
@@ -246,13 +391,14 @@ public class ThreadsPooling {
                            ThreadFactory factory,
                            RejectedExecutionHandler rejectedExecutionHandler) {
         mWorkingThreadsQueue = workingThreadsQueue;
+        mRejectedExecutionHandler = rejectedExecutionHandler;
         mPoolExecutor = new ThreadPoolExecutor(coreThreads,
                 maximumPoolSize,
                 keepAliveTime,
                 timeUnit,
                 workingThreadsQueue,
                 factory,
-                rejectedExecutionHandler);
+                new RejectionDispatcher());
     }
 
     /**
@@ -270,50 +416,911 @@ public class ThreadsPooling {
      * IllegalStateException}, {@link ClassCastException}, {@link NullPointerException}, {@link
      * IllegalArgumentException}), then {@link RejectedExecutionHandler#rejectedExecution(Runnable,
      * ThreadPoolExecutor)} is called.
+     * <p>
+     * When the pool {@linkplain Builder#withEagerGrowth() grows eagerly}, the thread is given to
+     * the {@link ThreadPoolExecutor}, which starts a new worker for it if there is no idle one.
      *
      * @param thread the new thread to include for execution.
      */
     public void add(@NotNull Runnable thread) {
+        if (dispatchesThroughExecutor()) {
+            mPoolExecutor.execute(timed(thread));
+            return;
+        }
         try {
-            mWorkingThreadsQueue.add(thread);
+            mWorkingThreadsQueue.add(timed(thread));
         } catch (IllegalStateException | ClassCastException | NullPointerException |
                 IllegalArgumentException ignored) {
-            getRejectedExecutionHandler().rejectedExecution(thread, mPoolExecutor);
+            reject(thread);
+            return;
         }
+        wakeWorkers(1);
     }
 
     /**
-     * Adds new {@code Runnable}s to the queue of threads. If there is any error/exception ({@link
-     * IllegalStateException}, {@link ClassCastException}, {@link NullPointerException}, {@link
-     * IllegalArgumentException}), then {@link RejectedExecutionHandler#rejectedExecution(Runnable,
-     * ThreadPoolExecutor)} is called, with the correspondent thread that cannot be included inside
-     * the {@code array} ot threads.
+     * Adds a new {@code Runnable} to the queue of threads with the given priority, which is used
+     * when the pool {@linkplain Builder#withPriorityQueue() uses a priority queue}: tasks with a
+     * higher priority are run first, although low priority ones are never starved (see {@link
+     * PriorityBucketBlockingQueue}). With any other queue, or when using {@linkplain
+     * Builder#withVirtualThreads() virtual threads}, the priority is ignored and this method
+     * behaves as {@link #add(Runnable)}.
+     * <p>
+     * If the thread cannot be included, {@link RejectedExecutionHandler#rejectedExecution(Runnable,
+     * ThreadPoolExecutor)} is called.
+     *
+     * @param thread   the new thread to include for execution.
+     * @param priority the priority of the thread, between {@link Thread#MIN_PRIORITY} and {@link
+     *                 Thread#MAX_PRIORITY}.
+     *
+     * @throws IllegalArgumentException if the priority is out of range.
+     */
+    public void add(@NotNull Runnable thread, int priority) {
+        if (!offer(thread, priority))
+            reject(thread);
+    }
+
+    /**
+     * Adds a new {@code Runnable} to the queue of threads with the given deadline, which is used
+     * when the pool {@linkplain Builder#withDeadlineQueue() uses a deadline queue}: threads are run
+     * in <b>earliest-deadline-first</b> order, and the ones whose deadline passes while waiting at
+     * the queue are <b>dropped</b> without running - they are given to the {@link
+     * OnElementExpiredListener} set at the builder or, if none, to the {@link
+     * RejectedExecutionHandler}. With any other queue, when using {@linkplain
+     * Builder#withVirtualThreads() virtual threads} or when a new worker is {@linkplain
+     * Builder#withEagerGrowth() created} for the thread, the deadline is ignored and this method
+     * behaves as {@link #add(Runnable)}.
+     * <p>
+     * If the thread cannot be included, {@link RejectedExecutionHandler#rejectedExecution(Runnable,
+     * ThreadPoolExecutor)} is called.
+     *
+     * @param thread   the new thread to include for execution.
+     * @param deadline maximum time the thread can wait at the queue before starting to run - zero
+     *                 or lower means it is already expired.
+     * @param unit     the time unit of the deadline.
+     */
+    public void add(@NotNull Runnable thread, long deadline, @NotNull TimeUnit unit) {
+        if (mUsesVirtualThreads ||
+                !(mWorkingThreadsQueue instanceof DeadlineBlockingQueue) ||
+                (mEagerGrowthQueue != null && mEagerGrowthQueue.needsWorker())) {
+            add(thread);
+            return;
+        }
+        if (((DeadlineBlockingQueue<Runnable>) mWorkingThreadsQueue).offer(timed(thread),
+                deadline,
+                unit))
+            wakeWorkers(1);
+        else
+            reject(thread);
+    }
+
+    /**
+     * Adds a new {@code Runnable} to the queue of threads on behalf of the given tenant, which is
+     * used when the pool {@linkplain Builder#withFairQueue() uses a fair queue}: the tenants with
+     * pending threads share the workers in proportion to their {@linkplain
+     * Builder#withTenantWeight(Object, int) weight}, so a tenant adding lots of threads does not
+     * starve the rest of them (see {@link WeightedFairBlockingQueue}). With any other queue, when
+     * using {@linkplain Builder#withVirtualThreads() virtual threads} or when a new worker is
+     * {@linkplain Builder#withEagerGrowth() created} for the thread, the tenant is ignored and
+     * this method behaves as {@link #add(Runnable)}.
+     * <p>
+     * If the thread cannot be included, because the queue or the {@linkplain
+     * Builder#withFairQueue(int) queue of the tenant} is full, {@link
+     * RejectedExecutionHandler#rejectedExecution(Runnable, ThreadPoolExecutor)} is called.
+     *
+     * @param tenant the tenant the thread belongs to - any object with a consistent {@link
+     *               Object#equals(Object)} and {@link Object#hashCode()}.
+     * @param thread the new thread to include for execution.
+     */
+    public void addForTenant(@NotNull Object tenant, @NotNull Runnable thread) {
+        if (mUsesVirtualThreads ||
+                !(mWorkingThreadsQueue instanceof WeightedFairBlockingQueue) ||
+                (mEagerGrowthQueue != null && mEagerGrowthQueue.needsWorker())) {
+            add(thread);
+            return;
+        }
+        if (((WeightedFairBlockingQueue<Runnable>) mWorkingThreadsQueue).offer(timed(thread),
+                tenant))
+            wakeWorkers(1);
+        else
+            reject(thread);
+    }
+
+    /**
+     * Updates the weight of a tenant when the pool {@linkplain Builder#withFairQueue() uses a
+     * fair queue} - its share of the workers is proportional to it.
+     *
+     * @param tenant the tenant.
+     * @param weight the new weight - must be higher than zero.
+     *
+     * @throws IllegalArgumentException if the weight is zero or lower.
+     * @throws IllegalStateException    if the pool does not use a fair queue.
+     */
+    public void updateTenantWeight(@NotNull Object tenant, int weight) {
+        if (!(mWorkingThreadsQueue instanceof WeightedFairBlockingQueue))
+            throw new IllegalStateException("The pool does not use a fair queue");
+        ((WeightedFairBlockingQueue<Runnable>) mWorkingThreadsQueue).setWeight(tenant, weight);
+    }
+
+    /**
+     * Gives a thread dropped by the {@link DeadlineBlockingQueue} to the {@link
+     * RejectedExecutionHandler}. Any exception thrown by the handler is given to the {@linkplain
+     * Thread#getUncaughtExceptionHandler() uncaught exception handler} of the current thread, as it
+     * is usually a worker taking a new thread.
+     *
+     * @param thread        the dropped thread.
+     * @param latenessNanos time elapsed since the deadline, in nanoseconds.
+     */
+    private void rejectExpired(@NotNull Runnable thread, long latenessNanos) {
+        try {
+            reject(TaskTimer.unwrap(thread));
+        } catch (Throwable throwable) {
+            Thread currentThread = Thread.currentThread();
+            currentThread.getUncaughtExceptionHandler().uncaughtException(currentThread, throwable);
+        }
+    }
+
+    /**
+     * Adds a new {@code Runnable} associated to the given key: threads with the <b>same key</b>
+     * run strictly in the order they were added and <b>never concurrently</b>, while threads of
+     * different keys run in parallel sharing the pool workers - so there is no need of a
+     * single-threaded pool per key.
+     * <p>
+     * The threads of each key are kept at a lock-free mailbox, which is included at the queue of
+     * threads when its first thread arrives and removed as soon as it drains, so keys without
+     * pending threads use no memory at all. A thread that throws an exception is given to the
+     * {@linkplain Thread#getUncaughtExceptionHandler() uncaught exception handler} of the worker
+     * and the next threads of the key keep running.
+     * <p>
+     * If the mailbox cannot be included at the queue, all its pending threads are given to the
+     * {@link RejectedExecutionHandler} at once.
+     *
+     * @param key    the key - compared by using {@link Object#equals(Object)}.
+     * @param thread the new thread to include for execution.
+     *
+     * @throws NullPointerException if any param is {@code null}.
+     */
+    public void addKeyed(@NotNull Object key, @NotNull Runnable thread) {
+        if (key == null || thread == null)
+            throw new NullPointerException("Key and thread cannot be null");
+        while (true) {
+            KeyedMailbox mailbox = mMailboxes.computeIfAbsent(key,
+                    newKey -> new KeyedMailbox(newKey, this));
+            int pending = mailbox.add(thread);
+            if (pending == 0 && !offerMailbox(mailbox)) {
+                removeMailbox(mailbox);
+                rejectAll(mailbox.closeAndDrain());
+            }
+            if (pending >= 0)
+                return;
+            removeMailbox(mailbox);
+        }
+    }
+
+    /**
+     * Gets the amount of keys with pending threads added by using {@link #addKeyed(Object,
+     * Runnable)}.
+     *
+     * @return {@code int} with the amount of keys.
+     */
+    public int getPendingKeysCount() {
+        return mMailboxes.size();
+    }
+
+    /**
+     * Includes a mailbox at the queue of threads.
+     *
+     * @param mailbox the mailbox to include.
+     *
+     * @return {@code true} if included, else {@code false}.
+     */
+    boolean offerMailbox(@NotNull KeyedMailbox mailbox) {
+        return offer(mailbox);
+    }
+
+    /**
+     * Includes a thread for execution without calling the {@link RejectedExecutionHandler}.
+     *
+     * @param thread the thread to include.
+     *
+     * @return {@code true} if included, else {@code false}.
+     */
+    boolean offer(@NotNull Runnable thread) {
+        return enqueueBatch(Collections.singletonList(thread)).isEmpty();
+    }
+
+    /**
+     * Includes a thread for execution with the given priority, as {@link #add(Runnable, int)}
+     * does, without calling the {@link RejectedExecutionHandler}.
+     *
+     * @param thread   the thread to include.
+     * @param priority the priority of the thread.
+     *
+     * @return {@code true} if included, else {@code false}.
+     *
+     * @throws IllegalArgumentException if the priority is out of range.
+     */
+    boolean offer(@NotNull Runnable thread, int priority) {
+        PriorityBucketBlockingQueue.checkPriority(priority);
+        if (mUsesVirtualThreads ||
+                !(mWorkingThreadsQueue instanceof PriorityBucketBlockingQueue) ||
+                (mEagerGrowthQueue != null && mEagerGrowthQueue.needsWorker()))
+            return offer(thread);
+        if (!((PriorityBucketBlockingQueue<Runnable>) mWorkingThreadsQueue).offer(timed(thread),
+                priority))
+            return false;
+        wakeWorkers(1);
+        return true;
+    }
+
+    /**
+     * Removes a closed mailbox, so its key uses no memory.
+     *
+     * @param mailbox the mailbox to remove.
+     */
+    void removeMailbox(@NotNull KeyedMailbox mailbox) {
+        mMailboxes.remove(mailbox.getKey(), mailbox);
+    }
+
+    /**
+     * Adds new {@code Runnable}s to the queue of threads. It has the same behaviour as calling
+     * {@link #addAll(Collection)} with {@code addAll(Arrays.asList(threads))}, so every thread that
+     * cannot be included is given to the {@link RejectedExecutionHandler}.
      *
      * @param threads the new threads to include for execution.
+     *
+     * @see #addAll(Collection)
      */
     public void add(@NotNull Runnable... threads) {
-        int sizeBeforeAddingTheElements = mWorkingThreadsQueue.size();
-        int remainingCapacity = mWorkingThreadsQueue.remainingCapacity();
+        addAll(Arrays.asList(threads));
+    }
+
+    /**
+     * Adds a batch of {@code Runnable}s to the queue of threads <b>at once</b>: as much threads as
+     * fit are included (always the first ones, keeping their order) and the waiting workers are
+     * woken up <b>once per batch</b> instead of once per thread, when using any of the queues of
+     * this library.
+     * <p>
+     * The threads that cannot be included are <b>all</b> given to the {@link
+     * RejectedExecutionHandler}: if it is a {@link BatchRejectedExecutionHandler}, with a single
+     * call to {@link BatchRejectedExecutionHandler#rejectedExecution(List, ThreadPoolExecutor)};
+     * else, {@link RejectedExecutionHandler#rejectedExecution(Runnable, ThreadPoolExecutor)} is
+     * called once per rejected thread.
+     *
+     * @param threads the new threads to include for execution.
+     *
+     * @return {@code int} with the amount of threads included.
+     *
+     * @throws NullPointerException if any of the threads is {@code null} - no thread is included
+     *                              then.
+     */
+    public int addAll(@NotNull Collection<? extends Runnable> threads) {
+        List<Runnable> batch = new ArrayList<>(threads);
+        for (Runnable thread : batch)
+            if (thread == null)
+                throw new NullPointerException("Threads cannot be null");
+        List<Runnable> rejectedThreads = enqueueBatch(batch);
+        if (!rejectedThreads.isEmpty())
+            rejectAll(rejectedThreads);
+        return batch.size() - rejectedThreads.size();
+    }
+
+    /**
+     * Includes a batch of threads for execution, without calling the {@link
+     * RejectedExecutionHandler}.
+     *
+     * @param batch the threads to include.
+     *
+     * @return {@code List} with the threads that were rejected.
+     */
+    private List<Runnable> enqueueBatch(@NotNull List<Runnable> batch) {
+        List<Runnable> timedBatch = mTaskTimer.wrapAll(batch);
+        return (timedBatch == batch) ?
+                dispatchBatch(batch) :
+                TaskTimer.unwrapAll(dispatchBatch(timedBatch));
+    }
+
+    /**
+     * Includes the threads at the queue or gives them to the {@link ThreadPoolExecutor}, as
+     * {@link #enqueueBatch(List)} does, without measuring them.
+     *
+     * @param batch the threads to include.
+     *
+     * @return {@code List} with the threads that have been rejected.
+     */
+    private List<Runnable> dispatchBatch(@NotNull List<Runnable> batch) {
+        if (!dispatchesThroughExecutor())
+            return batch.subList(enqueueAll(batch), batch.size());
+        List<Runnable> rejectedThreads = new ArrayList<>();
+        int dispatched = 0;
+        mRejectedBatch.set(rejectedThreads);
         try {
-            mWorkingThreadsQueue.addAll(Arrays.asList(threads));
-        } catch (IllegalStateException | ClassCastException | NullPointerException |
-                IllegalArgumentException | UnsupportedOperationException ignored) {
-            int threadNotAdded = remainingCapacity - sizeBeforeAddingTheElements;
-            if (threadNotAdded >= threads.length)
-                threadNotAdded = 0;
-            getRejectedExecutionHandler().rejectedExecution(threads[threadNotAdded], mPoolExecutor);
+            while (dispatched < batch.size() &&
+                    (mUsesVirtualThreads || mEagerGrowthQueue.needsWorker()))
+                mPoolExecutor.execute(batch.get(dispatched++));
+        } finally {
+            mRejectedBatch.remove();
         }
+        if (dispatched < batch.size()) {
+            List<Runnable> queuedThreads = batch.subList(dispatched, batch.size());
+            rejectedThreads.addAll(queuedThreads.subList(enqueueAll(queuedThreads),
+                    queuedThreads.size()));
+        }
+        return rejectedThreads;
+    }
+
+    /**
+     * Checks whether new threads are given to the {@link ThreadPoolExecutor} instead of being
+     * included directly at the queue - when using {@linkplain Builder#withVirtualThreads(int)
+     * virtual threads} or {@linkplain Builder#withEagerGrowth() eager growth}.
+     *
+     * @return {@code true} if dispatched through the executor, else {@code false}.
+     */
+    private boolean dispatchesThroughExecutor() {
+        return mUsesVirtualThreads || mEagerGrowthQueue != null;
+    }
+
+    /**
+     * Wraps the thread for measuring its latencies when the pool {@linkplain
+     * Builder#withStatistics() records statistics} or when its Flight Recorder events are being
+     * recorded.
+     *
+     * @param thread the thread.
+     *
+     * @return {@code Runnable} to include - the thread itself if there is nothing to measure.
+     */
+    private Runnable timed(Runnable thread) {
+        return mTaskTimer.wrap(thread);
+    }
+
+    /**
+     * Includes as much threads as possible at the queue, stopping at the first one that does not
+     * fit.
+     *
+     * @param threads the threads to include.
+     *
+     * @return {@code int} with the amount of threads included.
+     */
+    private int enqueueAll(@NotNull List<Runnable> threads) {
+        int included = 0;
+        if (mWorkingThreadsQueue instanceof ConcurrentBlockingQueue)
+            included = ((ConcurrentBlockingQueue<Runnable>) mWorkingThreadsQueue).offerAll(threads);
+        else
+            for (Runnable thread : threads) {
+                if (!mWorkingThreadsQueue.offer(thread))
+                    break;
+                ++included;
+            }
+        wakeWorkers(included);
+        return included;
+    }
+
+    /**
+     * Brings back the workers of a started pool that {@linkplain Builder#withScaleToZero() scales
+     * to zero} after including threads at the queue: a new core worker is started per thread
+     * while the pool is below its core size, so the threads never wait at the queue of a pool
+     * without workers. Once the pool is at its core size, it only costs a volatile read.
+     *
+     * @param includedThreads the amount of threads just included at the queue.
+     */
+    private void wakeWorkers(int includedThreads) {
+        if (!mScalesToZero || !mStarted)
+            return;
+        int startedThreads = 0;
+        while (startedThreads < includedThreads && mPoolExecutor.prestartCoreThread())
+            ++startedThreads;
+    }
+
+    /**
+     * Gives a rejected thread to the {@link RejectedExecutionHandler}.
+     *
+     * @param thread the thread that has been rejected.
+     */
+    private void reject(Runnable thread) {
+        mRejectedCount.increment();
+        if (TaskEvent.REJECTED.isEnabled())
+            TaskEvent.REJECTED.emit(mName, TaskTimer.describe(thread), mWorkingThreadsQueue.size());
+        getRejectedExecutionHandler().rejectedExecution(thread, mPoolExecutor);
+    }
+
+    /**
+     * Gives a thread rejected by a {@link SubPool} to the handler of the sub-pool.
+     *
+     * @param thread  the thread that has been rejected.
+     * @param handler the rejected execution handler of the sub-pool.
+     */
+    void reject(Runnable thread, @NotNull RejectedExecutionHandler handler) {
+        if (TaskEvent.REJECTED.isEnabled())
+            TaskEvent.REJECTED.emit(mName, TaskTimer.describe(thread), mWorkingThreadsQueue.size());
+        handler.rejectedExecution(thread, mPoolExecutor);
+    }
+
+    /**
+     * Gives the rejected threads to the {@link RejectedExecutionHandler}, in a single call if it
+     * is a {@link BatchRejectedExecutionHandler}.
+     *
+     * @param rejectedThreads the threads that have been rejected.
+     */
+    void rejectAll(@NotNull List<Runnable> rejectedThreads) {
+        mRejectedCount.add(rejectedThreads.size());
+        if (TaskEvent.REJECTED.isEnabled())
+            for (Runnable thread : rejectedThreads)
+                TaskEvent.REJECTED.emit(mName,
+                        TaskTimer.describe(thread),
+                        mWorkingThreadsQueue.size());
+        RejectedExecutionHandler handler = getRejectedExecutionHandler();
+        if (handler instanceof BatchRejectedExecutionHandler)
+            ((BatchRejectedExecutionHandler) handler).rejectedExecution(
+                    Collections.unmodifiableList(new ArrayList<>(rejectedThreads)),
+                    mPoolExecutor);
+        else
+            for (Runnable thread : rejectedThreads)
+                handler.rejectedExecution(thread, mPoolExecutor);
+    }
+
+    /**
+     * Creates a new {@link MicroBatcher.Builder} for grouping lots of tiny items into batches
+     * that are given to the consumer at the workers of this pool - see {@link MicroBatcher}.
+     *
+     * @param consumer the consumer of the batches.
+     * @param <T>      the type of the items.
+     *
+     * @return {@code MicroBatcher.Builder} with the default values.
+     */
+    public <T> MicroBatcher.Builder<T> batcher(@NotNull Consumer<List<T>> consumer) {
+        return MicroBatcher.builder(this, consumer);
+    }
+
+    /**
+     * Creates a new {@link SubPool.Builder} for a logical pool sharing the workers of this pool
+     * with the rest of its sub-pools, with its own queue, rejected execution handler and share
+     * of the workers - see {@link SubPool}.
+     *
+     * @param name the name of the sub-pool.
+     *
+     * @return {@code SubPool.Builder} with the default values.
+     */
+    public SubPool.Builder subPool(@NotNull String name) {
+        return SubPool.builder(this, name);
+    }
+
+    /**
+     * Creates a new {@link ResultCache.Builder} for memoizing a function of an {@link
+     * ArgumentParser} run at the workers of this pool: concurrent calls with equal arguments
+     * share a single execution and the results are cached, so cached calls do not use the pool
+     * at all - see {@link ResultCache}.
+     *
+     * @param function the function to memoize.
+     * @param <R>      the type of the results.
+     *
+     * @return {@code ResultCache.Builder} with the default values.
+     */
+    public <R> ResultCache.Builder<R> resultCache(
+            @NotNull Function<ArgumentParser, ? extends R> function) {
+        return ResultCache.builder(this, function);
+    }
+
+    /**
+     * Obtains the scheduler of the sub-pools, creating it if needed.
+     *
+     * @return {@code SubPoolScheduler} of this pool.
+     */
+    SubPoolScheduler subPoolScheduler() {
+        SubPoolScheduler scheduler = mSubPoolScheduler;
+        if (scheduler == null) {
+            synchronized (this) {
+                scheduler = mSubPoolScheduler;
+                if (scheduler == null)
+                    mSubPoolScheduler = scheduler = new SubPoolScheduler(this);
+            }
+        }
+        return scheduler;
+    }
+
+    /**
+     * Runs the body for every index between {@code from} (inclusive) and {@code to} (exclusive),
+     * splitting the range among the caller and the idle workers of this pool. The range is
+     * claimed in chunks that adapt to the load: finer while workers are idle and coarser when
+     * other tasks are waiting at the queue - see {@link ParallelLoop}.
+     * <p>
+     * This method blocks until every index has been run, but only the caller waits: it runs
+     * chunks too, so it can be called from a worker of this pool. If the body throws an exception,
+     * the remaining indexes are skipped and the exception is thrown at the caller.
+     *
+     * @param from the first index, inclusive.
+     * @param to   the last index, exclusive.
+     * @param body the body run for each index.
+     *
+     * @throws IllegalArgumentException   if {@code from} is higher than {@code to}.
+     * @throws RejectedExecutionException if the pool has been shut down.
+     */
+    public void parallelFor(int from, int to, @NotNull IntConsumer body) {
+        ParallelLoop.forRange(this, from, to, body);
+    }
+
+    /**
+     * Applies the function to every item in parallel, as {@link #parallelFor(int, int,
+     * IntConsumer)} does with the indexes of the list.
+     *
+     * @param items    the items.
+     * @param function the function applied to each item.
+     * @param <T>      the type of the items.
+     * @param <R>      the type of the results.
+     *
+     * @return {@code List} with the results, in the same order as the items.
+     *
+     * @throws RejectedExecutionException if the pool has been shut down.
+     */
+    @NotNull
+    public <T, R> List<R> parallelMap(@NotNull List<T> items,
+                                      @NotNull Function<? super T, ? extends R> function) {
+        return ParallelLoop.map(this, items, function);
+    }
+
+    /**
+     * Reduces the indexes between {@code from} (inclusive) and {@code to} (exclusive) in parallel,
+     * as {@link #parallelFor(int, int, IntConsumer)} does. Each chunk is accumulated starting from
+     * the identity and the results of the chunks are combined <b>in index order</b>, so the
+     * combiner must be associative but needs not be commutative.
+     *
+     * @param from        the first index, inclusive.
+     * @param to          the last index, exclusive.
+     * @param identity    the identity value for the combiner.
+     * @param accumulator the function that includes an index at a result.
+     * @param combiner    the function that combines two results.
+     * @param <R>         the type of the result.
+     *
+     * @return the result of the reduction - the identity if the range is empty.
+     *
+     * @throws IllegalArgumentException   if {@code from} is higher than {@code to}.
+     * @throws RejectedExecutionException if the pool has been shut down.
+     */
+    public <R> R parallelReduce(int from,
+                                int to,
+                                R identity,
+                                @NotNull BiFunction<R, ? super Integer, R> accumulator,
+                                @NotNull BinaryOperator<R> combiner) {
+        return ParallelLoop.reduce(this, from, to, identity, accumulator, combiner);
+    }
+
+    /**
+     * Creates a new {@link TaskGraph.Builder} for running a dependency graph of tasks at the
+     * workers of this pool - see {@link TaskGraph}.
+     *
+     * @return {@code TaskGraph.Builder} without nodes.
+     */
+    @NotNull
+    public TaskGraph.Builder graph() {
+        return TaskGraph.builder(this);
+    }
+
+    /**
+     * Adds a new task to the queue of threads, returning a {@link CompletableFuture} which is
+     * completed by the worker that runs it - with the task result or with the exception it threw.
+     * <p>
+     * The asynchronous dependent stages of the returned future run <b>at this pool</b> by default
+     * (see {@link PoolingFuture}), so results can be chained without creating a {@link
+     * com.github.javinator9889.threading.threads.notifyingthread.NotifyingThread} per task.
+     * <p>
+     * If the task is rejected and the {@link RejectedExecutionHandler} throws a {@link
+     * RejectedExecutionException} (as the {@linkplain #DEFAULT_REJECTED_EXECUTION_HANDLER default
+     * one} does), the future is completed exceptionally with it instead of throwing. Notice that
+     * if the handler <b>discards</b> the task (for example, {@link #NO_ACTION_ON_REJECTED_HANDLER}),
+     * the future is never completed.
+     *
+     * @param task the task to run.
+     * @param <T>  the result type.
+     *
+     * @return {@code CompletableFuture} that will contain the task result.
+     */
+    public <T> CompletableFuture<T> submit(@NotNull Callable<T> task) {
+        PoolingFuture<T> future = newFuture();
+        try {
+            add(future.newTask(task));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Creates a new incomplete {@link PoolingFuture} whose asynchronous dependent stages run at
+     * this pool.
+     *
+     * @param <T> the result type.
+     *
+     * @return {@code PoolingFuture} not completed yet.
+     */
+    <T> PoolingFuture<T> newFuture() {
+        return new PoolingFuture<>(mStagesExecutor);
+    }
+
+    /**
+     * Adds a new task to the queue of threads, returning a {@link CompletableFuture} which is
+     * completed when the task finishes. It has the same behaviour as {@link #submit(Callable)}.
+     *
+     * @param task the task to run.
+     *
+     * @return {@code CompletableFuture} completed with {@code null} when the task finishes.
+     *
+     * @see #submit(Callable)
+     */
+    public CompletableFuture<Void> submit(@NotNull Runnable task) {
+        return submit(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Adds a new task to the queue of threads, returning a {@link CompletableFuture} which is
+     * completed with the value returned by the given {@link Supplier}. It has the same behaviour as
+     * {@link #submit(Callable)} - this method has a different name as {@code Callable} and {@code
+     * Supplier} lambdas cannot be told apart.
+     *
+     * @param supplier the task to run.
+     * @param <T>      the result type.
+     *
+     * @return {@code CompletableFuture} that will contain the supplied value.
+     *
+     * @see #submit(Callable)
+     */
+    public <T> CompletableFuture<T> supply(@NotNull Supplier<T> supplier) {
+        return submit(supplier::get);
+    }
+
+    /**
+     * Schedules a task that is run once, after the given delay.
+     * <p>
+     * Scheduled tasks are kept at a <b>hierarchical timing wheel</b>, so scheduling and cancelling
+     * them is {@code O(1)} no matter how many tasks are pending - suitable for keeping millions of
+     * timeouts. When their delay expires, they are added to this pool <b>in batches</b> and run by
+     * its workers (so the pool must be {@linkplain #start() started}). Delays are rounded up to the
+     * {@linkplain Builder#withTimerTick(long, TimeUnit) timer tick}.
+     * <p>
+     * If an expired task is rejected by the pool, it is given to the {@link
+     * RejectedExecutionHandler} and, if the handler throws an exception, the task is completed
+     * with it. When the pool is shut down, every pending scheduled task is cancelled.
+     *
+     * @param task  the task to run.
+     * @param delay the time from now to delay the execution.
+     * @param unit  the time unit of the delay.
+     *
+     * @return {@code ScheduledFuture} completed when the task finishes, or used for cancelling it.
+     *
+     * @throws RejectedExecutionException if the pool has been shut down.
+     */
+    public ScheduledFuture<?> schedule(@NotNull Runnable task, long delay, @NotNull TimeUnit unit) {
+        TimingWheel wheel = timingWheel();
+        return schedule(new ScheduledTask<Void>(task, null, deadline(delay, unit), 0L, wheel));
+    }
+
+    /**
+     * Schedules a task that is run once, after the given delay, as {@link #schedule(Runnable, long,
+     * TimeUnit)} does. If the expired task is rejected by the pool, it is completed with a {@link
+     * RejectedExecutionException} and the given action is run instead of the {@link
+     * RejectedExecutionHandler}, so the caller always learns that the task will not run.
+     *
+     * @param task           the task to run.
+     * @param delay          the time from now to delay the execution.
+     * @param unit           the time unit of the delay.
+     * @param rejectedAction the action run, at the timer thread, if the expired task is rejected.
+     *
+     * @return {@code ScheduledFuture} completed when the task finishes, or used for cancelling it.
+     *
+     * @throws RejectedExecutionException if the pool has been shut down.
+     */
+    ScheduledFuture<?> schedule(@NotNull Runnable task,
+                                long delay,
+                                @NotNull TimeUnit unit,
+                                @NotNull Runnable rejectedAction) {
+        TimingWheel wheel = timingWheel();
+        ScheduledTask<Void> scheduledTask =
+                new ScheduledTask<>(task, null, deadline(delay, unit), 0L, wheel);
+        scheduledTask.setRejectedAction(rejectedAction);
+        return schedule(scheduledTask);
+    }
+
+    /**
+     * Schedules a task that is run once, after the given delay, returning its result. It has the
+     * same behaviour as {@link #schedule(Runnable, long, TimeUnit)}.
+     *
+     * @param task  the task to run.
+     * @param delay the time from now to delay the execution.
+     * @param unit  the time unit of the delay.
+     * @param <V>   the result type.
+     *
+     * @return {@code ScheduledFuture} that will contain the result of the task.
+     *
+     * @throws RejectedExecutionException if the pool has been shut down.
+     */
+    public <V> ScheduledFuture<V> schedule(@NotNull Callable<V> task,
+                                           long delay,
+                                           @NotNull TimeUnit unit) {
+        TimingWheel wheel = timingWheel();
+        return schedule(new ScheduledTask<>(task, deadline(delay, unit), wheel));
+    }
+
+    /**
+     * Schedules a task that is run first after the given initial delay and then periodically, at
+     * {@code initialDelay + n * period}. If an execution takes longer than the period, the next
+     * one starts late - executions never overlap. The task runs until it is cancelled, it throws
+     * an exception or the pool is shut down.
+     *
+     * @param task         the task to run.
+     * @param initialDelay the time to delay the first execution.
+     * @param period       the period between successive executions - must be higher than zero.
+     * @param unit         the time unit of the delays.
+     *
+     * @return {@code ScheduledFuture} used for cancelling the task.
+     *
+     * @throws IllegalArgumentException   if the period is zero or lower.
+     * @throws RejectedExecutionException if the pool has been shut down.
+     * @see #schedule(Runnable, long, TimeUnit)
+     */
+    public ScheduledFuture<?> scheduleAtFixedRate(@NotNull Runnable task,
+                                                  long initialDelay,
+                                                  long period,
+                                                  @NotNull TimeUnit unit) {
+        if (period <= 0)
+            throw new IllegalArgumentException("Period must be higher than zero, not " + period);
+        TimingWheel wheel = timingWheel();
+        return schedule(new ScheduledTask<Void>(task,
+                null,
+                deadline(initialDelay, unit),
+                unit.toNanos(period),
+                wheel));
+    }
+
+    /**
+     * Schedules a task that is run first after the given initial delay and then periodically, with
+     * the given delay between the end of an execution and the start of the next one. The task runs
+     * until it is cancelled, it throws an exception or the pool is shut down.
+     *
+     * @param task         the task to run.
+     * @param initialDelay the time to delay the first execution.
+     * @param delay        the delay between the end of an execution and the start of the next
+     *                     one - must be higher than zero.
+     * @param unit         the time unit of the delays.
+     *
+     * @return {@code ScheduledFuture} used for cancelling the task.
+     *
+     * @throws IllegalArgumentException   if the delay is zero or lower.
+     * @throws RejectedExecutionException if the pool has been shut down.
+     * @see #schedule(Runnable, long, TimeUnit)
+     */
+    public ScheduledFuture<?> scheduleWithFixedDelay(@NotNull Runnable task,
+                                                     long initialDelay,
+                                                     long delay,
+                                                     @NotNull TimeUnit unit) {
+        if (delay <= 0)
+            throw new IllegalArgumentException("Delay must be higher than zero, not " + delay);
+        TimingWheel wheel = timingWheel();
+        return schedule(new ScheduledTask<Void>(task,
+                null,
+                deadline(initialDelay, unit),
+                -unit.toNanos(delay),
+                wheel));
+    }
+
+    /**
+     * Adds the task to its timing wheel.
+     *
+     * @param task the task to schedule.
+     * @param <V>  the result type.
+     *
+     * @return {@code ScheduledFuture} the task itself.
+     */
+    private <V> ScheduledFuture<V> schedule(@NotNull ScheduledTask<V> task) {
+        timingWheel().schedule(task);
+        return task;
+    }
+
+    /**
+     * Obtains the timing wheel, creating it if needed.
+     *
+     * @return {@code TimingWheel} for the scheduled tasks.
+     *
+     * @throws RejectedExecutionException if the pool has been shut down.
+     */
+    private TimingWheel timingWheel() {
+        TimingWheel wheel = mTimingWheel;
+        if (wheel == null) {
+            synchronized (this) {
+                if (isShutdown())
+                    throw new RejectedExecutionException("Pool has been shut down");
+                wheel = mTimingWheel;
+                if (wheel == null)
+                    mTimingWheel = wheel = new TimingWheel(mTimerTickNanos,
+                            TIMER_THREAD_NAME,
+                            this::dispatchScheduledTasks);
+            }
+        }
+        return wheel;
+    }
+
+    /**
+     * Stops the timing wheel, if any, cancelling the pending scheduled tasks.
+     */
+    private synchronized void stopTimingWheel() {
+        if (mTimingWheel != null)
+            mTimingWheel.stop();
+    }
+
+    /**
+     * Unregisters the pool from the platform MBean server, if it is registered.
+     */
+    private void unregisterMBean() {
+        ObjectName objectName = mObjectName;
+        if (objectName != null) {
+            mObjectName = null;
+            ThreadsPoolingMonitor.unregister(objectName);
+        }
+    }
+
+    /**
+     * Includes the expired scheduled tasks for execution. The tasks rejected are given to the
+     * {@link RejectedExecutionHandler} and completed with its exception, if it throws any - but
+     * the ones with a {@linkplain ScheduledTask#getRejectedAction() rejected action} are completed
+     * exceptionally and have that action run instead.
+     *
+     * @param expired the expired tasks.
+     */
+    private void dispatchScheduledTasks(@NotNull List<ScheduledTask<?>> expired) {
+        List<Runnable> rejectedThreads = enqueueBatch(new ArrayList<>(expired));
+        if (rejectedThreads.isEmpty())
+            return;
+        List<Runnable> handledThreads = new ArrayList<>(rejectedThreads.size());
+        for (Runnable thread : rejectedThreads) {
+            ScheduledTask<?> task = (ScheduledTask<?>) thread;
+            Runnable rejectedAction = task.getRejectedAction();
+            if (rejectedAction == null) {
+                handledThreads.add(task);
+            } else {
+                task.setRejected(new RejectedExecutionException("The pool cannot include it"));
+                rejectedAction.run();
+            }
+        }
+        if (handledThreads.isEmpty())
+            return;
+        try {
+            rejectAll(handledThreads);
+        } catch (RuntimeException e) {
+            for (Runnable thread : handledThreads)
+                ((ScheduledTask<?>) thread).setRejected(e);
+        }
+    }
+
+    /**
+     * Calculates the deadline of a task.
+     *
+     * @param delay the time from now.
+     * @param unit  the time unit of the delay.
+     *
+     * @return {@code long} with the deadline, comparable with {@link System#nanoTime()}.
+     */
+    private static long deadline(long delay, @NotNull TimeUnit unit) {
+        return System.nanoTime() + unit.toNanos(Math.max(0L, delay));
     }
 
     /**
      * Starts running the threads included inside the {@linkplain #mWorkingThreadsQueue queue}, by
      * calling {@link ThreadPoolExecutor#prestartAllCoreThreads()}.
      * <p>
-     * By default, it starts only the specified {@code core threads}.
+     * By default, it starts only the specified {@code core threads}. When using {@linkplain
+     * Builder#withVirtualThreads(int) virtual threads}, it starts one virtual thread per pending
+     * task (up to the concurrency limit) as tasks added later are started immediately.
      *
      * @return {@code int} with the amount of threads started.
      */
     public int start() {
+        mStarted = true;
+        if (mUsesVirtualThreads) {
+            int startedThreads = 0;
+            int pendingThreads = mWorkingThreadsQueue.size();
+            while (startedThreads < pendingThreads && mPoolExecutor.prestartCoreThread())
+                ++startedThreads;
+            return startedThreads;
+        }
         return mPoolExecutor.prestartAllCoreThreads();
     }
 
@@ -352,6 +1359,8 @@ public class ThreadsPooling {
             timeout = DEFAULT_KEEP_ALIVE;
             waitingUnit = DEFAULT_TIME_UNIT;
         }
+        stopTimingWheel();
+        unregisterMBean();
         mPoolExecutor.shutdown();
         return mPoolExecutor.awaitTermination(timeout, waitingUnit);
     }
@@ -369,6 +1378,8 @@ public class ThreadsPooling {
      *                           {@code checkAccess} method denies access.
      */
     public void shutdownNotWaiting() {
+        stopTimingWheel();
+        unregisterMBean();
         mPoolExecutor.shutdown();
     }
 
@@ -393,7 +1404,10 @@ public class ThreadsPooling {
      *                           {@code checkAccess} method denies access.
      */
     public List<Runnable> shutdownImmediately() {
-        return mPoolExecutor.shutdownNow();
+        stopTimingWheel();
+        unregisterMBean();
+        List<Runnable> pendingThreads = mPoolExecutor.shutdownNow();
+        return TaskTimer.unwrapAll(pendingThreads);
     }
 
     /**
@@ -408,12 +1422,19 @@ public class ThreadsPooling {
      * zero, the new amount of concurrent threads will be {@linkplain #DEFAULT_CORE_THREADS the
      * default value}.
      *
+     * <p>
+     * When using {@linkplain Builder#withVirtualThreads(int) virtual threads}, this is the
+     * concurrency limit (zero means no limit).
+     *
      * @param newAmountOfThreadsRunning the normally amount of threads executing at the same time.
      */
     public void updateConcurrentThreadsRunning(int newAmountOfThreadsRunning) {
         if (newAmountOfThreadsRunning < 0)
             return;
-        else if (newAmountOfThreadsRunning == 0)
+        else if (mUsesVirtualThreads) {
+            updateVirtualThreadsLimit(newAmountOfThreadsRunning);
+            return;
+        } else if (newAmountOfThreadsRunning == 0)
             newAmountOfThreadsRunning = DEFAULT_CORE_THREADS;
         if (newAmountOfThreadsRunning != mPoolExecutor.getCorePoolSize())
             mPoolExecutor.setCorePoolSize(newAmountOfThreadsRunning);
@@ -429,17 +1450,42 @@ public class ThreadsPooling {
      * zero, the new amount of concurrent threads will be {@linkplain #DEFAULT_MAX_THREADS the
      * default value}.
      *
+     * <p>
+     * When using {@linkplain Builder#withVirtualThreads(int) virtual threads}, this is the
+     * concurrency limit (zero means no limit).
+     *
      * @param newMaximumActiveThreads the maximum amount of threads executing at the same time.
      */
     public void updateMaximumActiveThreads(int newMaximumActiveThreads) {
         if (newMaximumActiveThreads < 0)
             return;
-        else if (newMaximumActiveThreads == 0)
+        else if (mUsesVirtualThreads) {
+            updateVirtualThreadsLimit(newMaximumActiveThreads);
+            return;
+        } else if (newMaximumActiveThreads == 0)
             newMaximumActiveThreads = DEFAULT_MAX_THREADS;
         if (newMaximumActiveThreads != mPoolExecutor.getMaximumPoolSize())
             mPoolExecutor.setMaximumPoolSize(newMaximumActiveThreads);
     }
 
+    /**
+     * Updates the concurrency limit when using virtual threads, keeping both the core and the
+     * maximum pool size equal to it.
+     *
+     * @param newLimit the new concurrency limit - zero means no limit.
+     */
+    private void updateVirtualThreadsLimit(int newLimit) {
+        if (newLimit == 0)
+            newLimit = Integer.MAX_VALUE;
+        if (newLimit > mPoolExecutor.getMaximumPoolSize()) {
+            mPoolExecutor.setMaximumPoolSize(newLimit);
+            mPoolExecutor.setCorePoolSize(newLimit);
+        } else {
+            mPoolExecutor.setCorePoolSize(newLimit);
+            mPoolExecutor.setMaximumPoolSize(newLimit);
+        }
+    }
+
     /**
      * It updates the default keep alive time by the provided one, using by default {@code
      * milliseconds}.
@@ -485,9 +1531,9 @@ public class ThreadsPooling {
      */
     public void updateRejectedExecutionHandler(@Nullable RejectedExecutionHandler newHandler) {
         if (newHandler == null)
-            mPoolExecutor.setRejectedExecutionHandler(DEFAULT_REJECTED_EXECUTION_HANDLER);
+            mRejectedExecutionHandler = DEFAULT_REJECTED_EXECUTION_HANDLER;
         else
-            mPoolExecutor.setRejectedExecutionHandler(newHandler);
+            mRejectedExecutionHandler = newHandler;
     }
 
     /**
@@ -500,6 +1546,26 @@ public class ThreadsPooling {
         mPoolExecutor.setThreadFactory(newThreadFactory);
     }
 
+    /**
+     * Checks whether this pool runs each task on its own virtual thread.
+     *
+     * @return {@code true} if using virtual threads, else {@code false}.
+     *
+     * @see Builder#withVirtualThreads(int)
+     */
+    public boolean isUsingVirtualThreads() {
+        return mUsesVirtualThreads;
+    }
+
+    /**
+     * Checks whether the pool has been shut down.
+     *
+     * @return {@code true} if shut down, else {@code false}.
+     */
+    public boolean isShutdown() {
+        return mPoolExecutor.isShutdown();
+    }
+
     /**
      * Gets the amount of threads that can be running concurrently.
      *
@@ -551,12 +1617,12 @@ public class ThreadsPooling {
     }
 
     /**
-     * Gets the rejected execution handler used by {@link ThreadPoolExecutor}.
+     * Gets the rejected execution handler used when a thread is rejected.
      *
      * @return {@code RejectedExecutionHandler} with the handler.
      */
     public RejectedExecutionHandler getRejectedExecutionHandler() {
-        return mPoolExecutor.getRejectedExecutionHandler();
+        return mRejectedExecutionHandler;
     }
 
     /**
@@ -586,6 +1652,39 @@ public class ThreadsPooling {
         return mPoolExecutor.getCompletedTaskCount();
     }
 
+    /**
+     * Gets the amount of threads that have been given to the {@link RejectedExecutionHandler},
+     * including the ones dropped by a {@linkplain Builder#withDeadlineQueue() deadline queue}.
+     *
+     * @return {@code long} with the amount of rejected threads.
+     */
+    public long getRejectedThreadCount() {
+        return mRejectedCount.sum();
+    }
+
+    /**
+     * Gets the name of the pool, given with {@link Builder#withName(String)} or generated ({@code
+     * pool-1}, {@code pool-2}...). It is the name the pool is registered with at the platform
+     * MBean server and the one included at its Flight Recorder events.
+     *
+     * @return {@code String} with the name of the pool.
+     */
+    @NotNull
+    public String getName() {
+        return mName;
+    }
+
+    /**
+     * Gets the name the pool is registered with at the platform MBean server.
+     *
+     * @return {@code ObjectName} of the pool - {@code null} if it is not {@linkplain
+     * Builder#withMBean(String) registered} or if it has been shut down.
+     */
+    @Nullable
+    public ObjectName getObjectName() {
+        return mObjectName;
+    }
+
     /**
      * Gets the maximum amount of threads that have been running concurrently.
      *
@@ -598,20 +1697,102 @@ public class ThreadsPooling {
     /**
      * Returns the approximate total number of tasks that have ever been scheduled for execution.
      *
-     * @return {@code long} with the approximate total number of tasks that have ever been scheduled
-     * for execution.
+     * @return {@code long} with the approximate total number of tasks that have ever been scheduled
+     * for execution.
+     */
+    public long getThreadCount() {
+        return mPoolExecutor.getTaskCount();
+    }
+
+    /**
+     * Returns the current number of threads in the pool.
+     *
+     * @return {@code int} with the current number of threads in the pool.
+     */
+    public int getPoolSize() {
+        return mPoolExecutor.getPoolSize();
+    }
+
+    /**
+     * Checks whether every worker, core ones included, finishes after being idle - see {@link
+     * Builder#withScaleToZero()}.
+     *
+     * @return {@code true} if the pool scales to zero, else {@code false}.
+     */
+    public boolean isScalingToZero() {
+        return mScalesToZero;
+    }
+
+    /**
+     * Gets the amount of core workers a started pool that {@linkplain Builder#withScaleToZero()
+     * scales to zero} has currently released for being idle.
+     *
+     * @return {@code int} with the amount of released core workers - always {@code 0} if the
+     * pool does not scale to zero, has not been started or has been shut down.
+     */
+    public int getIdleReleasedThreadsCount() {
+        if (!mScalesToZero || !mStarted || mPoolExecutor.isShutdown())
+            return 0;
+        return Math.max(0, mPoolExecutor.getCorePoolSize() - mPoolExecutor.getPoolSize());
+    }
+
+    /**
+     * Estimates the native memory currently released by a pool that {@linkplain
+     * Builder#withScaleToZero() scales to zero}, compared to a pool keeping all its core workers
+     * alive: the {@linkplain #getIdleReleasedThreadsCount() released core workers} times the
+     * stack size the JVM reserves for each thread ({@code -Xss}). Threads created by a custom
+     * {@link ThreadFactory} with another stack size are not taken into account.
+     *
+     * @return {@code long} with the estimated released memory, in bytes.
+     */
+    public long getNativeMemorySavings() {
+        int releasedThreads = getIdleReleasedThreadsCount();
+        return (releasedThreads == 0) ? 0L : releasedThreads * ThreadStacks.getStackSize();
+    }
+
+    /**
+     * Takes a snapshot of the latencies of the threads finished since the pool was created or
+     * since the statistics were last reset. It has the same behaviour as calling {@link
+     * #getStatistics(boolean)} with {@code getStatistics(false)}.
+     *
+     * @return {@code PoolStatistics} with the queue wait, execution and end to end latencies.
+     *
+     * @throws IllegalStateException if the pool does not {@linkplain Builder#withStatistics()
+     *                               record statistics}.
+     */
+    @NotNull
+    public PoolStatistics getStatistics() {
+        return getStatistics(false);
+    }
+
+    /**
+     * Takes a snapshot of the latencies of the threads finished since the pool was created or
+     * since the statistics were last reset, with their percentiles.
+     *
+     * @param reset whether to reset the statistics, so the next snapshot only contains the
+     *              threads finished after this one - useful for reporting them periodically.
+     *
+     * @return {@code PoolStatistics} with the queue wait, execution and end to end latencies.
+     *
+     * @throws IllegalStateException if the pool does not {@linkplain Builder#withStatistics()
+     *                               record statistics}.
      */
-    public long getThreadCount() {
-        return mPoolExecutor.getTaskCount();
+    @NotNull
+    public PoolStatistics getStatistics(boolean reset) {
+        PoolStatistics statistics = mTaskTimer.getStatistics(reset);
+        if (statistics == null)
+            throw new IllegalStateException("Statistics are not recorded - use " +
+                    "Builder#withStatistics()");
+        return statistics;
     }
 
     /**
-     * Returns the current number of threads in the pool.
+     * Checks whether the latencies of the threads are recorded.
      *
-     * @return {@code int} with the current number of threads in the pool.
+     * @return {@code true} if {@linkplain Builder#withStatistics() recorded}, else {@code false}.
      */
-    public int getPoolSize() {
-        return mPoolExecutor.getPoolSize();
+    public boolean isRecordingStatistics() {
+        return mTaskTimer.isRecordingStatistics();
     }
 
     /**
@@ -627,6 +1808,27 @@ public class ThreadsPooling {
                 "RejectedExecutionHandler: " + getRejectedExecutionHandler().toString() + '}';
     }
 
+    /**
+     * {@link RejectedExecutionHandler} set at the {@link ThreadPoolExecutor}, which forwards the
+     * rejected threads to {@linkplain #getRejectedExecutionHandler() the pool handler} - or
+     * collects them when a batch is being added, so they can be handled all together. When the
+     * pool {@linkplain Builder#withEagerGrowth() grows eagerly}, a thread that could not get a new
+     * worker (the pool reached its maximum size meanwhile) is queued instead.
+     */
+    private final class RejectionDispatcher implements RejectedExecutionHandler {
+        @Override
+        public void rejectedExecution(Runnable thread, ThreadPoolExecutor executor) {
+            if (mEagerGrowthQueue != null && !executor.isShutdown() &&
+                    mEagerGrowthQueue.force(thread))
+                return;
+            List<Runnable> rejectedBatch = mRejectedBatch.get();
+            if (rejectedBatch != null)
+                rejectedBatch.add(thread);
+            else
+                reject(TaskTimer.unwrap(thread));
+        }
+    }
+
     /**
      * Static class for generating a new instance of {@link ThreadsPooling}.
      * <p>
@@ -662,6 +1864,25 @@ public class ThreadsPooling {
      * <b>Rejected execution handler</b>:
      * {@linkplain #DEFAULT_REJECTED_EXECUTION_HANDLER default rejected execiton handler}.
      * </li>
+     * <li>
+     * <b>Working threads queue</b>: a {@link LinkedBlockingQueue} with the given queue capacity -
+     * it can be changed to a lock-free ring by using {@link #withRingBufferQueue()}, to
+     * per-worker deques by using {@link #withWorkStealing()}, to a priority queue by using
+     * {@link #withPriorityQueue()}, to a deadline queue by using {@link #withDeadlineQueue()} or
+     * to a per-tenant fair queue by using {@link #withFairQueue()}.
+     * </li>
+     * <li>
+     * <b>Timer tick</b>: {@linkplain #DEFAULT_TIMER_TICK default timer tick}.
+     * </li>
+     * <li>
+     * <b>Wait strategy</b>: {@linkplain WaitStrategy#blocking() blocking} - idle workers are
+     * parked at once.
+     * </li>
+     * <li>
+     * <b>Growth</b>: threads are added directly to the queue and taken by the started workers -
+     * it can be changed for creating up to the maximum pool size before queueing by using {@link
+     * #withEagerGrowth()}.
+     * </li>
      * </ul>
      * <p>
      * All the methods here allows the developer the ability to totally configure {@link
@@ -673,9 +1894,27 @@ public class ThreadsPooling {
         private long mKeepAliveTime;
         private TimeUnit mTimeUnit;
         private int mQueueCapacity;
-        private BlockingQueue<Runnable> mWorkingThreadsQueue;
+        private QueueType mQueueType;
+        private long mAgingPeriodNanos;
+        private boolean mUseVirtualThreads;
+        private int mVirtualThreadsLimit;
+        private List<Runnable> mInitialThreads;
         private ThreadFactory mThreadFactory;
         private RejectedExecutionHandler mRejectedExecutionHandler;
+        private long mTimerTickNanos;
+        private WaitStrategy mWaitStrategy;
+        private boolean mEagerGrowth;
+        private OnElementExpiredListener<Runnable> mOnTaskExpiredListener;
+        private boolean mStatistics;
+        private boolean mRegisterMBean;
+        private String mName;
+        private long mStealIntervalNanos;
+        private int mRateLimitPermits;
+        private long mRateLimitPeriodNanos;
+        private int mRateLimitBurst;
+        private int mTenantCapacity;
+        private Map<Object, Integer> mTenantWeights;
+        private boolean mScaleToZero;
 
         /**
          * Default constructor used at {@link #builder()} - sets all values to its default one.
@@ -686,9 +1925,27 @@ public class ThreadsPooling {
             mKeepAliveTime = DEFAULT_KEEP_ALIVE;
             mTimeUnit = DEFAULT_TIME_UNIT;
             mQueueCapacity = DEFAULT_QUEUE_CAPACITY;
-            mWorkingThreadsQueue = null;
+            mQueueType = QueueType.LINKED;
+            mAgingPeriodNanos = 0L;
+            mUseVirtualThreads = false;
+            mVirtualThreadsLimit = 0;
+            mInitialThreads = new ArrayList<>();
             mThreadFactory = null;
             mRejectedExecutionHandler = null;
+            mTimerTickNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_TIMER_TICK);
+            mWaitStrategy = WaitStrategy.blocking();
+            mEagerGrowth = false;
+            mOnTaskExpiredListener = null;
+            mStatistics = false;
+            mRegisterMBean = false;
+            mName = null;
+            mStealIntervalNanos = 0L;
+            mRateLimitPermits = 0;
+            mRateLimitPeriodNanos = 0L;
+            mRateLimitBurst = 0;
+            mTenantCapacity = 0;
+            mTenantWeights = new LinkedHashMap<>();
+            mScaleToZero = false;
         }
 
         /**
@@ -897,6 +2154,502 @@ public class ThreadsPooling {
                 throw illegalArgumentException("Queue capacity", queueCapacity);
         }
 
+        /**
+         * Uses a preallocated, lock-free {@link RingBufferBlockingQueue} as the working threads
+         * queue instead of a {@link LinkedBlockingQueue}.
+         * <p>
+         * The ring does not allocate anything per task and producers never serialize on a lock, so
+         * it is the recommended queue when there are <b>lots of threads adding tasks</b> at very
+         * high rates. Notice that its capacity is the {@linkplain #withQueueCapacity(int) queue
+         * capacity} rounded up to the next power of two.
+         *
+         * @return {@code Builder} itself.
+         */
+        public Builder withRingBufferQueue() {
+            mQueueType = QueueType.RING_BUFFER;
+            return this;
+        }
+
+        /**
+         * Uses a {@link WorkStealingBlockingQueue} as the working threads queue, so <b>each worker
+         * has its own deque</b> instead of all of them taking tasks from a single shared queue.
+         * <p>
+         * Tasks added from inside a running task (nested submissions) are pushed to the deque of
+         * the worker that is running it and executed by that same worker, while idle workers steal
+         * the pending tasks of the busy ones. The rest of the API ({@link ThreadsPooling#add(Runnable)},
+         * {@link ThreadsPooling#start()}, the {@code shutdown} and the {@code update} methods)
+         * behave exactly the same.
+         *
+         * @return {@code Builder} itself.
+         */
+        public Builder withWorkStealing() {
+            mQueueType = QueueType.WORK_STEALING;
+            return this;
+        }
+
+        /**
+         * Uses a {@link PriorityBucketBlockingQueue} as the working threads queue, so tasks are
+         * run depending on their <b>priority</b> instead of in FIFO order. The priority is given
+         * at {@link ThreadsPooling#add(Runnable, int)} - {@link Thread}s (such as {@link
+         * com.github.javinator9889.threading.threads.notifyingthread.NotifyingThread}s) added
+         * without one use their {@linkplain Thread#getPriority() own priority}, and the rest of
+         * tasks {@link Thread#NORM_PRIORITY}.
+         * <p>
+         * Waiting tasks <b>age</b>, increasing their priority by one every {@link
+         * PriorityBucketBlockingQueue#DEFAULT_AGING_PERIOD} ms, so low priority tasks always make
+         * progress.
+         *
+         * @return {@code Builder} itself.
+         */
+        public Builder withPriorityQueue() {
+            return withPriorityQueue(PriorityBucketBlockingQueue.DEFAULT_AGING_PERIOD,
+                    TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * Uses a {@link PriorityBucketBlockingQueue} as the working threads queue (see {@link
+         * #withPriorityQueue()}) with a custom aging period.
+         *
+         * @param agingPeriod time a task must wait for increasing its priority by one - must be
+         *                    higher than zero.
+         * @param unit        the time unit of the aging period.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if the aging period is zero or lower.
+         */
+        public Builder withPriorityQueue(long agingPeriod, @NotNull TimeUnit unit) {
+            if (agingPeriod > 0) {
+                mQueueType = QueueType.PRIORITY;
+                mAgingPeriodNanos = unit.toNanos(agingPeriod);
+                return this;
+            } else
+                throw new IllegalArgumentException(String.format("Aging period must be higher " +
+                        "than zero, not '%d'", agingPeriod));
+        }
+
+        /**
+         * Uses a {@link DeadlineBlockingQueue} as the working threads queue, so tasks added with
+         * {@link ThreadsPooling#add(Runnable, long, TimeUnit)} are run in
+         * <b>earliest-deadline-first</b> order and the ones whose deadline passes while waiting
+         * are dropped without running, so under overload the workers only spend their time on
+         * tasks that are still useful. Tasks added without a deadline never expire and run after
+         * the ones with a deadline.
+         * <p>
+         * Dropped tasks are given to the {@link RejectedExecutionHandler} - use {@link
+         * #withDeadlineQueue(OnElementExpiredListener)} for receiving them at a custom listener.
+         *
+         * @return {@code Builder} itself.
+         */
+        public Builder withDeadlineQueue() {
+            return withDeadlineQueue(null);
+        }
+
+        /**
+         * Uses a {@link DeadlineBlockingQueue} as the working threads queue (see {@link
+         * #withDeadlineQueue()}), giving the dropped tasks to the given listener.
+         *
+         * @param listener the listener of the dropped tasks, called from the worker that drops
+         *                 them - {@code null} for using the {@link RejectedExecutionHandler}.
+         *
+         * @return {@code Builder} itself.
+         */
+        public Builder withDeadlineQueue(@Nullable OnElementExpiredListener<Runnable> listener) {
+            mQueueType = QueueType.DEADLINE;
+            mOnTaskExpiredListener = listener;
+            return this;
+        }
+
+        /**
+         * Uses a {@link WeightedFairBlockingQueue} as the working threads queue, so the threads
+         * added with {@link ThreadsPooling#addForTenant(Object, Runnable)} are kept at a queue per
+         * <b>tenant</b> and the tenants with pending threads take turns for the workers in
+         * weighted round-robin order, so a noisy tenant cannot starve the rest of them. Threads
+         * added without a tenant share a default one.
+         * <p>
+         * Tenants have weight {@code 1} unless set by using {@link #withTenantWeight(Object,
+         * int)}, and their queues are only bounded by the queue capacity - use {@link
+         * #withFairQueue(int)} for bounding them too.
+         *
+         * @return {@code Builder} itself.
+         */
+        public Builder withFairQueue() {
+            mQueueType = QueueType.FAIR;
+            mTenantCapacity = 0;
+            return this;
+        }
+
+        /**
+         * Uses a {@link WeightedFairBlockingQueue} as the working threads queue (see {@link
+         * #withFairQueue()}), bounding the amount of threads each tenant can have queued at once -
+         * the threads exceeding it are given to the {@link RejectedExecutionHandler}.
+         *
+         * @param tenantCapacity the maximum amount of queued threads of each tenant - must be
+         *                       higher than zero.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if the tenant capacity is zero or lower.
+         */
+        public Builder withFairQueue(int tenantCapacity) {
+            if (tenantCapacity > 0) {
+                mQueueType = QueueType.FAIR;
+                mTenantCapacity = tenantCapacity;
+                return this;
+            } else
+                throw new IllegalArgumentException(String.format("Tenant capacity must be higher " +
+                        "than zero, not '%d'", tenantCapacity));
+        }
+
+        /**
+         * Sets the weight of a tenant when {@linkplain #withFairQueue() using a fair queue}: the
+         * amount of threads it runs in a row when it is its turn, so its share of the workers is
+         * proportional to it - by default, {@code 1}.
+         *
+         * @param tenant the tenant.
+         * @param weight the weight - must be higher than zero.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if the weight is zero or lower.
+         */
+        public Builder withTenantWeight(@NotNull Object tenant, int weight) {
+            if (weight > 0) {
+                mTenantWeights.put(tenant, weight);
+                return this;
+            } else
+                throw new IllegalArgumentException(String.format("Tenant weight must be higher " +
+                        "than zero, not '%d'", weight));
+        }
+
+        /**
+         * Sets the duration of a tick of the timer used for {@linkplain
+         * ThreadsPooling#schedule(Runnable, long, TimeUnit) scheduled tasks}: delays are rounded up
+         * to it. Shorter ticks are more precise but wake up the timer thread more often.
+         *
+         * @param tick the duration of a tick - must be higher than zero.
+         * @param unit the time unit of the tick.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if the tick is zero or lower.
+         */
+        public Builder withTimerTick(long tick, @NotNull TimeUnit unit) {
+            if (tick > 0 && unit.toNanos(tick) > 0) {
+                mTimerTickNanos = unit.toNanos(tick);
+                return this;
+            } else
+                throw new IllegalArgumentException(String.format("Timer tick must be higher " +
+                        "than zero, not '%d'", tick));
+        }
+
+        /**
+         * Sets what idle workers do while waiting for new tasks - by default, they are {@linkplain
+         * WaitStrategy#blocking() parked at once}.
+         * <p>
+         * {@linkplain WaitStrategy#spinThenPark(int, int) Spinning} before parking avoids the cost
+         * of waking up a parked worker, lowering the latency of tasks added to an idle pool at the
+         * expense of CPU time. It has no effect with {@linkplain #withVirtualThreads(int) virtual
+         * threads}, as there are no idle workers then.
+         *
+         * @param waitStrategy the strategy of the idle workers.
+         *
+         * @return {@code Builder} itself.
+         */
+        public Builder withWaitStrategy(@NotNull WaitStrategy waitStrategy) {
+            mWaitStrategy = waitStrategy;
+            return this;
+        }
+
+        /**
+         * Makes the pool create up to the {@linkplain #withMaximumPoolSize(int) maximum pool size}
+         * threads <b>before queueing</b> new ones.
+         * <p>
+         * By default, new threads are included directly at the queue, so they only run at the
+         * workers already {@linkplain ThreadsPooling#start() started} and the pool never grows
+         * beyond its core size (a {@link ThreadPoolExecutor} only grows when its queue is full).
+         * With eager growth, new threads are given to the {@link ThreadPoolExecutor} and a new
+         * worker is created for them whenever there is no idle worker and the maximum pool size
+         * has not been reached yet - so bursts use all the configured threads. Workers above the
+         * core size finish after being idle for the {@linkplain #withKeepAliveInMilliseconds(long)
+         * keep alive time}.
+         * <p>
+         * It has no effect with {@linkplain #withVirtualThreads(int) virtual threads}, as they
+         * always start a new thread per task, and it cannot be combined with a {@linkplain
+         * #withRateLimit(int, long, TimeUnit, int) rate limit}, as the threads given to new workers
+         * never go through the queue the permits are granted at.
+         *
+         * @return {@code Builder} itself.
+         */
+        public Builder withEagerGrowth() {
+            mEagerGrowth = true;
+            return this;
+        }
+
+        /**
+         * Lets <b>every</b> worker, core ones included, finish after being idle for the {@linkplain
+         * #withKeepAliveInMilliseconds(long) keep alive time}, so an idle pool holds no threads -
+         * and so no thread stacks - at all. Once {@linkplain ThreadsPooling#start() started},
+         * adding a thread to a pool below its core size starts a new core worker for it, so the
+         * pool comes back on demand without losing any thread.
+         * <p>
+         * It is meant for processes running lots of mostly idle pools: the memory released is
+         * reported by {@link ThreadsPooling#getNativeMemorySavings()}. The price is the creation
+         * of a new worker for the first threads added after an idle period. It has no effect with
+         * {@linkplain #withVirtualThreads(int) virtual threads}, which already finish when idle.
+         *
+         * @return {@code Builder} itself.
+         */
+        public Builder withScaleToZero() {
+            mScaleToZero = true;
+            return this;
+        }
+
+        /**
+         * Lets every worker finish after being idle for the given time (see {@link
+         * #withScaleToZero()}), which is also set as the keep alive time.
+         *
+         * @param idleTimeout time a worker can be idle before finishing - must be higher than
+         *                    zero.
+         * @param unit        the time unit of the idle timeout.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if the idle timeout is zero or lower.
+         */
+        public Builder withScaleToZero(long idleTimeout, @NotNull TimeUnit unit) {
+            if (idleTimeout > 0) {
+                mKeepAliveTime = idleTimeout;
+                mTimeUnit = unit;
+                return withScaleToZero();
+            } else
+                throw new IllegalArgumentException(String.format("Idle timeout must be higher " +
+                        "than zero, not '%d'", idleTimeout));
+        }
+
+        /**
+         * Records the latencies of every thread - the time it waits at the queue, the time it
+         * runs and the end to end time - at lock-free histograms with fixed memory, which are
+         * obtained with {@link ThreadsPooling#getStatistics(boolean)}.
+         * <p>
+         * The overhead is a small wrapper and three histogram updates per thread, so statistics
+         * can be kept on in production. Notice that the threads at the {@linkplain
+         * ThreadsPooling#getWorkingThreadsQueue() working threads queue} are then the wrappers,
+         * although the threads given to the {@link RejectedExecutionHandler} or returned by
+         * {@link ThreadsPooling#shutdownImmediately()} are always the original ones.
+         *
+         * @return {@code Builder} itself.
+         */
+        public Builder withStatistics() {
+            mStatistics = true;
+            return this;
+        }
+
+        /**
+         * Sets the name of the pool, used when {@linkplain #withMBean() registering} it at the
+         * platform MBean server and included at its Flight Recorder events - by default, a
+         * generated one ({@code pool-1}, {@code pool-2}...).
+         *
+         * @param name the name of the pool.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if the name is empty.
+         */
+        public Builder withName(@NotNull String name) {
+            if (!name.isEmpty()) {
+                mName = name;
+                return this;
+            } else
+                throw new IllegalArgumentException("The name of the pool cannot be empty");
+        }
+
+        /**
+         * Registers the pool at the platform MBean server with its {@linkplain #withName(String)
+         * name} - see {@link #withMBean(String)}.
+         *
+         * @return {@code Builder} itself.
+         */
+        public Builder withMBean() {
+            mRegisterMBean = true;
+            return this;
+        }
+
+        /**
+         * Registers the pool at the platform MBean server as {@code
+         * com.github.javinator9889.threading:type=ThreadsPooling,name=<name>}, so its size, queue
+         * depth, completed and rejected threads and latency percentiles (when {@linkplain
+         * #withStatistics() recorded}) can be watched from any JMX client, which can also update
+         * the amount of threads and the keep alive time at runtime - see {@link
+         * ThreadsPoolingMXBean}. The pool is unregistered when it is shut down.
+         *
+         * @param name the name of the pool - {@code null} for keeping its {@linkplain
+         *             #withName(String) name}.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if the name is empty.
+         */
+        public Builder withMBean(@Nullable String name) {
+            if (name != null)
+                withName(name);
+            return withMBean();
+        }
+
+        /**
+         * Lets the idle workers of each shard of a {@linkplain #buildSharded(int) sharded pool}
+         * steal queued threads from the neighbour shards, waiting the {@linkplain
+         * #DEFAULT_STEAL_INTERVAL default steal interval} for new tasks before - see {@link
+         * #withNeighbourStealing(long, TimeUnit)}. The idle workers then wake up periodically for
+         * polling the neighbour shards, so it has a small cost even when the shards are balanced.
+         *
+         * @return {@code Builder} itself.
+         */
+        public Builder withNeighbourStealing() {
+            return withNeighbourStealing(DEFAULT_STEAL_INTERVAL, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * Lets the idle workers of each shard of a {@linkplain #buildSharded(int) sharded pool}
+         * steal queued threads from the neighbour shards: a worker that has waited the steal
+         * interval without new tasks takes the head of the first non-empty queue of the next
+         * shards, so a shard whose workers are busy or blocked is helped by the idle ones.
+         * <p>
+         * Shorter intervals react faster to imbalances but wake up the idle workers more often.
+         * While every neighbour queue is empty, an idle worker doubles its interval, up to 32 times
+         * the given one, and resets it as soon as it gets a task - so an idle pool rarely wakes
+         * up, but an imbalance that starts after a long idle period is noticed later.
+         * It has no effect on non-sharded pools nor when using {@linkplain #withVirtualThreads()
+         * virtual threads}.
+         *
+         * @param interval time an idle worker waits before stealing - must be higher than zero.
+         * @param unit     the time unit of the interval.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if the interval is zero or lower.
+         */
+        public Builder withNeighbourStealing(long interval, @NotNull TimeUnit unit) {
+            if (interval > 0 && unit.toNanos(interval) > 0) {
+                mStealIntervalNanos = unit.toNanos(interval);
+                return this;
+            } else
+                throw new IllegalArgumentException(String.format("Steal interval must be " +
+                        "higher than zero, not '%d'", interval));
+        }
+
+        /**
+         * Limits the rate threads are run at to the given amount of permits every period, allowing
+         * a burst of as much permits as the rate - see {@link #withRateLimit(int, long, TimeUnit,
+         * int)}.
+         *
+         * @param permits amount of threads that can be run every period - must be higher than
+         *                zero.
+         * @param period  the period - must be higher than zero.
+         * @param unit    the time unit of the period.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if any param is zero or lower.
+         */
+        public Builder withRateLimit(int permits, long period, @NotNull TimeUnit unit) {
+            return withRateLimit(permits, period, unit, permits);
+        }
+
+        /**
+         * Limits the rate threads are run at with a <b>token bucket</b>: one permit is granted
+         * every {@code period / permits}, and up to {@code burst} permits are granted at once
+         * after the pool has been idle. Useful when the threads call systems that only tolerate a
+         * given amount of requests per second.
+         * <p>
+         * The rate limit gates the dispatch <b>out of the queue</b>: a worker takes a thread and
+         * waits for its permit before running it, so the threads waiting for permits stay at the
+         * working threads queue instead of holding a worker each, as sleeping inside the threads
+         * would. The queue capacity is then the bound of the <b>backlog</b>: the threads added
+         * when it is full are given to the {@link RejectedExecutionHandler}, which rejects them
+         * (by default), discards them or defers them ({@linkplain
+         * #withRunningTaskWhenAllCompleted() running them once the pool has finished} or with any
+         * custom handler).
+         * <p>
+         * A worker waiting for a permit holds the thread it has taken: that thread is no longer at
+         * the queue (so it is neither counted by its size nor returned by {@link
+         * ThreadsPooling#shutdownImmediately()}) although it has not started yet. At most, there
+         * is one such thread per worker.
+         * <p>
+         * It cannot be combined with {@linkplain #withEagerGrowth() eager growth}, whose new
+         * workers run their first thread without taking it from the queue. The shards of a
+         * {@linkplain #buildSharded(int) sharded pool} share the same bucket, so the rate is the
+         * one of the whole pool. It has no effect when using {@linkplain #withVirtualThreads()
+         * virtual threads}.
+         *
+         * @param permits amount of threads that can be run every period - must be higher than
+         *                zero.
+         * @param period  the period - must be higher than zero.
+         * @param unit    the time unit of the period.
+         * @param burst   maximum amount of threads that can be started at once - must be higher
+         *                than zero.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if any param is zero or lower.
+         */
+        public Builder withRateLimit(int permits, long period, @NotNull TimeUnit unit, int burst) {
+            if (permits > 0 && period > 0 && unit.toNanos(period) > 0 && burst > 0) {
+                mRateLimitPermits = permits;
+                mRateLimitPeriodNanos = unit.toNanos(period);
+                mRateLimitBurst = burst;
+                return this;
+            } else
+                throw new IllegalArgumentException(String.format("Rate limit permits, period " +
+                        "and burst must be higher than zero, not '%d', '%d' and '%d'", permits,
+                        period, burst));
+        }
+
+        /**
+         * Runs each task on its own <b>virtual thread</b>, without any concurrency limit.
+         * <p>
+         * It has the same behaviour as calling {@link #withVirtualThreads(int)} with {@code
+         * withVirtualThreads(0)}.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @see #withVirtualThreads(int)
+         */
+        public Builder withVirtualThreads() {
+            return withVirtualThreads(0);
+        }
+
+        /**
+         * Runs each task on its own <b>virtual thread</b> (Java 21 or higher), which is the best
+         * option when tasks spend most of their time blocked (I/O, waiting for other services,
+         * etc.), as there is no need to keep a limited pool of platform threads.
+         * <p>
+         * Instead of a pool size, the {@code concurrencyLimit} sets how much tasks can be running
+         * at the same time - the rest wait at the queue, and the rejected execution handler is
+         * called when it is full. Virtual threads are terminated as soon as they are idle for
+         * more than the keep alive time. In this mode, the {@linkplain
+         * #withConcurrentThreadsRunning(int) concurrent threads}, the {@linkplain
+         * #withMaximumPoolSize(int) maximum pool size} and the {@linkplain
+         * #withThreadFactory(ThreadFactory) thread factory} are ignored, and tasks added by
+         * {@link ThreadsPooling#add(Runnable)} are started immediately.
+         *
+         * @param concurrencyLimit maximum amount of tasks running at the same time - zero means no
+         *                         limit.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException when the {@code param} is lower than zero.
+         * @see VirtualThreads
+         */
+        public Builder withVirtualThreads(int concurrencyLimit) {
+            if (isParamHigherThanZero(concurrencyLimit)) {
+                mUseVirtualThreads = true;
+                mVirtualThreadsLimit = concurrencyLimit;
+                return this;
+            } else
+                throw illegalArgumentException("Concurrency limit", concurrencyLimit);
+        }
+
         /**
          * Adds a new thread that will be executed by calling {@link ThreadsPooling#start()}
          * method.
@@ -904,14 +2657,9 @@ public class ThreadsPooling {
          * @param thread thread that will be executed.
          *
          * @return {@code Builder} itself.
-         *
-         * @throws IllegalStateException if the element cannot be added at this time due to capacity
-         *                               restrictions.
          */
         public Builder withThread(@NotNull Runnable thread) {
-            if (mWorkingThreadsQueue == null)
-                mWorkingThreadsQueue = new LinkedBlockingQueue<>(mQueueCapacity);
-            mWorkingThreadsQueue.add(thread);
+            mInitialThreads.add(thread);
             return this;
         }
 
@@ -921,14 +2669,9 @@ public class ThreadsPooling {
          * @param threads thread that will be executed.
          *
          * @return {@code Builder} itself.
-         *
-         * @throws IllegalStateException if the element cannot be added at this time due to capacity
-         *                               restrictions.
          */
         public Builder withThreads(@NotNull Runnable... threads) {
-            if (mWorkingThreadsQueue == null)
-                mWorkingThreadsQueue = new LinkedBlockingQueue<>(mQueueCapacity);
-            mWorkingThreadsQueue.addAll(Arrays.asList(threads));
+            mInitialThreads.addAll(Arrays.asList(threads));
             return this;
         }
 
@@ -999,38 +2742,244 @@ public class ThreadsPooling {
          * available constructors at that class.
          *
          * @return {@code ThreadsPooling} new instance.
+         *
+         * @throws IllegalStateException         if the threads added with {@link
+         *                                       #withThread(Runnable)} or {@link
+         *                                       #withThreads(Runnable...)} do not fit at the queue
+         *                                       due to capacity restrictions. Also thrown if
+         *                                       {@linkplain #withEagerGrowth() eager growth} is
+         *                                       combined with a {@linkplain #withRateLimit(int,
+         *                                       long, TimeUnit, int) rate limit}.
+         * @throws UnsupportedOperationException if {@linkplain #withVirtualThreads(int) virtual
+         *                                       threads} are requested but the JVM does not
+         *                                       support them.
          */
         public ThreadsPooling build() {
-            if (mWorkingThreadsQueue == null)
-                mWorkingThreadsQueue = new LinkedBlockingQueue<>(mQueueCapacity);
-            if (mThreadFactory == null && mRejectedExecutionHandler == null)
-                return new ThreadsPooling(mCoreThreads,
-                        mMaximumPoolSize,
+            return build(newName(), mInitialThreads, 0L, newTokenBucket());
+        }
+
+        /**
+         * Generates a new {@link ShardedThreadsPooling} with the given amount of shards, each one
+         * of them a {@link ThreadsPooling} with the provided arguments: concurrent threads,
+         * maximum pool size and queue capacity are <b>per shard</b>. The threads added with
+         * {@link #withThread(Runnable)} or {@link #withThreads(Runnable...)} are spread among the
+         * shards.
+         * <p>
+         * When {@linkplain #withMBean() registered}, each shard is registered with its own name:
+         * the name of the pool followed by its index.
+         *
+         * @param shards the amount of shards - must be higher than zero.
+         *
+         * @return {@code ShardedThreadsPooling} new instance.
+         *
+         * @throws IllegalArgumentException      if the amount of shards is zero or lower.
+         * @throws IllegalStateException         if the threads added with {@link
+         *                                       #withThread(Runnable)} or {@link
+         *                                       #withThreads(Runnable...)} do not fit at the
+         *                                       queues due to capacity restrictions. Also thrown
+         *                                       if {@linkplain #withEagerGrowth() eager growth} is
+         *                                       combined with a {@linkplain #withRateLimit(int,
+         *                                       long, TimeUnit, int) rate limit}.
+         * @throws UnsupportedOperationException if {@linkplain #withVirtualThreads(int) virtual
+         *                                       threads} are requested but the JVM does not
+         *                                       support them.
+         * @see ShardedThreadsPooling
+         */
+        public ShardedThreadsPooling buildSharded(int shards) {
+            if (shards <= 0)
+                throw new IllegalArgumentException(String.format("Amount of shards must be " +
+                        "higher than zero, not '%d'", shards));
+            String name = newName();
+            TokenBucket tokenBucket = newTokenBucket();
+            ThreadsPooling[] poolings = new ThreadsPooling[shards];
+            for (int shard = 0; shard < shards; ++shard) {
+                List<Runnable> initialThreads = new ArrayList<>();
+                for (int index = shard; index < mInitialThreads.size(); index += shards)
+                    initialThreads.add(mInitialThreads.get(index));
+                poolings[shard] = build(name + '-' + shard,
+                        initialThreads,
+                        mStealIntervalNanos,
+                        tokenBucket);
+            }
+            for (int shard = 0; shard < shards; ++shard) {
+                BlockingQueue<Runnable> queue = poolings[shard].mPoolExecutor.getQueue();
+                if (!(queue instanceof NeighbourStealingQueue))
+                    continue;
+                List<BlockingQueue<Runnable>> neighbours = new ArrayList<>(shards - 1);
+                for (int next = 1; next < shards; ++next)
+                    neighbours.add(poolings[(shard + next) % shards].mWorkingThreadsQueue);
+                ((NeighbourStealingQueue) queue).setNeighbours(neighbours);
+            }
+            return new ShardedThreadsPooling(name, poolings);
+        }
+
+        /**
+         * Obtains the name of a new pool: the {@linkplain #withName(String) given one} or a
+         * generated one.
+         *
+         * @return {@code String} with the name.
+         */
+        private String newName() {
+            return (mName != null) ? mName : "pool-" + sPoolNumber.incrementAndGet();
+        }
+
+        /**
+         * Creates the token bucket of the {@linkplain #withRateLimit(int, long, TimeUnit, int)
+         * rate limit}.
+         *
+         * @return {@code TokenBucket} new instance - {@code null} if there is no rate limit.
+         */
+        private TokenBucket newTokenBucket() {
+            return (mRateLimitPermits == 0) ?
+                    null :
+                    new TokenBucket(mRateLimitPermits, mRateLimitPeriodNanos, mRateLimitBurst);
+        }
+
+        /**
+         * Generates a new {@link ThreadsPooling} instance by using the provided arguments.
+         *
+         * @param name               the name of the pool.
+         * @param initialThreads     the threads initially included at the queue.
+         * @param stealIntervalNanos time an idle worker waits before stealing from the neighbour
+         *                           shards, in nanoseconds - zero for not stealing.
+         * @param tokenBucket        the bucket of the rate limit - {@code null} for no limit.
+         *
+         * @return {@code ThreadsPooling} new instance.
+         */
+        private ThreadsPooling build(@NotNull String name,
+                                     @NotNull List<Runnable> initialThreads,
+                                     long stealIntervalNanos,
+                                     @Nullable TokenBucket tokenBucket) {
+            if (mEagerGrowth && tokenBucket != null && !mUseVirtualThreads)
+                throw new IllegalStateException("Eager growth cannot be combined with a rate " +
+                        "limit, as new workers run their first thread without its permit");
+            BlockingQueue<Runnable> workingThreadsQueue = newWorkingThreadsQueue();
+            TaskTimer taskTimer = new TaskTimer(name, mStatistics);
+            workingThreadsQueue.addAll(taskTimer.wrapAll(initialThreads));
+            BlockingQueue<Runnable> queue = workingThreadsQueue;
+            EagerGrowthQueue eagerGrowthQueue = null;
+            if (mEagerGrowth && !mUseVirtualThreads)
+                workingThreadsQueue = eagerGrowthQueue = new EagerGrowthQueue(workingThreadsQueue);
+            if (stealIntervalNanos > 0L && !mUseVirtualThreads)
+                workingThreadsQueue = new NeighbourStealingQueue(workingThreadsQueue,
+                        stealIntervalNanos);
+            RateLimitedQueue rateLimitedQueue = null;
+            if (tokenBucket != null && !mUseVirtualThreads)
+                workingThreadsQueue = rateLimitedQueue = new RateLimitedQueue(workingThreadsQueue,
+                        tokenBucket);
+            int coreThreads = mCoreThreads;
+            int maximumPoolSize = mMaximumPoolSize;
+            ThreadFactory threadFactory = mThreadFactory;
+            if (mUseVirtualThreads) {
+                coreThreads = (mVirtualThreadsLimit == 0) ?
+                        Integer.MAX_VALUE :
+                        mVirtualThreadsLimit;
+                maximumPoolSize = coreThreads;
+                threadFactory = VirtualThreads.newThreadFactory(VIRTUAL_THREADS_PREFIX);
+            }
+            ThreadsPooling pooling;
+            if (threadFactory == null && mRejectedExecutionHandler == null)
+                pooling = new ThreadsPooling(coreThreads,
+                        maximumPoolSize,
                         mKeepAliveTime,
                         mTimeUnit,
-                        mWorkingThreadsQueue);
-            else if (mThreadFactory != null && mRejectedExecutionHandler == null)
-                return new ThreadsPooling(mCoreThreads,
-                        mMaximumPoolSize,
+                        workingThreadsQueue);
+            else if (threadFactory != null && mRejectedExecutionHandler == null)
+                pooling = new ThreadsPooling(coreThreads,
+                        maximumPoolSize,
                         mKeepAliveTime,
                         mTimeUnit,
-                        mWorkingThreadsQueue,
-                        mThreadFactory);
-            else if (mThreadFactory == null && mRejectedExecutionHandler != null)
-                return new ThreadsPooling(mCoreThreads,
-                        mMaximumPoolSize,
+                        workingThreadsQueue,
+                        threadFactory);
+            else if (threadFactory == null && mRejectedExecutionHandler != null)
+                pooling = new ThreadsPooling(coreThreads,
+                        maximumPoolSize,
                         mKeepAliveTime,
                         mTimeUnit,
-                        mWorkingThreadsQueue,
+                        workingThreadsQueue,
                         mRejectedExecutionHandler);
             else
-                return new ThreadsPooling(mCoreThreads,
-                        mMaximumPoolSize,
+                pooling = new ThreadsPooling(coreThreads,
+                        maximumPoolSize,
                         mKeepAliveTime,
                         mTimeUnit,
-                        mWorkingThreadsQueue,
-                        mThreadFactory,
+                        workingThreadsQueue,
+                        threadFactory,
                         mRejectedExecutionHandler);
+            if (mUseVirtualThreads) {
+                pooling.mUsesVirtualThreads = true;
+                pooling.mPoolExecutor.allowCoreThreadTimeOut(true);
+            }
+            if (mScaleToZero && !mUseVirtualThreads) {
+                pooling.mScalesToZero = true;
+                pooling.mPoolExecutor.allowCoreThreadTimeOut(true);
+            }
+            if (eagerGrowthQueue != null) {
+                eagerGrowthQueue.setExecutor(pooling.mPoolExecutor);
+                pooling.mEagerGrowthQueue = eagerGrowthQueue;
+            }
+            if (rateLimitedQueue != null)
+                rateLimitedQueue.setExecutor(pooling.mPoolExecutor);
+            pooling.mWorkingThreadsQueue = queue;
+            if (pooling.mWorkingThreadsQueue instanceof DeadlineBlockingQueue) {
+                OnElementExpiredListener<Runnable> listener = mOnTaskExpiredListener;
+                ((DeadlineBlockingQueue<Runnable>) pooling.mWorkingThreadsQueue)
+                        .setOnElementExpiredListener((listener != null) ?
+                                (thread, latenessNanos) -> listener.onElementExpired(
+                                        TaskTimer.unwrap(thread), latenessNanos) :
+                                pooling::rejectExpired);
+            }
+            pooling.mName = name;
+            pooling.mTaskTimer = taskTimer;
+            if (mRegisterMBean)
+                pooling.mObjectName = ThreadsPoolingMonitor.register(pooling, name);
+            pooling.mTimerTickNanos = mTimerTickNanos;
+            return pooling;
+        }
+
+        /**
+         * Creates the working threads queue with the current queue capacity.
+         *
+         * @return {@code BlockingQueue} that will be used by the {@link ThreadPoolExecutor}.
+         */
+        private BlockingQueue<Runnable> newWorkingThreadsQueue() {
+            WaitStrategy waitStrategy = mUseVirtualThreads ? WaitStrategy.blocking() : mWaitStrategy;
+            ConcurrentBlockingQueue<Runnable> queue;
+            switch (mQueueType) {
+                case RING_BUFFER:
+                    queue = new RingBufferBlockingQueue<>(mQueueCapacity);
+                    break;
+                case WORK_STEALING:
+                    queue = new WorkStealingBlockingQueue<>(mQueueCapacity);
+                    break;
+                case PRIORITY:
+                    queue = new PriorityBucketBlockingQueue<Runnable>(mQueueCapacity,
+                            mAgingPeriodNanos,
+                            TimeUnit.NANOSECONDS) {
+                        @Override
+                        protected int getPriority(@NotNull Runnable thread) {
+                            return super.getPriority(TaskTimer.unwrap(thread));
+                        }
+                    };
+                    break;
+                case DEADLINE:
+                    queue = new DeadlineBlockingQueue<>(mQueueCapacity);
+                    break;
+                case FAIR:
+                    WeightedFairBlockingQueue<Runnable> fairQueue =
+                            new WeightedFairBlockingQueue<>(mQueueCapacity,
+                                    (mTenantCapacity == 0) ? mQueueCapacity : mTenantCapacity);
+                    for (Map.Entry<Object, Integer> tenantWeight : mTenantWeights.entrySet())
+                        fairQueue.setWeight(tenantWeight.getKey(), tenantWeight.getValue());
+                    queue = fairQueue;
+                    break;
+                default:
+                    return waitStrategy.isBlocking() ?
+                            new LinkedBlockingQueue<>(mQueueCapacity) :
+                            new SpinningLinkedBlockingQueue<>(mQueueCapacity, waitStrategy);
+            }
+            queue.setWaitStrategy(waitStrategy);
+            return queue;
         }
 
         /**
@@ -1069,5 +3018,17 @@ public class ThreadsPooling {
             return new IllegalArgumentException(String.format("%s must be zero or" +
                     " higher, not '%d'", valueName, valueContent));
         }
+
+        /**
+         * Available types of working threads queue.
+         */
+        private enum QueueType {
+            LINKED,
+            RING_BUFFER,
+            WORK_STEALING,
+            PRIORITY,
+            DEADLINE,
+            FAIR
+        }
     }
 }
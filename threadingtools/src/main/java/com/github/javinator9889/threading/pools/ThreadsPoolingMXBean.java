@@ -0,0 +1,209 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools;
+
+/**
+ * Management interface of a {@link ThreadsPooling} {@linkplain
+ * ThreadsPooling.Builder#withMBean(String) registered} at the platform MBean server, so pools can
+ * be monitored and <b>tuned at runtime</b> from any JMX client (for example, {@code jconsole} or
+ * {@code VisualVM}) without a redeploy.
+ * <p>
+ * Latency percentiles are only available when the pool {@linkplain
+ * ThreadsPooling.Builder#withStatistics() records statistics} - else, they are {@code -1}.
+ */
+public interface ThreadsPoolingMXBean {
+    /**
+     * Gets the name the pool was registered with.
+     *
+     * @return {@code String} with the name.
+     */
+    String getName();
+
+    /**
+     * Gets the amount of threads that are normally running concurrently.
+     *
+     * @return {@code int} with the amount of threads.
+     *
+     * @see ThreadsPooling#getConcurrentThreadsRunning()
+     */
+    int getConcurrentThreadsRunning();
+
+    /**
+     * Gets the maximum amount of threads that can be running concurrently.
+     *
+     * @return {@code int} with the maximum amount of threads.
+     *
+     * @see ThreadsPooling#getMaximumThreadsRunning()
+     */
+    int getMaximumThreadsRunning();
+
+    /**
+     * Gets the keep alive time of the idle threads.
+     *
+     * @return {@code long} with the keep alive time, in milliseconds.
+     */
+    long getKeepAliveTimeMillis();
+
+    /**
+     * Gets the current amount of threads of the pool.
+     *
+     * @return {@code int} with the pool size.
+     */
+    int getPoolSize();
+
+    /**
+     * Gets the amount of threads that are running a task.
+     *
+     * @return {@code int} with the amount of active threads.
+     */
+    int getActiveThreadsCount();
+
+    /**
+     * Gets the amount of tasks waiting at the queue.
+     *
+     * @return {@code int} with the queue depth.
+     */
+    int getQueueSize();
+
+    /**
+     * Gets the amount of tasks that can still be included at the queue.
+     *
+     * @return {@code int} with the remaining capacity.
+     */
+    int getQueueRemainingCapacity();
+
+    /**
+     * Gets the amount of tasks that have finished.
+     *
+     * @return {@code long} with the amount of completed tasks.
+     */
+    long getCompletedThreadCount();
+
+    /**
+     * Gets the amount of tasks that have been given to the rejected execution handler.
+     *
+     * @return {@code long} with the amount of rejected tasks.
+     */
+    long getRejectedThreadCount();
+
+    /**
+     * Gets the amount of core workers released for being idle, when the pool scales to zero.
+     *
+     * @return {@code int} with the amount of released core workers.
+     */
+    int getIdleReleasedThreadsCount();
+
+    /**
+     * Gets the estimated native memory released by the idle workers, when the pool scales to
+     * zero.
+     *
+     * @return {@code long} with the released memory, in bytes.
+     */
+    long getNativeMemorySavingsBytes();
+
+    /**
+     * Checks whether the pool has been shut down.
+     *
+     * @return {@code true} if shut down, else {@code false}.
+     */
+    boolean isShutdown();
+
+    /**
+     * Gets the median time tasks wait at the queue.
+     *
+     * @return {@code long} with the latency in microseconds - {@code -1} if not recorded.
+     */
+    long getQueueWaitP50Micros();
+
+    /**
+     * Gets the 99th percentile of the time tasks wait at the queue.
+     *
+     * @return {@code long} with the latency in microseconds - {@code -1} if not recorded.
+     */
+    long getQueueWaitP99Micros();
+
+    /**
+     * Gets the median time tasks run.
+     *
+     * @return {@code long} with the latency in microseconds - {@code -1} if not recorded.
+     */
+    long getExecutionP50Micros();
+
+    /**
+     * Gets the 99th percentile of the time tasks run.
+     *
+     * @return {@code long} with the latency in microseconds - {@code -1} if not recorded.
+     */
+    long getExecutionP99Micros();
+
+    /**
+     * Gets the median time since tasks are added until they finish.
+     *
+     * @return {@code long} with the latency in microseconds - {@code -1} if not recorded.
+     */
+    long getEndToEndP50Micros();
+
+    /**
+     * Gets the 99th percentile of the time since tasks are added until they finish.
+     *
+     * @return {@code long} with the latency in microseconds - {@code -1} if not recorded.
+     */
+    long getEndToEndP99Micros();
+
+    /**
+     * Gets the 99.9th percentile of the time since tasks are added until they finish.
+     *
+     * @return {@code long} with the latency in microseconds - {@code -1} if not recorded.
+     */
+    long getEndToEndP999Micros();
+
+    /**
+     * Resets the latency statistics, so the percentiles only contain the tasks finished from now
+     * on. It does nothing if the statistics are not recorded.
+     */
+    void resetStatistics();
+
+    /**
+     * Sets the amount of threads that are normally running concurrently.
+     *
+     * @param newAmountOfThreadsRunning the new amount of threads.
+     *
+     * @see ThreadsPooling#updateConcurrentThreadsRunning(int)
+     */
+    void updateConcurrentThreadsRunning(int newAmountOfThreadsRunning);
+
+    /**
+     * Sets the maximum amount of threads that can be running concurrently.
+     *
+     * @param newMaximumActiveThreads the new maximum amount of threads.
+     *
+     * @see ThreadsPooling#updateMaximumActiveThreads(int)
+     */
+    void updateMaximumActiveThreads(int newMaximumActiveThreads);
+
+    /**
+     * Sets the keep alive time of the idle threads.
+     *
+     * @param newKeepAliveTimeMillis the new keep alive time, in milliseconds.
+     *
+     * @see ThreadsPooling#updateKeepAliveTime(long, java.util.concurrent.TimeUnit)
+     */
+    void updateKeepAliveTime(long newKeepAliveTimeMillis);
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools;
+
+import com.github.javinator9889.threading.pools.statistics.HistogramSnapshot;
+import com.github.javinator9889.threading.pools.statistics.PoolStatistics;
+import org.jetbrains.annotations.NotNull;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * {@link ThreadsPoolingMXBean} of a {@link ThreadsPooling}, registered at the platform MBean
+ * server as {@code com.github.javinator9889.threading:type=ThreadsPooling,name=<name>}.
+ */
+final class ThreadsPoolingMonitor implements ThreadsPoolingMXBean {
+    /**
+     * Domain of the registered pools.
+     */
+    static final String DOMAIN = "com.github.javinator9889.threading";
+
+    private final ThreadsPooling mPooling;
+    private final String mName;
+
+    /**
+     * Creates a new monitor.
+     *
+     * @param pooling the monitored pool.
+     * @param name    the name the pool is registered with.
+     */
+    private ThreadsPoolingMonitor(@NotNull ThreadsPooling pooling, @NotNull String name) {
+        mPooling = pooling;
+        mName = name;
+    }
+
+    /**
+     * Registers the pool at the platform MBean server.
+     *
+     * @param pooling the pool.
+     * @param name    the name of the pool.
+     *
+     * @return {@code ObjectName} the pool was registered with.
+     *
+     * @throws IllegalArgumentException if the name is not valid or if there is another pool
+     *                                  registered with the same name.
+     * @throws IllegalStateException    if the MBean server refuses the registration.
+     */
+    @NotNull
+    static ObjectName register(@NotNull ThreadsPooling pooling, @NotNull String name) {
+        try {
+            ObjectName objectName = objectName(name);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(
+                    new StandardMBean(new ThreadsPoolingMonitor(pooling, name),
+                            ThreadsPoolingMXBean.class,
+                            true),
+                    objectName);
+            return objectName;
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalArgumentException(String.format("'%s' is not a valid pool name",
+                    name), e);
+        } catch (InstanceAlreadyExistsException e) {
+            throw new IllegalArgumentException(String.format("There is already a pool " +
+                    "registered as '%s'", name), e);
+        } catch (JMException e) {
+            throw new IllegalStateException("Pool could not be registered", e);
+        }
+    }
+
+    /**
+     * Unregisters a pool from the platform MBean server, if it is still registered.
+     *
+     * @param objectName the name the pool was registered with.
+     */
+    static void unregister(@NotNull ObjectName objectName) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.unregisterMBean(objectName);
+        } catch (InstanceNotFoundException ignored) {
+            // already unregistered by a concurrent shutdown
+        } catch (JMException e) {
+            throw new IllegalStateException("Pool could not be unregistered", e);
+        }
+    }
+
+    /**
+     * Generates the {@link ObjectName} of a pool, quoting the name if needed.
+     *
+     * @param name the name of the pool.
+     *
+     * @return {@code ObjectName} of the pool.
+     *
+     * @throws MalformedObjectNameException if the name is not valid.
+     */
+    @NotNull
+    static ObjectName objectName(@NotNull String name) throws MalformedObjectNameException {
+        boolean needsQuoting = false;
+        for (char character : name.toCharArray())
+            needsQuoting |= ",=:\"*?\n".indexOf(character) >= 0;
+        return new ObjectName(DOMAIN + ":type=ThreadsPooling,name=" +
+                (needsQuoting ? ObjectName.quote(name) : name));
+    }
+
+    @Override
+    public String getName() {
+        return mName;
+    }
+
+    @Override
+    public int getConcurrentThreadsRunning() {
+        return mPooling.getConcurrentThreadsRunning();
+    }
+
+    @Override
+    public int getMaximumThreadsRunning() {
+        return mPooling.getMaximumThreadsRunning();
+    }
+
+    @Override
+    public long getKeepAliveTimeMillis() {
+        return mPooling.getKeepAliveTimeWithUnit(TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int getPoolSize() {
+        return mPooling.getPoolSize();
+    }
+
+    @Override
+    public int getActiveThreadsCount() {
+        return mPooling.getActiveThreadsCount();
+    }
+
+    @Override
+    public int getQueueSize() {
+        return mPooling.getWorkingThreadsQueue().size();
+    }
+
+    @Override
+    public int getQueueRemainingCapacity() {
+        return mPooling.getWorkingThreadsQueue().remainingCapacity();
+    }
+
+    @Override
+    public long getCompletedThreadCount() {
+        return mPooling.getCompletedThreadCount();
+    }
+
+    @Override
+    public long getRejectedThreadCount() {
+        return mPooling.getRejectedThreadCount();
+    }
+
+    @Override
+    public int getIdleReleasedThreadsCount() {
+        return mPooling.getIdleReleasedThreadsCount();
+    }
+
+    @Override
+    public long getNativeMemorySavingsBytes() {
+        return mPooling.getNativeMemorySavings();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return mPooling.isShutdown();
+    }
+
+    @Override
+    public long getQueueWaitP50Micros() {
+        return percentile(PoolStatistics::getQueueWait, 50);
+    }
+
+    @Override
+    public long getQueueWaitP99Micros() {
+        return percentile(PoolStatistics::getQueueWait, 99);
+    }
+
+    @Override
+    public long getExecutionP50Micros() {
+        return percentile(PoolStatistics::getExecution, 50);
+    }
+
+    @Override
+    public long getExecutionP99Micros() {
+        return percentile(PoolStatistics::getExecution, 99);
+    }
+
+    @Override
+    public long getEndToEndP50Micros() {
+        return percentile(PoolStatistics::getEndToEnd, 50);
+    }
+
+    @Override
+    public long getEndToEndP99Micros() {
+        return percentile(PoolStatistics::getEndToEnd, 99);
+    }
+
+    @Override
+    public long getEndToEndP999Micros() {
+        return percentile(PoolStatistics::getEndToEnd, 99.9);
+    }
+
+    @Override
+    public void resetStatistics() {
+        if (mPooling.isRecordingStatistics())
+            mPooling.getStatistics(true);
+    }
+
+    @Override
+    public void updateConcurrentThreadsRunning(int newAmountOfThreadsRunning) {
+        mPooling.updateConcurrentThreadsRunning(newAmountOfThreadsRunning);
+    }
+
+    @Override
+    public void updateMaximumActiveThreads(int newMaximumActiveThreads) {
+        mPooling.updateMaximumActiveThreads(newMaximumActiveThreads);
+    }
+
+    @Override
+    public void updateKeepAliveTime(long newKeepAliveTimeMillis) {
+        mPooling.updateKeepAliveTime(newKeepAliveTimeMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Obtains a percentile of one of the latency histograms of the pool.
+     *
+     * @param histogram  the function that selects the histogram.
+     * @param percentile the percentile.
+     *
+     * @return {@code long} with the latency in microseconds - {@code -1} if not recorded.
+     */
+    private long percentile(@NotNull Function<PoolStatistics, HistogramSnapshot> histogram,
+                            double percentile) {
+        if (!mPooling.isRecordingStatistics())
+            return -1L;
+        return histogram.apply(mPooling.getStatistics(false))
+                .getValueAtPercentile(percentile, TimeUnit.MICROSECONDS);
+    }
+
+    /**
+     * Human readable representation of this class.
+     *
+     * @return {@code String} with the representation.
+     */
+    @Override
+    public String toString() {
+        return "ThreadsPoolingMonitor{name=" + mName + ", pooling=" + mPooling + '}';
+    }
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel used by {@link ThreadsPooling} for running delayed and periodic tasks.
+ * <p>
+ * Time is divided into <b>ticks</b> and the wheel has {@link #LEVELS} levels of {@link #SLOTS}
+ * slots each: a slot at level {@code k} covers {@code 64^k} ticks. A task is placed at the lowest
+ * level whose range covers its deadline and, when the lower levels wrap, the slot of the upper
+ * level is <b>cascaded</b> down - so both inserting and cancelling a task are {@code O(1)}, no
+ * matter how many tasks are pending (a heap, as used by {@link
+ * java.util.concurrent.ScheduledThreadPoolExecutor}, needs {@code O(log n)}).
+ * <p>
+ * The wheel is only accessed by its own thread: new tasks and cancellations are published through
+ * lock-free queues, and the thread <b>parks</b> while there is nothing scheduled. At every tick,
+ * all the expired tasks are given to the dispatcher <b>as a single batch</b>.
+ */
+final class TimingWheel implements Runnable {
+    /**
+     * Bits of the slot index at each level.
+     */
+    private static final int SLOT_BITS = 6;
+
+    /**
+     * Slots per level.
+     */
+    static final int SLOTS = 1 << SLOT_BITS;
+
+    /**
+     * Amount of levels - the wheel covers {@code 2^36} ticks, the rest of tasks are cascaded again
+     * until they are in range.
+     */
+    static final int LEVELS = 6;
+
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final long RANGE = 1L << (SLOT_BITS * LEVELS);
+
+    private final long mTickNanos;
+    private final long mStartNanos;
+    private final Consumer<List<ScheduledTask<?>>> mDispatcher;
+    private final ConcurrentLinkedQueue<ScheduledTask<?>> mInbox = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<ScheduledTask<?>> mCancelled =
+            new ConcurrentLinkedQueue<>();
+    private final Bucket[][] mBuckets = new Bucket[LEVELS][SLOTS];
+    private final Thread mThread;
+    private volatile boolean mRunning = true;
+    private volatile boolean mIdle = false;
+
+    /**
+     * Last processed tick - only accessed by the wheel thread.
+     */
+    private long mCurrentTick;
+
+    /**
+     * Amount of tasks placed at the buckets - only accessed by the wheel thread.
+     */
+    private int mPending;
+
+    /**
+     * Creates and starts a new wheel.
+     *
+     * @param tickNanos  duration of a tick, in nanoseconds.
+     * @param threadName name of the wheel thread.
+     * @param dispatcher receives the expired tasks at each tick.
+     */
+    TimingWheel(long tickNanos,
+                @NotNull String threadName,
+                @NotNull Consumer<List<ScheduledTask<?>>> dispatcher) {
+        mTickNanos = tickNanos;
+        mDispatcher = dispatcher;
+        for (Bucket[] level : mBuckets)
+            for (int slot = 0; slot < SLOTS; ++slot)
+                level[slot] = new Bucket();
+        mStartNanos = System.nanoTime();
+        mThread = new Thread(this, threadName);
+        mThread.setDaemon(true);
+        mThread.start();
+    }
+
+    /**
+     * Adds a task to the wheel - it is placed at its bucket by the wheel thread.
+     *
+     * @param task the task to schedule.
+     *
+     * @throws RejectedExecutionException if the wheel is stopped.
+     */
+    void schedule(@NotNull ScheduledTask<?> task) {
+        if (!mRunning)
+            throw new RejectedExecutionException("The timing wheel has been stopped");
+        mInbox.offer(task);
+        if (mIdle)
+            LockSupport.unpark(mThread);
+    }
+
+    /**
+     * Notifies that a task has been cancelled, so it is removed from its bucket.
+     *
+     * @param task the cancelled task.
+     */
+    void cancelled(@NotNull ScheduledTask<?> task) {
+        if (mRunning)
+            mCancelled.offer(task);
+    }
+
+    /**
+     * Stops the wheel - every pending task is cancelled.
+     */
+    void stop() {
+        mRunning = false;
+        LockSupport.unpark(mThread);
+    }
+
+    /**
+     * Loop of the wheel thread.
+     */
+    @Override
+    public void run() {
+        List<ScheduledTask<?>> expired = new ArrayList<>();
+        while (mRunning) {
+            if (mPending == 0 && mInbox.isEmpty()) {
+                mIdle = true;
+                if (mInbox.isEmpty() && mRunning)
+                    LockSupport.park(this);
+                mIdle = false;
+                continue;
+            }
+            long nowTick = elapsedTicks();
+            if (nowTick <= mCurrentTick) {
+                LockSupport.parkNanos(this,
+                        mStartNanos + (mCurrentTick + 1) * mTickNanos - System.nanoTime());
+                continue;
+            }
+            removeCancelled();
+            if (mPending == 0)
+                mCurrentTick = nowTick;
+            transferNewTasks(expired);
+            while (mCurrentTick < nowTick)
+                advance(++mCurrentTick, expired);
+            if (!expired.isEmpty()) {
+                dispatch(expired);
+                expired = new ArrayList<>();
+            }
+        }
+        cancelAll();
+    }
+
+    /**
+     * Places the tasks published by other threads at their buckets.
+     *
+     * @param expired list where the tasks that have already expired are added.
+     */
+    private void transferNewTasks(@NotNull List<ScheduledTask<?>> expired) {
+        ScheduledTask<?> task;
+        while ((task = mInbox.poll()) != null) {
+            if (task.isCancelled())
+                continue;
+            task.mDeadlineTick = ceilDiv(task.getDeadlineNanos() - mStartNanos, mTickNanos);
+            place(task, expired);
+        }
+    }
+
+    /**
+     * Unlinks the cancelled tasks from their buckets.
+     */
+    private void removeCancelled() {
+        ScheduledTask<?> task;
+        while ((task = mCancelled.poll()) != null) {
+            if (task.mBucket != null) {
+                task.mBucket.remove(task);
+                --mPending;
+            }
+        }
+    }
+
+    /**
+     * Places a task at the lowest level whose range covers its deadline.
+     *
+     * @param task    the task to place.
+     * @param expired list where the task is added if it has already expired.
+     */
+    private void place(@NotNull ScheduledTask<?> task, @NotNull List<ScheduledTask<?>> expired) {
+        long tick = Math.min(task.mDeadlineTick, mCurrentTick + RANGE - 1);
+        long delta = tick - mCurrentTick;
+        if (delta <= 0L) {
+            expired.add(task);
+            return;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (SLOT_BITS * (level + 1))))
+            ++level;
+        mBuckets[level][(int) (tick >>> (SLOT_BITS * level)) & SLOT_MASK].add(task);
+        ++mPending;
+    }
+
+    /**
+     * Processes a tick: the slots of the upper levels that start at this tick are cascaded down
+     * and the tasks of the current slot of the lowest level expire.
+     *
+     * @param tick    the tick to process.
+     * @param expired list where the expired tasks are added.
+     */
+    private void advance(long tick, @NotNull List<ScheduledTask<?>> expired) {
+        for (int level = LEVELS - 1; level > 0; --level) {
+            if ((tick & ((1L << (SLOT_BITS * level)) - 1)) != 0L)
+                continue;
+            Bucket bucket = mBuckets[level][(int) (tick >>> (SLOT_BITS * level)) & SLOT_MASK];
+            ScheduledTask<?> task;
+            while ((task = bucket.poll()) != null) {
+                --mPending;
+                place(task, expired);
+            }
+        }
+        Bucket bucket = mBuckets[0][(int) tick & SLOT_MASK];
+        ScheduledTask<?> task;
+        while ((task = bucket.poll()) != null) {
+            --mPending;
+            expired.add(task);
+        }
+    }
+
+    /**
+     * Gives the expired tasks to the dispatcher, skipping the cancelled ones.
+     *
+     * @param expired the expired tasks.
+     */
+    private void dispatch(@NotNull List<ScheduledTask<?>> expired) {
+        expired.removeIf(ScheduledTask::isCancelled);
+        if (expired.isEmpty())
+            return;
+        try {
+            mDispatcher.accept(expired);
+        } catch (RuntimeException ignored) {
+        }
+    }
+
+    /**
+     * Cancels every task that is still pending, once the wheel is stopped.
+     */
+    private void cancelAll() {
+        List<ScheduledTask<?>> pending = new ArrayList<>(mInbox);
+        mInbox.clear();
+        for (Bucket[] level : mBuckets)
+            for (Bucket bucket : level) {
+                ScheduledTask<?> task;
+                while ((task = bucket.poll()) != null)
+                    pending.add(task);
+            }
+        mPending = 0;
+        mCancelled.clear();
+        for (ScheduledTask<?> task : pending)
+            task.cancel(false);
+    }
+
+    /**
+     * Amount of complete ticks elapsed since the wheel was created.
+     *
+     * @return {@code long} with the ticks.
+     */
+    private long elapsedTicks() {
+        return Math.floorDiv(System.nanoTime() - mStartNanos, mTickNanos);
+    }
+
+    /**
+     * Divides rounding up, so tasks never expire before their deadline.
+     *
+     * @param dividend the dividend.
+     * @param divisor  the divisor - higher than zero.
+     *
+     * @return {@code long} with the quotient.
+     */
+    private static long ceilDiv(long dividend, long divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+
+    /**
+     * Doubly linked list of tasks - insertion and removal are {@code O(1)}.
+     */
+    static final class Bucket {
+        private ScheduledTask<?> mHead;
+        private ScheduledTask<?> mTail;
+
+        private void add(@NotNull ScheduledTask<?> task) {
+            task.mBucket = this;
+            task.mPrevious = mTail;
+            task.mNext = null;
+            if (mTail == null)
+                mHead = task;
+            else
+                mTail.mNext = task;
+            mTail = task;
+        }
+
+        private void remove(@NotNull ScheduledTask<?> task) {
+            if (task.mPrevious == null)
+                mHead = task.mNext;
+            else
+                task.mPrevious.mNext = task.mNext;
+            if (task.mNext == null)
+                mTail = task.mPrevious;
+            else
+                task.mNext.mPrevious = task.mPrevious;
+            task.mBucket = null;
+            task.mPrevious = null;
+            task.mNext = null;
+        }
+
+        private ScheduledTask<?> poll() {
+            ScheduledTask<?> task = mHead;
+            if (task != null)
+                remove(task);
+            return task;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Lock-free <b>token bucket</b> that grants a permit every {@code period / permits} and lets up to
+ * {@code burst} permits be granted at once after being idle.
+ * <p>
+ * It is implemented as a <b>generic cell rate algorithm</b>: instead of refilling tokens, it keeps
+ * the theoretical time of the next permit, which every acquirer <b>reserves</b> with a single
+ * compare-and-set, and waits until its permit is due. This way, acquirers are served in the order
+ * they arrive and the bucket state is a single {@code long}.
+ */
+final class TokenBucket {
+    private final long mIntervalNanos;
+    private final long mToleranceNanos;
+
+    /**
+     * Theoretical time, as given by {@link System#nanoTime()}, of the next permit without burst.
+     */
+    private final AtomicLong mNextPermitNanos;
+
+    /**
+     * Creates a new bucket, initially full.
+     *
+     * @param permits     amount of permits granted every period.
+     * @param periodNanos the period, in nanoseconds.
+     * @param burst       maximum amount of permits granted at once.
+     */
+    TokenBucket(int permits, long periodNanos, int burst) {
+        mIntervalNanos = Math.max(1L, periodNanos / permits);
+        mToleranceNanos = mIntervalNanos * (burst - 1);
+        mNextPermitNanos = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Reserves the next permit.
+     *
+     * @return {@code long} with the time to wait until the permit is due, in nanoseconds - zero
+     * or lower if it can be used right now.
+     */
+    long reserve() {
+        while (true) {
+            long now = System.nanoTime();
+            long nextPermit = mNextPermitNanos.get();
+            long permit = (nextPermit - now < 0L) ? now : nextPermit;
+            if (mNextPermitNanos.compareAndSet(nextPermit, permit + mIntervalNanos))
+                return permit - mToleranceNanos - now;
+        }
+    }
+
+    /**
+     * Reserves the next permit and waits until it is due. An interruption only stops the wait if
+     * the acquirer is cancelled by then - the permit is used anyway. Otherwise, the wait goes on
+     * and the interrupted status is restored once the permit is due.
+     *
+     * @param cancelled tells whether the acquirer stops waiting when interrupted.
+     */
+    void acquire(@NotNull BooleanSupplier cancelled) {
+        long waitNanos = reserve();
+        long deadline = System.nanoTime() + waitNanos;
+        boolean interrupted = false;
+        while (waitNanos > 0L) {
+            if (Thread.interrupted()) {
+                interrupted = true;
+                if (cancelled.getAsBoolean())
+                    break;
+            }
+            LockSupport.parkNanos(this, waitNanos);
+            waitNanos = deadline - System.nanoTime();
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+    }
+}
@@ -0,0 +1,512 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools.adaptive;
+
+import com.github.javinator9889.threading.pools.ThreadsPooling;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code AdaptivePoolController} automatically resizes a {@link ThreadsPooling} (by calling {@link
+ * ThreadsPooling#updateConcurrentThreadsRunning(int)}) depending on the load it receives, so the
+ * amount of threads does not have to be tuned by hand for each deployment.
+ * <p>
+ * Periodically, the controller samples the pool and measures:
+ * <ul>
+ * <li>
+ * <b>Throughput</b> ({@code X}): tasks completed per second.
+ * </li>
+ * <li>
+ * <b>Arrival rate</b> ({@code λ}): tasks added per second - the throughput plus the growth of
+ * the queued and running tasks.
+ * </li>
+ * <li>
+ * <b>Utilization</b>: average amount of busy workers ({@code B}) divided by the amount of
+ * threads.
+ * </li>
+ * </ul>
+ * By using <b>Little's law</b>, the average time a task runs is {@code S = B / X} and the time it
+ * waits at the queue is {@code queue size / X}. The amount of threads needed for running the
+ * offered load at the {@linkplain Builder#withTargetUtilization(double) target utilization} is
+ * then {@code λ · S / utilization}. Whenever the estimated queue wait time is above the {@linkplain
+ * Builder#withTargetQueueWait(long, TimeUnit) target one}, the pool is also grown proportionally
+ * to how far it is from the target, so a backlog is drained quickly.
+ * <p>
+ * The new size is always kept within the {@linkplain Builder#withMinimumThreads(int) minimum} and
+ * {@linkplain Builder#withMaximumThreads(int) maximum} bounds. For avoiding oscillations, the pool
+ * grows at most to the double of its size per sample and only shrinks after several consecutive
+ * samples agree on it.
+ * <p>
+ * Every decision is notified to the {@linkplain #addOnPoolResizedListener(OnPoolResizedListener)
+ * subscribed classes} as a {@link PoolResizeEvent}, so they can be audited.
+ * <p>
+ * The controller must be {@linkplain #start() started} and it stops by itself when the pool is
+ * shut down:
+ * <pre>{@code
+ * ThreadsPooling pooling = ThreadsPooling.builder().build();
+ * AdaptivePoolController controller = AdaptivePoolController.builder(pooling)
+ *         .withMinimumThreads(2)
+ *         .withMaximumThreads(32)
+ *         .withOnPoolResizedListener(event -> System.out.println(event))
+ *         .build();
+ * pooling.start();
+ * controller.start();
+ * }</pre>
+ */
+public class AdaptivePoolController {
+    /**
+     * Default target queue wait time, in milliseconds.
+     */
+    public static final long DEFAULT_TARGET_QUEUE_WAIT = 100;
+
+    /**
+     * Default target utilization of the workers.
+     */
+    public static final double DEFAULT_TARGET_UTILIZATION = 0.8;
+
+    /**
+     * Default sampling period, in milliseconds.
+     */
+    public static final long DEFAULT_SAMPLING_PERIOD = 500;
+
+    /**
+     * Name of the thread that samples the pool.
+     */
+    public static final String SAMPLING_THREAD_NAME = "ThreadsPooling-controller";
+
+    /**
+     * Amount of consecutive samples that must agree before shrinking the pool.
+     */
+    private static final int SHRINK_SAMPLES = 3;
+
+    /**
+     * Weight of the newest sample at the moving averages.
+     */
+    private static final double SMOOTHING_FACTOR = 0.5;
+
+    private final ThreadsPooling mPooling;
+    private final int mMinimumThreads;
+    private final int mMaximumThreads;
+    private final long mTargetQueueWaitNanos;
+    private final double mTargetUtilization;
+    private final long mSamplingPeriodNanos;
+    private final List<OnPoolResizedListener> mListeners;
+
+    /**
+     * Service sampling the pool - {@code null} when not running.
+     */
+    private ScheduledExecutorService mSampler;
+
+    private long mLastSampleNanos;
+    private long mLastCompleted;
+    private int mLastPending;
+    private double mThroughput;
+    private double mArrivalRate;
+    private double mBusyWorkers;
+    private int mShrinkVotes;
+
+    /**
+     * Creates a new controller - use {@link #builder(ThreadsPooling)}.
+     *
+     * @param builder the builder with the configuration.
+     */
+    private AdaptivePoolController(@NotNull Builder builder) {
+        mPooling = builder.mPooling;
+        mMinimumThreads = builder.mMinimumThreads;
+        mMaximumThreads = builder.mMaximumThreads;
+        mTargetQueueWaitNanos = builder.mTargetQueueWaitNanos;
+        mTargetUtilization = builder.mTargetUtilization;
+        mSamplingPeriodNanos = builder.mSamplingPeriodNanos;
+        mListeners = new CopyOnWriteArrayList<>(builder.mListeners);
+    }
+
+    /**
+     * Access the {@link Builder} class for generating a new controller attached to the given pool.
+     *
+     * @param pooling the pool to resize.
+     *
+     * @return {@code Builder} object.
+     */
+    public static Builder builder(@NotNull ThreadsPooling pooling) {
+        return new Builder(pooling);
+    }
+
+    /**
+     * Starts sampling and resizing the pool. It does nothing if the controller is already running.
+     */
+    public synchronized void start() {
+        if (mSampler != null)
+            return;
+        mLastSampleNanos = 0L;
+        mShrinkVotes = 0;
+        mSampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, SAMPLING_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        mSampler.scheduleAtFixedRate(this::sample,
+                mSamplingPeriodNanos,
+                mSamplingPeriodNanos,
+                TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops sampling the pool - its current size is kept.
+     */
+    public synchronized void stop() {
+        if (mSampler == null)
+            return;
+        mSampler.shutdownNow();
+        mSampler = null;
+    }
+
+    /**
+     * Checks whether the controller is sampling the pool.
+     *
+     * @return {@code true} if running, else {@code false}.
+     */
+    public synchronized boolean isRunning() {
+        return mSampler != null;
+    }
+
+    /**
+     * Subscribes a new class that will be notified each time the pool is resized.
+     *
+     * @param listener the class to notify.
+     */
+    public void addOnPoolResizedListener(@NotNull OnPoolResizedListener listener) {
+        mListeners.add(listener);
+    }
+
+    /**
+     * Unsubscribes a class.
+     *
+     * @param listener the class to unsubscribe.
+     *
+     * @return {@code true} if the class was subscribed, else {@code false}.
+     */
+    public boolean removeOnPoolResizedListener(@NotNull OnPoolResizedListener listener) {
+        return mListeners.remove(listener);
+    }
+
+    /**
+     * Gets the pool this controller resizes.
+     *
+     * @return {@code ThreadsPooling} the pool.
+     */
+    public ThreadsPooling getPooling() {
+        return mPooling;
+    }
+
+    /**
+     * Samples the pool and resizes it if needed. Called periodically by the sampling thread.
+     */
+    private synchronized void sample() {
+        if (mPooling.isShutdown()) {
+            stop();
+            return;
+        }
+        long now = System.nanoTime();
+        long completed = mPooling.getCompletedThreadCount();
+        int queued = mPooling.getWorkingThreadsQueue().size();
+        int busy = mPooling.getActiveThreadsCount();
+        int currentSize = Math.min(mPooling.getConcurrentThreadsRunning(), mMaximumThreads);
+        if (mLastSampleNanos == 0L) {
+            mThroughput = 0D;
+            mArrivalRate = 0D;
+            mBusyWorkers = busy;
+        } else {
+            double elapsedSeconds = (now - mLastSampleNanos) / 1E9D;
+            double throughput = (completed - mLastCompleted) / elapsedSeconds;
+            double arrivalRate = Math.max(0D,
+                    throughput + (queued + busy - mLastPending) / elapsedSeconds);
+            mThroughput = smooth(mThroughput, throughput);
+            mArrivalRate = smooth(mArrivalRate, arrivalRate);
+            mBusyWorkers = smooth(mBusyWorkers, busy);
+            decide(currentSize, queued);
+        }
+        mLastSampleNanos = now;
+        mLastCompleted = completed;
+        mLastPending = queued + busy;
+    }
+
+    /**
+     * Decides the new size of the pool from the smoothed measures, resizing it if needed.
+     *
+     * @param currentSize current amount of concurrent threads.
+     * @param queued      amount of tasks waiting at the queue.
+     */
+    private void decide(int currentSize, int queued) {
+        long queueWaitNanos;
+        int desiredSize;
+        if (mThroughput > 0D) {
+            double serviceTime = mBusyWorkers / mThroughput;
+            queueWaitNanos = (long) (queued / mThroughput * 1E9D);
+            desiredSize = (int) Math.ceil(mArrivalRate * serviceTime / mTargetUtilization);
+        } else {
+            queueWaitNanos = (queued > 0) ? Long.MAX_VALUE : 0L;
+            desiredSize = (int) Math.ceil(mBusyWorkers / mTargetUtilization);
+        }
+        boolean waitAboveTarget = queueWaitNanos > mTargetQueueWaitNanos;
+        if (waitAboveTarget) {
+            double backlogRatio = (double) queueWaitNanos / Math.max(1L, mTargetQueueWaitNanos);
+            double grownSize = Math.ceil(currentSize * Math.min(backlogRatio, 2D));
+            desiredSize = (int) Math.max(desiredSize, Math.max(currentSize + 1D, grownSize));
+        }
+        desiredSize = Math.min(desiredSize, Math.max(currentSize * 2, currentSize + 1));
+        desiredSize = Math.max(mMinimumThreads, Math.min(mMaximumThreads, desiredSize));
+        PoolResizeEvent.Reason reason;
+        if (desiredSize > currentSize) {
+            reason = waitAboveTarget ?
+                    PoolResizeEvent.Reason.QUEUE_WAIT_ABOVE_TARGET :
+                    PoolResizeEvent.Reason.LOAD_INCREASED;
+        } else if (desiredSize < currentSize && ++mShrinkVotes >= SHRINK_SAMPLES) {
+            reason = PoolResizeEvent.Reason.LOAD_DECREASED;
+        } else {
+            if (desiredSize >= currentSize)
+                mShrinkVotes = 0;
+            return;
+        }
+        mShrinkVotes = 0;
+        resize(desiredSize);
+        double utilization = Math.min(1D, mBusyWorkers / currentSize);
+        notifyListeners(new PoolResizeEvent(currentSize,
+                desiredSize,
+                reason,
+                queueWaitNanos,
+                mThroughput,
+                utilization,
+                queued));
+    }
+
+    /**
+     * Updates the amount of concurrent threads of the pool, increasing the maximum one if needed.
+     *
+     * @param newSize the new amount of concurrent threads.
+     */
+    private void resize(int newSize) {
+        if (newSize > mPooling.getMaximumThreadsRunning())
+            mPooling.updateMaximumActiveThreads(newSize);
+        mPooling.updateConcurrentThreadsRunning(newSize);
+    }
+
+    /**
+     * Notifies the subscribed classes, ignoring their exceptions.
+     *
+     * @param event the resize decision.
+     */
+    private void notifyListeners(@NotNull PoolResizeEvent event) {
+        for (OnPoolResizedListener listener : mListeners) {
+            try {
+                listener.onPoolResized(event);
+            } catch (RuntimeException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Updates an exponential moving average.
+     *
+     * @param average the current average.
+     * @param value   the new value.
+     *
+     * @return {@code double} with the new average.
+     */
+    private static double smooth(double average, double value) {
+        return average + SMOOTHING_FACTOR * (value - average);
+    }
+
+    /**
+     * Human readable representation of this class.
+     *
+     * @return {@code String} with the representation.
+     */
+    @Override
+    public String toString() {
+        return "AdaptivePoolController{minimumThreads=" + mMinimumThreads +
+                ", maximumThreads=" + mMaximumThreads +
+                ", targetQueueWaitMs=" + TimeUnit.NANOSECONDS.toMillis(mTargetQueueWaitNanos) +
+                ", targetUtilization=" + mTargetUtilization +
+                ", running=" + isRunning() + '}';
+    }
+
+    /**
+     * Static class for generating a new instance of {@link AdaptivePoolController}.
+     * <p>
+     * By default, the bounds are {@code 1} and the {@linkplain
+     * ThreadsPooling#getMaximumThreadsRunning() maximum threads of the pool}, the target queue
+     * wait is {@link #DEFAULT_TARGET_QUEUE_WAIT} ms, the target utilization is {@link
+     * #DEFAULT_TARGET_UTILIZATION} and the pool is sampled every {@link #DEFAULT_SAMPLING_PERIOD}
+     * ms.
+     */
+    public static final class Builder {
+        private final ThreadsPooling mPooling;
+        private final List<OnPoolResizedListener> mListeners;
+        private int mMinimumThreads;
+        private int mMaximumThreads;
+        private long mTargetQueueWaitNanos;
+        private double mTargetUtilization;
+        private long mSamplingPeriodNanos;
+
+        /**
+         * Creates a new builder with the default values.
+         *
+         * @param pooling the pool to resize.
+         */
+        private Builder(@NotNull ThreadsPooling pooling) {
+            mPooling = pooling;
+            mListeners = new CopyOnWriteArrayList<>();
+            mMinimumThreads = 1;
+            mMaximumThreads = Math.max(1, Math.min(pooling.getMaximumThreadsRunning(),
+                    Short.MAX_VALUE));
+            mTargetQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_TARGET_QUEUE_WAIT);
+            mTargetUtilization = DEFAULT_TARGET_UTILIZATION;
+            mSamplingPeriodNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SAMPLING_PERIOD);
+        }
+
+        /**
+         * Sets the minimum amount of concurrent threads the pool can be shrunk to.
+         *
+         * @param minimumThreads the lower bound - must be higher than zero.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if the param is not valid.
+         */
+        public Builder withMinimumThreads(int minimumThreads) {
+            if (minimumThreads > 0) {
+                mMinimumThreads = minimumThreads;
+                return this;
+            } else
+                throw new IllegalArgumentException(String.format("Minimum threads must be " +
+                        "higher than zero, not '%d'", minimumThreads));
+        }
+
+        /**
+         * Sets the maximum amount of concurrent threads the pool can be grown to.
+         *
+         * @param maximumThreads the upper bound - must be higher than zero.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if the param is not valid.
+         */
+        public Builder withMaximumThreads(int maximumThreads) {
+            if (maximumThreads > 0) {
+                mMaximumThreads = maximumThreads;
+                return this;
+            } else
+                throw new IllegalArgumentException(String.format("Maximum threads must be " +
+                        "higher than zero, not '%d'", maximumThreads));
+        }
+
+        /**
+         * Sets the maximum time tasks should wait at the queue - the pool grows while the
+         * estimated wait is higher.
+         *
+         * @param targetQueueWait the target wait time - must be zero or higher.
+         * @param unit            the time unit of the param.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if the param is not valid.
+         */
+        public Builder withTargetQueueWait(long targetQueueWait, @NotNull TimeUnit unit) {
+            if (targetQueueWait >= 0) {
+                mTargetQueueWaitNanos = unit.toNanos(targetQueueWait);
+                return this;
+            } else
+                throw new IllegalArgumentException(String.format("Target queue wait must be " +
+                        "zero or higher, not '%d'", targetQueueWait));
+        }
+
+        /**
+         * Sets the desired ratio of busy workers - lower values keep more idle threads for
+         * handling bursts.
+         *
+         * @param targetUtilization the ratio - must be higher than zero and lower or equal than
+         *                          one.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if the param is not valid.
+         */
+        public Builder withTargetUtilization(double targetUtilization) {
+            if (targetUtilization > 0D && targetUtilization <= 1D) {
+                mTargetUtilization = targetUtilization;
+                return this;
+            } else
+                throw new IllegalArgumentException(String.format("Target utilization must be " +
+                        "between 0 and 1, not '%s'", targetUtilization));
+        }
+
+        /**
+         * Sets how often the pool is sampled.
+         *
+         * @param samplingPeriod the period - must be higher than zero.
+         * @param unit           the time unit of the param.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if the param is not valid.
+         */
+        public Builder withSamplingPeriod(long samplingPeriod, @NotNull TimeUnit unit) {
+            if (samplingPeriod > 0) {
+                mSamplingPeriodNanos = unit.toNanos(samplingPeriod);
+                return this;
+            } else
+                throw new IllegalArgumentException(String.format("Sampling period must be " +
+                        "higher than zero, not '%d'", samplingPeriod));
+        }
+
+        /**
+         * Subscribes a new class that will be notified each time the pool is resized.
+         *
+         * @param listener the class to notify.
+         *
+         * @return {@code Builder} itself.
+         */
+        public Builder withOnPoolResizedListener(@NotNull OnPoolResizedListener listener) {
+            mListeners.add(listener);
+            return this;
+        }
+
+        /**
+         * Generates the new {@link AdaptivePoolController} - it must be {@linkplain
+         * AdaptivePoolController#start() started} for resizing the pool.
+         *
+         * @return {@code AdaptivePoolController} the new controller.
+         *
+         * @throws IllegalArgumentException if the minimum threads are higher than the maximum
+         *                                  ones.
+         */
+        public AdaptivePoolController build() {
+            if (mMinimumThreads > mMaximumThreads)
+                throw new IllegalArgumentException(String.format("Minimum threads (%d) cannot " +
+                        "be higher than maximum threads (%d)", mMinimumThreads, mMaximumThreads));
+            return new AdaptivePoolController(this);
+        }
+    }
+}
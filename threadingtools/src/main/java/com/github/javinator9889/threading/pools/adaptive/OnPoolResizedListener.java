@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools.adaptive;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Interface that classes that want to get notified by an {@link AdaptivePoolController} must
+ * implement.
+ * <p>
+ * Every time the controller <b>resizes</b> the pool, the subscribed classes receive a {@link
+ * PoolResizeEvent} containing the new and previous sizes together with the measures that made the
+ * controller take that decision, so they can be logged or audited.
+ * <p>
+ * Listeners are called from the controller sampling thread, so they must return quickly. Any
+ * exception thrown by a listener is ignored.
+ */
+public interface OnPoolResizedListener {
+    /**
+     * When the {@link AdaptivePoolController} resizes the pool, this method is called with the
+     * decision taken.
+     * <p>
+     * Refer to {@link AdaptivePoolController#addOnPoolResizedListener(OnPoolResizedListener)} for
+     * getting more information about subscribing classes.
+     *
+     * @param event the resize decision.
+     */
+    void onPoolResized(@NotNull PoolResizeEvent event);
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools.adaptive;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable description of a resize decision taken by an {@link AdaptivePoolController}.
+ * <p>
+ * Apart from the previous and new amount of concurrent threads, it contains the measures the
+ * decision was based on:
+ * <ul>
+ * <li>
+ * <b>Estimated queue wait time</b>: how long a task waits at the queue before being run,
+ * estimated with Little's law ({@code queue size / throughput}).
+ * </li>
+ * <li>
+ * <b>Throughput</b>: tasks completed per second.
+ * </li>
+ * <li>
+ * <b>Utilization</b>: ratio of busy workers, between {@code 0} and {@code 1}.
+ * </li>
+ * </ul>
+ */
+public final class PoolResizeEvent {
+    /**
+     * Reason why the pool was resized.
+     */
+    public enum Reason {
+        /**
+         * The estimated queue wait time was higher than the target one.
+         */
+        QUEUE_WAIT_ABOVE_TARGET,
+        /**
+         * The offered load requires more threads for keeping the target utilization.
+         */
+        LOAD_INCREASED,
+        /**
+         * The offered load can be handled with less threads.
+         */
+        LOAD_DECREASED
+    }
+
+    private final int mPreviousSize;
+    private final int mNewSize;
+    private final Reason mReason;
+    private final long mEstimatedQueueWaitNanos;
+    private final double mThroughput;
+    private final double mUtilization;
+    private final int mQueueSize;
+    private final long mTimestamp;
+
+    /**
+     * Creates a new event.
+     *
+     * @param previousSize            amount of concurrent threads before the decision.
+     * @param newSize                 amount of concurrent threads after the decision.
+     * @param reason                  why the pool was resized.
+     * @param estimatedQueueWaitNanos estimated queue wait time, in nanoseconds.
+     * @param throughput              tasks completed per second.
+     * @param utilization             ratio of busy workers.
+     * @param queueSize               amount of tasks waiting at the queue.
+     */
+    PoolResizeEvent(int previousSize,
+                    int newSize,
+                    @NotNull Reason reason,
+                    long estimatedQueueWaitNanos,
+                    double throughput,
+                    double utilization,
+                    int queueSize) {
+        mPreviousSize = previousSize;
+        mNewSize = newSize;
+        mReason = reason;
+        mEstimatedQueueWaitNanos = estimatedQueueWaitNanos;
+        mThroughput = throughput;
+        mUtilization = utilization;
+        mQueueSize = queueSize;
+        mTimestamp = System.currentTimeMillis();
+    }
+
+    /**
+     * Gets the amount of concurrent threads before the decision.
+     *
+     * @return {@code int} with the previous size.
+     */
+    public int getPreviousSize() {
+        return mPreviousSize;
+    }
+
+    /**
+     * Gets the amount of concurrent threads after the decision.
+     *
+     * @return {@code int} with the new size.
+     */
+    public int getNewSize() {
+        return mNewSize;
+    }
+
+    /**
+     * Gets the reason why the pool was resized.
+     *
+     * @return {@code Reason} of the decision.
+     */
+    public Reason getReason() {
+        return mReason;
+    }
+
+    /**
+     * Gets the estimated time a task waits at the queue before running.
+     *
+     * @param unit the time unit of the returned value.
+     *
+     * @return {@code long} with the estimated wait time - {@link Long#MAX_VALUE} if there were
+     * queued tasks but none was completed.
+     */
+    public long getEstimatedQueueWait(@NotNull TimeUnit unit) {
+        return (mEstimatedQueueWaitNanos == Long.MAX_VALUE) ?
+                Long.MAX_VALUE :
+                unit.convert(mEstimatedQueueWaitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the throughput of the pool.
+     *
+     * @return {@code double} with the tasks completed per second.
+     */
+    public double getThroughput() {
+        return mThroughput;
+    }
+
+    /**
+     * Gets the utilization of the pool.
+     *
+     * @return {@code double} between {@code 0} and {@code 1} with the ratio of busy workers.
+     */
+    public double getUtilization() {
+        return mUtilization;
+    }
+
+    /**
+     * Gets the amount of tasks waiting at the queue when the decision was taken.
+     *
+     * @return {@code int} with the queue size.
+     */
+    public int getQueueSize() {
+        return mQueueSize;
+    }
+
+    /**
+     * Gets the time when the decision was taken.
+     *
+     * @return {@code long} with the time in milliseconds since the epoch.
+     */
+    public long getTimestamp() {
+        return mTimestamp;
+    }
+
+    /**
+     * Human readable representation of this class.
+     *
+     * @return {@code String} with the representation.
+     */
+    @Override
+    public String toString() {
+        return "PoolResizeEvent{" + mPreviousSize + " -> " + mNewSize +
+                ", reason=" + mReason +
+                ", estimatedQueueWaitMs=" + getEstimatedQueueWait(TimeUnit.MILLISECONDS) +
+                ", throughput=" + String.format("%.2f", mThroughput) +
+                ", utilization=" + String.format("%.2f", mUtilization) +
+                ", queueSize=" + mQueueSize +
+                ", timestamp=" + mTimestamp + '}';
+    }
+}
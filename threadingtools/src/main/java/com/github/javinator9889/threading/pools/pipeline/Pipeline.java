@@ -0,0 +1,522 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools.pipeline;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * {@code Pipeline} is a <b>staged</b> (SEDA) executor: items go through a chain of stages, each of
+ * them with its own bounded input queue and its own {@link com.github.javinator9889.threading.pools.ThreadsPooling}
+ * of workers, which apply the function of the stage and hand the result to the next one.
+ * <p>
+ * Each stage can be tuned independently:
+ * <ul>
+ * <li>
+ * <b>Threads</b>: amount of workers of the stage, so slow stages can get more of them.
+ * </li>
+ * <li>
+ * <b>Batch size</b>: maximum amount of items a worker takes from the queue at once, which
+ * amortizes the cost of waking up workers under high load.
+ * </li>
+ * <li>
+ * <b>Queue capacity</b>: maximum amount of items waiting at the stage.
+ * </li>
+ * </ul>
+ * <p>
+ * As every queue is bounded and handing a result to a full stage blocks, <b>backpressure</b> flows
+ * upstream: when a stage cannot keep up, the previous ones slow down too and, eventually, {@link
+ * #put(Object)} blocks (and {@link #offer(Object)} fails), so memory never grows unbounded. {@link
+ * #getStatistics()} returns the throughput, queue depth and utilization of each stage, and {@link
+ * #getBottleneck()} the stage limiting the whole pipeline.
+ * <p>
+ * Items for which a stage returns {@code null} are discarded, which allows filtering stages.
+ * Exceptions thrown by a stage are given to the {@linkplain Thread#getUncaughtExceptionHandler()
+ * uncaught exception handler} of the worker and the item is discarded too. A pipeline is built with
+ * {@link #builder(String, int, Function)}:
+ * <pre>{@code
+ * Pipeline<String> pipeline = Pipeline.<String, Integer>builder("parse", 2, Integer::parseInt)
+ *         .then("compute", 4, value -> value * value)
+ *         .withBatchSize(32)
+ *         .thenAccept("store", 1, results::add)
+ *         .build();
+ * pipeline.start();
+ * }</pre>
+ *
+ * @param <I> the type of the items put at the pipeline.
+ */
+public final class Pipeline<I> {
+    /**
+     * Default capacity of the input queue of each stage.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    /**
+     * Default maximum amount of items taken at once by a worker.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 16;
+
+    private final List<PipelineStage> mStages;
+    private final PipelineStage mFirstStage;
+    private final CountDownLatch mTermination;
+    private final ReentrantReadWriteLock mInputLock = new ReentrantReadWriteLock();
+    private volatile boolean mStarted;
+    private volatile boolean mShutdown;
+
+    /**
+     * Creates a new pipeline with the given stages definitions.
+     *
+     * @param definitions the stages definitions, in order.
+     */
+    private Pipeline(@NotNull List<StageDefinition> definitions) {
+        mTermination = new CountDownLatch(definitions.size());
+        List<PipelineStage> stages = new ArrayList<>(definitions.size());
+        for (StageDefinition definition : definitions) {
+            PipelineStage stage = new PipelineStage(definition.mName,
+                    definition.mThreads,
+                    definition.mBatchSize,
+                    definition.mQueueCapacity,
+                    definition.mFunction,
+                    mTermination);
+            if (!stages.isEmpty())
+                stages.get(stages.size() - 1).setNext(stage);
+            stages.add(stage);
+        }
+        mStages = Collections.unmodifiableList(stages);
+        mFirstStage = stages.get(0);
+    }
+
+    /**
+     * Creates a new builder whose first stage applies the given function to each item.
+     *
+     * @param name     the name of the stage, used for naming its threads and statistics.
+     * @param threads  amount of workers of the stage - must be higher than zero.
+     * @param function the function applied to each item.
+     * @param <I>      the type of the items put at the pipeline.
+     * @param <O>      the type of the results of the stage.
+     *
+     * @return {@code Builder} with the first stage.
+     *
+     * @throws IllegalArgumentException if the amount of threads is zero or lower.
+     */
+    @NotNull
+    public static <I, O> Builder<I, O> builder(@NotNull String name,
+                                               int threads,
+                                               @NotNull Function<? super I, ? extends O> function) {
+        return new Builder<I, O>().addStage(name, threads, function);
+    }
+
+    /**
+     * Starts the workers of every stage. Items can be {@linkplain #put(Object) put} before
+     * starting the pipeline, but they will not be processed until then.
+     *
+     * @throws IllegalStateException if the pipeline has been shut down.
+     */
+    public synchronized void start() {
+        if (mShutdown)
+            throw new IllegalStateException("The pipeline has been shut down");
+        if (mStarted)
+            return;
+        for (int i = mStages.size() - 1; i >= 0; --i)
+            mStages.get(i).start();
+        mStarted = true;
+    }
+
+    /**
+     * Inserts an item at the pipeline, waiting if necessary for space to become available at the
+     * first stage.
+     *
+     * @param item the item.
+     *
+     * @throws InterruptedException       if interrupted while waiting.
+     * @throws NullPointerException       if the item is {@code null}.
+     * @throws RejectedExecutionException if the pipeline has been shut down.
+     */
+    public void put(@NotNull I item) throws InterruptedException {
+        checkNotNull(item);
+        ReentrantReadWriteLock.ReadLock lock = mInputLock.readLock();
+        lock.lockInterruptibly();
+        try {
+            checkNotShutdown();
+            mFirstStage.put(item);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Inserts an item at the pipeline if it is possible to do so immediately, without exceeding
+     * the capacity of the first stage.
+     *
+     * @param item the item.
+     *
+     * @return {@code true} if the item was inserted, else {@code false}.
+     *
+     * @throws NullPointerException       if the item is {@code null}.
+     * @throws RejectedExecutionException if the pipeline has been shut down.
+     */
+    public boolean offer(@NotNull I item) {
+        try {
+            return offer(item, 0L, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Inserts an item at the pipeline, waiting up to the specified time if necessary for space to
+     * become available at the first stage.
+     *
+     * @param item    the item.
+     * @param timeout how long to wait before giving up.
+     * @param unit    the time unit of the timeout.
+     *
+     * @return {@code true} if the item was inserted, else {@code false}.
+     *
+     * @throws InterruptedException       if interrupted while waiting.
+     * @throws NullPointerException       if the item is {@code null}.
+     * @throws RejectedExecutionException if the pipeline has been shut down.
+     */
+    public boolean offer(@NotNull I item, long timeout, @NotNull TimeUnit unit)
+            throws InterruptedException {
+        checkNotNull(item);
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        ReentrantReadWriteLock.ReadLock lock = mInputLock.readLock();
+        if (!lock.tryLock(timeout, unit))
+            return false;
+        try {
+            checkNotShutdown();
+            return mFirstStage.offer(item, deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Initiates an orderly shutdown: no new items are accepted, but every item already inserted
+     * goes through the whole pipeline. This method waits for the inserting calls in progress, but
+     * not for the items to be processed - use {@link #awaitTermination(long, TimeUnit)} for that.
+     * <p>
+     * If the pipeline was never started, the items already inserted are discarded.
+     */
+    public void shutdown() {
+        ReentrantReadWriteLock.WriteLock lock = mInputLock.writeLock();
+        lock.lock();
+        try {
+            if (mShutdown)
+                return;
+            synchronized (this) {
+                mShutdown = true;
+                if (!mStarted) {
+                    while (mTermination.getCount() > 0)
+                        mTermination.countDown();
+                    return;
+                }
+            }
+            mFirstStage.finishInput();
+        } catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+            shutdownNow();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops every stage at once: workers are interrupted and the items waiting at the stages
+     * queues are discarded.
+     */
+    public void shutdownNow() {
+        synchronized (this) {
+            mShutdown = true;
+            if (!mStarted) {
+                while (mTermination.getCount() > 0)
+                    mTermination.countDown();
+                return;
+            }
+        }
+        for (PipelineStage stage : mStages)
+            stage.stop();
+    }
+
+    /**
+     * Blocks until every stage has finished after a shutdown request, or the timeout occurs, or
+     * the current thread is interrupted, whichever happens first.
+     *
+     * @param timeout the maximum time to wait.
+     * @param unit    the time unit of the timeout.
+     *
+     * @return {@code true} if the pipeline terminated, else {@code false}.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public boolean awaitTermination(long timeout, @NotNull TimeUnit unit)
+            throws InterruptedException {
+        return mTermination.await(timeout, unit);
+    }
+
+    /**
+     * Returns whether the pipeline has been shut down.
+     *
+     * @return {@code true} if shut down, else {@code false}.
+     */
+    public boolean isShutdown() {
+        return mShutdown;
+    }
+
+    /**
+     * Returns whether every stage has finished after shutting down the pipeline.
+     *
+     * @return {@code true} if terminated, else {@code false}.
+     */
+    public boolean isTerminated() {
+        return mTermination.getCount() == 0;
+    }
+
+    /**
+     * Takes a snapshot of the measures of every stage.
+     *
+     * @return {@code List} with the {@link StageStatistics} of each stage, in order.
+     */
+    @NotNull
+    public List<StageStatistics> getStatistics() {
+        List<StageStatistics> statistics = new ArrayList<>(mStages.size());
+        for (PipelineStage stage : mStages)
+            statistics.add(stage.getStatistics());
+        return statistics;
+    }
+
+    /**
+     * Looks for the stage that limits the throughput of the whole pipeline, which is the one whose
+     * workers spend more time processing items.
+     *
+     * @return {@code StageStatistics} of the bottleneck - {@code null} if the pipeline has not
+     * been started.
+     */
+    @Nullable
+    public StageStatistics getBottleneck() {
+        if (!mStarted)
+            return null;
+        StageStatistics bottleneck = null;
+        for (StageStatistics statistics : getStatistics())
+            if (bottleneck == null || statistics.getUtilization() > bottleneck.getUtilization())
+                bottleneck = statistics;
+        return bottleneck;
+    }
+
+    /**
+     * Throws {@link RejectedExecutionException} if the pipeline has been shut down.
+     */
+    private void checkNotShutdown() {
+        if (mShutdown)
+            throw new RejectedExecutionException("The pipeline has been shut down");
+    }
+
+    /**
+     * Throws {@link NullPointerException} if the item is {@code null}.
+     *
+     * @param item the item to check.
+     */
+    private static void checkNotNull(Object item) {
+        if (item == null)
+            throw new NullPointerException();
+    }
+
+    /**
+     * Human readable representation of this class.
+     *
+     * @return {@code String} with the representation.
+     */
+    @Override
+    public String toString() {
+        return "Pipeline{stages=" + mStages + ", started=" + mStarted + ", shutdown=" +
+                mShutdown + '}';
+    }
+
+    /**
+     * Definition of a stage, filled in by the {@link Builder}.
+     */
+    private static final class StageDefinition {
+        private final String mName;
+        private final int mThreads;
+        private final Function<Object, ?> mFunction;
+        private int mBatchSize = DEFAULT_BATCH_SIZE;
+        private int mQueueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+        private StageDefinition(@NotNull String name,
+                                int threads,
+                                @NotNull Function<Object, ?> function) {
+            mName = name;
+            mThreads = threads;
+            mFunction = function;
+        }
+    }
+
+    /**
+     * Builder for {@link Pipeline}s. Stages are added in order with {@link #then(String, int,
+     * Function)} and {@link #thenAccept(String, int, Consumer)}, and {@link #withBatchSize(int)}
+     * and {@link #withQueueCapacity(int)} apply to the <b>last added</b> stage.
+     *
+     * @param <I> the type of the items put at the pipeline.
+     * @param <O> the type of the results of the last added stage.
+     */
+    public static final class Builder<I, O> {
+        private final List<StageDefinition> mStages = new ArrayList<>();
+
+        /**
+         * Private constructor - use {@link Pipeline#builder(String, int, Function)}.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Adds a new stage that applies the given function to the results of the previous one.
+         *
+         * @param name     the name of the stage, used for naming its threads and statistics.
+         * @param threads  amount of workers of the stage - must be higher than zero.
+         * @param function the function applied to each item.
+         * @param <R>      the type of the results of the new stage.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if the amount of threads is zero or lower.
+         */
+        @NotNull
+        public <R> Builder<I, R> then(@NotNull String name,
+                                      int threads,
+                                      @NotNull Function<? super O, ? extends R> function) {
+            return addStage(name, threads, function);
+        }
+
+        /**
+         * Adds a final stage that consumes the results of the previous one.
+         *
+         * @param name     the name of the stage, used for naming its threads and statistics.
+         * @param threads  amount of workers of the stage - must be higher than zero.
+         * @param consumer the consumer of each item.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException if the amount of threads is zero or lower.
+         */
+        @NotNull
+        public Builder<I, Void> thenAccept(@NotNull String name,
+                                           int threads,
+                                           @NotNull Consumer<? super O> consumer) {
+            Function<O, Void> function = item -> {
+                consumer.accept(item);
+                return null;
+            };
+            return addStage(name, threads, function);
+        }
+
+        /**
+         * Sets the maximum amount of items a worker of the last added stage takes at once - default
+         * is {@linkplain #DEFAULT_BATCH_SIZE '16'}.
+         *
+         * @param batchSize the batch size.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException when the {@code param} is zero or lower.
+         */
+        @NotNull
+        public Builder<I, O> withBatchSize(int batchSize) {
+            if (batchSize > 0) {
+                lastStage().mBatchSize = batchSize;
+                return this;
+            } else
+                throw new IllegalArgumentException(String.format("Batch size must be higher " +
+                        "than zero, not '%d'", batchSize));
+        }
+
+        /**
+         * Sets the capacity of the input queue of the last added stage - default is {@linkplain
+         * #DEFAULT_QUEUE_CAPACITY '1024'}. It is rounded up to the next power of two.
+         *
+         * @param queueCapacity the queue capacity.
+         *
+         * @return {@code Builder} itself.
+         *
+         * @throws IllegalArgumentException when the {@code param} is zero or lower.
+         */
+        @NotNull
+        public Builder<I, O> withQueueCapacity(int queueCapacity) {
+            if (queueCapacity > 0) {
+                lastStage().mQueueCapacity = queueCapacity;
+                return this;
+            } else
+                throw new IllegalArgumentException(String.format("Queue capacity must be higher " +
+                        "than zero, not '%d'", queueCapacity));
+        }
+
+        /**
+         * Generates a new {@link Pipeline} with the provided stages. Remember to {@linkplain
+         * Pipeline#start() start} it.
+         *
+         * @return {@code Pipeline} with the stages.
+         */
+        @NotNull
+        public Pipeline<I> build() {
+            return new Pipeline<>(mStages);
+        }
+
+        /**
+         * Adds a new stage.
+         *
+         * @param name     the name of the stage.
+         * @param threads  amount of workers of the stage.
+         * @param function the function of the stage.
+         * @param <R>      the type of the results of the new stage.
+         *
+         * @return {@code Builder} itself.
+         */
+        @SuppressWarnings("unchecked")
+        private <R> Builder<I, R> addStage(@NotNull String name,
+                                           int threads,
+                                           @NotNull Function<?, ?> function) {
+            if (threads <= 0)
+                throw new IllegalArgumentException(String.format("Stage threads must be higher " +
+                        "than zero, not '%d'", threads));
+            mStages.add(new StageDefinition(name, threads, (Function<Object, ?>) function));
+            return (Builder<I, R>) this;
+        }
+
+        /**
+         * Gets the last added stage.
+         *
+         * @return {@code StageDefinition} of the stage.
+         */
+        private StageDefinition lastStage() {
+            return mStages.get(mStages.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools.pipeline;
+
+import com.github.javinator9889.threading.pools.ThreadsPooling;
+import com.github.javinator9889.threading.pools.queues.RingBufferBlockingQueue;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Stage of a {@link Pipeline}: a bounded input queue and a {@link ThreadsPooling} whose workers
+ * take <b>batches</b> of items from it, process them and put the results at the input queue of the
+ * next stage.
+ * <p>
+ * Putting a result blocks while the next queue is full, so a slow stage makes the previous ones
+ * wait - <b>backpressure</b> flows upstream up to {@link Pipeline#put(Object)}.
+ * <p>
+ * The stage itself is the {@link Runnable} run by each of its workers. When the previous stage
+ * finishes, one {@link #END} marker per worker is put at the queue, so each worker finishes after
+ * processing every pending item and the last one finishes the next stage.
+ */
+final class PipelineStage implements Runnable {
+    /**
+     * Marker that makes a worker finish.
+     */
+    private static final Object END = new Object();
+
+    private final String mName;
+    private final int mThreads;
+    private final int mBatchSize;
+    private final Function<Object, ?> mFunction;
+    private final RingBufferBlockingQueue<Object> mInput;
+    private final CountDownLatch mTermination;
+    private final LongAdder mProcessed = new LongAdder();
+    private final LongAdder mBusyNanos = new LongAdder();
+    private final LongAdder mBlockedNanos = new LongAdder();
+    private final AtomicInteger mRunningWorkers = new AtomicInteger();
+    private PipelineStage mNext;
+    private ThreadsPooling mPooling;
+    private volatile long mStartNanos;
+    private volatile boolean mStopped;
+
+    /**
+     * Creates a new stage.
+     *
+     * @param name          the name of the stage.
+     * @param threads       amount of workers.
+     * @param batchSize     maximum amount of items taken at once by a worker.
+     * @param queueCapacity capacity of the input queue.
+     * @param function      function applied to each item.
+     * @param termination   latch counted down when the stage finishes.
+     */
+    PipelineStage(@NotNull String name,
+                  int threads,
+                  int batchSize,
+                  int queueCapacity,
+                  @NotNull Function<Object, ?> function,
+                  @NotNull CountDownLatch termination) {
+        mName = name;
+        mThreads = threads;
+        mBatchSize = batchSize;
+        mFunction = function;
+        mInput = new RingBufferBlockingQueue<>(Math.max(queueCapacity, threads));
+        mTermination = termination;
+    }
+
+    /**
+     * Sets the stage that receives the results of this one.
+     *
+     * @param next the next stage.
+     */
+    void setNext(@NotNull PipelineStage next) {
+        mNext = next;
+    }
+
+    /**
+     * Starts the workers of this stage.
+     */
+    void start() {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        mPooling = ThreadsPooling.builder()
+                .withConcurrentThreadsRunning(mThreads)
+                .withMaximumPoolSize(mThreads)
+                .withQueueCapacity(mThreads)
+                .withThreadFactory(runnable -> new Thread(runnable,
+                        "Pipeline-" + mName + '-' + threadNumber.incrementAndGet()))
+                .build();
+        mStartNanos = System.nanoTime();
+        mRunningWorkers.set(mThreads);
+        for (int i = 0; i < mThreads; ++i)
+            mPooling.add(this);
+        mPooling.start();
+    }
+
+    /**
+     * Stops the workers at once, discarding every pending item.
+     */
+    void stop() {
+        mStopped = true;
+        if (mPooling != null)
+            for (Runnable ignored : mPooling.shutdownImmediately())
+                workerFinished();
+        mInput.clear();
+    }
+
+    /**
+     * Marks the end of the items of this stage, so its workers finish after processing the
+     * pending ones.
+     *
+     * @throws InterruptedException if interrupted while waiting for space at the queue.
+     */
+    void finishInput() throws InterruptedException {
+        for (int i = 0; i < mThreads; ++i)
+            mInput.put(END);
+    }
+
+    /**
+     * Inserts an item, waiting if necessary for space to become available.
+     *
+     * @param item the item.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    void put(@NotNull Object item) throws InterruptedException {
+        mInput.put(item);
+    }
+
+    /**
+     * Inserts an item, waiting up to the specified time if necessary for space to become
+     * available.
+     *
+     * @param item    the item.
+     * @param timeout how long to wait before giving up.
+     * @param unit    the time unit of the timeout.
+     *
+     * @return {@code true} if inserted, else {@code false}.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    boolean offer(@NotNull Object item, long timeout, @NotNull TimeUnit unit)
+            throws InterruptedException {
+        return mInput.offer(item, timeout, unit);
+    }
+
+    /**
+     * Worker loop: takes batches of items until an {@link #END} marker is found.
+     */
+    @Override
+    public void run() {
+        List<Object> batch = new ArrayList<>(mBatchSize);
+        int ends = 0;
+        try {
+            while (ends == 0) {
+                batch.add(mInput.take());
+                mInput.drainTo(batch, mBatchSize - 1);
+                for (Object item : batch) {
+                    if (item == END)
+                        ++ends;
+                    else
+                        process(item);
+                }
+                batch.clear();
+            }
+            for (int i = 1; i < ends; ++i)
+                mInput.put(END);
+        } catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        } finally {
+            workerFinished();
+        }
+    }
+
+    /**
+     * Processes an item and puts the result, if not {@code null}, at the next stage. Any
+     * exception thrown by the function is given to the {@linkplain
+     * Thread#getUncaughtExceptionHandler() uncaught exception handler} of the worker, and the item
+     * is discarded.
+     *
+     * @param item the item.
+     *
+     * @throws InterruptedException if interrupted while waiting for space at the next stage.
+     */
+    private void process(@NotNull Object item) throws InterruptedException {
+        long start = System.nanoTime();
+        Object result = null;
+        try {
+            result = mFunction.apply(item);
+        } catch (Throwable throwable) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+        } finally {
+            mBusyNanos.add(System.nanoTime() - start);
+            mProcessed.increment();
+        }
+        if (result != null && mNext != null) {
+            long putStart = System.nanoTime();
+            mNext.put(result);
+            mBlockedNanos.add(System.nanoTime() - putStart);
+        }
+    }
+
+    /**
+     * Called when a worker finishes, or when it is discarded before running because the stage has
+     * been stopped.
+     */
+    private void workerFinished() {
+        if (mRunningWorkers.decrementAndGet() == 0)
+            finished();
+    }
+
+    /**
+     * Called by the last worker that finishes: the next stage is finished too (unless the
+     * pipeline has been stopped) and the workers pool is shut down.
+     */
+    private void finished() {
+        try {
+            if (mNext != null && !mStopped && !Thread.currentThread().isInterrupted())
+                mNext.finishInput();
+        } catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        } finally {
+            mPooling.shutdownNotWaiting();
+            mTermination.countDown();
+        }
+    }
+
+    /**
+     * Takes a snapshot of the measures of this stage.
+     *
+     * @return {@code StageStatistics} with the measures.
+     */
+    @NotNull
+    StageStatistics getStatistics() {
+        long startNanos = mStartNanos;
+        long elapsed = (startNanos == 0L) ? 0L : System.nanoTime() - startNanos;
+        long processed = mProcessed.sum();
+        double workersNanos = (double) elapsed * mThreads;
+        return new StageStatistics(mName,
+                mThreads,
+                processed,
+                (elapsed == 0L) ? 0D : processed / (elapsed / 1E9),
+                mInput.size(),
+                mInput.capacity(),
+                (elapsed == 0L) ? 0D : Math.min(1D, mBusyNanos.sum() / workersNanos),
+                (elapsed == 0L) ? 0D : Math.min(1D, mBlockedNanos.sum() / workersNanos));
+    }
+
+    /**
+     * Human readable representation of this class.
+     *
+     * @return {@code String} with the representation.
+     */
+    @Override
+    public String toString() {
+        return "PipelineStage{name=" + mName + ", threads=" + mThreads + ", batchSize=" +
+                mBatchSize + ", queue=" + mInput.size() + '/' + mInput.capacity() + '}';
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools.pipeline;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable snapshot of the measures of a stage of a {@link Pipeline}, used for finding out which
+ * stage is the <b>bottleneck</b>:
+ * <ul>
+ * <li>
+ * <b>Throughput</b>: items processed per second since the pipeline was started.
+ * </li>
+ * <li>
+ * <b>Queue size</b>: items waiting at the input queue of the stage - a full queue means the stage
+ * cannot keep up with the previous one.
+ * </li>
+ * <li>
+ * <b>Utilization</b>: ratio of the time the workers spent processing items, between {@code 0}
+ * and {@code 1} - the bottleneck is the stage with the highest one.
+ * </li>
+ * <li>
+ * <b>Blocked ratio</b>: ratio of the time the workers spent waiting for space at the next stage
+ * queue - a high value means the bottleneck is downstream.
+ * </li>
+ * </ul>
+ */
+public final class StageStatistics {
+    private final String mName;
+    private final int mThreads;
+    private final long mProcessed;
+    private final double mThroughput;
+    private final int mQueueSize;
+    private final int mQueueCapacity;
+    private final double mUtilization;
+    private final double mBlockedRatio;
+
+    /**
+     * Creates a new snapshot.
+     *
+     * @param name          the name of the stage.
+     * @param threads       amount of workers of the stage.
+     * @param processed     items processed since the pipeline was started.
+     * @param throughput    items processed per second.
+     * @param queueSize     items waiting at the input queue.
+     * @param queueCapacity capacity of the input queue.
+     * @param utilization   ratio of time spent processing items.
+     * @param blockedRatio  ratio of time spent waiting for the next stage.
+     */
+    StageStatistics(@NotNull String name,
+                    int threads,
+                    long processed,
+                    double throughput,
+                    int queueSize,
+                    int queueCapacity,
+                    double utilization,
+                    double blockedRatio) {
+        mName = name;
+        mThreads = threads;
+        mProcessed = processed;
+        mThroughput = throughput;
+        mQueueSize = queueSize;
+        mQueueCapacity = queueCapacity;
+        mUtilization = utilization;
+        mBlockedRatio = blockedRatio;
+    }
+
+    /**
+     * Gets the name of the stage.
+     *
+     * @return {@code String} with the name.
+     */
+    @NotNull
+    public String getName() {
+        return mName;
+    }
+
+    /**
+     * Gets the amount of workers of the stage.
+     *
+     * @return {@code int} with the amount of workers.
+     */
+    public int getThreads() {
+        return mThreads;
+    }
+
+    /**
+     * Gets the amount of items processed since the pipeline was started.
+     *
+     * @return {@code long} with the amount of items.
+     */
+    public long getProcessed() {
+        return mProcessed;
+    }
+
+    /**
+     * Gets the throughput of the stage.
+     *
+     * @return {@code double} with the items processed per second.
+     */
+    public double getThroughput() {
+        return mThroughput;
+    }
+
+    /**
+     * Gets the amount of items waiting at the input queue of the stage.
+     *
+     * @return {@code int} with the queue size.
+     */
+    public int getQueueSize() {
+        return mQueueSize;
+    }
+
+    /**
+     * Gets the capacity of the input queue of the stage.
+     *
+     * @return {@code int} with the queue capacity.
+     */
+    public int getQueueCapacity() {
+        return mQueueCapacity;
+    }
+
+    /**
+     * Gets the utilization of the stage.
+     *
+     * @return {@code double} between {@code 0} and {@code 1} with the ratio of time spent
+     * processing items.
+     */
+    public double getUtilization() {
+        return mUtilization;
+    }
+
+    /**
+     * Gets the ratio of time the workers spent waiting for space at the next stage queue.
+     *
+     * @return {@code double} between {@code 0} and {@code 1} with the blocked ratio.
+     */
+    public double getBlockedRatio() {
+        return mBlockedRatio;
+    }
+
+    /**
+     * Human readable representation of this class.
+     *
+     * @return {@code String} with the representation.
+     */
+    @Override
+    public String toString() {
+        return "StageStatistics{name=" + mName +
+                ", threads=" + mThreads +
+                ", processed=" + mProcessed +
+                ", throughput=" + String.format("%.2f", mThroughput) +
+                ", queue=" + mQueueSize + '/' + mQueueCapacity +
+                ", utilization=" + String.format("%.2f", mUtilization) +
+                ", blockedRatio=" + String.format("%.2f", mBlockedRatio) + '}';
+    }
+}
@@ -0,0 +1,450 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools.queues;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Base class for the {@link BlockingQueue} implementations provided by this library, whose
+ * storage is <b>non-blocking</b> (lock-free) and only fall back to a lock when a thread actually
+ * needs to wait.
+ * <p>
+ * Subclasses only have to provide the non-blocking operations ({@link #offerElement(Object)},
+ * {@link #pollElement()}, {@link #peek()}, {@link #size()}, {@link #iterator()} and {@link
+ * #capacity()}) and this class builds the whole {@link BlockingQueue} contract on top of them, so
+ * they can be used directly with a {@link java.util.concurrent.ThreadPoolExecutor}.
+ * <p>
+ * Waiting threads are tracked with a counter, so producers and consumers <b>only take the lock
+ * when there is someone waiting</b> - in the common case (busy workers, non-full queue) neither
+ * {@code offer} nor {@code poll} acquire any lock. Before waiting, consumers may also spin or
+ * yield for a while as defined by their {@link WaitStrategy}.
+ *
+ * @param <E> the type of elements held in this queue.
+ */
+public abstract class ConcurrentBlockingQueue<E> extends AbstractQueue<E>
+        implements BlockingQueue<E> {
+    /**
+     * Lock used only for waiting - never held while accessing the elements.
+     */
+    private final ReentrantLock mWaitingLock = new ReentrantLock();
+
+    /**
+     * Condition for consumers waiting for new elements.
+     */
+    private final Condition mNotEmpty = mWaitingLock.newCondition();
+
+    /**
+     * Condition for producers waiting for free space.
+     */
+    private final Condition mNotFull = mWaitingLock.newCondition();
+
+    /**
+     * Amount of consumers waiting (or about to wait) on {@link #mNotEmpty}.
+     */
+    private final AtomicInteger mWaitingConsumers = new AtomicInteger();
+
+    /**
+     * Amount of producers waiting (or about to wait) on {@link #mNotFull}.
+     */
+    private final AtomicInteger mWaitingProducers = new AtomicInteger();
+
+    /**
+     * Strategy followed by consumers before waiting on {@link #mNotEmpty}.
+     */
+    private volatile WaitStrategy mWaitStrategy = WaitStrategy.blocking();
+
+    /**
+     * Inserts the specified element into the queue without blocking.
+     *
+     * @param element the element to add - never {@code null}.
+     *
+     * @return {@code true} if the element was added, {@code false} if there is no space available.
+     */
+    protected abstract boolean offerElement(@NotNull E element);
+
+    /**
+     * Retrieves and removes the head of this queue without blocking.
+     *
+     * @return the head of the queue or {@code null} if there is no element available.
+     */
+    protected abstract E pollElement();
+
+    /**
+     * Gets the maximum amount of elements this queue can hold.
+     *
+     * @return {@code int} with the capacity - {@link Integer#MAX_VALUE} if unbounded.
+     */
+    public abstract int capacity();
+
+    /**
+     * Sets the strategy consumers follow when this queue is empty - by default, {@link
+     * WaitStrategy#blocking()}.
+     *
+     * @param waitStrategy the new strategy.
+     */
+    public void setWaitStrategy(@NotNull WaitStrategy waitStrategy) {
+        mWaitStrategy = waitStrategy;
+    }
+
+    /**
+     * Gets the strategy consumers follow when this queue is empty.
+     *
+     * @return {@code WaitStrategy} of this queue.
+     */
+    @NotNull
+    public WaitStrategy getWaitStrategy() {
+        return mWaitStrategy;
+    }
+
+    /**
+     * Wakes up a waiting consumer, if any. Subclasses that insert elements through their own
+     * methods (not using {@link #offer(Object)}) must call this after every insertion.
+     */
+    protected final void signalNotEmpty() {
+        if (mWaitingConsumers.get() > 0)
+            signal(mNotEmpty);
+    }
+
+    /**
+     * Wakes up as much waiting consumers as {@code insertedElements}, if any. Used when several
+     * elements are inserted at once, so the waiting lock is taken only once per batch and no more
+     * consumers are woken up than elements were inserted.
+     *
+     * @param insertedElements amount of elements just inserted.
+     */
+    protected final void signalNotEmpty(int insertedElements) {
+        int signals = Math.min(insertedElements, mWaitingConsumers.get());
+        if (signals <= 0)
+            return;
+        mWaitingLock.lock();
+        try {
+            for (int i = 0; i < signals; ++i)
+                mNotEmpty.signal();
+        } finally {
+            mWaitingLock.unlock();
+        }
+    }
+
+    /**
+     * Wakes up a waiting producer, if any. Subclasses that remove elements through their own
+     * methods (not using {@link #poll()}) must call this after every removal.
+     */
+    protected final void signalNotFull() {
+        if (mWaitingProducers.get() > 0)
+            signal(mNotFull);
+    }
+
+    /**
+     * Inserts the specified element into this queue if it is possible to do so immediately without
+     * violating capacity restrictions.
+     *
+     * @param element the element to add.
+     *
+     * @return {@code true} if the element was added to this queue, else {@code false}.
+     *
+     * @throws NullPointerException if the specified element is {@code null}.
+     */
+    @Override
+    public boolean offer(@NotNull E element) {
+        checkNotNull(element);
+        if (offerElement(element)) {
+            signalNotEmpty();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Inserts as much elements of the given list as possible without blocking, in order, stopping
+     * at the first one that does not fit. Waiting consumers are signaled <b>once</b> for the whole
+     * batch, instead of once per element.
+     *
+     * @param elements the elements to add.
+     *
+     * @return {@code int} with the amount of elements inserted - they are always the first ones of
+     * the list.
+     *
+     * @throws NullPointerException if any element is {@code null} - no element is inserted then.
+     */
+    public int offerAll(@NotNull List<? extends E> elements) {
+        for (E element : elements)
+            checkNotNull(element);
+        int inserted = 0;
+        for (E element : elements) {
+            if (!offerElement(element))
+                break;
+            ++inserted;
+        }
+        signalNotEmpty(inserted);
+        return inserted;
+    }
+
+    /**
+     * Retrieves and removes the head of this queue, or returns {@code null} if this queue is
+     * empty.
+     *
+     * @return the head of this queue, or {@code null} if this queue is empty.
+     */
+    @Override
+    public E poll() {
+        E element = pollElement();
+        if (element != null)
+            signalNotFull();
+        return element;
+    }
+
+    /**
+     * Inserts the specified element into this queue, waiting if necessary for space to become
+     * available.
+     *
+     * @param element the element to add.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     * @throws NullPointerException if the specified element is {@code null}.
+     */
+    @Override
+    public void put(@NotNull E element) throws InterruptedException {
+        checkNotNull(element);
+        if (offer(element))
+            return;
+        mWaitingLock.lockInterruptibly();
+        try {
+            mWaitingProducers.incrementAndGet();
+            while (!offerElement(element))
+                mNotFull.await();
+        } finally {
+            mWaitingProducers.decrementAndGet();
+            mWaitingLock.unlock();
+        }
+        signalNotEmpty();
+    }
+
+    /**
+     * Inserts the specified element into this queue, waiting up to the specified wait time if
+     * necessary for space to become available.
+     *
+     * @param element the element to add.
+     * @param timeout how long to wait before giving up, in units of {@code unit}.
+     * @param unit    a {@code TimeUnit} determining how to interpret the {@code timeout}
+     *                parameter.
+     *
+     * @return {@code true} if successful, or {@code false} if the specified waiting time elapses
+     * before space is available.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     * @throws NullPointerException if the specified element is {@code null}.
+     */
+    @Override
+    public boolean offer(@NotNull E element, long timeout, @NotNull TimeUnit unit)
+            throws InterruptedException {
+        checkNotNull(element);
+        if (offer(element))
+            return true;
+        long nanos = unit.toNanos(timeout);
+        boolean inserted;
+        mWaitingLock.lockInterruptibly();
+        try {
+            mWaitingProducers.incrementAndGet();
+            while (!(inserted = offerElement(element)) && nanos > 0L)
+                nanos = mNotFull.awaitNanos(nanos);
+        } finally {
+            mWaitingProducers.decrementAndGet();
+            mWaitingLock.unlock();
+        }
+        if (inserted)
+            signalNotEmpty();
+        return inserted;
+    }
+
+    /**
+     * Retrieves and removes the head of this queue, waiting if necessary until an element becomes
+     * available.
+     *
+     * @return the head of this queue.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    @Override
+    public E take() throws InterruptedException {
+        E element = poll();
+        if (element != null)
+            return element;
+        WaitStrategy waitStrategy = mWaitStrategy;
+        if (!waitStrategy.isBlocking()) {
+            element = waitStrategy.pollBeforeParking(this, Long.MAX_VALUE);
+            if (element != null)
+                return element;
+        }
+        mWaitingLock.lockInterruptibly();
+        try {
+            mWaitingConsumers.incrementAndGet();
+            while ((element = pollElement()) == null)
+                mNotEmpty.await();
+        } finally {
+            mWaitingConsumers.decrementAndGet();
+            mWaitingLock.unlock();
+        }
+        afterWaitingPoll();
+        return element;
+    }
+
+    /**
+     * Retrieves and removes the head of this queue, waiting up to the specified wait time if
+     * necessary for an element to become available.
+     *
+     * @param timeout how long to wait before giving up, in units of {@code unit}.
+     * @param unit    a {@code TimeUnit} determining how to interpret the {@code timeout}
+     *                parameter.
+     *
+     * @return the head of this queue, or {@code null} if the specified waiting time elapses before
+     * an element is available.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    @Override
+    public E poll(long timeout, @NotNull TimeUnit unit) throws InterruptedException {
+        E element = poll();
+        if (element != null)
+            return element;
+        long nanos = unit.toNanos(timeout);
+        WaitStrategy waitStrategy = mWaitStrategy;
+        if (!waitStrategy.isBlocking()) {
+            long start = System.nanoTime();
+            element = waitStrategy.pollBeforeParking(this, nanos);
+            if (element != null || !waitStrategy.parks())
+                return element;
+            nanos -= System.nanoTime() - start;
+        }
+        mWaitingLock.lockInterruptibly();
+        try {
+            mWaitingConsumers.incrementAndGet();
+            while ((element = pollElement()) == null && nanos > 0L)
+                nanos = mNotEmpty.awaitNanos(nanos);
+        } finally {
+            mWaitingConsumers.decrementAndGet();
+            mWaitingLock.unlock();
+        }
+        afterWaitingPoll();
+        return element;
+    }
+
+    /**
+     * Returns the number of additional elements that this queue can ideally accept without
+     * blocking.
+     *
+     * @return the remaining capacity.
+     */
+    @Override
+    public int remainingCapacity() {
+        int capacity = capacity();
+        return (capacity == Integer.MAX_VALUE) ?
+                Integer.MAX_VALUE :
+                Math.max(0, capacity - size());
+    }
+
+    /**
+     * Removes all available elements from this queue and adds them to the given collection.
+     *
+     * @param collection the collection to transfer elements into.
+     *
+     * @return the number of elements transferred.
+     */
+    @Override
+    public int drainTo(@NotNull Collection<? super E> collection) {
+        return drainTo(collection, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Removes at most the given number of available elements from this queue and adds them to the
+     * given collection.
+     *
+     * @param collection  the collection to transfer elements into.
+     * @param maxElements the maximum number of elements to transfer.
+     *
+     * @return the number of elements transferred.
+     *
+     * @throws IllegalArgumentException if the specified collection is this queue.
+     */
+    @Override
+    public int drainTo(@NotNull Collection<? super E> collection, int maxElements) {
+        if (collection == this)
+            throw new IllegalArgumentException("Cannot drain a queue into itself");
+        int transferred = 0;
+        E element;
+        while (transferred < maxElements && (element = pollElement()) != null) {
+            collection.add(element);
+            ++transferred;
+        }
+        if (transferred > 0 && mWaitingProducers.get() > 0) {
+            mWaitingLock.lock();
+            try {
+                mNotFull.signalAll();
+            } finally {
+                mWaitingLock.unlock();
+            }
+        }
+        return transferred;
+    }
+
+    /**
+     * After a consumer that was waiting obtains an element, the producers waiting for space are
+     * notified and, if there are still elements available, the next waiting consumer is woken up
+     * (so a single signal is never "lost" by a consumer that timed-out at the same time).
+     */
+    private void afterWaitingPoll() {
+        signalNotFull();
+        if (!isEmpty())
+            signalNotEmpty();
+    }
+
+    /**
+     * Signals the given condition while holding the waiting lock.
+     *
+     * @param condition condition to signal.
+     */
+    private void signal(@NotNull Condition condition) {
+        mWaitingLock.lock();
+        try {
+            condition.signal();
+        } finally {
+            mWaitingLock.unlock();
+        }
+    }
+
+    /**
+     * Throws {@link NullPointerException} if the element is {@code null}, as this queues do not
+     * allow {@code null} elements.
+     *
+     * @param element the element to check.
+     */
+    protected static void checkNotNull(Object element) {
+        if (element == null)
+            throw new NullPointerException("Null elements are not allowed");
+    }
+}
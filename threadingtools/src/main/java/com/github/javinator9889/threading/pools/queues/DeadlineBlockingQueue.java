@@ -0,0 +1,405 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools.queues;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code DeadlineBlockingQueue} is a bounded {@link java.util.concurrent.BlockingQueue} whose
+ * elements are taken in <b>earliest-deadline-first</b> order: the element whose deadline is
+ * closer is always taken first.
+ * <p>
+ * Elements whose deadline has already passed when they reach the head of the queue are
+ * <b>dropped</b> instead of being returned, and given to the {@link OnElementExpiredListener}. This
+ * way, under overload, consumers do not waste their time on work that is no longer useful and
+ * spend it on the elements that can still make their deadline.
+ * <p>
+ * Elements added without a deadline ({@link #offer(Object)}) never expire and are taken after the
+ * ones with a deadline, in FIFO order. The elements are kept at a lock-free {@link
+ * ConcurrentSkipListSet}, so neither producers nor consumers serialize on a heap lock.
+ * <p>
+ * The listener is called by the consumer that dropped the element, once it leaves the {@code poll}
+ * or {@code take} method - elements already expired when added are dropped at once, by the
+ * producer.
+ *
+ * @param <E> the type of elements held in this queue.
+ */
+public class DeadlineBlockingQueue<E> extends ConcurrentBlockingQueue<E> {
+    /**
+     * Deadline of the elements that never expire.
+     */
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    /**
+     * Maximum amount of elements that can be stored at once.
+     */
+    private final int mCapacity;
+
+    /**
+     * Amount of elements stored.
+     */
+    private final AtomicInteger mCount = new AtomicInteger();
+
+    /**
+     * Sequence used for keeping the FIFO order among elements with the same deadline.
+     */
+    private final AtomicLong mSequence = new AtomicLong();
+
+    /**
+     * Elements ordered by deadline.
+     */
+    private final ConcurrentSkipListSet<Entry<E>> mEntries = new ConcurrentSkipListSet<>();
+
+    /**
+     * Expired elements dropped and not notified yet.
+     */
+    private final ConcurrentLinkedQueue<Entry<E>> mExpired = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Listener of the dropped elements - they are just discarded if {@code null}.
+     */
+    private volatile OnElementExpiredListener<? super E> mOnElementExpiredListener;
+
+    /**
+     * Creates a new deadline queue with the given capacity.
+     *
+     * @param capacity the maximum amount of elements - must be higher than zero.
+     *
+     * @throws IllegalArgumentException if the capacity is zero or lower.
+     */
+    public DeadlineBlockingQueue(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be higher than zero, not " +
+                    capacity);
+        mCapacity = capacity;
+    }
+
+    /**
+     * Sets the listener that receives the elements dropped because their deadline has passed.
+     *
+     * @param listener the listener - {@code null} for just discarding them.
+     */
+    public void setOnElementExpiredListener(
+            @Nullable OnElementExpiredListener<? super E> listener) {
+        mOnElementExpiredListener = listener;
+    }
+
+    /**
+     * Inserts the specified element with the given deadline if it is possible to do so immediately
+     * without violating capacity restrictions. If the deadline has already passed, the element is
+     * dropped at once.
+     *
+     * @param element  the element to add.
+     * @param deadline maximum time the element can wait at this queue - zero or lower means it is
+     *                 already expired.
+     * @param unit     the time unit of the deadline.
+     *
+     * @return {@code true} if the element was added (or dropped) by this queue, {@code false} if
+     * there is no space available.
+     *
+     * @throws NullPointerException if the specified element is {@code null}.
+     */
+    public boolean offer(@NotNull E element, long deadline, @NotNull TimeUnit unit) {
+        checkNotNull(element);
+        long now = System.nanoTime();
+        long deadlineNanos = unit.toNanos(deadline);
+        if (deadlineNanos <= 0L) {
+            Entry<E> entry = new Entry<>(element, now + deadlineNanos, 0L);
+            notifyExpired(entry, now);
+            return true;
+        }
+        long expiration = now + deadlineNanos;
+        if (expiration < now || expiration == NO_DEADLINE)
+            expiration = NO_DEADLINE - 1;
+        if (offerElement(element, expiration)) {
+            signalNotEmpty();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The element is added {@linkplain #NO_DEADLINE without deadline}.
+     */
+    @Override
+    protected boolean offerElement(@NotNull E element) {
+        return offerElement(element, NO_DEADLINE);
+    }
+
+    /**
+     * Inserts the element with the given deadline, if there is space available.
+     *
+     * @param element  the element to add.
+     * @param deadline the deadline, comparable with {@link System#nanoTime()}.
+     *
+     * @return {@code true} if the element was added, else {@code false}.
+     */
+    private boolean offerElement(@NotNull E element, long deadline) {
+        if (mCount.incrementAndGet() > mCapacity) {
+            mCount.decrementAndGet();
+            return false;
+        }
+        mEntries.add(new Entry<>(element, deadline, mSequence.getAndIncrement()));
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The element with the earliest deadline is taken - the expired ones found at the head are
+     * dropped.
+     */
+    @Override
+    protected E pollElement() {
+        long now = 0L;
+        Entry<E> entry;
+        while ((entry = mEntries.pollFirst()) != null) {
+            mCount.decrementAndGet();
+            if (entry.mDeadline == NO_DEADLINE)
+                return entry.mElement;
+            if (now == 0L)
+                now = System.nanoTime();
+            if (entry.mDeadline - now >= 0L)
+                return entry.mElement;
+            mExpired.offer(entry);
+        }
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E poll() {
+        try {
+            return super.poll();
+        } finally {
+            notifyExpired();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E take() throws InterruptedException {
+        try {
+            return super.take();
+        } finally {
+            notifyExpired();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E poll(long timeout, @NotNull TimeUnit unit) throws InterruptedException {
+        try {
+            return super.poll(timeout, unit);
+        } finally {
+            notifyExpired();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int drainTo(@NotNull Collection<? super E> collection, int maxElements) {
+        try {
+            return super.drainTo(collection, maxElements);
+        } finally {
+            notifyExpired();
+        }
+    }
+
+    /**
+     * Gives the dropped elements to the {@link OnElementExpiredListener}.
+     */
+    private void notifyExpired() {
+        if (mExpired.isEmpty())
+            return;
+        long now = System.nanoTime();
+        Entry<E> entry;
+        while ((entry = mExpired.poll()) != null)
+            notifyExpired(entry, now);
+    }
+
+    /**
+     * Gives a dropped element to the {@link OnElementExpiredListener}, if any.
+     *
+     * @param entry the dropped element.
+     * @param now   the current time, comparable with {@link System#nanoTime()}.
+     */
+    private void notifyExpired(@NotNull Entry<E> entry, long now) {
+        OnElementExpiredListener<? super E> listener = mOnElementExpiredListener;
+        if (listener != null)
+            listener.onElementExpired(entry.mElement, Math.max(0L, now - entry.mDeadline));
+    }
+
+    /**
+     * Retrieves, but does not remove, the element with the earliest deadline, or returns {@code
+     * null} if this queue is empty.
+     *
+     * @return the head of this queue, or {@code null} if this queue is empty.
+     */
+    @Override
+    public E peek() {
+        try {
+            return mEntries.first().mElement;
+        } catch (NoSuchElementException ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * Removes a single instance of the specified element from this queue, if it is present.
+     *
+     * @param object element to be removed from this queue, if present.
+     *
+     * @return {@code true} if this queue changed as a result of the call.
+     */
+    @Override
+    public boolean remove(Object object) {
+        if (object == null)
+            return false;
+        for (Entry<E> entry : mEntries) {
+            if (object.equals(entry.mElement) && mEntries.remove(entry)) {
+                mCount.decrementAndGet();
+                signalNotFull();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of elements in this queue.
+     *
+     * @return the number of elements in this queue.
+     */
+    @Override
+    public int size() {
+        return Math.max(0, mCount.get());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int capacity() {
+        return mCapacity;
+    }
+
+    /**
+     * Returns a <b>weakly consistent</b> iterator over the elements of this queue, based on a
+     * snapshot taken when this method is called. Elements are returned from the earliest deadline
+     * to the latest one.
+     *
+     * @return an {@code Iterator} over the elements in this queue.
+     */
+    @NotNull
+    @Override
+    public Iterator<E> iterator() {
+        final Iterator<E> snapshot = snapshot().iterator();
+        return new Iterator<E>() {
+            private E mLastReturned;
+
+            @Override
+            public boolean hasNext() {
+                return snapshot.hasNext();
+            }
+
+            @Override
+            public E next() {
+                return mLastReturned = snapshot.next();
+            }
+
+            @Override
+            public void remove() {
+                if (mLastReturned == null)
+                    throw new IllegalStateException();
+                DeadlineBlockingQueue.this.remove(mLastReturned);
+                mLastReturned = null;
+            }
+        };
+    }
+
+    /**
+     * Copies the elements currently stored at this queue.
+     *
+     * @return {@code List} with the elements, from the earliest deadline to the latest one.
+     */
+    private List<E> snapshot() {
+        List<E> elements = new ArrayList<>(size());
+        for (Entry<E> entry : mEntries)
+            elements.add(entry.mElement);
+        return elements;
+    }
+
+    /**
+     * Human readable representation of this class.
+     *
+     * @return {@code String} with the representation.
+     */
+    @Override
+    public String toString() {
+        return "DeadlineBlockingQueue{capacity=" + mCapacity + ", size=" + size() + ", " +
+                "elements=" + snapshot() + '}';
+    }
+
+    /**
+     * Element stored at the queue, together with its deadline and its insertion order.
+     *
+     * @param <E> the type of the element.
+     */
+    private static final class Entry<E> implements Comparable<Entry<E>> {
+        private final E mElement;
+        private final long mDeadline;
+        private final long mSequence;
+
+        private Entry(@NotNull E element, long deadline, long sequence) {
+            mElement = element;
+            mDeadline = deadline;
+            mSequence = sequence;
+        }
+
+        @Override
+        public int compareTo(@NotNull Entry<E> other) {
+            int comparison = Long.compare(mDeadline, other.mDeadline);
+            return (comparison != 0) ? comparison : Long.compare(mSequence, other.mSequence);
+        }
+    }
+}
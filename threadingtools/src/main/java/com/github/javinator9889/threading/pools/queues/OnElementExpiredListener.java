@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools.queues;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Interface that classes that want to get notified by a {@link DeadlineBlockingQueue} must
+ * implement.
+ * <p>
+ * Elements whose deadline has passed before being taken are <b>dropped</b> from the queue and given
+ * to this listener instead, so the work that is no longer useful is never done but the dropped
+ * elements can still be logged, counted or answered with an error.
+ * <p>
+ * Listeners are called from the consumer thread that dropped the element (or from the producer, if
+ * the element was already expired when added), so they must return quickly.
+ *
+ * @param <E> the type of the elements.
+ */
+public interface OnElementExpiredListener<E> {
+    /**
+     * When an element is dropped because its deadline has passed, this method is called with the
+     * element and how late it was.
+     *
+     * @param element       the dropped element.
+     * @param latenessNanos time elapsed since the deadline, in nanoseconds.
+     */
+    void onElementExpired(@NotNull E element, long latenessNanos);
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools.queues;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link AtomicLong} padded up to a cache line, so two instances allocated one after the other
+ * (for example, the producer and the consumer indexes of a queue) never share the same cache line
+ * (<i>false sharing</i>).
+ */
+@SuppressWarnings("unused")
+class PaddedAtomicLong extends AtomicLong {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Padding fields - never accessed.
+     */
+    private long p1, p2, p3, p4, p5, p6, p7;
+
+    /**
+     * Creates a new padded atomic long with the given initial value.
+     *
+     * @param initialValue the initial value.
+     */
+    PaddedAtomicLong(long initialValue) {
+        super(initialValue);
+    }
+}
@@ -0,0 +1,401 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools.queues;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code PriorityBucketBlockingQueue} is a bounded {@link java.util.concurrent.BlockingQueue} whose
+ * elements are taken depending on their <b>priority</b>, instead of in FIFO order.
+ * <p>
+ * Priorities use the same scale as {@link Thread} ones, from {@link Thread#MIN_PRIORITY} to {@link
+ * Thread#MAX_PRIORITY}, and each priority has its own lock-free FIFO <b>bucket</b>, so adding an
+ * element never competes for a global heap lock - consumers just look at the head of the (ten)
+ * buckets. The priority of an element is:
+ * <ul>
+ * <li>
+ * The one given at {@link #offer(Object, int)}.
+ * </li>
+ * <li>
+ * For {@link Thread}s (for example, {@link com.github.javinator9889.threading.threads.notifyingthread.NotifyingThread}s),
+ * their {@linkplain Thread#getPriority() priority}.
+ * </li>
+ * <li>
+ * Else, {@link Thread#NORM_PRIORITY}.
+ * </li>
+ * </ul>
+ * <p>
+ * For preventing <b>starvation</b>, elements <b>age</b>: every {@linkplain
+ * #getAgingPeriod(TimeUnit) aging period} an element waits, its effective priority is increased by
+ * one. This way, low priority elements are eventually taken even under a constant flow of high
+ * priority ones. Among elements with the same effective priority, the oldest one is taken first.
+ *
+ * @param <E> the type of elements held in this queue.
+ */
+public class PriorityBucketBlockingQueue<E> extends ConcurrentBlockingQueue<E> {
+    /**
+     * Default aging period, in milliseconds.
+     */
+    public static final long DEFAULT_AGING_PERIOD = 1000;
+
+    /**
+     * Amount of different priorities.
+     */
+    private static final int LEVELS = Thread.MAX_PRIORITY - Thread.MIN_PRIORITY + 1;
+
+    /**
+     * Maximum amount of elements that can be stored at once.
+     */
+    private final int mCapacity;
+
+    /**
+     * Time an element must wait for increasing its effective priority by one, in nanoseconds.
+     */
+    private final long mAgingPeriodNanos;
+
+    /**
+     * Amount of elements stored at every bucket.
+     */
+    private final AtomicInteger mCount = new AtomicInteger();
+
+    /**
+     * FIFO bucket of each priority - the lowest priority is at index zero.
+     */
+    private final ConcurrentLinkedQueue<Entry<E>>[] mBuckets;
+
+    /**
+     * Creates a new priority queue with the given capacity and the {@linkplain
+     * #DEFAULT_AGING_PERIOD default aging period}.
+     *
+     * @param capacity the maximum amount of elements - must be higher than zero.
+     *
+     * @throws IllegalArgumentException if the capacity is zero or lower.
+     */
+    public PriorityBucketBlockingQueue(int capacity) {
+        this(capacity, DEFAULT_AGING_PERIOD, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a new priority queue with the given capacity and aging period.
+     *
+     * @param capacity    the maximum amount of elements - must be higher than zero.
+     * @param agingPeriod time an element must wait for increasing its effective priority by one -
+     *                    must be higher than zero.
+     * @param unit        the time unit of the aging period.
+     *
+     * @throws IllegalArgumentException if any param is zero or lower.
+     */
+    public PriorityBucketBlockingQueue(int capacity, long agingPeriod, @NotNull TimeUnit unit) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be higher than zero, not " +
+                    capacity);
+        if (agingPeriod <= 0)
+            throw new IllegalArgumentException("Aging period must be higher than zero, not " +
+                    agingPeriod);
+        mCapacity = capacity;
+        mAgingPeriodNanos = unit.toNanos(agingPeriod);
+        mBuckets = newBuckets();
+    }
+
+    /**
+     * Creates the empty buckets, one per priority level.
+     *
+     * @param <E> the type of the elements held at the buckets.
+     *
+     * @return the buckets, indexed by priority level.
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    private static <E> ConcurrentLinkedQueue<Entry<E>>[] newBuckets() {
+        ConcurrentLinkedQueue<?>[] buckets = new ConcurrentLinkedQueue<?>[LEVELS];
+        for (int level = 0; level < LEVELS; ++level)
+            buckets[level] = new ConcurrentLinkedQueue<Entry<E>>();
+        return (ConcurrentLinkedQueue<Entry<E>>[]) buckets;
+    }
+
+    /**
+     * Inserts the specified element with the given priority if it is possible to do so immediately
+     * without violating capacity restrictions.
+     *
+     * @param element  the element to add.
+     * @param priority the priority of the element, between {@link Thread#MIN_PRIORITY} and {@link
+     *                 Thread#MAX_PRIORITY}.
+     *
+     * @return {@code true} if the element was added to this queue, else {@code false}.
+     *
+     * @throws NullPointerException     if the specified element is {@code null}.
+     * @throws IllegalArgumentException if the priority is out of range.
+     */
+    public boolean offer(@NotNull E element, int priority) {
+        checkNotNull(element);
+        checkPriority(priority);
+        if (offerElement(element, priority)) {
+            signalNotEmpty();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The element is added with the priority given by {@link #getPriority(Object)}.
+     */
+    @Override
+    protected boolean offerElement(@NotNull E element) {
+        return offerElement(element, getPriority(element));
+    }
+
+    /**
+     * Inserts the element at the bucket of the given priority, if there is space available.
+     *
+     * @param element  the element to add.
+     * @param priority the priority of the element.
+     *
+     * @return {@code true} if the element was added, else {@code false}.
+     */
+    private boolean offerElement(@NotNull E element, int priority) {
+        if (mCount.incrementAndGet() > mCapacity) {
+            mCount.decrementAndGet();
+            return false;
+        }
+        mBuckets[priority - Thread.MIN_PRIORITY].offer(new Entry<>(element, System.nanoTime()));
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The element with the highest effective priority (its priority plus the aging periods it has
+     * waited) is taken.
+     */
+    @Override
+    protected E pollElement() {
+        while (mCount.get() > 0) {
+            int level = highestEffectivePriorityLevel();
+            if (level < 0)
+                return null;
+            Entry<E> entry = mBuckets[level].poll();
+            if (entry != null) {
+                mCount.decrementAndGet();
+                return entry.mElement;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves, but does not remove, the element with the highest effective priority, or returns
+     * {@code null} if this queue is empty.
+     *
+     * @return the head of this queue, or {@code null} if this queue is empty.
+     */
+    @Override
+    public E peek() {
+        int level = highestEffectivePriorityLevel();
+        if (level < 0)
+            return null;
+        Entry<E> entry = mBuckets[level].peek();
+        return (entry == null) ? null : entry.mElement;
+    }
+
+    /**
+     * Looks for the bucket whose head has the highest effective priority.
+     *
+     * @return {@code int} with the bucket index - {@code -1} if every bucket is empty.
+     */
+    private int highestEffectivePriorityLevel() {
+        long now = System.nanoTime();
+        int bestLevel = -1;
+        long bestPriority = Long.MIN_VALUE;
+        long bestEnqueueNanos = 0L;
+        for (int level = LEVELS - 1; level >= 0; --level) {
+            Entry<E> head = mBuckets[level].peek();
+            if (head == null)
+                continue;
+            long effectivePriority = level + (now - head.mEnqueueNanos) / mAgingPeriodNanos;
+            if (effectivePriority > bestPriority || (effectivePriority == bestPriority &&
+                    head.mEnqueueNanos - bestEnqueueNanos < 0L)) {
+                bestLevel = level;
+                bestPriority = effectivePriority;
+                bestEnqueueNanos = head.mEnqueueNanos;
+            }
+        }
+        return bestLevel;
+    }
+
+    /**
+     * Obtains the priority of an element added without an explicit one: the priority of {@link
+     * Thread}s or {@link Thread#NORM_PRIORITY}.
+     *
+     * @param element the element.
+     *
+     * @return {@code int} with the priority.
+     */
+    protected int getPriority(@NotNull E element) {
+        return (element instanceof Thread) ?
+                ((Thread) element).getPriority() :
+                Thread.NORM_PRIORITY;
+    }
+
+    /**
+     * Removes a single instance of the specified element from this queue, if it is present.
+     *
+     * @param object element to be removed from this queue, if present.
+     *
+     * @return {@code true} if this queue changed as a result of the call.
+     */
+    @Override
+    public boolean remove(Object object) {
+        if (object == null)
+            return false;
+        for (ConcurrentLinkedQueue<Entry<E>> bucket : mBuckets) {
+            for (Entry<E> entry : bucket) {
+                if (object.equals(entry.mElement) && bucket.remove(entry)) {
+                    mCount.decrementAndGet();
+                    signalNotFull();
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of elements in this queue.
+     *
+     * @return the number of elements in this queue.
+     */
+    @Override
+    public int size() {
+        return Math.max(0, mCount.get());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int capacity() {
+        return mCapacity;
+    }
+
+    /**
+     * Gets the time an element must wait for increasing its effective priority by one.
+     *
+     * @param unit the time unit of the returned value.
+     *
+     * @return {@code long} with the aging period.
+     */
+    public long getAgingPeriod(@NotNull TimeUnit unit) {
+        return unit.convert(mAgingPeriodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns a <b>weakly consistent</b> iterator over the elements of this queue, based on a
+     * snapshot taken when this method is called. Elements are returned from the highest priority
+     * to the lowest one, without considering their age.
+     *
+     * @return an {@code Iterator} over the elements in this queue.
+     */
+    @NotNull
+    @Override
+    public Iterator<E> iterator() {
+        final Iterator<E> snapshot = snapshot().iterator();
+        return new Iterator<E>() {
+            private E mLastReturned;
+
+            @Override
+            public boolean hasNext() {
+                return snapshot.hasNext();
+            }
+
+            @Override
+            public E next() {
+                return mLastReturned = snapshot.next();
+            }
+
+            @Override
+            public void remove() {
+                if (mLastReturned == null)
+                    throw new IllegalStateException();
+                PriorityBucketBlockingQueue.this.remove(mLastReturned);
+                mLastReturned = null;
+            }
+        };
+    }
+
+    /**
+     * Copies the elements currently stored at this queue.
+     *
+     * @return {@code List} with the elements, from the highest priority to the lowest one.
+     */
+    private List<E> snapshot() {
+        List<E> elements = new ArrayList<>(size());
+        for (int level = LEVELS - 1; level >= 0; --level)
+            for (Entry<E> entry : mBuckets[level])
+                elements.add(entry.mElement);
+        return elements;
+    }
+
+    /**
+     * Throws {@link IllegalArgumentException} if the priority is out of range.
+     *
+     * @param priority the priority to check.
+     */
+    public static void checkPriority(int priority) {
+        if (priority < Thread.MIN_PRIORITY || priority > Thread.MAX_PRIORITY)
+            throw new IllegalArgumentException(String.format("Priority must be between %d and " +
+                    "%d, not '%d'", Thread.MIN_PRIORITY, Thread.MAX_PRIORITY, priority));
+    }
+
+    /**
+     * Human readable representation of this class.
+     *
+     * @return {@code String} with the representation.
+     */
+    @Override
+    public String toString() {
+        return "PriorityBucketBlockingQueue{capacity=" + mCapacity + ", size=" + size() + ", " +
+                "agingPeriodMs=" + getAgingPeriod(TimeUnit.MILLISECONDS) + ", elements=" +
+                snapshot() + '}';
+    }
+
+    /**
+     * Element stored at a bucket, together with the time it was added.
+     *
+     * @param <E> the type of the element.
+     */
+    private static final class Entry<E> {
+        private final E mElement;
+        private final long mEnqueueNanos;
+
+        private Entry(@NotNull E element, long enqueueNanos) {
+            mElement = element;
+            mEnqueueNanos = enqueueNanos;
+        }
+    }
+}
@@ -0,0 +1,378 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools.queues;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * {@code RingBufferBlockingQueue} is a bounded, <b>lock-free</b>, multi-producer/multi-consumer
+ * {@link java.util.concurrent.BlockingQueue} backed by a <b>preallocated</b> array ring.
+ * <p>
+ * Compared to a {@link java.util.concurrent.LinkedBlockingQueue}:
+ * <ul>
+ * <li>
+ * <b>No allocation per element</b>: the ring is created once, so inserting elements produces no
+ * garbage at all.
+ * </li>
+ * <li>
+ * <b>No lock on the hot path</b>: producers and consumers claim their slots with a single
+ * {@code compareAndSet} on their own index (each one on its own cache line), so producers never
+ * serialize on a "put lock". A lock is only used when a thread must wait (see
+ * {@link ConcurrentBlockingQueue}).
+ * </li>
+ * </ul>
+ * The capacity is always rounded up to the next <b>power of two</b>, so the slot of an index is
+ * obtained with a mask instead of a modulo. For example, a capacity of {@code 100} results in a
+ * ring of {@code 128} slots.
+ * <p>
+ * Each slot has a sequence number which tells whether it is ready for the producer or the consumer
+ * of a given index (D. Vyukov's bounded MPMC queue algorithm), so no thread ever reads a slot that
+ * is half-written.
+ * <p>
+ * {@linkplain #remove(Object) Removed} elements keep their slot until a consumer reaches it, but
+ * they are no longer counted by {@link #size()} nor {@link #isEmpty()}.
+ *
+ * @param <E> the type of elements held in this queue.
+ */
+public class RingBufferBlockingQueue<E> extends ConcurrentBlockingQueue<E> {
+    /**
+     * Maximum capacity allowed for the ring.
+     */
+    public static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * Marker stored at slots whose element has been {@linkplain #remove(Object) removed} - they are
+     * skipped by consumers.
+     */
+    private static final Object REMOVED = new Object();
+
+    /**
+     * Mask used for obtaining the slot of an index - {@code capacity - 1}.
+     */
+    private final int mMask;
+
+    /**
+     * Ring containing the elements.
+     */
+    private final AtomicReferenceArray<Object> mBuffer;
+
+    /**
+     * Sequence number of each slot of the ring.
+     */
+    private final AtomicLongArray mSequences;
+
+    /**
+     * Index of the next slot to write into.
+     */
+    private final PaddedAtomicLong mProducerIndex = new PaddedAtomicLong(0L);
+
+    /**
+     * Index of the next slot to read from.
+     */
+    private final PaddedAtomicLong mConsumerIndex = new PaddedAtomicLong(0L);
+
+    /**
+     * Amount of slots between both indexes marked as {@linkplain #REMOVED removed}.
+     */
+    private final AtomicInteger mRemovedCount = new AtomicInteger();
+
+    /**
+     * Creates a new ring whose capacity is the given one rounded up to the next power of two.
+     *
+     * @param capacity the minimum capacity of the ring - must be higher than zero and lower or
+     *                 equal than {@link #MAXIMUM_CAPACITY}.
+     *
+     * @throws IllegalArgumentException if the capacity is out of bounds.
+     */
+    public RingBufferBlockingQueue(int capacity) {
+        if (capacity <= 0 || capacity > MAXIMUM_CAPACITY)
+            throw new IllegalArgumentException(String.format("Capacity must be between 1 and %d," +
+                    " not '%d'", MAXIMUM_CAPACITY, capacity));
+        int ringSize = roundToPowerOfTwo(capacity);
+        mMask = ringSize - 1;
+        mBuffer = new AtomicReferenceArray<>(ringSize);
+        mSequences = new AtomicLongArray(ringSize);
+        for (int i = 0; i < ringSize; ++i)
+            mSequences.set(i, i);
+    }
+
+    /**
+     * Rounds up the given value to the next power of two (minimum {@code 2}).
+     *
+     * @param value value to round.
+     *
+     * @return {@code int} with the power of two.
+     */
+    static int roundToPowerOfTwo(int value) {
+        return (value <= 2) ? 2 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean offerElement(@NotNull E element) {
+        long index = mProducerIndex.get();
+        while (true) {
+            int slot = (int) index & mMask;
+            long difference = mSequences.get(slot) - index;
+            if (difference == 0L) {
+                if (mProducerIndex.compareAndSet(index, index + 1)) {
+                    mBuffer.set(slot, element);
+                    mSequences.set(slot, index + 1);
+                    return true;
+                }
+                index = mProducerIndex.get();
+            } else if (difference < 0L)
+                return false;
+            else
+                index = mProducerIndex.get();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Consecutive free slots are claimed with a <b>single</b> {@code compareAndSet}, so a batch
+     * costs about the same as a single element.
+     */
+    @Override
+    public int offerAll(@NotNull List<? extends E> elements) {
+        for (E element : elements)
+            checkNotNull(element);
+        int size = elements.size();
+        int inserted = 0;
+        while (inserted < size) {
+            long index = mProducerIndex.get();
+            int wanted = Math.min(size - inserted, mMask + 1);
+            int free = 0;
+            while (free < wanted && mSequences.get((int) (index + free) & mMask) == index + free)
+                ++free;
+            if (free == 0) {
+                if (mSequences.get((int) index & mMask) < index)
+                    break;
+                continue;
+            }
+            if (mProducerIndex.compareAndSet(index, index + free)) {
+                for (int i = 0; i < free; ++i) {
+                    int slot = (int) (index + i) & mMask;
+                    mBuffer.set(slot, elements.get(inserted + i));
+                    mSequences.set(slot, index + i + 1);
+                }
+                inserted += free;
+            }
+        }
+        signalNotEmpty(inserted);
+        return inserted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected E pollElement() {
+        long index = mConsumerIndex.get();
+        while (true) {
+            int slot = (int) index & mMask;
+            long difference = mSequences.get(slot) - (index + 1);
+            if (difference == 0L) {
+                if (mConsumerIndex.compareAndSet(index, index + 1)) {
+                    Object element = mBuffer.getAndSet(slot, null);
+                    mSequences.set(slot, index + mMask + 1);
+                    if (element != REMOVED)
+                        return (E) element;
+                    mRemovedCount.decrementAndGet();
+                }
+                index = mConsumerIndex.get();
+            } else if (difference < 0L)
+                return null;
+            else
+                index = mConsumerIndex.get();
+        }
+    }
+
+    /**
+     * Retrieves, but does not remove, the head of this queue, or returns {@code null} if this queue
+     * is empty.
+     *
+     * @return the head of this queue, or {@code null} if this queue is empty.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        long producerIndex = mProducerIndex.get();
+        for (long index = mConsumerIndex.get(); index < producerIndex; ++index) {
+            Object element = mBuffer.get((int) index & mMask);
+            if (element != null && element != REMOVED)
+                return (E) element;
+        }
+        return null;
+    }
+
+    /**
+     * Removes a single instance of the specified element from this queue, if it is present. The
+     * slot is marked as removed, so consumers skip it when they reach it.
+     *
+     * @param object element to be removed from this queue, if present.
+     *
+     * @return {@code true} if this queue changed as a result of the call.
+     */
+    @Override
+    public boolean remove(Object object) {
+        if (object == null)
+            return false;
+        long producerIndex = mProducerIndex.get();
+        for (long index = mConsumerIndex.get(); index < producerIndex; ++index) {
+            int slot = (int) index & mMask;
+            if (mBuffer.get(slot) == object && mBuffer.compareAndSet(slot, object, REMOVED)) {
+                mRemovedCount.incrementAndGet();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns an approximation of the number of elements in this queue, not counting the removed
+     * ones - it is exact when there are no concurrent modifications.
+     *
+     * @return the number of elements in this queue.
+     */
+    @Override
+    public int size() {
+        return (int) Math.max(0L, usedSlots() - mRemovedCount.get());
+    }
+
+    /**
+     * Returns {@code true} if this queue contains no elements - slots whose element was removed
+     * are not taken into account.
+     *
+     * @return {@code true} if this queue contains no elements.
+     */
+    @Override
+    public boolean isEmpty() {
+        return mProducerIndex.get() <= mConsumerIndex.get() || size() == 0;
+    }
+
+    /**
+     * Returns the number of additional elements that this queue can ideally accept without
+     * blocking. Slots whose element was removed are still in use until a consumer reaches them.
+     *
+     * @return the remaining capacity.
+     */
+    @Override
+    public int remainingCapacity() {
+        return (int) Math.max(0L, mMask + 1L - usedSlots());
+    }
+
+    /**
+     * Obtains the amount of slots between both indexes, including the removed ones.
+     *
+     * @return {@code long} with the amount of used slots.
+     */
+    private long usedSlots() {
+        while (true) {
+            long consumerIndex = mConsumerIndex.get();
+            long producerIndex = mProducerIndex.get();
+            if (consumerIndex == mConsumerIndex.get())
+                return Math.max(0L, Math.min(producerIndex - consumerIndex, mMask + 1L));
+        }
+    }
+
+    /**
+     * Gets the real capacity of the ring (the power of two this queue was rounded to).
+     *
+     * @return {@code int} with the capacity.
+     */
+    @Override
+    public int capacity() {
+        return mMask + 1;
+    }
+
+    /**
+     * Returns a <b>weakly consistent</b> iterator over the elements of this queue, based on a
+     * snapshot taken when this method is called.
+     *
+     * @return an {@code Iterator} over the elements in this queue.
+     */
+    @NotNull
+    @Override
+    public Iterator<E> iterator() {
+        final Iterator<E> snapshot = snapshot().iterator();
+        return new Iterator<E>() {
+            private E mLastReturned;
+
+            @Override
+            public boolean hasNext() {
+                return snapshot.hasNext();
+            }
+
+            @Override
+            public E next() {
+                return mLastReturned = snapshot.next();
+            }
+
+            @Override
+            public void remove() {
+                if (mLastReturned == null)
+                    throw new IllegalStateException();
+                RingBufferBlockingQueue.this.remove(mLastReturned);
+                mLastReturned = null;
+            }
+        };
+    }
+
+    /**
+     * Copies the elements currently stored at the ring.
+     *
+     * @return {@code List} with the elements, from head to tail.
+     */
+    @SuppressWarnings("unchecked")
+    private List<E> snapshot() {
+        long producerIndex = mProducerIndex.get();
+        long consumerIndex = mConsumerIndex.get();
+        List<E> elements = new ArrayList<>((int) Math.max(0L, producerIndex - consumerIndex));
+        for (long index = consumerIndex; index < producerIndex; ++index) {
+            Object element = mBuffer.get((int) index & mMask);
+            if (element != null && element != REMOVED)
+                elements.add((E) element);
+        }
+        return elements;
+    }
+
+    /**
+     * Human readable representation of this class.
+     *
+     * @return {@code String} with the representation.
+     */
+    @Override
+    public String toString() {
+        return "RingBufferBlockingQueue{capacity=" + capacity() + ", size=" + size() + ", " +
+                "elements=" + snapshot() + '}';
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools.queues;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LinkedBlockingQueue} whose consumers follow a {@link WaitStrategy} (spinning and/or
+ * yielding) before blocking when the queue is empty. It is used as the default working threads
+ * queue when a non-blocking strategy is chosen.
+ *
+ * @param <E> the type of elements held in this queue.
+ */
+public class SpinningLinkedBlockingQueue<E> extends LinkedBlockingQueue<E> {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Strategy followed by consumers before blocking.
+     */
+    private final WaitStrategy mWaitStrategy;
+
+    /**
+     * Creates a new queue with the given capacity and wait strategy.
+     *
+     * @param capacity     the capacity of this queue.
+     * @param waitStrategy the strategy followed when this queue is empty.
+     *
+     * @throws IllegalArgumentException if {@code capacity} is not greater than zero.
+     */
+    public SpinningLinkedBlockingQueue(int capacity, @NotNull WaitStrategy waitStrategy) {
+        super(capacity);
+        mWaitStrategy = waitStrategy;
+    }
+
+    /**
+     * Gets the strategy consumers follow when this queue is empty.
+     *
+     * @return {@code WaitStrategy} of this queue.
+     */
+    @NotNull
+    public WaitStrategy getWaitStrategy() {
+        return mWaitStrategy;
+    }
+
+    /**
+     * Retrieves and removes the head of this queue, spinning as defined by the {@link
+     * WaitStrategy} and then waiting if necessary until an element becomes available.
+     *
+     * @return the head of this queue.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    @Override
+    public E take() throws InterruptedException {
+        E element = poll();
+        if (element == null && (element = mWaitStrategy.pollBeforeParking(this,
+                Long.MAX_VALUE)) == null)
+            element = super.take();
+        return element;
+    }
+
+    /**
+     * Retrieves and removes the head of this queue, spinning as defined by the {@link
+     * WaitStrategy} and then waiting up to the specified wait time if necessary for an element to
+     * become available.
+     *
+     * @param timeout how long to wait before giving up, in units of {@code unit}.
+     * @param unit    a {@code TimeUnit} determining how to interpret the {@code timeout}
+     *                parameter.
+     *
+     * @return the head of this queue, or {@code null} if the specified waiting time elapses before
+     * an element is available.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    @Override
+    public E poll(long timeout, @NotNull TimeUnit unit) throws InterruptedException {
+        E element = poll();
+        if (element != null)
+            return element;
+        long nanos = unit.toNanos(timeout);
+        long start = System.nanoTime();
+        element = mWaitStrategy.pollBeforeParking(this, nanos);
+        if (element != null || !mWaitStrategy.parks())
+            return element;
+        return super.poll(nanos - (System.nanoTime() - start), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools.queues;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Queue;
+
+/**
+ * {@code WaitStrategy} defines what a worker does while it waits for new elements at an empty
+ * queue. Parking a thread is cheap in CPU but waking it up again costs several microseconds, which
+ * are added to the latency of each task handed to an idle pool. The available strategies are:
+ * <ul>
+ * <li>
+ * {@link #blocking()}: the thread is parked at once - the default behaviour, with no CPU usage
+ * while idle.
+ * </li>
+ * <li>
+ * {@link #spinThenPark(int, int)}: the thread polls the queue a few times, then yields its CPU a
+ * few times and, at last, it is parked. Elements that arrive shortly are taken without any wake-up
+ * cost, while long idle periods use no CPU.
+ * </li>
+ * <li>
+ * {@link #spinThenYield(int)}: the thread polls the queue a few times and then keeps yielding its
+ * CPU - it is never parked, so the latency is low but the CPU is always in use.
+ * </li>
+ * <li>
+ * {@link #busySpin()}: the thread keeps polling the queue - the lowest latency but a whole CPU is
+ * used by each idle worker.
+ * </li>
+ * </ul>
+ * The non-blocking strategies only make sense when there are <b>free CPUs</b> for the idle
+ * workers - else, they slow down the threads doing real work.
+ */
+public final class WaitStrategy {
+    /**
+     * Default amount of polls before yielding at {@link #spinThenPark(int, int)} and {@link
+     * #spinThenYield(int)}.
+     */
+    public static final int DEFAULT_SPINS = 1000;
+
+    /**
+     * Default amount of yields before parking at {@link #spinThenPark(int, int)}.
+     */
+    public static final int DEFAULT_YIELDS = 100;
+
+    private static final WaitStrategy BLOCKING = new WaitStrategy(0, 0, true, "blocking");
+    private static final WaitStrategy BUSY_SPIN =
+            new WaitStrategy(Integer.MAX_VALUE, 0, false, "busySpin");
+
+    /**
+     * {@code Thread.onSpinWait()} (Java 9+) - a no-op method on Java 8.
+     */
+    private static final MethodHandle ON_SPIN_WAIT;
+
+    static {
+        MethodHandle onSpinWait;
+        try {
+            onSpinWait = MethodHandles.lookup().findStatic(Thread.class,
+                    "onSpinWait",
+                    MethodType.methodType(void.class));
+        } catch (NoSuchMethodException | IllegalAccessException ignored) {
+            onSpinWait = MethodHandles.constant(Object.class, null)
+                    .asType(MethodType.methodType(void.class));
+        }
+        ON_SPIN_WAIT = onSpinWait;
+    }
+
+    private final int mSpins;
+    private final int mYields;
+    private final boolean mParks;
+    private final String mName;
+
+    private WaitStrategy(int spins, int yields, boolean parks, @NotNull String name) {
+        mSpins = spins;
+        mYields = yields;
+        mParks = parks;
+        mName = name;
+    }
+
+    /**
+     * Strategy that parks the thread at once - the default one.
+     *
+     * @return {@code WaitStrategy} that blocks.
+     */
+    public static WaitStrategy blocking() {
+        return BLOCKING;
+    }
+
+    /**
+     * Strategy that keeps polling the queue, never yielding nor parking the thread.
+     *
+     * @return {@code WaitStrategy} that busy-spins.
+     */
+    public static WaitStrategy busySpin() {
+        return BUSY_SPIN;
+    }
+
+    /**
+     * Strategy that polls the queue {@code spins} times and then keeps yielding the CPU between
+     * polls, never parking the thread.
+     *
+     * @param spins amount of polls before yielding - must be zero or higher.
+     *
+     * @return {@code WaitStrategy} that spins and then yields.
+     *
+     * @throws IllegalArgumentException if the param is lower than zero.
+     */
+    public static WaitStrategy spinThenYield(int spins) {
+        checkCount("Spins", spins);
+        return new WaitStrategy(spins, Integer.MAX_VALUE, false,
+                "spinThenYield(" + spins + ")");
+    }
+
+    /**
+     * Strategy that polls the queue {@code spins} times, then yields the CPU {@code yields} times
+     * and at last parks the thread.
+     *
+     * @param spins  amount of polls before yielding - must be zero or higher.
+     * @param yields amount of yields before parking - must be zero or higher.
+     *
+     * @return {@code WaitStrategy} that spins, yields and then parks.
+     *
+     * @throws IllegalArgumentException if any param is lower than zero.
+     */
+    public static WaitStrategy spinThenPark(int spins, int yields) {
+        checkCount("Spins", spins);
+        checkCount("Yields", yields);
+        return new WaitStrategy(spins, yields, true,
+                "spinThenPark(" + spins + ", " + yields + ")");
+    }
+
+    /**
+     * Checks whether this strategy parks the thread at once, without spinning nor yielding.
+     *
+     * @return {@code true} if blocking, else {@code false}.
+     */
+    public boolean isBlocking() {
+        return mParks && mSpins == 0 && mYields == 0;
+    }
+
+    /**
+     * Checks whether this strategy ends up parking the thread.
+     *
+     * @return {@code true} if the thread is parked, else {@code false}.
+     */
+    public boolean parks() {
+        return mParks;
+    }
+
+    /**
+     * Polls the given queue by spinning and yielding as defined by this strategy, before the thread
+     * is parked.
+     *
+     * @param queue        the queue to poll.
+     * @param timeoutNanos maximum time to wait - {@link Long#MAX_VALUE} for waiting with no limit.
+     * @param <E>          the type of the elements.
+     *
+     * @return the element taken, or {@code null} if the thread must be parked or the timeout has
+     * elapsed (for strategies that do not park, only when the timeout elapses).
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    @Nullable
+    public <E> E pollBeforeParking(@NotNull Queue<E> queue, long timeoutNanos)
+            throws InterruptedException {
+        boolean timed = timeoutNanos != Long.MAX_VALUE;
+        long deadline = timed ? System.nanoTime() + timeoutNanos : 0L;
+        E element;
+        for (int spin = 0; mSpins == Integer.MAX_VALUE || spin < mSpins; ++spin) {
+            if ((element = queue.poll()) != null)
+                return element;
+            if ((spin & 0xFF) == 0 && expired(timed, deadline))
+                return null;
+            onSpinWait();
+        }
+        for (int yield = 0; mYields == Integer.MAX_VALUE || yield < mYields; ++yield) {
+            if ((element = queue.poll()) != null)
+                return element;
+            if (expired(timed, deadline))
+                return null;
+            Thread.yield();
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether the thread has been interrupted or the deadline has elapsed.
+     *
+     * @param timed    whether there is a deadline.
+     * @param deadline the deadline, comparable with {@link System#nanoTime()}.
+     *
+     * @return {@code true} if the deadline has elapsed.
+     *
+     * @throws InterruptedException if the thread has been interrupted.
+     */
+    private static boolean expired(boolean timed, long deadline) throws InterruptedException {
+        if (Thread.interrupted())
+            throw new InterruptedException();
+        return timed && deadline - System.nanoTime() <= 0L;
+    }
+
+    /**
+     * Hints the processor that the thread is spinning.
+     */
+    private static void onSpinWait() {
+        try {
+            ON_SPIN_WAIT.invokeExact();
+        } catch (Throwable ignored) {
+        }
+    }
+
+    /**
+     * Throws {@link IllegalArgumentException} if the count is lower than zero.
+     *
+     * @param name  the name of the count.
+     * @param count the count to check.
+     */
+    private static void checkCount(@NotNull String name, int count) {
+        if (count < 0)
+            throw new IllegalArgumentException(String.format("%s must be zero or higher, not " +
+                    "'%d'", name, count));
+    }
+
+    /**
+     * Human readable representation of this class.
+     *
+     * @return {@code String} with the representation.
+     */
+    @Override
+    public String toString() {
+        return "WaitStrategy{" + mName + '}';
+    }
+}
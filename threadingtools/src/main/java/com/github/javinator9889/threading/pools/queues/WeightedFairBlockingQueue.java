@@ -0,0 +1,495 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools.queues;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code WeightedFairBlockingQueue} is a bounded {@link java.util.concurrent.BlockingQueue} that
+ * shares its consumers <b>fairly</b> among several <b>tenants</b>, so a tenant flooding the queue
+ * cannot starve the rest of them.
+ * <p>
+ * Each tenant has its own lock-free FIFO sub-queue, optionally bounded by a {@linkplain
+ * #getTenantCapacity() per-tenant capacity}, and the tenants with pending elements take turns in
+ * <b>deficit round-robin</b> order: a tenant with {@linkplain #setWeight(Object, int) weight}
+ * {@code w} gives up to {@code w} elements in a row before the next tenant, so over time each
+ * tenant obtains a share of the consumers proportional to its weight. Turns are handed over with
+ * a lock-free deque, so neither adding nor taking elements requires a global lock: the tenant
+ * whose turn it is stays at the deque while it is served, so several consumers can take its
+ * elements at once, and it is moved to the tail once it has given its share.
+ * <p>
+ * The tenant of an element is the one given at {@link #offer(Object, Object)} - elements added
+ * without one share a <b>default tenant</b> with weight {@code 1}. The sub-queue of a tenant is
+ * discarded as soon as it drains, so only the {@linkplain #setWeight(Object, int) weights set}
+ * are remembered.
+ *
+ * @param <E> the type of elements held in this queue.
+ */
+public class WeightedFairBlockingQueue<E> extends ConcurrentBlockingQueue<E> {
+    /**
+     * Tenant of the elements added without one.
+     */
+    private static final Object DEFAULT_TENANT = new Object();
+
+    /**
+     * Size of a discarded sub-queue - producers that find it add their elements to a new one.
+     */
+    private static final int RETIRED = Integer.MIN_VALUE;
+
+    /**
+     * Maximum amount of elements that can be stored at once.
+     */
+    private final int mCapacity;
+
+    /**
+     * Maximum amount of elements each tenant can have stored at once.
+     */
+    private final int mTenantCapacity;
+
+    /**
+     * Amount of elements stored at every sub-queue.
+     */
+    private final AtomicInteger mCount = new AtomicInteger();
+
+    /**
+     * Sub-queue of each tenant with pending elements.
+     */
+    private final ConcurrentMap<Object, Tenant<E>> mTenants = new ConcurrentHashMap<>();
+
+    /**
+     * Weight of each tenant whose weight has been set.
+     */
+    private final ConcurrentMap<Object, Integer> mWeights = new ConcurrentHashMap<>();
+
+    /**
+     * Tenants with pending elements, in the order they take their turns - the head one is taking
+     * its turn. A tenant may be twice at the deque for a moment while it is moved to the tail.
+     */
+    private final ConcurrentLinkedDeque<Tenant<E>> mActiveTenants = new ConcurrentLinkedDeque<>();
+
+    /**
+     * Creates a new fair queue with the given capacity and no per-tenant capacity.
+     *
+     * @param capacity the maximum amount of elements - must be higher than zero.
+     *
+     * @throws IllegalArgumentException if the capacity is zero or lower.
+     */
+    public WeightedFairBlockingQueue(int capacity) {
+        this(capacity, capacity);
+    }
+
+    /**
+     * Creates a new fair queue with the given capacity and per-tenant capacity.
+     *
+     * @param capacity       the maximum amount of elements - must be higher than zero.
+     * @param tenantCapacity the maximum amount of elements of each tenant - must be higher than
+     *                       zero.
+     *
+     * @throws IllegalArgumentException if any capacity is zero or lower.
+     */
+    public WeightedFairBlockingQueue(int capacity, int tenantCapacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be higher than zero, not " +
+                    capacity);
+        if (tenantCapacity <= 0)
+            throw new IllegalArgumentException("Tenant capacity must be higher than zero, not " +
+                    tenantCapacity);
+        mCapacity = capacity;
+        mTenantCapacity = tenantCapacity;
+    }
+
+    /**
+     * Inserts the specified element at the sub-queue of the given tenant if it is possible to do
+     * so immediately without violating the capacity restrictions of the queue and the tenant.
+     *
+     * @param element the element to add.
+     * @param tenant  the tenant of the element.
+     *
+     * @return {@code true} if the element was added to this queue, else {@code false}.
+     *
+     * @throws NullPointerException if the specified element or tenant is {@code null}.
+     */
+    public boolean offer(@NotNull E element, @NotNull Object tenant) {
+        checkNotNull(element);
+        checkNotNull(tenant);
+        if (offerElement(element, tenant)) {
+            signalNotEmpty();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The element is added to the tenant given by {@link #getTenant(Object)}.
+     */
+    @Override
+    protected boolean offerElement(@NotNull E element) {
+        Object tenant = getTenant(element);
+        return offerElement(element, (tenant == null) ? DEFAULT_TENANT : tenant);
+    }
+
+    /**
+     * Inserts the element at the sub-queue of the given tenant, if there is space available.
+     *
+     * @param element the element to add.
+     * @param tenant  the tenant of the element.
+     *
+     * @return {@code true} if the element was added, else {@code false}.
+     */
+    private boolean offerElement(@NotNull E element, @NotNull Object tenant) {
+        if (mCount.incrementAndGet() > mCapacity) {
+            mCount.decrementAndGet();
+            return false;
+        }
+        Tenant<E> subQueue;
+        int size;
+        while ((size = (subQueue = tenant(tenant)).mSize.incrementAndGet()) <= 0)
+            mTenants.remove(tenant, subQueue);
+        if (size > mTenantCapacity) {
+            subQueue.mSize.decrementAndGet();
+            mCount.decrementAndGet();
+            return false;
+        }
+        subQueue.mElements.offer(element);
+        schedule(subQueue);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The element is taken from the tenant whose turn it is - or from the next ones, if it has
+     * just drained.
+     */
+    @Override
+    protected E pollElement() {
+        for (Tenant<E> tenant : mActiveTenants) {
+            E element = tenant.mElements.poll();
+            if (element == null) {
+                unschedule(tenant);
+                continue;
+            }
+            tenant.mSize.decrementAndGet();
+            mCount.decrementAndGet();
+            if (tenant.mElements.isEmpty())
+                unschedule(tenant);
+            else
+                endTurnIfServed(tenant);
+            return element;
+        }
+        return null;
+    }
+
+    /**
+     * Moves the tenant to the tail of the turns once it has given as much elements as its weight
+     * during its current turn. It is included at the tail before being removed from its current
+     * position, so it never leaves the turns while it has pending elements.
+     *
+     * @param tenant the tenant that has just given an element.
+     */
+    private void endTurnIfServed(@NotNull Tenant<E> tenant) {
+        int served = tenant.mServed.incrementAndGet();
+        if (served >= tenant.mWeight && tenant.mServed.compareAndSet(served, 0)) {
+            mActiveTenants.offerLast(tenant);
+            mActiveTenants.removeFirstOccurrence(tenant);
+        }
+    }
+
+    /**
+     * Includes the tenant at the turns, if it is not already there.
+     *
+     * @param tenant the tenant with pending elements.
+     */
+    private void schedule(@NotNull Tenant<E> tenant) {
+        if (tenant.mScheduled.compareAndSet(false, true))
+            mActiveTenants.offerLast(tenant);
+    }
+
+    /**
+     * Removes the drained tenant from the turns, including it again if an element was added
+     * meanwhile, and discards its sub-queue if it is still empty.
+     *
+     * @param tenant the tenant whose sub-queue was found empty.
+     */
+    private void unschedule(@NotNull Tenant<E> tenant) {
+        if (tenant.mScheduled.compareAndSet(true, false)) {
+            tenant.mServed.set(0);
+            mActiveTenants.removeFirstOccurrence(tenant);
+            if (!tenant.mElements.isEmpty()) {
+                schedule(tenant);
+                return;
+            }
+        }
+        if (!tenant.mScheduled.get() && tenant.mSize.compareAndSet(0, RETIRED))
+            mTenants.remove(tenant.mKey, tenant);
+    }
+
+    /**
+     * Obtains the sub-queue of a tenant, creating it if needed.
+     *
+     * @param tenant the tenant.
+     *
+     * @return {@code Tenant} with the sub-queue.
+     */
+    private Tenant<E> tenant(@NotNull Object tenant) {
+        Tenant<E> subQueue = mTenants.get(tenant);
+        return (subQueue != null) ?
+                subQueue :
+                mTenants.computeIfAbsent(tenant, key -> new Tenant<>(key, getWeight(key)));
+    }
+
+    /**
+     * Retrieves, but does not remove, the next element of the tenant whose turn it is, or returns
+     * {@code null} if this queue is empty.
+     *
+     * @return the head of this queue, or {@code null} if this queue is empty.
+     */
+    @Override
+    public E peek() {
+        for (Tenant<E> tenant : mActiveTenants) {
+            E element = tenant.mElements.peek();
+            if (element != null)
+                return element;
+        }
+        return null;
+    }
+
+    /**
+     * Obtains the tenant of an element added without an explicit one - by default, {@code null},
+     * so it is added to the default tenant.
+     *
+     * @param element the element.
+     *
+     * @return {@code Object} with the tenant - {@code null} for the default one.
+     */
+    @Nullable
+    protected Object getTenant(@NotNull E element) {
+        return null;
+    }
+
+    /**
+     * Sets the weight of a tenant: the amount of elements it gives in a row when it is its turn,
+     * so its share of the consumers is proportional to it - by default, {@code 1}.
+     *
+     * @param tenant the tenant.
+     * @param weight the new weight - must be higher than zero.
+     *
+     * @throws IllegalArgumentException if the weight is zero or lower.
+     */
+    public void setWeight(@NotNull Object tenant, int weight) {
+        if (weight <= 0)
+            throw new IllegalArgumentException(String.format("Weight must be higher than zero, " +
+                    "not '%d'", weight));
+        mWeights.put(tenant, weight);
+        Tenant<E> subQueue = mTenants.get(tenant);
+        if (subQueue != null)
+            subQueue.mWeight = weight;
+    }
+
+    /**
+     * Gets the weight of a tenant.
+     *
+     * @param tenant the tenant.
+     *
+     * @return {@code int} with the weight - {@code 1} if not set.
+     */
+    public int getWeight(@NotNull Object tenant) {
+        Integer weight = mWeights.get(tenant);
+        return (weight == null) ? 1 : weight;
+    }
+
+    /**
+     * Returns the number of elements of a tenant in this queue.
+     *
+     * @param tenant the tenant.
+     *
+     * @return the number of elements of the tenant.
+     */
+    public int size(@NotNull Object tenant) {
+        Tenant<E> subQueue = mTenants.get(tenant);
+        return (subQueue == null) ? 0 : Math.max(0, subQueue.mSize.get());
+    }
+
+    /**
+     * Gets the amount of tenants with elements in this queue.
+     *
+     * @return {@code int} with the amount of tenants.
+     */
+    public int getTenantsCount() {
+        return mTenants.size();
+    }
+
+    /**
+     * Removes a single instance of the specified element from this queue, if it is present.
+     *
+     * @param object element to be removed from this queue, if present.
+     *
+     * @return {@code true} if this queue changed as a result of the call.
+     */
+    @Override
+    public boolean remove(Object object) {
+        if (object == null)
+            return false;
+        for (Tenant<E> tenant : mTenants.values()) {
+            if (tenant.mElements.remove(object)) {
+                tenant.mSize.decrementAndGet();
+                mCount.decrementAndGet();
+                signalNotFull();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of elements in this queue.
+     *
+     * @return the number of elements in this queue.
+     */
+    @Override
+    public int size() {
+        return Math.max(0, mCount.get());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int capacity() {
+        return mCapacity;
+    }
+
+    /**
+     * Gets the maximum amount of elements each tenant can have at this queue at once.
+     *
+     * @return {@code int} with the per-tenant capacity.
+     */
+    public int getTenantCapacity() {
+        return mTenantCapacity;
+    }
+
+    /**
+     * Returns a <b>weakly consistent</b> iterator over the elements of this queue, based on a
+     * snapshot taken when this method is called. Elements are returned grouped by tenant.
+     *
+     * @return an {@code Iterator} over the elements in this queue.
+     */
+    @NotNull
+    @Override
+    public Iterator<E> iterator() {
+        final Iterator<E> snapshot = snapshot().iterator();
+        return new Iterator<E>() {
+            private E mLastReturned;
+
+            @Override
+            public boolean hasNext() {
+                return snapshot.hasNext();
+            }
+
+            @Override
+            public E next() {
+                return mLastReturned = snapshot.next();
+            }
+
+            @Override
+            public void remove() {
+                if (mLastReturned == null)
+                    throw new IllegalStateException();
+                WeightedFairBlockingQueue.this.remove(mLastReturned);
+                mLastReturned = null;
+            }
+        };
+    }
+
+    /**
+     * Copies the elements currently stored at this queue.
+     *
+     * @return {@code List} with the elements, grouped by tenant.
+     */
+    private List<E> snapshot() {
+        List<E> elements = new ArrayList<>(size());
+        for (Tenant<E> tenant : mTenants.values())
+            elements.addAll(tenant.mElements);
+        return elements;
+    }
+
+    /**
+     * Human readable representation of this class.
+     *
+     * @return {@code String} with the representation.
+     */
+    @Override
+    public String toString() {
+        return "WeightedFairBlockingQueue{capacity=" + mCapacity + ", tenantCapacity=" +
+                mTenantCapacity + ", size=" + size() + ", tenants=" + mTenants.size() +
+                ", elements=" + snapshot() + '}';
+    }
+
+    /**
+     * Sub-queue of a tenant.
+     *
+     * @param <E> the type of the elements.
+     */
+    private static final class Tenant<E> {
+        private final Object mKey;
+        private final ConcurrentLinkedQueue<E> mElements = new ConcurrentLinkedQueue<>();
+
+        /**
+         * Amount of elements of the tenant - {@link #RETIRED} once the sub-queue is discarded.
+         */
+        private final AtomicInteger mSize = new AtomicInteger();
+
+        /**
+         * Whether the tenant is at the turns deque.
+         */
+        private final AtomicBoolean mScheduled = new AtomicBoolean();
+
+        /**
+         * Elements the tenant has given during its current turn.
+         */
+        private final AtomicInteger mServed = new AtomicInteger();
+
+        private volatile int mWeight;
+
+        /**
+         * Creates the sub-queue of a tenant.
+         *
+         * @param key    the tenant.
+         * @param weight the weight of the tenant.
+         */
+        private Tenant(@NotNull Object key, int weight) {
+            mKey = key;
+            mWeight = weight;
+        }
+    }
+}
@@ -0,0 +1,366 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools.queues;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code WorkStealingBlockingQueue} is a bounded {@link java.util.concurrent.BlockingQueue} that
+ * gives <b>each consumer (worker) its own deque</b>, instead of making all of them compete for a
+ * single shared queue:
+ * <ul>
+ * <li>
+ * Elements added <b>from a worker</b> (for example, a task that adds follow-up tasks to its own
+ * pool) are pushed to that worker's deque, and the worker takes them back in <b>LIFO</b> order, so
+ * nested work runs on the same thread while its data is still hot at the CPU caches.
+ * </li>
+ * <li>
+ * Elements added <b>from any other thread</b> go to a shared submission queue, taken in FIFO
+ * order.
+ * </li>
+ * <li>
+ * When a worker has nothing to do, it <b>steals</b> the oldest element from the deque of another
+ * worker, so no work gets stuck at a busy thread.
+ * </li>
+ * </ul>
+ * A thread becomes a worker the first time it waits for elements at this queue ({@link #take()} or
+ * {@link #poll(long, TimeUnit)}), which is what every {@link java.util.concurrent.ThreadPoolExecutor}
+ * worker does. Deques of workers that are no longer alive are discarded once they are empty.
+ * <p>
+ * There is no single counter shared by every producer and consumer: the amount of elements is a
+ * striped {@link LongAdder}, so the capacity is checked against its current sum and concurrent
+ * producers may exceed it by a few elements for a moment.
+ *
+ * @param <E> the type of elements held in this queue.
+ */
+public class WorkStealingBlockingQueue<E> extends ConcurrentBlockingQueue<E> {
+    /**
+     * Maximum amount of elements that can be stored at once.
+     */
+    private final int mCapacity;
+
+    /**
+     * Amount of elements stored at every deque and the submission queue.
+     */
+    private final LongAdder mCount = new LongAdder();
+
+    /**
+     * Queue for elements added by threads that are not workers.
+     */
+    private final ConcurrentLinkedQueue<E> mSubmissionQueue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Deques of every registered worker - only modified when a worker registers or dies.
+     */
+    private final List<WorkerDeque<E>> mWorkerDeques = new CopyOnWriteArrayList<>();
+
+    /**
+     * Deque owned by the current thread, if it is a worker.
+     */
+    private final ThreadLocal<WorkerDeque<E>> mLocalDeque = new ThreadLocal<>();
+
+    /**
+     * Creates a new work-stealing queue with the given capacity.
+     *
+     * @param capacity the maximum amount of elements - must be higher than zero.
+     *
+     * @throws IllegalArgumentException if the capacity is zero or lower.
+     */
+    public WorkStealingBlockingQueue(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be higher than zero, not " +
+                    capacity);
+        mCapacity = capacity;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the calling thread is a worker, the element is pushed to its own deque.
+     */
+    @Override
+    protected boolean offerElement(@NotNull E element) {
+        if (mCount.sum() >= mCapacity)
+            return false;
+        mCount.increment();
+        WorkerDeque<E> localDeque = mLocalDeque.get();
+        if (localDeque != null)
+            localDeque.mElements.offerFirst(element);
+        else
+            mSubmissionQueue.offer(element);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Elements are taken from the own deque first (newest first), then from the submission queue
+     * and, at last, stolen from other workers (oldest first).
+     */
+    @Override
+    protected E pollElement() {
+        E element = null;
+        WorkerDeque<E> localDeque = mLocalDeque.get();
+        if (localDeque != null)
+            element = localDeque.mElements.pollFirst();
+        if (element == null)
+            element = mSubmissionQueue.poll();
+        if (element == null)
+            element = steal(localDeque);
+        if (element != null)
+            mCount.decrement();
+        return element;
+    }
+
+    /**
+     * Tries to steal the oldest element of any other worker, starting at a random one so thieves
+     * do not always compete for the same victim.
+     *
+     * @param localDeque the deque of the current thread - it is skipped.
+     *
+     * @return the stolen element or {@code null} if every deque is empty.
+     */
+    private E steal(WorkerDeque<E> localDeque) {
+        int amount = mWorkerDeques.size();
+        if (amount == 0)
+            return null;
+        int start = ThreadLocalRandom.current().nextInt(amount);
+        int index = 0;
+        E element;
+        for (WorkerDeque<E> victim : mWorkerDeques)
+            if (index++ >= start && (element = stealFrom(victim, localDeque)) != null)
+                return element;
+        index = 0;
+        for (WorkerDeque<E> victim : mWorkerDeques)
+            if (index++ < start && (element = stealFrom(victim, localDeque)) != null)
+                return element;
+        return null;
+    }
+
+    /**
+     * Tries to steal the oldest element of a worker, discarding its deque if the worker is no
+     * longer alive and the deque is empty.
+     *
+     * @param victim     the deque of the worker.
+     * @param localDeque the deque of the current thread - it is never stolen from.
+     *
+     * @return the stolen element or {@code null} if the deque is empty.
+     */
+    private E stealFrom(@NotNull WorkerDeque<E> victim, WorkerDeque<E> localDeque) {
+        if (victim == localDeque)
+            return null;
+        E element = victim.mElements.pollLast();
+        if (element == null && !victim.mOwner.isAlive() && victim.mElements.isEmpty())
+            mWorkerDeques.remove(victim);
+        return element;
+    }
+
+    /**
+     * Registers the current thread as a worker, if it was not registered yet.
+     */
+    private void registerWorker() {
+        if (mLocalDeque.get() == null) {
+            WorkerDeque<E> deque = new WorkerDeque<>(Thread.currentThread());
+            mLocalDeque.set(deque);
+            mWorkerDeques.add(deque);
+        }
+    }
+
+    /**
+     * Retrieves and removes an element, waiting if necessary until an element becomes available.
+     * The calling thread is registered as a worker.
+     *
+     * @return the element.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    @Override
+    public E take() throws InterruptedException {
+        registerWorker();
+        return super.take();
+    }
+
+    /**
+     * Retrieves and removes an element, waiting up to the specified wait time if necessary for an
+     * element to become available. The calling thread is registered as a worker.
+     *
+     * @param timeout how long to wait before giving up, in units of {@code unit}.
+     * @param unit    a {@code TimeUnit} determining how to interpret the {@code timeout}
+     *                parameter.
+     *
+     * @return the element, or {@code null} if the specified waiting time elapses before an element
+     * is available.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    @Override
+    public E poll(long timeout, @NotNull TimeUnit unit) throws InterruptedException {
+        registerWorker();
+        return super.poll(timeout, unit);
+    }
+
+    /**
+     * Retrieves, but does not remove, the next element to be taken by a thread which is not a
+     * worker.
+     *
+     * @return the element, or {@code null} if this queue is empty.
+     */
+    @Override
+    public E peek() {
+        E element = mSubmissionQueue.peek();
+        if (element != null)
+            return element;
+        for (WorkerDeque<E> deque : mWorkerDeques) {
+            element = deque.mElements.peekLast();
+            if (element != null)
+                return element;
+        }
+        return null;
+    }
+
+    /**
+     * Removes a single instance of the specified element from this queue, if it is present.
+     *
+     * @param object element to be removed from this queue, if present.
+     *
+     * @return {@code true} if this queue changed as a result of the call.
+     */
+    @Override
+    public boolean remove(Object object) {
+        if (object == null)
+            return false;
+        boolean removed = mSubmissionQueue.remove(object);
+        for (Iterator<WorkerDeque<E>> iterator = mWorkerDeques.iterator();
+             !removed && iterator.hasNext(); )
+            removed = iterator.next().mElements.removeFirstOccurrence(object);
+        if (removed) {
+            mCount.decrement();
+            signalNotFull();
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the number of elements in this queue.
+     *
+     * @return the number of elements in this queue.
+     */
+    @Override
+    public int size() {
+        return (int) Math.max(0L, mCount.sum());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int capacity() {
+        return mCapacity;
+    }
+
+    /**
+     * Gets the amount of workers currently registered at this queue.
+     *
+     * @return {@code int} with the amount of workers.
+     */
+    public int getWorkersCount() {
+        return mWorkerDeques.size();
+    }
+
+    /**
+     * Returns a <b>weakly consistent</b> iterator over the elements of this queue, based on a
+     * snapshot taken when this method is called.
+     *
+     * @return an {@code Iterator} over the elements in this queue.
+     */
+    @NotNull
+    @Override
+    public Iterator<E> iterator() {
+        final Iterator<E> snapshot = snapshot().iterator();
+        return new Iterator<E>() {
+            private E mLastReturned;
+
+            @Override
+            public boolean hasNext() {
+                return snapshot.hasNext();
+            }
+
+            @Override
+            public E next() {
+                return mLastReturned = snapshot.next();
+            }
+
+            @Override
+            public void remove() {
+                if (mLastReturned == null)
+                    throw new IllegalStateException();
+                WorkStealingBlockingQueue.this.remove(mLastReturned);
+                mLastReturned = null;
+            }
+        };
+    }
+
+    /**
+     * Copies the elements currently stored at this queue.
+     *
+     * @return {@code List} with the elements.
+     */
+    private List<E> snapshot() {
+        List<E> elements = new ArrayList<>(mSubmissionQueue);
+        for (WorkerDeque<E> deque : mWorkerDeques)
+            elements.addAll(deque.mElements);
+        return elements;
+    }
+
+    /**
+     * Human readable representation of this class.
+     *
+     * @return {@code String} with the representation.
+     */
+    @Override
+    public String toString() {
+        return "WorkStealingBlockingQueue{capacity=" + mCapacity + ", size=" + size() + ", " +
+                "workers=" + getWorkersCount() + ", elements=" + snapshot() + '}';
+    }
+
+    /**
+     * Deque owned by a worker - the owner works at its head while thieves steal from its tail.
+     *
+     * @param <E> the type of elements held in the deque.
+     */
+    private static final class WorkerDeque<E> {
+        private final Thread mOwner;
+        private final ConcurrentLinkedDeque<E> mElements = new ConcurrentLinkedDeque<>();
+
+        private WorkerDeque(@NotNull Thread owner) {
+            mOwner = owner;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools.rejectedhandlers;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * {@link RejectedExecutionHandler} that is also able to handle a <b>whole batch</b> of rejected
+ * threads at once.
+ * <p>
+ * When a batch of threads is added to a {@link com.github.javinator9889.threading.pools.ThreadsPooling}
+ * by using {@link com.github.javinator9889.threading.pools.ThreadsPooling#addAll(java.util.Collection)},
+ * all the threads that did not fit are given to {@link #rejectedExecution(List,
+ * ThreadPoolExecutor)} in a single call, in the same order they were added. If the pool handler
+ * does not implement this interface, it is called once per rejected thread instead.
+ * <p>
+ * Implementations only have to define the batch method - by default, a single rejected thread is
+ * handled as a batch of one.
+ */
+public interface BatchRejectedExecutionHandler extends RejectedExecutionHandler {
+    /**
+     * Method invoked when some threads of a batch cannot be accepted by the pool, because there is
+     * no more space available at the queue or upon shutdown of the executor.
+     *
+     * @param threads  the rejected threads, in the same order as they were added - never empty.
+     * @param executor the executor attempting to execute these tasks.
+     */
+    void rejectedExecution(@NotNull List<Runnable> threads, @NotNull ThreadPoolExecutor executor);
+
+    /**
+     * Method that may be invoked by a {@link ThreadPoolExecutor} when {@link
+     * ThreadPoolExecutor#execute execute} cannot accept a task - it is handled as a batch of one
+     * thread.
+     *
+     * @param thread   the runnable task requested to be executed.
+     * @param executor the executor attempting to execute this task.
+     */
+    @Override
+    default void rejectedExecution(Runnable thread, ThreadPoolExecutor executor) {
+        rejectedExecution(Collections.singletonList(thread), executor);
+    }
+}
@@ -19,9 +19,11 @@
 package com.github.javinator9889.threading.pools.rejectedhandlers;
 
 import com.github.javinator9889.threading.errors.NoRejectedHandlerError;
+import org.jetbrains.annotations.NotNull;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 
 /**
@@ -41,9 +43,12 @@ import java.util.concurrent.ThreadPoolExecutor;
  * </li>
  * </ul>
  * <p>
+ * When a batch of threads is rejected, a single {@link NoRejectedHandlerError} is thrown
+ * containing <b>all the rejected threads</b>.
+ * <p>
  * Defined at {@link com.github.javinator9889.threading.pools.ThreadsPooling#DEFAULT_REJECTED_EXECUTION_HANDLER}.
  */
-public class DefaultRejectedExecutionHandler implements RejectedExecutionHandler {
+public class DefaultRejectedExecutionHandler implements BatchRejectedExecutionHandler {
     public DefaultRejectedExecutionHandler() {
     }
 
@@ -67,9 +72,40 @@ public class DefaultRejectedExecutionHandler implements RejectedExecutionHandler
      */
     @Override
     public void rejectedExecution(Runnable thread, ThreadPoolExecutor executor) {
+        throw noRejectedHandlerError(String.valueOf(thread), executor);
+    }
+
+    /**
+     * Method invoked when some threads of a batch cannot be accepted by the pool, because there is
+     * no more space available at the queue or upon shutdown of the executor.
+     *
+     * @param threads  the rejected threads, in the same order as they were added.
+     * @param executor the executor attempting to execute these tasks.
+     *
+     * @throws RejectedExecutionException always
+     * @throws NoRejectedHandlerError     always - custom exception that is being thrown which
+     *                                    inherits from {@link RejectedExecutionException}.
+     * @see NoRejectedHandlerError
+     */
+    @Override
+    public void rejectedExecution(@NotNull List<Runnable> threads,
+                                  @NotNull ThreadPoolExecutor executor) {
+        throw noRejectedHandlerError(threads.size() + " threads " +
+                Arrays.toString(threads.toArray()), executor);
+    }
+
+    /**
+     * Generates the {@link NoRejectedHandlerError} with all useful information.
+     *
+     * @param rejectedThreadInformation description of the rejected thread(s).
+     * @param executor                  the executor attempting to execute the thread(s).
+     *
+     * @return {@code NoRejectedHandlerError} configured.
+     */
+    private NoRejectedHandlerError noRejectedHandlerError(String rejectedThreadInformation,
+                                                          ThreadPoolExecutor executor) {
         int queueSize = executor.getQueue().size();
         String executorDefinition = executor.toString();
-        String rejectedThreadInformation = thread.toString();
         String exceptionMessage = String.format("There is no default RejectedExecutionHandler " +
                         "defined - the default RejectedExecutionHandler is being used " +
                         "(DefaultRejectedExecutionHandler)\n" +
@@ -86,6 +122,6 @@ public class DefaultRejectedExecutionHandler implements RejectedExecutionHandler
                 queueSize,
                 rejectedThreadInformation,
                 executorDefinition);
-        throw new NoRejectedHandlerError(exceptionMessage);
+        return new NoRejectedHandlerError(exceptionMessage);
     }
 }
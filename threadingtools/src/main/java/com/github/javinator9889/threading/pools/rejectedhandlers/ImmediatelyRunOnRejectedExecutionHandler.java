@@ -19,8 +19,10 @@
 
 package com.github.javinator9889.threading.pools.rejectedhandlers;
 
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 
 /**
@@ -29,7 +31,7 @@ import java.util.concurrent.ThreadPoolExecutor;
  * notice that this handler will run on {@link com.github.javinator9889.threading.pools.ThreadsPooling}
  * thread, blocking any other calls.
  */
-public class ImmediatelyRunOnRejectedExecutionHandler implements RejectedExecutionHandler {
+public class ImmediatelyRunOnRejectedExecutionHandler implements BatchRejectedExecutionHandler {
     /**
      * Default only available constructor.
      */
@@ -53,4 +55,18 @@ public class ImmediatelyRunOnRejectedExecutionHandler implements RejectedExecuti
     public void rejectedExecution(Runnable thread, ThreadPoolExecutor executor) {
         thread.run();
     }
+
+    /**
+     * Method invoked when some threads of a batch cannot be accepted by the pool - all of them are
+     * run one after the other, in the same order they were added.
+     *
+     * @param threads  the rejected threads, in the same order as they were added.
+     * @param executor the executor attempting to execute these tasks.
+     */
+    @Override
+    public void rejectedExecution(@NotNull List<Runnable> threads,
+                                  @NotNull ThreadPoolExecutor executor) {
+        for (Runnable thread : threads)
+            thread.run();
+    }
 }
@@ -19,8 +19,10 @@
 
 package com.github.javinator9889.threading.pools.rejectedhandlers;
 
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 
 /**
@@ -29,7 +31,7 @@ import java.util.concurrent.ThreadPoolExecutor;
  * <p>
  * Defined at {@link com.github.javinator9889.threading.pools.ThreadsPooling#NO_ACTION_ON_REJECTED_HANDLER}.
  */
-public class NoRejectedExecutionHandler implements RejectedExecutionHandler {
+public class NoRejectedExecutionHandler implements BatchRejectedExecutionHandler {
     public NoRejectedExecutionHandler() {
     }
 
@@ -50,4 +52,17 @@ public class NoRejectedExecutionHandler implements RejectedExecutionHandler {
     public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
         return;
     }
+
+    /**
+     * Method invoked when some threads of a batch cannot be accepted by the pool - it does
+     * nothing.
+     *
+     * @param threads  the rejected threads, in the same order as they were added.
+     * @param executor the executor attempting to execute these tasks.
+     */
+    @Override
+    public void rejectedExecution(@NotNull List<Runnable> threads,
+                                  @NotNull ThreadPoolExecutor executor) {
+        return;
+    }
 }
@@ -21,8 +21,8 @@ package com.github.javinator9889.threading.pools.rejectedhandlers;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
@@ -36,7 +36,7 @@ import java.util.concurrent.TimeUnit;
  * implementation by calling the {@link #RunWhenTasksFinishedOnRejectedHandler(long, TimeUnit)}
  * constructor with your custom values.
  */
-public class RunWhenTasksFinishedOnRejectedHandler implements RejectedExecutionHandler {
+public class RunWhenTasksFinishedOnRejectedHandler implements BatchRejectedExecutionHandler {
     private long mTimeout;
     private TimeUnit mTimeUnit;
 
@@ -82,4 +82,25 @@ public class RunWhenTasksFinishedOnRejectedHandler implements RejectedExecutionH
             thread.run();
         }
     }
+
+    /**
+     * Method invoked when some threads of a batch cannot be accepted by the pool - the executor
+     * is shutdown and, once its tasks finish (or the timeout elapses), all the rejected threads
+     * are run one after the other, in the same order they were added.
+     *
+     * @param threads  the rejected threads, in the same order as they were added.
+     * @param executor the executor attempting to execute these tasks.
+     */
+    @Override
+    public void rejectedExecution(@NotNull List<Runnable> threads,
+                                  @NotNull ThreadPoolExecutor executor) {
+        try {
+            executor.shutdown();
+            executor.awaitTermination(mTimeout, mTimeUnit);
+        } catch (InterruptedException ignored) {
+        } finally {
+            for (Runnable thread : threads)
+                thread.run();
+        }
+    }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools.statistics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable snapshot of a {@link LatencyHistogram}, which provides the <b>percentiles</b> of the
+ * recorded latencies:
+ * <pre>{@code
+ * HistogramSnapshot queueWait = pooling.getStatistics().getQueueWait();
+ * long p99 = queueWait.getValueAtPercentile(99, TimeUnit.MICROSECONDS);
+ * }</pre>
+ * Values are reported as the highest value of their bucket (never higher than the {@linkplain
+ * #getMaximum(TimeUnit) maximum}), so percentiles are never underestimated.
+ */
+public final class HistogramSnapshot {
+    private final long[] mCounts;
+    private final long mCount;
+    private final long mSum;
+    private final long mMaximum;
+
+    /**
+     * Creates a new snapshot.
+     *
+     * @param counts  amount of values at each bucket.
+     * @param sum     sum of the values, in nanoseconds.
+     * @param maximum highest value, in nanoseconds.
+     */
+    HistogramSnapshot(@NotNull long[] counts, long sum, long maximum) {
+        long count = 0L;
+        for (long bucketCount : counts)
+            count += bucketCount;
+        mCounts = counts;
+        mCount = count;
+        mSum = sum;
+        mMaximum = maximum;
+    }
+
+    /**
+     * Gets the amount of recorded values.
+     *
+     * @return {@code long} with the amount of values.
+     */
+    public long getCount() {
+        return mCount;
+    }
+
+    /**
+     * Gets the mean of the recorded values.
+     *
+     * @param unit the time unit of the returned value.
+     *
+     * @return {@code double} with the mean - zero if there are no values.
+     */
+    public double getMean(@NotNull TimeUnit unit) {
+        return (mCount == 0L) ? 0D : (double) mSum / mCount / unit.toNanos(1L);
+    }
+
+    /**
+     * Gets the highest recorded value.
+     *
+     * @param unit the time unit of the returned value.
+     *
+     * @return {@code long} with the maximum - zero if there are no values.
+     */
+    public long getMaximum(@NotNull TimeUnit unit) {
+        return unit.convert(mMaximum, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the value below which the given percentage of the recorded values are.
+     *
+     * @param percentile the percentile, between {@code 0} and {@code 100} - for example, {@code
+     *                   99.9}.
+     * @param unit       the time unit of the returned value.
+     *
+     * @return {@code long} with the value at the percentile - zero if there are no values.
+     *
+     * @throws IllegalArgumentException if the percentile is out of range.
+     */
+    public long getValueAtPercentile(double percentile, @NotNull TimeUnit unit) {
+        if (percentile < 0D || percentile > 100D)
+            throw new IllegalArgumentException(String.format("Percentile must be between 0 and " +
+                    "100, not '%s'", percentile));
+        if (mCount == 0L)
+            return 0L;
+        long rank = Math.max(1L, (long) Math.ceil(percentile / 100D * mCount));
+        long accumulated = 0L;
+        for (int i = 0; i < mCounts.length; ++i) {
+            accumulated += mCounts[i];
+            if (accumulated >= rank)
+                return unit.convert(Math.min(LatencyHistogram.highestValue(i), mMaximum),
+                        TimeUnit.NANOSECONDS);
+        }
+        return getMaximum(unit);
+    }
+
+    /**
+     * Human readable representation of this class, with the values in microseconds.
+     *
+     * @return {@code String} with the representation.
+     */
+    @Override
+    public String toString() {
+        return "HistogramSnapshot{count=" + mCount +
+                ", meanUs=" + String.format("%.2f", getMean(TimeUnit.MICROSECONDS)) +
+                ", p50Us=" + getValueAtPercentile(50, TimeUnit.MICROSECONDS) +
+                ", p90Us=" + getValueAtPercentile(90, TimeUnit.MICROSECONDS) +
+                ", p99Us=" + getValueAtPercentile(99, TimeUnit.MICROSECONDS) +
+                ", p999Us=" + getValueAtPercentile(99.9, TimeUnit.MICROSECONDS) +
+                ", maxUs=" + getMaximum(TimeUnit.MICROSECONDS) + '}';
+    }
+}
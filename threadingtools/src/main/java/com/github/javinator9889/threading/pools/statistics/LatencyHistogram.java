@@ -0,0 +1,128 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools.statistics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies with <b>fixed memory</b>, in the style of HdrHistogram: values
+ * are counted at log-linear buckets, so recording a value is just a couple of bit operations and
+ * an atomic increment, and no value is ever stored.
+ * <p>
+ * Every power of two is split into {@link #SUB_BUCKETS} buckets of the same width, so the
+ * relative error of a reported value is lower than {@code 1 / SUB_BUCKETS} (about 6%) for the
+ * whole range of {@code long} values, while values lower than {@code 2 * SUB_BUCKETS} are exact.
+ * The histogram always uses {@link #BUCKETS} counters, whatever the amount of recorded values.
+ * <p>
+ * Values can be recorded concurrently while {@linkplain #getSnapshot(boolean) snapshots} are
+ * taken. When taking a snapshot and resetting the histogram at once, values recorded meanwhile
+ * are included either at that snapshot or at the next one, but never lost.
+ */
+public final class LatencyHistogram {
+    /**
+     * Amount of buckets every power of two is split into.
+     */
+    public static final int SUB_BUCKETS = 16;
+
+    /**
+     * Total amount of buckets, which covers every non negative {@code long} value.
+     */
+    public static final int BUCKETS = SUB_BUCKETS * (Long.SIZE - Integer.numberOfTrailingZeros(
+            SUB_BUCKETS));
+
+    private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+
+    private final AtomicLongArray mCounts = new AtomicLongArray(BUCKETS);
+    private final LongAdder mSum = new LongAdder();
+    private final AtomicLong mMaximum = new AtomicLong();
+
+    /**
+     * Records a new value - negative values are recorded as zero.
+     *
+     * @param nanos the value, in nanoseconds.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        mCounts.incrementAndGet(bucketIndex(value));
+        mSum.add(value);
+        long maximum = mMaximum.get();
+        while (value > maximum && !mMaximum.compareAndSet(maximum, value))
+            maximum = mMaximum.get();
+    }
+
+    /**
+     * Takes a snapshot of the recorded values.
+     *
+     * @param reset whether to reset the histogram, so the next snapshot only contains the values
+     *              recorded after this one.
+     *
+     * @return {@code HistogramSnapshot} with the recorded values.
+     */
+    @NotNull
+    public HistogramSnapshot getSnapshot(boolean reset) {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; ++i)
+            counts[i] = reset ? mCounts.getAndSet(i, 0L) : mCounts.get(i);
+        long sum = reset ? mSum.sumThenReset() : mSum.sum();
+        long maximum = reset ? mMaximum.getAndSet(0L) : mMaximum.get();
+        return new HistogramSnapshot(counts, sum, maximum);
+    }
+
+    /**
+     * Obtains the bucket of a value.
+     *
+     * @param value the value - must not be negative.
+     *
+     * @return {@code int} with the bucket index.
+     */
+    static int bucketIndex(long value) {
+        int shift = Math.max(0, Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS - 1);
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    /**
+     * Obtains the highest value counted at a bucket.
+     *
+     * @param index the bucket index.
+     *
+     * @return {@code long} with the highest value.
+     */
+    static long highestValue(int index) {
+        if (index < SUB_BUCKETS * 2)
+            return index;
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long lowestValue = (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << shift;
+        return lowestValue + ((1L << shift) - 1L);
+    }
+
+    /**
+     * Human readable representation of this class.
+     *
+     * @return {@code String} with the representation.
+     */
+    @Override
+    public String toString() {
+        return "LatencyHistogram{" + getSnapshot(false) + '}';
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools.statistics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable snapshot of the latencies of the tasks run by a {@link
+ * com.github.javinator9889.threading.pools.ThreadsPooling} during an <b>interval</b>, which
+ * started when the pool was created or when the previous snapshot reset the statistics:
+ * <ul>
+ * <li>
+ * <b>Queue wait</b>: time since a task is added until a worker starts running it.
+ * </li>
+ * <li>
+ * <b>Execution</b>: time a task runs.
+ * </li>
+ * <li>
+ * <b>End to end</b>: time since a task is added until it finishes - the sum of the other two.
+ * </li>
+ * </ul>
+ * A high queue wait with a low execution time means the pool needs more workers, while a high
+ * execution time means the tasks themselves are slow.
+ */
+public final class PoolStatistics {
+    private final HistogramSnapshot mQueueWait;
+    private final HistogramSnapshot mExecution;
+    private final HistogramSnapshot mEndToEnd;
+    private final long mIntervalNanos;
+
+    /**
+     * Creates a new snapshot.
+     *
+     * @param queueWait     latencies of the queue wait.
+     * @param execution     latencies of the execution.
+     * @param endToEnd      end to end latencies.
+     * @param intervalNanos duration of the interval, in nanoseconds.
+     */
+    PoolStatistics(@NotNull HistogramSnapshot queueWait,
+                   @NotNull HistogramSnapshot execution,
+                   @NotNull HistogramSnapshot endToEnd,
+                   long intervalNanos) {
+        mQueueWait = queueWait;
+        mExecution = execution;
+        mEndToEnd = endToEnd;
+        mIntervalNanos = intervalNanos;
+    }
+
+    /**
+     * Gets the latencies since a task is added until a worker starts running it.
+     *
+     * @return {@code HistogramSnapshot} with the queue wait latencies.
+     */
+    @NotNull
+    public HistogramSnapshot getQueueWait() {
+        return mQueueWait;
+    }
+
+    /**
+     * Gets the latencies of running the tasks.
+     *
+     * @return {@code HistogramSnapshot} with the execution latencies.
+     */
+    @NotNull
+    public HistogramSnapshot getExecution() {
+        return mExecution;
+    }
+
+    /**
+     * Gets the latencies since a task is added until it finishes.
+     *
+     * @return {@code HistogramSnapshot} with the end to end latencies.
+     */
+    @NotNull
+    public HistogramSnapshot getEndToEnd() {
+        return mEndToEnd;
+    }
+
+    /**
+     * Gets the amount of tasks finished during the interval.
+     *
+     * @return {@code long} with the amount of tasks.
+     */
+    public long getCompletedTasks() {
+        return mEndToEnd.getCount();
+    }
+
+    /**
+     * Gets the duration of the interval.
+     *
+     * @param unit the time unit of the returned value.
+     *
+     * @return {@code long} with the duration.
+     */
+    public long getInterval(@NotNull TimeUnit unit) {
+        return unit.convert(mIntervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the throughput during the interval.
+     *
+     * @return {@code double} with the tasks finished per second.
+     */
+    public double getThroughput() {
+        return (mIntervalNanos <= 0L) ? 0D : getCompletedTasks() / (mIntervalNanos / 1E9);
+    }
+
+    /**
+     * Human readable representation of this class.
+     *
+     * @return {@code String} with the representation.
+     */
+    @Override
+    public String toString() {
+        return "PoolStatistics{intervalMs=" + getInterval(TimeUnit.MILLISECONDS) +
+                ", throughput=" + String.format("%.2f", getThroughput()) +
+                ", queueWait=" + mQueueWait +
+                ", execution=" + mExecution +
+                ", endToEnd=" + mEndToEnd + '}';
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.pools.statistics;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Records the latencies of tasks at three {@link LatencyHistogram}s - queue wait, execution and
+ * end to end - and provides {@link PoolStatistics} snapshots of them.
+ * <p>
+ * Recording a task only needs the three timestamps already taken by whoever runs it, so the
+ * overhead is three lock-free histogram updates per task.
+ */
+public final class TaskLatencyRecorder {
+    private final LatencyHistogram mQueueWait = new LatencyHistogram();
+    private final LatencyHistogram mExecution = new LatencyHistogram();
+    private final LatencyHistogram mEndToEnd = new LatencyHistogram();
+    private volatile long mIntervalStartNanos = System.nanoTime();
+
+    /**
+     * Records the latencies of a finished task.
+     *
+     * @param enqueueNanos time when the task was added, from {@link System#nanoTime()}.
+     * @param startNanos   time when the task started running.
+     * @param endNanos     time when the task finished.
+     */
+    public void record(long enqueueNanos, long startNanos, long endNanos) {
+        mQueueWait.record(startNanos - enqueueNanos);
+        mExecution.record(endNanos - startNanos);
+        mEndToEnd.record(endNanos - enqueueNanos);
+    }
+
+    /**
+     * Takes a snapshot of the latencies recorded during the current interval.
+     *
+     * @param reset whether to start a new interval, so the next snapshot only contains the tasks
+     *              finished after this one.
+     *
+     * @return {@code PoolStatistics} with the latencies.
+     */
+    @NotNull
+    public PoolStatistics getStatistics(boolean reset) {
+        long now = System.nanoTime();
+        long intervalNanos = now - mIntervalStartNanos;
+        if (reset)
+            mIntervalStartNanos = now;
+        return new PoolStatistics(mQueueWait.getSnapshot(reset),
+                mExecution.getSnapshot(reset),
+                mEndToEnd.getSnapshot(reset),
+                intervalNanos);
+    }
+
+    /**
+     * Human readable representation of this class.
+     *
+     * @return {@code String} with the representation.
+     */
+    @Override
+    public String toString() {
+        return "TaskLatencyRecorder{" + getStatistics(false) + '}';
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+package com.github.javinator9889.threading.threads;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * {@code VirtualThreads} provides access to the <b>virtual threads</b> available since Java 21
+ * while keeping this library compatible with Java 8.
+ * <p>
+ * Virtual threads are very cheap threads managed by the JVM instead of the operating system, so
+ * there can be millions of them at the same time. They are the best option for tasks that spend
+ * most of their time <b>blocked</b> (I/O, waiting for other services, etc.).
+ * <p>
+ * As the library is compiled for Java 8, the virtual threads API is accessed by reflection. Use
+ * {@link #isSupported()} for checking whether the running JVM supports them - if not, every other
+ * method throws {@link UnsupportedOperationException}.
+ */
+public final class VirtualThreads {
+    /**
+     * {@code Thread.ofVirtual()} method - {@code null} if not supported.
+     */
+    private static final Method OF_VIRTUAL;
+
+    /**
+     * {@code Thread.Builder#name(String)} method.
+     */
+    private static final Method NAME;
+
+    /**
+     * {@code Thread.Builder#name(String, long)} method.
+     */
+    private static final Method NAME_WITH_COUNTER;
+
+    /**
+     * {@code Thread.Builder#factory()} method.
+     */
+    private static final Method FACTORY;
+
+    /**
+     * {@code Thread.Builder#start(Runnable)} method.
+     */
+    private static final Method START;
+
+    /**
+     * {@code Thread#isVirtual()} method.
+     */
+    private static final Method IS_VIRTUAL;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method nameWithCounter = null;
+        Method factory = null;
+        Method start = null;
+        Method isVirtual = null;
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            name = builderClass.getMethod("name", String.class);
+            nameWithCounter = builderClass.getMethod("name", String.class, long.class);
+            factory = builderClass.getMethod("factory");
+            start = builderClass.getMethod("start", Runnable.class);
+            isVirtual = Thread.class.getMethod("isVirtual");
+            // On Java 19 and 20 virtual threads are a preview feature, so they may be disabled
+            ofVirtual.invoke(null);
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException |
+                InvocationTargetException | RuntimeException ignored) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        NAME_WITH_COUNTER = nameWithCounter;
+        FACTORY = factory;
+        START = start;
+        IS_VIRTUAL = isVirtual;
+    }
+
+    /**
+     * Private constructor - this class cannot be instantiated.
+     */
+    private VirtualThreads() {
+    }
+
+    /**
+     * Checks whether the running JVM supports virtual threads.
+     *
+     * @return {@code true} if virtual threads can be used, else {@code false}.
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Checks whether the given thread is a virtual thread.
+     *
+     * @param thread the thread to check.
+     *
+     * @return {@code true} if it is a virtual thread - always {@code false} when virtual threads
+     * are not supported.
+     */
+    public static boolean isVirtual(@NotNull Thread thread) {
+        if (!isSupported())
+            return false;
+        return (Boolean) invoke(IS_VIRTUAL, thread);
+    }
+
+    /**
+     * Creates a new {@link ThreadFactory} which creates virtual threads, named by using the given
+     * prefix followed by a counter.
+     *
+     * @param namePrefix prefix of the threads' names.
+     *
+     * @return {@code ThreadFactory} of virtual threads.
+     *
+     * @throws UnsupportedOperationException if virtual threads are not supported.
+     */
+    public static ThreadFactory newThreadFactory(@NotNull String namePrefix) {
+        Object builder = invoke(NAME_WITH_COUNTER, newBuilder(), namePrefix, 0L);
+        return (ThreadFactory) invoke(FACTORY, builder);
+    }
+
+    /**
+     * Creates and starts a new virtual thread which runs the given task.
+     *
+     * @param task the task to run.
+     * @param name the name of the new thread.
+     *
+     * @return {@code Thread} the just started virtual thread.
+     *
+     * @throws UnsupportedOperationException if virtual threads are not supported.
+     */
+    public static Thread start(@NotNull Runnable task, @NotNull String name) {
+        Object builder = invoke(NAME, newBuilder(), name);
+        return (Thread) invoke(START, builder, task);
+    }
+
+    /**
+     * Obtains a new {@code Thread.Builder.OfVirtual}.
+     *
+     * @return {@code Object} with the builder.
+     *
+     * @throws UnsupportedOperationException if virtual threads are not supported.
+     */
+    private static Object newBuilder() {
+        if (!isSupported())
+            throw new UnsupportedOperationException("Virtual threads are not supported by this " +
+                    "JVM (" + System.getProperty("java.version") + ") - Java 21 or higher is " +
+                    "required");
+        return invoke(OF_VIRTUAL, null);
+    }
+
+    /**
+     * Invokes the given method, rethrowing any exception as an unchecked one.
+     *
+     * @param method the method to invoke.
+     * @param target the object the method is invoked on - {@code null} for static methods.
+     * @param args   the method arguments.
+     *
+     * @return {@code Object} with the method result.
+     */
+    private static Object invoke(Method method, Object target, Object... args) {
+        try {
+            return method.invoke(target, args);
+        } catch (IllegalAccessException e) {
+            throw new UnsupportedOperationException(e);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new UnsupportedOperationException(cause);
+        }
+    }
+}
@@ -19,6 +19,8 @@
 
 package com.github.javinator9889.threading.threads.notifyingthread;
 
+import com.github.javinator9889.threading.jfr.TaskEvent;
+import com.github.javinator9889.threading.threads.VirtualThreads;
 import com.github.javinator9889.utils.ArgumentParser;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -108,6 +110,13 @@ import java.util.function.Supplier;
  * In addition, this class supports <b>async calling</b> for subscribed classes when the threads
  * finishes. Refer to {@linkplain #setShouldCallSubscribedClassesAsynchronously(boolean) async
  * execution docs} for more information.
+ * <p>
+ * On Java 21 or higher, the executable can also be run on a <b>virtual thread</b> by calling
+ * {@link #startVirtual()} instead of {@link #start()}.
+ * <p>
+ * When added to a {@link com.github.javinator9889.threading.pools.ThreadsPooling} that {@linkplain
+ * com.github.javinator9889.threading.pools.ThreadsPooling.Builder#withPriorityQueue() uses a
+ * priority queue}, its {@linkplain #setPriority(int) priority} decides when it is run.
  */
 @SuppressWarnings("unchecked")
 public class NotifyingThread extends Thread implements Thread.UncaughtExceptionHandler {
@@ -627,6 +636,7 @@ public class NotifyingThread extends Thread implements Thread.UncaughtExceptionH
      * being possible not calling all classes if <b>any exception occurs</b>.
      * </li>
      * </ul>
+     * The call is recorded as a {@link TaskEvent#LISTENER_DISPATCH} Flight Recorder event.
      *
      * @param thread    thread that has just finished its execution (because of an exception or
      *                  finished normally).
@@ -641,13 +651,24 @@ public class NotifyingThread extends Thread implements Thread.UncaughtExceptionH
                                        final @Nullable Throwable exception) {
         if (mSubscribedClasses.isEmpty())
             return;
-        if (mShouldCallSubscribedClassesAsynchronously.get())
-            for (final OnThreadCompletedListener subscribedClass : mSubscribedClasses)
-                new Thread(() -> subscribedClass.onThreadCompletedListener(thread, exception))
-                        .start();
-        else
-            for (OnThreadCompletedListener subscribedClass : mSubscribedClasses)
-                subscribedClass.onThreadCompletedListener(thread, exception);
+        boolean asynchronously = mShouldCallSubscribedClassesAsynchronously.get();
+        Object event = TaskEvent.LISTENER_DISPATCH.begin();
+        try {
+            if (asynchronously)
+                for (final OnThreadCompletedListener subscribedClass : mSubscribedClasses)
+                    new Thread(() -> subscribedClass.onThreadCompletedListener(thread, exception))
+                            .start();
+            else
+                for (OnThreadCompletedListener subscribedClass : mSubscribedClasses)
+                    subscribedClass.onThreadCompletedListener(thread, exception);
+        } finally {
+            if (event != null)
+                TaskEvent.LISTENER_DISPATCH.commit(event,
+                        thread.getName(),
+                        mSubscribedClasses.size(),
+                        exception != null,
+                        asynchronously);
+        }
     }
 
     /**
@@ -964,6 +985,26 @@ public class NotifyingThread extends Thread implements Thread.UncaughtExceptionH
         }
     }
 
+    /**
+     * Causes this thread's executable to be run on a new <b>virtual thread</b> (Java 21 or higher)
+     * instead of on this platform thread - useful when the executable spends most of its time
+     * blocked, as there can be millions of virtual threads at the same time.
+     * <p>
+     * The virtual thread has the same name as this thread, and the subscribed classes are called
+     * exactly the same as when using {@link #start()}, receiving this {@code NotifyingThread} as
+     * the thread that has just finished. As with {@link #start()}, this method must be called
+     * only once and never mixed with {@link #start()}.
+     *
+     * @return {@code Thread} with the just started virtual thread, which can be used for
+     * {@linkplain Thread#join() waiting} its completion.
+     *
+     * @throws UnsupportedOperationException if virtual threads are not supported by the JVM.
+     * @see VirtualThreads
+     */
+    public Thread startVirtual() {
+        return VirtualThreads.start(this, getName());
+    }
+
     /**
      * Method invoked when the given thread terminates due to the given uncaught exception.
      * <p>Any exception thrown by this method will be ignored by the
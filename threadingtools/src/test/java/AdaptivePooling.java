@@ -0,0 +1,88 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+import com.github.javinator9889.threading.pools.ThreadsPooling;
+import com.github.javinator9889.threading.pools.adaptive.AdaptivePoolController;
+import com.github.javinator9889.threading.pools.adaptive.PoolResizeEvent;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class AdaptivePooling {
+    private static final int TASKS = 200;
+
+    @Test
+    public void testPoolGrowsUnderLoadAndShrinksWhenIdle() throws InterruptedException {
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withConcurrentThreadsRunning(1)
+                .withMaximumPoolSize(1)
+                .withQueueCapacity(TASKS)
+                .build();
+        final List<PoolResizeEvent> events = new CopyOnWriteArrayList<>();
+        AdaptivePoolController controller = AdaptivePoolController.builder(pooling)
+                .withMinimumThreads(1)
+                .withMaximumThreads(8)
+                .withTargetQueueWait(20, TimeUnit.MILLISECONDS)
+                .withSamplingPeriod(50, TimeUnit.MILLISECONDS)
+                .withOnPoolResizedListener(events::add)
+                .build();
+        final CountDownLatch latch = new CountDownLatch(TASKS);
+        for (int i = 0; i < TASKS; ++i)
+            pooling.add(() -> {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(20);
+                } catch (InterruptedException ignored) {
+                }
+                latch.countDown();
+            });
+        pooling.start();
+        controller.start();
+        assertTrue(latch.await(1, TimeUnit.MINUTES));
+        assertFalse(events.isEmpty());
+        PoolResizeEvent firstEvent = events.get(0);
+        assertTrue(firstEvent.getNewSize() > firstEvent.getPreviousSize());
+        int largestSize = 0;
+        for (PoolResizeEvent event : events)
+            largestSize = Math.max(largestSize, event.getNewSize());
+        assertTrue(largestSize > 1 && largestSize <= 8);
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+        while (pooling.getConcurrentThreadsRunning() > 1 && System.currentTimeMillis() < deadline)
+            TimeUnit.MILLISECONDS.sleep(50);
+        assertEquals(1, pooling.getConcurrentThreadsRunning());
+        assertEquals(PoolResizeEvent.Reason.LOAD_DECREASED,
+                events.get(events.size() - 1).getReason());
+        events.forEach(System.out::println);
+        assertTrue(pooling.shutdownWaitTermination(1, TimeUnit.MINUTES));
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertFalse(controller.isRunning());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBounds() {
+        AdaptivePoolController.builder(ThreadsPooling.builder().build())
+                .withMinimumThreads(4)
+                .withMaximumThreads(2)
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+import com.github.javinator9889.threading.pools.ThreadsPooling;
+import com.github.javinator9889.threading.pools.queues.RingBufferBlockingQueue;
+import com.github.javinator9889.threading.pools.rejectedhandlers.BatchRejectedExecutionHandler;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class BatchPooling {
+    private static final int CAPACITY = 16;
+    private static final int BATCH_SIZE = 40;
+
+    @Test
+    public void testRingBufferOfferAll() {
+        RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(CAPACITY);
+        List<Integer> elements = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; ++i)
+            elements.add(i);
+        assertEquals(CAPACITY, queue.offerAll(elements));
+        assertEquals(0, queue.offerAll(elements));
+        for (int i = 0; i < CAPACITY; ++i)
+            assertEquals(Integer.valueOf(i), queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testPartialRejectionIsReportedOnce() throws InterruptedException {
+        testPartialRejection(ThreadsPooling.builder().withRingBufferQueue());
+        testPartialRejection(ThreadsPooling.builder());
+    }
+
+    private void testPartialRejection(ThreadsPooling.Builder builder)
+            throws InterruptedException {
+        final List<List<Runnable>> rejectedBatches = new ArrayList<>();
+        final AtomicInteger executed = new AtomicInteger();
+        ThreadsPooling pooling = builder
+                .withQueueCapacity(CAPACITY)
+                .withRejectedExecutionHandler((BatchRejectedExecutionHandler)
+                        (threads, executor) -> rejectedBatches.add(threads))
+                .build();
+        final CountDownLatch latch = new CountDownLatch(CAPACITY);
+        List<Runnable> batch = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; ++i)
+            batch.add(() -> {
+                executed.incrementAndGet();
+                latch.countDown();
+            });
+        assertEquals(CAPACITY, pooling.addAll(batch));
+        assertEquals(1, rejectedBatches.size());
+        assertEquals(batch.subList(CAPACITY, BATCH_SIZE), rejectedBatches.get(0));
+        pooling.start();
+        assertTrue(latch.await(1, TimeUnit.MINUTES));
+        assertTrue(pooling.shutdownWaitTermination(1, TimeUnit.MINUTES));
+        assertEquals(CAPACITY, executed.get());
+    }
+
+    @Test
+    public void testLegacyHandlerIsCalledPerThread() throws InterruptedException {
+        final AtomicInteger rejected = new AtomicInteger();
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withQueueCapacity(CAPACITY)
+                .withRejectedExecutionHandler((thread, executor) -> rejected.incrementAndGet())
+                .build();
+        Runnable[] threads = new Runnable[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; ++i)
+            threads[i] = () -> {
+            };
+        pooling.add(threads);
+        assertEquals(BATCH_SIZE - CAPACITY, rejected.get());
+        pooling.start();
+        assertTrue(pooling.shutdownWaitTermination(1, TimeUnit.MINUTES));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+import com.github.javinator9889.threading.pools.ThreadsPooling;
+import com.github.javinator9889.threading.pools.queues.DeadlineBlockingQueue;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class DeadlinePooling {
+    private static final int TASKS = 50;
+
+    @Test
+    public void testEarliestDeadlineFirst() {
+        DeadlineBlockingQueue<String> queue = new DeadlineBlockingQueue<>(10);
+        assertTrue(queue.offer("no deadline"));
+        assertTrue(queue.offer("third", 30, TimeUnit.SECONDS));
+        assertTrue(queue.offer("first", 10, TimeUnit.SECONDS));
+        assertTrue(queue.offer("second", 20, TimeUnit.SECONDS));
+        assertEquals("first", queue.peek());
+        assertEquals(4, queue.size());
+        assertEquals("first", queue.poll());
+        assertEquals("second", queue.poll());
+        assertEquals("third", queue.poll());
+        assertEquals("no deadline", queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testExpiredElementsAreDropped() throws InterruptedException {
+        final List<String> expired = new ArrayList<>();
+        final AtomicLong lateness = new AtomicLong();
+        DeadlineBlockingQueue<String> queue = new DeadlineBlockingQueue<>(10);
+        queue.setOnElementExpiredListener((element, latenessNanos) -> {
+            expired.add(element);
+            lateness.set(latenessNanos);
+        });
+        assertTrue(queue.offer("already expired", 0, TimeUnit.MILLISECONDS));
+        assertEquals(1, expired.size());
+        assertTrue(queue.isEmpty());
+        assertTrue(queue.offer("expires", 10, TimeUnit.MILLISECONDS));
+        assertTrue(queue.offer("alive", 1, TimeUnit.MINUTES));
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertEquals("alive", queue.take());
+        assertEquals("expires", expired.get(1));
+        assertTrue(lateness.get() >= TimeUnit.MILLISECONDS.toNanos(30));
+        assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testOverloadDropsExpiredTasks() throws InterruptedException {
+        final AtomicInteger expired = new AtomicInteger();
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withConcurrentThreadsRunning(1)
+                .withMaximumPoolSize(1)
+                .withDeadlineQueue((thread, latenessNanos) -> expired.incrementAndGet())
+                .build();
+        testOverload(pooling, expired);
+    }
+
+    @Test
+    public void testExpiredTasksGoToRejectedHandler() throws InterruptedException {
+        final AtomicInteger rejected = new AtomicInteger();
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withConcurrentThreadsRunning(1)
+                .withMaximumPoolSize(1)
+                .withDeadlineQueue()
+                .withRejectedExecutionHandler((thread, executor) -> rejected.incrementAndGet())
+                .build();
+        testOverload(pooling, rejected);
+    }
+
+    private static void testOverload(ThreadsPooling pooling, AtomicInteger dropped)
+            throws InterruptedException {
+        final AtomicInteger executed = new AtomicInteger();
+        for (int i = 0; i < TASKS; ++i)
+            pooling.add(() -> {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(20);
+                } catch (InterruptedException ignored) {
+                }
+                executed.incrementAndGet();
+            }, 100, TimeUnit.MILLISECONDS);
+        final CountDownLatch noDeadline = new CountDownLatch(1);
+        pooling.add(noDeadline::countDown);
+        pooling.start();
+        assertTrue(noDeadline.await(1, TimeUnit.MINUTES));
+        assertTrue(pooling.shutdownWaitTermination(1, TimeUnit.MINUTES));
+        System.out.println("Executed: " + executed + ", dropped: " + dropped);
+        assertEquals(TASKS, executed.get() + dropped.get());
+        assertTrue(executed.get() > 0);
+        assertTrue(dropped.get() > TASKS / 2);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+import com.github.javinator9889.threading.pools.ThreadsPooling;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class EagerGrowthPooling {
+    private static final int CORE_THREADS = 2;
+    private static final int MAXIMUM_THREADS = 8;
+    private static final int BURST = 20;
+
+    private static ThreadsPooling.Builder builder() {
+        return ThreadsPooling.builder()
+                .withConcurrentThreadsRunning(CORE_THREADS)
+                .withMaximumPoolSize(MAXIMUM_THREADS)
+                .withKeepAliveInMilliseconds(100)
+                .withQueueCapacity(100)
+                .withEagerGrowth();
+    }
+
+    @Test
+    public void testBurstUsesMaximumThreads() throws InterruptedException {
+        testBurst(builder(), false);
+        testBurst(builder().withRingBufferQueue(), false);
+        testBurst(builder().withPriorityQueue(), false);
+    }
+
+    @Test
+    public void testBatchBurstUsesMaximumThreads() throws InterruptedException {
+        testBurst(builder(), true);
+        testBurst(builder().withWorkStealing(), true);
+    }
+
+    @Test
+    public void testIdleWorkersAreReused() throws InterruptedException {
+        ThreadsPooling pooling = builder().build();
+        for (int i = 0; i < 50; ++i) {
+            final CountDownLatch done = new CountDownLatch(1);
+            pooling.add(done::countDown);
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        assertEquals(CORE_THREADS, pooling.getPoolSize());
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testBurstWithoutEagerGrowthKeepsCoreSize() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withConcurrentThreadsRunning(CORE_THREADS)
+                .withMaximumPoolSize(MAXIMUM_THREADS)
+                .withQueueCapacity(100)
+                .build();
+        pooling.start();
+        for (int i = 0; i < BURST; ++i)
+            pooling.add(() -> await(release));
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertEquals(CORE_THREADS, pooling.getPoolSize());
+        release.countDown();
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    private static void testBurst(ThreadsPooling.Builder builder, boolean batch)
+            throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(BURST);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final AtomicInteger rejected = new AtomicInteger();
+        ThreadsPooling pooling = builder
+                .withRejectedExecutionHandler((thread, executor) -> rejected.incrementAndGet())
+                .build();
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < BURST; ++i)
+            tasks.add(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                await(release);
+                running.decrementAndGet();
+                finished.countDown();
+            });
+        if (batch)
+            pooling.addAll(tasks);
+        else
+            for (Runnable task : tasks)
+                pooling.add(task);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (maxRunning.get() < MAXIMUM_THREADS && System.nanoTime() < deadline)
+            TimeUnit.MILLISECONDS.sleep(10);
+        assertEquals(MAXIMUM_THREADS, maxRunning.get());
+        assertEquals(MAXIMUM_THREADS, pooling.getPoolSize());
+        assertEquals(0, rejected.get());
+        release.countDown();
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pooling.getPoolSize() > CORE_THREADS && System.nanoTime() < deadline)
+            TimeUnit.MILLISECONDS.sleep(10);
+        assertEquals(CORE_THREADS, pooling.getPoolSize());
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.MINUTES);
+        } catch (InterruptedException ignored) {
+        }
+    }
+}
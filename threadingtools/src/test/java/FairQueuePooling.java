@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+import com.github.javinator9889.threading.pools.ThreadsPooling;
+import com.github.javinator9889.threading.pools.queues.WeightedFairBlockingQueue;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class FairQueuePooling {
+    private static List<String> runInOrder(ThreadsPooling pooling,
+                                           String[] tenants,
+                                           int[] amounts) throws InterruptedException {
+        ConcurrentLinkedQueue<String> order = new ConcurrentLinkedQueue<>();
+        int total = 0;
+        for (int amount : amounts)
+            total += amount;
+        CountDownLatch finished = new CountDownLatch(total);
+        for (int i = 0; i < tenants.length; ++i) {
+            String tenant = tenants[i];
+            for (int j = 0; j < amounts[i]; ++j)
+                pooling.addForTenant(tenant, () -> {
+                    order.add(tenant);
+                    finished.countDown();
+                });
+        }
+        pooling.start();
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+        return new ArrayList<>(order);
+    }
+
+    @Test
+    public void testNoisyTenantDoesNotStarveQuietOne() throws InterruptedException {
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withConcurrentThreadsRunning(1)
+                .withMaximumPoolSize(1)
+                .withFairQueue()
+                .build();
+        List<String> order = runInOrder(pooling,
+                new String[]{"noisy", "quiet"},
+                new int[]{50, 2});
+        assertEquals(52, order.size());
+        assertEquals("quiet", order.get(1));
+        assertEquals("quiet", order.get(3));
+    }
+
+    @Test
+    public void testWeightsAreRespected() throws InterruptedException {
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withConcurrentThreadsRunning(1)
+                .withMaximumPoolSize(1)
+                .withFairQueue()
+                .withTenantWeight("heavy", 3)
+                .build();
+        List<String> order = runInOrder(pooling,
+                new String[]{"heavy", "light"},
+                new int[]{9, 9});
+        int heavy = 0;
+        for (String tenant : order.subList(0, 8))
+            if (tenant.equals("heavy"))
+                ++heavy;
+        assertEquals(6, heavy);
+        assertEquals("light", order.get(3));
+        assertEquals("light", order.get(7));
+    }
+
+    @Test
+    public void testTenantCapacityRejects() {
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withFairQueue(2)
+                .withNoActionOnTaskRejected()
+                .build();
+        for (int i = 0; i < 5; ++i)
+            pooling.addForTenant("noisy", () -> {
+            });
+        pooling.addForTenant("quiet", () -> {
+        });
+        assertEquals(3L, pooling.getRejectedThreadCount());
+        assertEquals(3, pooling.getWorkingThreadsQueue().size());
+        pooling.updateTenantWeight("quiet", 2);
+        pooling.shutdownImmediately();
+    }
+
+    @Test
+    public void testConsumersShareOneTenant() throws InterruptedException {
+        WeightedFairBlockingQueue<Integer> queue = new WeightedFairBlockingQueue<>(10000);
+        queue.setWeight("heavy", 4);
+        for (int i = 0; i < 10000; ++i)
+            assertTrue(queue.offer(i, (i % 100 == 0) ? "light" : "heavy"));
+        AtomicInteger taken = new AtomicInteger();
+        AtomicInteger earlyNulls = new AtomicInteger();
+        Thread[] consumers = new Thread[4];
+        for (int i = 0; i < consumers.length; ++i) {
+            consumers[i] = new Thread(() -> {
+                while (queue.poll() != null)
+                    taken.incrementAndGet();
+                if (queue.iterator().hasNext())
+                    earlyNulls.incrementAndGet();
+            });
+            consumers[i].start();
+        }
+        for (Thread consumer : consumers)
+            consumer.join();
+        assertEquals(0, earlyNulls.get());
+        assertEquals(10000, taken.get());
+        assertEquals(0, queue.getTenantsCount());
+        assertEquals(4, queue.getWeight("heavy"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testWeightWithoutFairQueue() {
+        ThreadsPooling pooling = ThreadsPooling.builder().build();
+        try {
+            pooling.updateTenantWeight("tenant", 2);
+        } finally {
+            pooling.shutdownImmediately();
+        }
+    }
+}
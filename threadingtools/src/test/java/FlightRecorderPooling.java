@@ -0,0 +1,123 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+import com.github.javinator9889.threading.jfr.TaskEvent;
+import com.github.javinator9889.threading.pools.ThreadsPooling;
+import com.github.javinator9889.threading.threads.notifyingthread.NotifyingThread;
+import org.junit.Test;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+public class FlightRecorderPooling {
+    @Test
+    public void testNoWrappingWhenNotRecording() {
+        Runnable task = () -> {
+        };
+        ThreadsPooling pooling = ThreadsPooling.builder().withName("quiet").build();
+        pooling.add(task);
+        assertFalse(TaskEvent.EXECUTION.isEnabled());
+        assertNull(TaskEvent.EXECUTION.begin());
+        assertSame(task, pooling.getWorkingThreadsQueue().peek());
+        assertEquals("quiet", pooling.getName());
+        assertTrue(ThreadsPooling.builder().build().getName().startsWith("pool-"));
+        pooling.shutdownImmediately();
+    }
+
+    @Test
+    public void testEventsAreRecorded() throws Exception {
+        assumeTrue(TaskEvent.isSupported());
+        Class<?> recordingClass = Class.forName("jdk.jfr.Recording");
+        Object recording = recordingClass.getConstructor().newInstance();
+        for (TaskEvent event : TaskEvent.values())
+            recordingClass.getMethod("enable", String.class).invoke(recording, event.getName());
+        recordingClass.getMethod("start").invoke(recording);
+        assertTrue(TaskEvent.EXECUTION.isEnabled());
+
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withName("recorded")
+                .withQueueCapacity(2)
+                .withNoActionOnTaskRejected()
+                .build();
+        pooling.add(() -> {
+        }, () -> {
+        }, () -> {
+        });
+        pooling.start();
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+        NotifyingThread thread = new NotifyingThread(() -> {
+        });
+        thread.setName("notifying");
+        thread.setShouldCallSubscribedClassesAsynchronously(false);
+        thread.addOnThreadCompletedListener((finishedThread, exception) -> {
+        });
+        thread.start();
+        thread.join();
+
+        recordingClass.getMethod("stop").invoke(recording);
+        File file = File.createTempFile("threading-tools", ".jfr");
+        file.deleteOnExit();
+        recordingClass.getMethod("dump", Path.class).invoke(recording, file.toPath());
+        recordingClass.getMethod("close").invoke(recording);
+
+        List<String> names = new ArrayList<>();
+        Class<?> recordedObjectClass = Class.forName("jdk.jfr.consumer.RecordedObject");
+        Method getString = recordedObjectClass.getMethod("getString", String.class);
+        Method getLong = recordedObjectClass.getMethod("getLong", String.class);
+        Method getEventType = Class.forName("jdk.jfr.consumer.RecordedEvent")
+                .getMethod("getEventType");
+        Method getName = Class.forName("jdk.jfr.EventType").getMethod("getName");
+        List<?> events = (List<?>) Class.forName("jdk.jfr.consumer.RecordingFile")
+                .getMethod("readAllEvents", Path.class)
+                .invoke(null, file.toPath());
+        for (Object event : events) {
+            String name = (String) getName.invoke(getEventType.invoke(event));
+            if (!name.startsWith(TaskEvent.NAME_PREFIX))
+                continue;
+            names.add(name);
+            if (name.equals(TaskEvent.LISTENER_DISPATCH.getName())) {
+                assertEquals("notifying", getString.invoke(event, "thread"));
+            } else {
+                assertEquals("recorded", getString.invoke(event, "pool"));
+                if (name.equals(TaskEvent.EXECUTION.getName()))
+                    assertTrue((Long) getLong.invoke(event, "queueWait") >= 0L);
+            }
+        }
+        assertEquals(3, count(names, TaskEvent.ENQUEUED));
+        assertEquals(2, count(names, TaskEvent.EXECUTION));
+        assertEquals(1, count(names, TaskEvent.REJECTED));
+        assertEquals(1, count(names, TaskEvent.LISTENER_DISPATCH));
+        assertFalse(TaskEvent.EXECUTION.isEnabled());
+    }
+
+    private static int count(List<String> names, TaskEvent event) {
+        int count = 0;
+        for (String name : names)
+            if (name.equals(event.getName()))
+                ++count;
+        return count;
+    }
+}
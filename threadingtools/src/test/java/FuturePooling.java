@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+import com.github.javinator9889.threading.errors.NoRejectedHandlerError;
+import com.github.javinator9889.threading.pools.ThreadsPooling;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class FuturePooling {
+    private static final String THREADS_PREFIX = "future-pooling-";
+
+    private static ThreadsPooling newPooling(int queueCapacity) {
+        return ThreadsPooling.builder()
+                .withQueueCapacity(queueCapacity)
+                .withThreadFactory(runnable -> new Thread(runnable, THREADS_PREFIX))
+                .build();
+    }
+
+    private static boolean isPoolThread() {
+        return Thread.currentThread().getName().startsWith(THREADS_PREFIX);
+    }
+
+    private static boolean isJava9OrLater() {
+        return !System.getProperty("java.specification.version").startsWith("1.");
+    }
+
+    @Test
+    public void testDependentStagesRunAtThePool() throws Exception {
+        ThreadsPooling pooling = newPooling(10);
+        pooling.start();
+        CompletableFuture<Integer> stage = pooling.submit(() -> 20)
+                .thenApplyAsync(value -> isPoolThread() ? value * 2 : -1);
+        assertEquals(40, (int) stage.get(1, TimeUnit.MINUTES));
+        if (isJava9OrLater()) {
+            // Java 8 never asks a future for the executor of the stages chained to its stages
+            CompletableFuture<Boolean> future = stage
+                    .thenApply(value -> value + 2)
+                    .thenApplyAsync(value -> value == 42 && isPoolThread());
+            assertTrue(future.get(1, TimeUnit.MINUTES));
+        }
+        assertEquals("supplied", pooling.supply(() -> "supplied").get(1, TimeUnit.MINUTES));
+        final AtomicBoolean ran = new AtomicBoolean();
+        pooling.submit(() -> ran.set(isPoolThread())).get(1, TimeUnit.MINUTES);
+        assertTrue(ran.get());
+        assertTrue(pooling.shutdownWaitTermination(1, TimeUnit.MINUTES));
+    }
+
+    @Test
+    public void testExceptionsCompleteTheFuture() throws InterruptedException {
+        ThreadsPooling pooling = newPooling(10);
+        pooling.start();
+        CompletableFuture<Integer> future = pooling.submit(() -> {
+            throw new IllegalStateException("expected");
+        });
+        try {
+            future.get(1, TimeUnit.MINUTES);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        } catch (Exception e) {
+            fail(e.toString());
+        }
+        assertTrue(pooling.shutdownWaitTermination(1, TimeUnit.MINUTES));
+    }
+
+    @Test
+    public void testRejectedAndCancelledTasks() throws InterruptedException {
+        ThreadsPooling pooling = newPooling(1);
+        final AtomicBoolean ran = new AtomicBoolean();
+        CompletableFuture<Void> cancelled = pooling.submit(() -> ran.set(true));
+        CompletableFuture<Void> rejected = pooling.submit(() -> ran.set(true));
+        assertTrue(rejected.isCompletedExceptionally());
+        try {
+            rejected.join();
+            fail();
+        } catch (Exception e) {
+            assertTrue(e.getCause() instanceof NoRejectedHandlerError);
+        }
+        assertTrue(cancelled.cancel(false));
+        pooling.start();
+        assertTrue(pooling.shutdownWaitTermination(1, TimeUnit.MINUTES));
+        assertFalse(ran.get());
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+import com.github.javinator9889.threading.pools.ThreadsPooling;
+import com.github.javinator9889.threading.pools.rejectedhandlers.BatchRejectedExecutionHandler;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class KeyedPooling {
+    private static final int KEYS = 1000;
+    private static final int TASKS_PER_KEY = 100;
+
+    @Test
+    public void testTasksOfTheSameKeyRunInOrder() throws InterruptedException {
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withQueueCapacity(KEYS * TASKS_PER_KEY)
+                .build();
+        final int[] lastTask = new int[KEYS];
+        final AtomicBoolean[] running = new AtomicBoolean[KEYS];
+        final AtomicInteger concurrentKeys = new AtomicInteger();
+        final AtomicInteger maxConcurrentKeys = new AtomicInteger();
+        final AtomicInteger errors = new AtomicInteger();
+        for (int key = 0; key < KEYS; ++key)
+            running[key] = new AtomicBoolean();
+        pooling.start();
+        for (int task = 1; task <= TASKS_PER_KEY; ++task) {
+            for (int key = 0; key < KEYS; ++key) {
+                final int taskKey = key;
+                final int taskNumber = task;
+                pooling.addKeyed("key-" + key, () -> {
+                    if (!running[taskKey].compareAndSet(false, true))
+                        errors.incrementAndGet();
+                    maxConcurrentKeys.accumulateAndGet(concurrentKeys.incrementAndGet(),
+                            Math::max);
+                    if (lastTask[taskKey] != taskNumber - 1)
+                        errors.incrementAndGet();
+                    lastTask[taskKey] = taskNumber;
+                    concurrentKeys.decrementAndGet();
+                    running[taskKey].set(false);
+                });
+            }
+        }
+        assertTrue(pooling.shutdownWaitTermination(1, TimeUnit.MINUTES));
+        assertEquals(0, errors.get());
+        for (int key = 0; key < KEYS; ++key)
+            assertEquals(TASKS_PER_KEY, lastTask[key]);
+        assertEquals(0, pooling.getPendingKeysCount());
+        System.out.println("Maximum concurrent keys: " + maxConcurrentKeys.get());
+    }
+
+    @Test
+    public void testRejectedMailboxGivesItsTasks() throws InterruptedException {
+        final List<Runnable> rejected = new ArrayList<>();
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withQueueCapacity(1)
+                .withRejectedExecutionHandler((BatchRejectedExecutionHandler)
+                        (threads, executor) -> rejected.addAll(threads))
+                .build();
+        final AtomicInteger executed = new AtomicInteger();
+        Runnable first = executed::incrementAndGet;
+        Runnable second = executed::incrementAndGet;
+        Runnable rejectedTask = executed::incrementAndGet;
+        pooling.addKeyed("first", first);
+        pooling.addKeyed("first", second);
+        pooling.addKeyed("second", rejectedTask);
+        assertEquals(1, rejected.size());
+        assertSame(rejectedTask, rejected.get(0));
+        assertEquals(1, pooling.getPendingKeysCount());
+        pooling.start();
+        assertTrue(pooling.shutdownWaitTermination(1, TimeUnit.MINUTES));
+        assertEquals(2, executed.get());
+        assertEquals(0, pooling.getPendingKeysCount());
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+import com.github.javinator9889.threading.pools.ThreadsPooling;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class MBeanPooling {
+    private final MBeanServer mServer = ManagementFactory.getPlatformMBeanServer();
+
+    @Test
+    public void testAttributesAndOperations() throws Exception {
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withConcurrentThreadsRunning(2)
+                .withMaximumPoolSize(4)
+                .withQueueCapacity(2)
+                .withNoActionOnTaskRejected()
+                .withMBean("orders")
+                .build();
+        ObjectName objectName = pooling.getObjectName();
+        assertNotNull(objectName);
+        assertEquals("orders", objectName.getKeyProperty("name"));
+        assertTrue(mServer.isRegistered(objectName));
+        pooling.add(() -> {
+        }, () -> {
+        }, () -> {
+        });
+        assertEquals("orders", mServer.getAttribute(objectName, "Name"));
+        assertEquals(2, mServer.getAttribute(objectName, "QueueSize"));
+        assertEquals(0, mServer.getAttribute(objectName, "QueueRemainingCapacity"));
+        assertEquals(1L, mServer.getAttribute(objectName, "RejectedThreadCount"));
+        assertEquals(-1L, mServer.getAttribute(objectName, "EndToEndP99Micros"));
+        mServer.invoke(objectName, "updateConcurrentThreadsRunning", new Object[]{3},
+                new String[]{int.class.getName()});
+        mServer.invoke(objectName, "updateMaximumActiveThreads", new Object[]{6},
+                new String[]{int.class.getName()});
+        mServer.invoke(objectName, "updateKeepAliveTime", new Object[]{250L},
+                new String[]{long.class.getName()});
+        assertEquals(3, pooling.getConcurrentThreadsRunning());
+        assertEquals(6, pooling.getMaximumThreadsRunning());
+        assertEquals(250L, mServer.getAttribute(objectName, "KeepAliveTimeMillis"));
+        pooling.start();
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+        assertFalse(mServer.isRegistered(objectName));
+        assertNull(pooling.getObjectName());
+        assertEquals(2L, pooling.getCompletedThreadCount());
+    }
+
+    @Test
+    public void testLatencyPercentiles() throws Exception {
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withStatistics()
+                .withMBean()
+                .build();
+        ObjectName objectName = pooling.getObjectName();
+        assertNotNull(objectName);
+        assertTrue(objectName.getKeyProperty("name").startsWith("pool-"));
+        pooling.start();
+        for (int i = 0; i < 10; ++i)
+            pooling.submit(() -> {
+                TimeUnit.MILLISECONDS.sleep(2);
+                return null;
+            }).get(10, TimeUnit.SECONDS);
+        long executionP50 = (Long) mServer.getAttribute(objectName, "ExecutionP50Micros");
+        assertTrue(executionP50 >= 2000);
+        assertTrue((Long) mServer.getAttribute(objectName, "EndToEndP99Micros") >= executionP50);
+        mServer.invoke(objectName, "resetStatistics", new Object[0], new String[0]);
+        assertEquals(0, pooling.getStatistics().getCompletedTasks());
+        pooling.shutdownImmediately();
+        assertFalse(mServer.isRegistered(objectName));
+    }
+
+    @Test
+    public void testNames() {
+        ThreadsPooling quoted = ThreadsPooling.builder().withMBean("io:workers,1").build();
+        ObjectName objectName = quoted.getObjectName();
+        assertNotNull(objectName);
+        assertEquals("io:workers,1", ObjectName.unquote(objectName.getKeyProperty("name")));
+        try {
+            ThreadsPooling.builder().withMBean("io:workers,1").build();
+            fail("Names must be unique");
+        } catch (IllegalArgumentException ignored) {
+        }
+        quoted.shutdownNotWaiting();
+        assertFalse(mServer.isRegistered(objectName));
+        assertNull(ThreadsPooling.builder().build().getObjectName());
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+import com.github.javinator9889.threading.pools.MicroBatcher;
+import com.github.javinator9889.threading.pools.ThreadsPooling;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class MicroBatchingPooling {
+    private static final int ITEMS = 200000;
+    private static final int MAXIMUM_BATCH_SIZE = 500;
+
+    @Test
+    public void testHighRateGroupsItems() throws InterruptedException {
+        final AtomicLong delivered = new AtomicLong();
+        final AtomicInteger batches = new AtomicInteger();
+        final AtomicInteger largestBatch = new AtomicInteger();
+        ThreadsPooling pooling = ThreadsPooling.builder().build();
+        MicroBatcher<Integer> batcher = pooling.batcher((List<Integer> items) -> {
+            delivered.addAndGet(items.size());
+            batches.incrementAndGet();
+            largestBatch.accumulateAndGet(items.size(), Math::max);
+        })
+                .withMaximumBatchSize(MAXIMUM_BATCH_SIZE)
+                .withLinger(5, TimeUnit.MILLISECONDS)
+                .withBufferCapacity(ITEMS)
+                .build();
+        pooling.start();
+        for (int i = 0; i < ITEMS; ++i)
+            assertTrue(batcher.add(i));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (delivered.get() < ITEMS && System.nanoTime() < deadline)
+            TimeUnit.MILLISECONDS.sleep(10);
+        assertEquals(ITEMS, delivered.get());
+        assertEquals(0, batcher.getBufferedCount());
+        assertTrue(largestBatch.get() <= MAXIMUM_BATCH_SIZE);
+        System.out.println(ITEMS + " items delivered in " + batches + " batches - " + batcher);
+        assertTrue(batches.get() < ITEMS / 10);
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testLowRateDoesNotWait() throws InterruptedException {
+        final AtomicLong latency = new AtomicLong();
+        ThreadsPooling pooling = ThreadsPooling.builder().build();
+        MicroBatcher<Long> batcher = pooling.batcher((List<Long> items) -> {
+            for (long addedAt : items)
+                latency.accumulateAndGet(System.nanoTime() - addedAt, Math::max);
+        })
+                .withLinger(1, TimeUnit.SECONDS)
+                .build();
+        pooling.start();
+        for (int i = 0; i < 20; ++i) {
+            batcher.add(System.nanoTime());
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        assertEquals(1, batcher.getBatchSize());
+        assertTrue(latency.get() < TimeUnit.MILLISECONDS.toNanos(500));
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testLingerFlushesPendingItems() throws InterruptedException {
+        final CountDownLatch delivered = new CountDownLatch(11);
+        ThreadsPooling pooling = ThreadsPooling.builder().build();
+        MicroBatcher<Integer> batcher = pooling.batcher((List<Integer> items) -> {
+            for (Integer ignored : items)
+                delivered.countDown();
+        })
+                .withMaximumConcurrentBatches(1)
+                .withLinger(50, TimeUnit.MILLISECONDS)
+                .build();
+        for (int i = 0; i < 11; ++i)
+            batcher.add(i);
+        assertEquals(10, batcher.getBufferedCount());
+        pooling.start();
+        assertTrue(delivered.await(10, TimeUnit.SECONDS));
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testRejectedLingerFlushIsNotLost() throws InterruptedException {
+        final AtomicInteger delivered = new AtomicInteger();
+        final AtomicInteger rejected = new AtomicInteger();
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withConcurrentThreadsRunning(1)
+                .withMaximumPoolSize(1)
+                .withQueueCapacity(2)
+                .withRejectedExecutionHandler((thread, executor) -> rejected.incrementAndGet())
+                .build();
+        MicroBatcher<Integer> batcher = pooling.batcher((List<Integer> items) ->
+                delivered.addAndGet(items.size()))
+                .withMaximumConcurrentBatches(1)
+                .withLinger(20, TimeUnit.MILLISECONDS)
+                .build();
+        // the first batch and another task fill the queue, so the linger flush is rejected
+        batcher.add(0);
+        pooling.add(() -> {
+        });
+        for (int i = 1; i < 4; ++i)
+            batcher.add(i);
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertEquals(3, batcher.getBufferedCount());
+        assertEquals(0, rejected.get());
+        pooling.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (delivered.get() < 4 && System.nanoTime() < deadline)
+            TimeUnit.MILLISECONDS.sleep(10);
+        assertEquals(4, delivered.get());
+        assertEquals(0, rejected.get());
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFullBufferUsesRejectedHandler() throws InterruptedException {
+        final AtomicInteger delivered = new AtomicInteger();
+        final AtomicInteger rejected = new AtomicInteger();
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withRejectedExecutionHandler((thread, executor) -> {
+                    rejected.incrementAndGet();
+                    thread.run();
+                })
+                .build();
+        MicroBatcher<Integer> batcher = pooling.batcher((List<Integer> items) ->
+                delivered.addAndGet(items.size()))
+                .withMaximumConcurrentBatches(1)
+                .withBufferCapacity(10)
+                .build();
+        int accepted = 0;
+        for (int i = 0; i < 20; ++i)
+            if (batcher.add(i))
+                ++accepted;
+        assertEquals(11, accepted);
+        assertEquals(9, rejected.get());
+        assertEquals(9, delivered.get());
+        pooling.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (delivered.get() < 20 && System.nanoTime() < deadline)
+            TimeUnit.MILLISECONDS.sleep(10);
+        assertEquals(20, delivered.get());
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+import com.github.javinator9889.threading.pools.ThreadsPooling;
+import org.junit.Test;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.*;
+
+public class ParallelLoopsPooling {
+    private static final int SIZE = 1 << 20;
+
+    @Test
+    public void testParallelForRunsEveryIndexOnce() throws InterruptedException {
+        ThreadsPooling pooling = ThreadsPooling.builder().build();
+        pooling.start();
+        AtomicIntegerArray runs = new AtomicIntegerArray(SIZE);
+        pooling.parallelFor(0, SIZE, runs::incrementAndGet);
+        for (int i = 0; i < SIZE; ++i)
+            assertEquals(1, runs.get(i));
+        pooling.parallelFor(5, 5, index -> fail("Empty ranges must not run the body"));
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testParallelMapKeepsOrder() throws InterruptedException {
+        ThreadsPooling pooling = ThreadsPooling.builder().build();
+        pooling.start();
+        List<Integer> items = new LinkedList<>();
+        for (int i = 0; i < 10000; ++i)
+            items.add(i);
+        List<String> results = pooling.parallelMap(items, String::valueOf);
+        assertEquals(items.size(), results.size());
+        for (int i = 0; i < results.size(); ++i)
+            assertEquals(String.valueOf(i), results.get(i));
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testParallelReduceCombinesInOrder() throws InterruptedException {
+        ThreadsPooling pooling = ThreadsPooling.builder().build();
+        pooling.start();
+        long sum = pooling.parallelReduce(0, SIZE, 0L,
+                (Long partialSum, Integer index) -> partialSum + index, Long::sum);
+        assertEquals((long) SIZE * (SIZE - 1) / 2, sum);
+        String digits = pooling.parallelReduce(0, 1000, "",
+                (String partial, Integer index) -> partial + index % 10, String::concat);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; ++i)
+            expected.append(i % 10);
+        assertEquals(expected.toString(), digits);
+        assertEquals("identity", pooling.parallelReduce(3, 3, "identity",
+                (String partial, Integer index) -> partial + index, String::concat));
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testExceptionIsThrownAtCaller() throws InterruptedException {
+        ThreadsPooling pooling = ThreadsPooling.builder().build();
+        pooling.start();
+        try {
+            pooling.parallelFor(0, SIZE, index -> {
+                if (index == SIZE / 2)
+                    throw new IllegalStateException("Failing index");
+            });
+            fail("The exception must be thrown at the caller");
+        } catch (IllegalStateException e) {
+            assertEquals("Failing index", e.getMessage());
+        }
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testNestedLoopsDoNotDeadlock() throws Exception {
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withConcurrentThreadsRunning(1)
+                .withMaximumPoolSize(1)
+                .build();
+        pooling.start();
+        CompletableFuture<Long> result = pooling.supply(() -> pooling.parallelReduce(0, 1000, 0L,
+                (Long partialSum, Integer index) -> partialSum + pooling.parallelReduce(0, index,
+                        0L, (Long innerSum, Integer innerIndex) -> innerSum + 1, Long::sum),
+                Long::sum));
+        assertEquals(1000L * 999 / 2, (long) result.get(10, TimeUnit.SECONDS));
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSpeedup() throws InterruptedException {
+        int processors = Runtime.getRuntime().availableProcessors();
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withConcurrentThreadsRunning(processors)
+                .withMaximumPoolSize(processors)
+                .build();
+        pooling.start();
+        double[] values = new double[SIZE * 4];
+        long sequentialStart = System.nanoTime();
+        for (int i = 0; i < values.length; ++i)
+            values[i] = heavyOperation(i);
+        long sequentialNanos = System.nanoTime() - sequentialStart;
+        double[] parallelValues = new double[values.length];
+        long parallelStart = System.nanoTime();
+        pooling.parallelFor(0, values.length,
+                index -> parallelValues[index] = heavyOperation(index));
+        long parallelNanos = System.nanoTime() - parallelStart;
+        assertArrayEquals(values, parallelValues, 0D);
+        double speedup = (double) sequentialNanos / parallelNanos;
+        double minimumSpeedup = processors > 1 ? 1.2D : 0.5D;
+        assertTrue(String.format("%d processors - speedup %.2f lower than %.2f", processors,
+                speedup, minimumSpeedup), speedup >= minimumSpeedup);
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    private static double heavyOperation(int index) {
+        return Math.tanh(Math.pow(index * 1.5, 0.75)) / Math.PI;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+import com.github.javinator9889.threading.pools.pipeline.Pipeline;
+import com.github.javinator9889.threading.pools.pipeline.StageStatistics;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class PipelinePooling {
+    private static final int ITEMS = 50000;
+
+    @Test
+    public void testItemsGoThroughEveryStage() throws InterruptedException {
+        final AtomicLong sum = new AtomicLong();
+        final Set<Integer> seen = ConcurrentHashMap.newKeySet();
+        Pipeline<String> pipeline =
+                Pipeline.<String, Integer>builder("parse", 2, Integer::parseInt)
+                        .then("filter", 2, (Integer value) -> (value % 2 == 0) ? value : null)
+                        .withBatchSize(64)
+                        .thenAccept("store", 1, (Integer value) -> {
+                            seen.add(value);
+                            sum.addAndGet(value);
+                        })
+                        .withQueueCapacity(16)
+                        .build();
+        pipeline.start();
+        long expected = 0;
+        for (int i = 0; i < ITEMS; ++i) {
+            pipeline.put(String.valueOf(i));
+            if (i % 2 == 0)
+                expected += i;
+        }
+        pipeline.shutdown();
+        assertTrue(pipeline.awaitTermination(30, TimeUnit.SECONDS));
+        assertTrue(pipeline.isTerminated());
+        assertEquals(ITEMS / 2, seen.size());
+        assertEquals(expected, sum.get());
+        List<StageStatistics> statistics = pipeline.getStatistics();
+        assertEquals(3, statistics.size());
+        assertEquals(ITEMS, statistics.get(0).getProcessed());
+        assertEquals(ITEMS, statistics.get(1).getProcessed());
+        assertEquals(ITEMS / 2, statistics.get(2).getProcessed());
+        try {
+            pipeline.put("0");
+            fail("Items must be rejected after shutting down");
+        } catch (RejectedExecutionException ignored) {
+        }
+    }
+
+    @Test
+    public void testBackpressureAndBottleneck() throws InterruptedException {
+        final AtomicLong stored = new AtomicLong();
+        Pipeline<Integer> pipeline = Pipeline.builder("fast", 1, (Integer value) -> value + 1)
+                .withQueueCapacity(8)
+                .then("slow", 1, (Integer value) -> {
+                    sleep(2);
+                    return value;
+                })
+                .withQueueCapacity(8)
+                .withBatchSize(1)
+                .thenAccept("sink", 1, (Integer value) -> stored.incrementAndGet())
+                .build();
+        pipeline.start();
+        int accepted = 0;
+        while (pipeline.offer(accepted))
+            ++accepted;
+        // both queues plus the batches being processed by the workers
+        assertTrue("Unbounded pipeline - " + accepted + " items accepted", accepted <= 8 * 4 + 2);
+        for (int i = 0; i < 100; ++i)
+            pipeline.put(i);
+        List<StageStatistics> statistics = pipeline.getStatistics();
+        System.out.println(statistics);
+        assertEquals(8, statistics.get(0).getQueueCapacity());
+        assertTrue(statistics.get(0).getBlockedRatio() > statistics.get(1).getBlockedRatio());
+        StageStatistics bottleneck = pipeline.getBottleneck();
+        assertNotNull(bottleneck);
+        assertEquals("slow", bottleneck.getName());
+        pipeline.shutdown();
+        assertTrue(pipeline.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(accepted + 100, stored.get());
+    }
+
+    @Test
+    public void testShutdownNowDiscardsItems() throws InterruptedException {
+        Pipeline<Integer> pipeline = Pipeline.builder("slow", 1, (Integer value) -> {
+            sleep(1000);
+            return value;
+        })
+                .build();
+        pipeline.start();
+        for (int i = 0; i < 10; ++i)
+            pipeline.put(i);
+        pipeline.shutdownNow();
+        assertTrue(pipeline.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(pipeline.isShutdown());
+        try {
+            pipeline.offer(0);
+            fail("Items must be rejected after shutting down");
+        } catch (RejectedExecutionException ignored) {
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
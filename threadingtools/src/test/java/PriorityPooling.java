@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+import com.github.javinator9889.threading.pools.ThreadsPooling;
+import com.github.javinator9889.threading.pools.queues.PriorityBucketBlockingQueue;
+import com.github.javinator9889.threading.threads.notifyingthread.NotifyingThread;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class PriorityPooling {
+    @Test
+    public void testHigherPrioritiesAreTakenFirst() {
+        PriorityBucketBlockingQueue<String> queue = new PriorityBucketBlockingQueue<>(10);
+        assertTrue(queue.offer("normal"));
+        assertTrue(queue.offer("low", Thread.MIN_PRIORITY));
+        assertTrue(queue.offer("high", Thread.MAX_PRIORITY));
+        assertTrue(queue.offer("high-2", Thread.MAX_PRIORITY));
+        assertEquals("high", queue.peek());
+        assertEquals("high", queue.poll());
+        assertEquals("high-2", queue.poll());
+        assertEquals("normal", queue.poll());
+        assertEquals("low", queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testLowPrioritiesAge() throws InterruptedException {
+        PriorityBucketBlockingQueue<String> queue =
+                new PriorityBucketBlockingQueue<>(10, 10, TimeUnit.MILLISECONDS);
+        assertTrue(queue.offer("low", Thread.MIN_PRIORITY));
+        TimeUnit.MILLISECONDS.sleep(150);
+        assertTrue(queue.offer("high", Thread.MAX_PRIORITY));
+        assertEquals("low", queue.poll());
+        assertEquals("high", queue.poll());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPriority() {
+        ThreadsPooling.builder().withPriorityQueue().build().add(() -> {
+        }, Thread.MAX_PRIORITY + 1);
+    }
+
+    @Test
+    public void testPoolingRunsByPriority() throws InterruptedException {
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withConcurrentThreadsRunning(1)
+                .withMaximumPoolSize(1)
+                .withPriorityQueue()
+                .build();
+        final List<Integer> order = new CopyOnWriteArrayList<>();
+        for (int priority = Thread.MIN_PRIORITY; priority < Thread.MAX_PRIORITY; ++priority) {
+            final int taskPriority = priority;
+            pooling.add(() -> order.add(taskPriority), taskPriority);
+        }
+        NotifyingThread thread = new NotifyingThread();
+        thread.setExecutable(() -> order.add(Thread.MAX_PRIORITY));
+        thread.setPriority(Thread.MAX_PRIORITY);
+        pooling.add(thread);
+        pooling.start();
+        assertTrue(pooling.shutdownWaitTermination(1, TimeUnit.MINUTES));
+        assertEquals(Thread.MAX_PRIORITY, order.size());
+        for (int i = 0; i < order.size(); ++i)
+            assertEquals(Integer.valueOf(Thread.MAX_PRIORITY - i), order.get(i));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+import com.github.javinator9889.threading.pools.ThreadsPooling;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class RateLimitPooling {
+    @Test
+    public void testRateIsLimited() throws InterruptedException {
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withConcurrentThreadsRunning(4)
+                .withMaximumPoolSize(4)
+                .withRateLimit(10, 100, TimeUnit.MILLISECONDS, 1)
+                .build();
+        ConcurrentLinkedQueue<Long> startTimes = new ConcurrentLinkedQueue<>();
+        CountDownLatch finished = new CountDownLatch(21);
+        pooling.start();
+        for (int i = 0; i < 21; ++i)
+            pooling.add(() -> {
+                startTimes.add(System.nanoTime());
+                finished.countDown();
+            });
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        List<Long> times = new ArrayList<>(startTimes);
+        Collections.sort(times);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(times.get(times.size() - 1) - times.get(0));
+        assertTrue("Elapsed " + elapsedMs + " ms", elapsedMs >= 180);
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testBurstAndBacklog() throws InterruptedException {
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withConcurrentThreadsRunning(2)
+                .withMaximumPoolSize(2)
+                .withQueueCapacity(4)
+                .withNoActionOnTaskRejected()
+                .withRateLimit(1, 1, TimeUnit.HOURS, 3)
+                .build();
+        CountDownLatch finished = new CountDownLatch(4);
+        for (int i = 0; i < 6; ++i)
+            pooling.add(finished::countDown);
+        assertEquals(2L, pooling.getRejectedThreadCount());
+        pooling.start();
+        assertFalse(finished.await(500, TimeUnit.MILLISECONDS));
+        assertEquals(1L, finished.getCount());
+        pooling.shutdownImmediately();
+    }
+
+    @Test
+    public void testRetuningKeepsTheRate() throws InterruptedException {
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withConcurrentThreadsRunning(4)
+                .withMaximumPoolSize(4)
+                .withRateLimit(1, 10, TimeUnit.SECONDS, 1)
+                .build();
+        AtomicInteger started = new AtomicInteger();
+        pooling.start();
+        for (int i = 0; i < 8; ++i)
+            pooling.add(started::incrementAndGet);
+        Thread.sleep(200);
+        assertEquals(1, started.get());
+        pooling.updateKeepAliveTime(30, TimeUnit.SECONDS);
+        pooling.updateConcurrentThreadsRunning(2);
+        Thread.sleep(500);
+        assertEquals(1, started.get());
+        pooling.shutdownImmediately();
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEagerGrowthIsRejected() {
+        ThreadsPooling.builder()
+                .withEagerGrowth()
+                .withRateLimit(1, 1, TimeUnit.SECONDS)
+                .build();
+    }
+}
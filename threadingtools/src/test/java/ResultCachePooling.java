@@ -0,0 +1,173 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+import com.github.javinator9889.threading.pools.ResultCache;
+import com.github.javinator9889.threading.pools.ThreadsPooling;
+import com.github.javinator9889.utils.ArgumentParser;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ResultCachePooling {
+    private static ArgumentParser args(int value) {
+        ArgumentParser parser = new ArgumentParser(1);
+        parser.putParam("value", value);
+        return parser;
+    }
+
+    private static int square(ArgumentParser args) {
+        int value = (Integer) args.get("value");
+        return value * value;
+    }
+
+    @Test
+    public void testConcurrentCallsShareOneExecution() throws Exception {
+        ThreadsPooling pooling = ThreadsPooling.builder().build();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ResultCache<Integer> cache = pooling.resultCache((ArgumentParser args) -> {
+            executions.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+            }
+            return square(args);
+        }).build();
+        pooling.start();
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 5; ++i)
+            results.add(cache.apply(args(3)));
+        release.countDown();
+        for (CompletableFuture<Integer> result : results)
+            assertEquals(9, (int) result.get(10, TimeUnit.SECONDS));
+        assertEquals(1, executions.get());
+        assertEquals(4L, cache.getHitCount());
+        assertEquals(1L, cache.getMissCount());
+        assertEquals(0.8D, cache.getHitRate(), 1E-9);
+        assertEquals(0.2D, cache.getMissRate(), 1E-9);
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testHitsSkipThePool() throws Exception {
+        ThreadsPooling pooling = ThreadsPooling.builder().build();
+        ResultCache<Integer> cache = pooling.resultCache(ResultCachePooling::square).build();
+        pooling.start();
+        ArgumentParser parser = args(4);
+        assertEquals(16, (int) cache.apply(parser).get(10, TimeUnit.SECONDS));
+        parser.putParam("value", 5);
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+        CompletableFuture<Integer> result = cache.apply(args(4));
+        assertTrue(result.isDone());
+        assertEquals(16, (int) result.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testExpirationAndEviction() throws Exception {
+        ThreadsPooling pooling = ThreadsPooling.builder().build();
+        AtomicInteger executions = new AtomicInteger();
+        ResultCache<Integer> cache = pooling.resultCache((ArgumentParser args) -> {
+            executions.incrementAndGet();
+            return square(args);
+        }).withMaximumSize(2).withTimeToLive(100, TimeUnit.MILLISECONDS).build();
+        pooling.start();
+        for (int i = 0; i < 3; ++i)
+            cache.apply(args(i)).get(10, TimeUnit.SECONDS);
+        assertEquals(3, executions.get());
+        assertEquals(2, cache.size());
+        cache.apply(args(0)).get(10, TimeUnit.SECONDS);
+        assertEquals(4, executions.get());
+        Thread.sleep(150);
+        cache.apply(args(0)).get(10, TimeUnit.SECONDS);
+        assertEquals(5, executions.get());
+        assertEquals(0L, cache.getHitCount());
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFailuresAreNotCached() throws Exception {
+        ThreadsPooling pooling = ThreadsPooling.builder().build();
+        AtomicInteger executions = new AtomicInteger();
+        ResultCache<Integer> cache = pooling.resultCache((ArgumentParser args) -> {
+            if (executions.incrementAndGet() == 1)
+                throw new IllegalStateException("First execution fails");
+            return square(args);
+        }).build();
+        pooling.start();
+        try {
+            cache.apply(args(2)).get(10, TimeUnit.SECONDS);
+            fail("The first execution must fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(4, (int) cache.apply(args(2)).get(10, TimeUnit.SECONDS));
+        assertEquals(2, executions.get());
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+    @Test
+    public void testRejectedExecutionsFail() throws Exception {
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withQueueCapacity(1)
+                .withNoActionOnTaskRejected()
+                .build();
+        ResultCache<Integer> cache = pooling.resultCache(ResultCachePooling::square).build();
+        CompletableFuture<Integer> queued = cache.apply(args(1));
+        try {
+            cache.apply(args(2)).get(10, TimeUnit.SECONDS);
+            fail("The execution must be rejected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+        pooling.start();
+        assertEquals(1, (int) queued.get(10, TimeUnit.SECONDS));
+        assertEquals(4, (int) cache.apply(args(2)).get(10, TimeUnit.SECONDS));
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testInvalidatedResultsAreNotEvicted() throws Exception {
+        ThreadsPooling pooling = ThreadsPooling.builder().build();
+        ResultCache<Integer> cache = pooling.resultCache(ResultCachePooling::square)
+                .withMaximumSize(2)
+                .build();
+        pooling.start();
+        cache.apply(args(0)).get(10, TimeUnit.SECONDS);
+        cache.apply(args(1)).get(10, TimeUnit.SECONDS);
+        cache.invalidate(args(1));
+        cache.apply(args(2)).get(10, TimeUnit.SECONDS);
+        assertEquals(2, cache.size());
+        assertTrue(cache.apply(args(0)).isDone());
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+        cache.apply(args(3)).get(10, TimeUnit.SECONDS);
+        cache.apply(args(4)).get(10, TimeUnit.SECONDS);
+        assertEquals(2, cache.size());
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+}
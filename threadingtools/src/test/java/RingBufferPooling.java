@@ -0,0 +1,120 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+import com.github.javinator9889.threading.pools.ThreadsPooling;
+import com.github.javinator9889.threading.pools.queues.RingBufferBlockingQueue;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class RingBufferPooling {
+    private static final int PRODUCERS = 4;
+    private static final int CONSUMERS = 4;
+    private static final int ITEMS_PER_PRODUCER = 100000;
+
+    @Test
+    public void testCapacityIsRoundedToPowerOfTwo() {
+        RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(100);
+        assertEquals(128, queue.capacity());
+        for (int i = 0; i < 128; ++i)
+            assertTrue(queue.offer(i));
+        assertFalse(queue.offer(128));
+        assertEquals(0, queue.remainingCapacity());
+        assertEquals(Integer.valueOf(0), queue.poll());
+        assertTrue(queue.remove(64));
+        assertEquals(126, queue.drainTo(new ArrayList<>()));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testRemovedElementsAreNotCounted() {
+        RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(4);
+        assertTrue(queue.offer(1));
+        assertTrue(queue.offer(2));
+        assertTrue(queue.remove(2));
+        assertEquals(1, queue.size());
+        assertTrue(queue.remove(1));
+        assertEquals(0, queue.size());
+        assertTrue(queue.isEmpty());
+        assertEquals(2, queue.remainingCapacity());
+        assertNull(queue.poll());
+        assertEquals(4, queue.remainingCapacity());
+        assertTrue(queue.offer(3));
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void testMultipleProducersAndConsumers() throws InterruptedException {
+        final RingBufferBlockingQueue<Long> queue = new RingBufferBlockingQueue<>(1024);
+        final AtomicLong sum = new AtomicLong();
+        final AtomicInteger received = new AtomicInteger();
+        final int total = PRODUCERS * ITEMS_PER_PRODUCER;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; ++p)
+            threads.add(new Thread(() -> {
+                try {
+                    for (long i = 1; i <= ITEMS_PER_PRODUCER; ++i)
+                        queue.put(i);
+                } catch (InterruptedException ignored) {
+                }
+            }));
+        for (int c = 0; c < CONSUMERS; ++c)
+            threads.add(new Thread(() -> {
+                try {
+                    while (received.get() < total) {
+                        Long value = queue.poll(10, TimeUnit.MILLISECONDS);
+                        if (value != null) {
+                            sum.addAndGet(value);
+                            received.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException ignored) {
+                }
+            }));
+        for (Thread thread : threads)
+            thread.start();
+        for (Thread thread : threads)
+            thread.join();
+        long expected = (long) ITEMS_PER_PRODUCER * (ITEMS_PER_PRODUCER + 1) / 2 * PRODUCERS;
+        assertEquals(total, received.get());
+        assertEquals(expected, sum.get());
+    }
+
+    @Test
+    public void testPoolingWithRingBuffer() throws InterruptedException {
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withRingBufferQueue()
+                .withQueueCapacity(100)
+                .build();
+        assertTrue(pooling.getWorkingThreadsQueue() instanceof RingBufferBlockingQueue);
+        final CountDownLatch latch = new CountDownLatch(100);
+        for (int i = 0; i < 100; ++i)
+            pooling.add(latch::countDown);
+        pooling.start();
+        assertTrue(latch.await(1, TimeUnit.MINUTES));
+        assertTrue(pooling.shutdownWaitTermination(1, TimeUnit.MINUTES));
+    }
+}
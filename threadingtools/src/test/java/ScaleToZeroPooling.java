@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+import com.github.javinator9889.threading.pools.ThreadsPooling;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ScaleToZeroPooling {
+    private static void awaitPoolSize(ThreadsPooling pooling, int poolSize)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pooling.getPoolSize() != poolSize && System.nanoTime() < deadline)
+            Thread.sleep(10);
+        assertEquals(poolSize, pooling.getPoolSize());
+    }
+
+    @Test
+    public void testIdlePoolReleasesEveryWorker() throws InterruptedException {
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withConcurrentThreadsRunning(3)
+                .withMaximumPoolSize(3)
+                .withScaleToZero(50, TimeUnit.MILLISECONDS)
+                .build();
+        assertTrue(pooling.isScalingToZero());
+        assertEquals(0L, pooling.getNativeMemorySavings());
+        assertEquals(3, pooling.start());
+        awaitPoolSize(pooling, 0);
+        assertEquals(3, pooling.getIdleReleasedThreadsCount());
+        assertTrue(pooling.getNativeMemorySavings() > 0L);
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(0L, pooling.getNativeMemorySavings());
+    }
+
+    @Test
+    public void testColdRestartRunsEveryThread() throws InterruptedException {
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withConcurrentThreadsRunning(2)
+                .withMaximumPoolSize(2)
+                .withScaleToZero(50, TimeUnit.MILLISECONDS)
+                .withPriorityQueue()
+                .build();
+        pooling.start();
+        for (int round = 0; round < 2; ++round) {
+            awaitPoolSize(pooling, 0);
+            CountDownLatch finished = new CountDownLatch(6);
+            pooling.add(finished::countDown);
+            pooling.add(finished::countDown, Thread.MAX_PRIORITY);
+            pooling.add(finished::countDown, finished::countDown, finished::countDown,
+                    finished::countDown);
+            assertTrue(finished.await(10, TimeUnit.SECONDS));
+            assertTrue(pooling.getPoolSize() > 0);
+        }
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(12L, pooling.getCompletedThreadCount());
+    }
+
+    @Test
+    public void testCoreWorkersAreKeptByDefault() throws InterruptedException {
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withConcurrentThreadsRunning(2)
+                .withMaximumPoolSize(2)
+                .withKeepAliveInMilliseconds(10)
+                .build();
+        assertFalse(pooling.isScalingToZero());
+        pooling.start();
+        Thread.sleep(200);
+        assertEquals(2, pooling.getPoolSize());
+        assertEquals(0, pooling.getIdleReleasedThreadsCount());
+        assertEquals(0L, pooling.getNativeMemorySavings());
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+import com.github.javinator9889.threading.pools.ThreadsPooling;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SchedulingPooling {
+    private static final int TIMEOUTS = 200000;
+
+    private static ThreadsPooling newStartedPooling() {
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withQueueCapacity(TIMEOUTS)
+                .withTimerTick(1, TimeUnit.MILLISECONDS)
+                .build();
+        pooling.start();
+        return pooling;
+    }
+
+    @Test
+    public void testDelayedTasksRunInOrderAfterTheirDelay()
+            throws InterruptedException, ExecutionException, TimeoutException {
+        ThreadsPooling pooling = newStartedPooling();
+        long start = System.nanoTime();
+        ScheduledFuture<Long> late = pooling.schedule(System::nanoTime, 300, TimeUnit.MILLISECONDS);
+        ScheduledFuture<Long> early = pooling.schedule(System::nanoTime, 50, TimeUnit.MILLISECONDS);
+        ScheduledFuture<Long> far = pooling.schedule(System::nanoTime, 5, TimeUnit.SECONDS);
+        assertTrue(early.get(1, TimeUnit.MINUTES) - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(late.get(1, TimeUnit.MINUTES) - start >= TimeUnit.MILLISECONDS.toNanos(300));
+        assertTrue(late.get() > early.get());
+        assertTrue(far.get(1, TimeUnit.MINUTES) - start >= TimeUnit.SECONDS.toNanos(5));
+        assertTrue(pooling.shutdownWaitTermination(1, TimeUnit.MINUTES));
+    }
+
+    @Test
+    public void testPeriodicTasks() throws InterruptedException {
+        ThreadsPooling pooling = newStartedPooling();
+        final CountDownLatch fixedRate = new CountDownLatch(10);
+        final CountDownLatch fixedDelay = new CountDownLatch(5);
+        ScheduledFuture<?> rate = pooling.scheduleAtFixedRate(fixedRate::countDown,
+                0, 10, TimeUnit.MILLISECONDS);
+        ScheduledFuture<?> delay = pooling.scheduleWithFixedDelay(fixedDelay::countDown,
+                0, 10, TimeUnit.MILLISECONDS);
+        assertTrue(fixedRate.await(1, TimeUnit.MINUTES));
+        assertTrue(fixedDelay.await(1, TimeUnit.MINUTES));
+        assertTrue(rate.cancel(false));
+        assertTrue(delay.cancel(false));
+        assertTrue(rate.isCancelled());
+        assertTrue(pooling.shutdownWaitTermination(1, TimeUnit.MINUTES));
+    }
+
+    @Test
+    public void testManyTimeoutsAreCancelledOrRun() throws InterruptedException {
+        ThreadsPooling pooling = newStartedPooling();
+        final AtomicInteger executed = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(TIMEOUTS / 2);
+        List<ScheduledFuture<?>> futures = new ArrayList<>(TIMEOUTS);
+        for (int i = 0; i < TIMEOUTS; ++i)
+            futures.add(pooling.schedule(() -> {
+                executed.incrementAndGet();
+                latch.countDown();
+            }, 2000 + (i % 200), TimeUnit.MILLISECONDS));
+        for (int i = 0; i < TIMEOUTS; i += 2)
+            assertTrue(futures.get(i).cancel(false));
+        assertTrue(latch.await(1, TimeUnit.MINUTES));
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertEquals(TIMEOUTS / 2, executed.get());
+        assertTrue(pooling.shutdownWaitTermination(1, TimeUnit.MINUTES));
+    }
+
+    @Test
+    public void testShutdownCancelsPendingTasks() throws InterruptedException {
+        ThreadsPooling pooling = newStartedPooling();
+        ScheduledFuture<?> future = pooling.schedule(() -> fail(), 1, TimeUnit.HOURS);
+        assertTrue(pooling.shutdownWaitTermination(1, TimeUnit.MINUTES));
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (!future.isCancelled() && System.currentTimeMillis() < deadline)
+            TimeUnit.MILLISECONDS.sleep(10);
+        assertTrue(future.isCancelled());
+        try {
+            pooling.schedule(() -> fail(), 1, TimeUnit.MILLISECONDS);
+            fail();
+        } catch (RejectedExecutionException ignored) {
+        }
+    }
+}
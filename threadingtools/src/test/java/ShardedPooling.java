@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+import com.github.javinator9889.threading.pools.ShardedThreadsPooling;
+import com.github.javinator9889.threading.pools.ThreadsPooling;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ShardedPooling {
+    @Test
+    public void testLessLoadedShardIsChosen() throws InterruptedException {
+        ShardedThreadsPooling pooling = ThreadsPooling.builder()
+                .withConcurrentThreadsRunning(1)
+                .withMaximumPoolSize(1)
+                .buildSharded(2);
+        pooling.start();
+        CountDownLatch release = new CountDownLatch(1);
+        ThreadsPooling busyShard = pooling.getShards().get(0);
+        block(busyShard, release);
+        for (int i = 0; i < 20; ++i)
+            busyShard.add(() -> {
+            });
+        CountDownLatch finished = new CountDownLatch(10);
+        for (int i = 0; i < 10; ++i)
+            pooling.add(finished::countDown);
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals(20, busyShard.getWorkingThreadsQueue().size());
+        release.countDown();
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(pooling.isShutdown());
+        assertEquals(31L, pooling.getCompletedThreadCount());
+    }
+
+    @Test
+    public void testIdleShardStealsFromNeighbour() throws InterruptedException {
+        ShardedThreadsPooling pooling = ThreadsPooling.builder()
+                .withConcurrentThreadsRunning(1)
+                .withMaximumPoolSize(1)
+                .withNeighbourStealing(1, TimeUnit.MILLISECONDS)
+                .buildSharded(2);
+        pooling.start();
+        CountDownLatch release = new CountDownLatch(1);
+        block(pooling.getShards().get(0), release);
+        // the blocking thread itself may have been stolen by the other shard
+        int busy = (pooling.getShards().get(0).getActiveThreadsCount() == 1) ? 0 : 1;
+        ThreadsPooling busyShard = pooling.getShards().get(busy);
+        CountDownLatch finished = new CountDownLatch(3);
+        for (int i = 0; i < 3; ++i)
+            busyShard.add(finished::countDown);
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals(0, pooling.getQueuedThreadsCount());
+        release.countDown();
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(1L, busyShard.getCompletedThreadCount());
+        assertEquals(3L, pooling.getShards().get(1 - busy).getCompletedThreadCount());
+    }
+
+    @Test
+    public void testShardsConfiguration() throws InterruptedException {
+        Runnable thread = () -> {
+        };
+        ShardedThreadsPooling pooling = ThreadsPooling.builder()
+                .withName("sharded")
+                .withThreads(thread, thread, thread, thread, thread)
+                .buildSharded(3);
+        assertEquals("sharded", pooling.getName());
+        assertEquals(3, pooling.getShardCount());
+        List<ThreadsPooling> shards = pooling.getShards();
+        assertEquals("sharded-0", shards.get(0).getName());
+        assertEquals("sharded-2", shards.get(2).getName());
+        assertEquals(2, shards.get(0).getWorkingThreadsQueue().size());
+        assertEquals(2, shards.get(1).getWorkingThreadsQueue().size());
+        assertEquals(1, shards.get(2).getWorkingThreadsQueue().size());
+        assertEquals(5, pooling.getQueuedThreadsCount());
+        pooling.start();
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(5L, pooling.getCompletedThreadCount());
+        try {
+            ThreadsPooling.builder().buildSharded(0);
+            fail("Zero shards must not be allowed");
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    private static void block(ThreadsPooling shard, CountDownLatch release)
+            throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        shard.add(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+    }
+}
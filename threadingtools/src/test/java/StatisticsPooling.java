@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+import com.github.javinator9889.threading.pools.ThreadsPooling;
+import com.github.javinator9889.threading.pools.statistics.HistogramSnapshot;
+import com.github.javinator9889.threading.pools.statistics.LatencyHistogram;
+import com.github.javinator9889.threading.pools.statistics.PoolStatistics;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class StatisticsPooling {
+    private static final int TASKS = 200;
+
+    @Test
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100000; ++value)
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(value));
+        HistogramSnapshot snapshot = histogram.getSnapshot(false);
+        assertEquals(100000, snapshot.getCount());
+        assertEquals(100000, snapshot.getMaximum(TimeUnit.MICROSECONDS));
+        assertEquals(50000.5, snapshot.getMean(TimeUnit.MICROSECONDS), 0.01);
+        for (double percentile : new double[]{1, 25, 50, 90, 99, 99.9}) {
+            double expected = percentile * 1000;
+            double actual = snapshot.getValueAtPercentile(percentile, TimeUnit.MICROSECONDS);
+            assertTrue(percentile + "th percentile is " + actual,
+                    actual >= expected - 1 && actual <= expected * (1 + 1D / 16));
+        }
+        assertEquals(100000, snapshot.getValueAtPercentile(100, TimeUnit.MICROSECONDS));
+        LatencyHistogram smallValues = new LatencyHistogram();
+        for (long value = 0; value < 32; ++value)
+            smallValues.record(value);
+        assertEquals(15, smallValues.getSnapshot(false)
+                .getValueAtPercentile(50, TimeUnit.NANOSECONDS));
+        assertEquals(100000, histogram.getSnapshot(true).getCount());
+        assertEquals(0, histogram.getSnapshot(false).getCount());
+        assertEquals(0, histogram.getSnapshot(false).getValueAtPercentile(99, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testPoolLatencies() throws InterruptedException {
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withConcurrentThreadsRunning(2)
+                .withMaximumPoolSize(2)
+                .withQueueCapacity(TASKS)
+                .withStatistics()
+                .build();
+        assertTrue(pooling.isRecordingStatistics());
+        for (int i = 0; i < TASKS; ++i)
+            pooling.add(() -> sleep(1));
+        pooling.start();
+        assertTrue(pooling.shutdownWaitTermination(30, TimeUnit.SECONDS));
+        PoolStatistics statistics = pooling.getStatistics(true);
+        System.out.println(statistics);
+        assertEquals(TASKS, statistics.getCompletedTasks());
+        assertTrue(statistics.getThroughput() > 0);
+        HistogramSnapshot execution = statistics.getExecution();
+        HistogramSnapshot queueWait = statistics.getQueueWait();
+        HistogramSnapshot endToEnd = statistics.getEndToEnd();
+        assertTrue(execution.getValueAtPercentile(50, TimeUnit.MICROSECONDS) >= 1000);
+        // tasks were added before starting the pool, so most of them waited for the rest
+        assertTrue(queueWait.getValueAtPercentile(99, TimeUnit.MICROSECONDS) >
+                execution.getValueAtPercentile(99, TimeUnit.MICROSECONDS));
+        assertTrue(endToEnd.getMaximum(TimeUnit.NANOSECONDS) >=
+                queueWait.getMaximum(TimeUnit.NANOSECONDS));
+        assertEquals(0, pooling.getStatistics().getCompletedTasks());
+    }
+
+    @Test
+    public void testOriginalThreadsLeaveThePool() {
+        final List<Runnable> rejected = new CopyOnWriteArrayList<>();
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withQueueCapacity(2)
+                .withStatistics()
+                .withRejectedExecutionHandler((thread, executor) -> rejected.add(thread))
+                .build();
+        Runnable first = () -> {
+        };
+        Runnable second = () -> {
+        };
+        Runnable third = () -> {
+        };
+        pooling.add(first, second, third);
+        assertEquals(Arrays.asList(third), rejected);
+        assertEquals(Arrays.asList(first, second), pooling.shutdownImmediately());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testStatisticsMustBeEnabled() {
+        ThreadsPooling pooling = ThreadsPooling.builder().build();
+        assertFalse(pooling.isRecordingStatistics());
+        pooling.getStatistics();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+import com.github.javinator9889.threading.pools.SubPool;
+import com.github.javinator9889.threading.pools.ThreadsPooling;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+import static org.junit.Assert.*;
+
+public class SubPools {
+    private static ThreadsPooling newPooling(int workers) {
+        return ThreadsPooling.builder()
+                .withConcurrentThreadsRunning(workers)
+                .withMaximumPoolSize(workers)
+                .build();
+    }
+
+    private static void await(IntSupplier value, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (value.getAsInt() != expected && System.nanoTime() < deadline)
+            Thread.sleep(5);
+        assertEquals(expected, value.getAsInt());
+    }
+
+    @Test
+    public void testMaximumConcurrency() throws InterruptedException {
+        ThreadsPooling pooling = newPooling(4);
+        SubPool subPool = pooling.subPool("limited")
+                .withMaximumConcurrency(2)
+                .build();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch finished = new CountDownLatch(10);
+        pooling.start();
+        for (int i = 0; i < 10; ++i)
+            subPool.add(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException ignored) {
+                }
+                running.decrementAndGet();
+                finished.countDown();
+            });
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        assertTrue(peak.get() <= 2);
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(10L, subPool.getCompletedThreadCount());
+    }
+
+    @Test
+    public void testOnlyIdleCapacityIsBorrowed() throws InterruptedException {
+        ThreadsPooling pooling = newPooling(6);
+        SubPool first = pooling.subPool("first")
+                .withMinimumConcurrency(2)
+                .build();
+        SubPool second = pooling.subPool("second")
+                .withMinimumConcurrency(2)
+                .build();
+        Semaphore firstPermits = new Semaphore(0);
+        Semaphore secondPermits = new Semaphore(0);
+        pooling.start();
+        for (int i = 0; i < 8; ++i)
+            first.add(firstPermits::acquireUninterruptibly);
+        await(first::getActiveThreadsCount, 4);
+        assertEquals(4, first.getQueuedThreadsCount());
+        second.add(secondPermits::acquireUninterruptibly, secondPermits::acquireUninterruptibly);
+        assertEquals(2, second.getActiveThreadsCount());
+        assertEquals(0, second.getQueuedThreadsCount());
+        firstPermits.release(2);
+        await(first::getQueuedThreadsCount, 2);
+        assertEquals(4, first.getActiveThreadsCount());
+        firstPermits.release(6);
+        secondPermits.release(2);
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(8L, first.getCompletedThreadCount());
+        assertEquals(2L, second.getCompletedThreadCount());
+    }
+
+    @Test
+    public void testOwnRejectedExecutionHandler() {
+        ThreadsPooling pooling = newPooling(1);
+        List<Runnable> rejected = new ArrayList<>();
+        SubPool subPool = pooling.subPool("bounded")
+                .withQueueCapacity(1)
+                .withRejectedExecutionHandler((thread, executor) -> rejected.add(thread))
+                .build();
+        Runnable last = () -> {
+        };
+        subPool.add(() -> {
+        }, () -> {
+        }, last);
+        assertEquals(1, subPool.getActiveThreadsCount());
+        assertEquals(1, subPool.getQueuedThreadsCount());
+        assertEquals(1L, subPool.getRejectedThreadCount());
+        assertEquals(1, rejected.size());
+        assertSame(last, rejected.get(0));
+        assertEquals(0L, pooling.getRejectedThreadCount());
+        pooling.shutdownImmediately();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGuaranteedWorkersCannotExceedPool() {
+        ThreadsPooling pooling = newPooling(2);
+        try {
+            pooling.subPool("first").withMinimumConcurrency(2).build();
+            pooling.subPool("second").withMinimumConcurrency(1).build();
+        } finally {
+            pooling.shutdownImmediately();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+import com.github.javinator9889.threading.pools.TaskGraph;
+import com.github.javinator9889.threading.pools.ThreadsPooling;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class TaskGraphPooling {
+    @Test
+    public void testNodesRunAfterTheirDependencies() throws Exception {
+        ThreadsPooling pooling = ThreadsPooling.builder().build();
+        pooling.start();
+        final AtomicInteger sequence = new AtomicInteger();
+        final ConcurrentHashMap<String, Integer> order = new ConcurrentHashMap<>();
+        TaskGraph graph = pooling.graph()
+                .add("index", () -> order.put("index", sequence.incrementAndGet()), "parse")
+                .add("load", () -> order.put("load", sequence.incrementAndGet()))
+                .add("parse", () -> order.put("parse", sequence.incrementAndGet()), "load")
+                .add("thumbnails", () -> order.put("thumbnails", sequence.incrementAndGet()),
+                        "load")
+                .add("publish", () -> order.put("publish", sequence.incrementAndGet()),
+                        "index", "thumbnails")
+                .build();
+        for (int execution = 0; execution < 10; ++execution) {
+            order.clear();
+            graph.execute().get(10, TimeUnit.SECONDS);
+            assertEquals(5, order.size());
+            assertTrue(order.get("load") < order.get("parse"));
+            assertTrue(order.get("load") < order.get("thumbnails"));
+            assertTrue(order.get("parse") < order.get("index"));
+            assertTrue(order.get("index") < order.get("publish"));
+            assertTrue(order.get("thumbnails") < order.get("publish"));
+        }
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFailureSkipsDependents() throws Exception {
+        ThreadsPooling pooling = ThreadsPooling.builder().build();
+        pooling.start();
+        final List<String> completed = new CopyOnWriteArrayList<>();
+        TaskGraph graph = pooling.graph()
+                .add("load", () -> completed.add("load"))
+                .add("parse", () -> {
+                    throw new IllegalStateException("Malformed input");
+                }, "load")
+                .add("index", () -> completed.add("index"), "parse")
+                .add("publish", () -> completed.add("publish"), "index", "thumbnails")
+                .add("thumbnails", () -> completed.add("thumbnails"), "load")
+                .build();
+        CompletableFuture<Void> future = graph.execute();
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            fail("The failure must complete the graph exceptionally");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+            assertEquals("Malformed input", e.getCause().getMessage());
+        }
+        assertTrue(completed.contains("load"));
+        assertTrue(completed.contains("thumbnails"));
+        assertFalse(completed.contains("index"));
+        assertFalse(completed.contains("publish"));
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCriticalPathIsDispatchedFirst() throws Exception {
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withConcurrentThreadsRunning(1)
+                .withMaximumPoolSize(1)
+                .withPriorityQueue()
+                .build();
+        pooling.start();
+        final List<String> order = new CopyOnWriteArrayList<>();
+        TaskGraph graph = pooling.graph()
+                .add("start", () -> order.add("start"))
+                .add("short", 1, () -> order.add("short"), "start")
+                .add("long", 3, () -> order.add("long"), "start")
+                .add("tail", 5, () -> order.add("tail"), "short")
+                .build();
+        assertEquals(Arrays.asList("start", "short", "tail"), graph.getCriticalPath());
+        assertEquals(7, graph.getRank("start"));
+        assertEquals(6, graph.getRank("short"));
+        graph.execute().get(10, TimeUnit.SECONDS);
+        // "tail" is queued after "long", but it overtakes it as it is on the critical path
+        assertEquals(Arrays.asList("start", "short", "tail", "long"), order);
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testRejectedNodesFailTheExecution() throws Exception {
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withQueueCapacity(1)
+                .withRejectedExecutionHandler(ThreadsPooling.NO_ACTION_ON_REJECTED_HANDLER)
+                .build();
+        final List<String> completed = new CopyOnWriteArrayList<>();
+        TaskGraph graph = pooling.graph()
+                .add("load", () -> completed.add("load"))
+                .add("fetch", () -> completed.add("fetch"))
+                .add("parse", () -> completed.add("parse"), "fetch")
+                .build();
+        // the pool is not started, so "load" - dispatched after "fetch", which has a higher
+        // rank - does not fit at the queue and is discarded
+        CompletableFuture<Void> future = graph.execute();
+        pooling.start();
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            fail("The rejected node must complete the graph exceptionally");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+        assertEquals(Arrays.asList("fetch", "parse"), completed);
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testInvalidGraphs() {
+        ThreadsPooling pooling = ThreadsPooling.builder().build();
+        Runnable task = () -> {
+        };
+        try {
+            pooling.graph().add("a", task, "b").add("b", task, "a").build();
+            fail("Cycles must be rejected");
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            pooling.graph().add("a", task, "missing").build();
+            fail("Missing dependencies must be rejected");
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            pooling.graph().add("a", task).add("a", task);
+            fail("Duplicated nodes must be rejected");
+        } catch (IllegalArgumentException ignored) {
+        }
+        assertTrue(pooling.graph().build().execute().isDone());
+        pooling.shutdownNotWaiting();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+import com.github.javinator9889.threading.pools.ThreadsPooling;
+import com.github.javinator9889.threading.threads.VirtualThreads;
+import com.github.javinator9889.threading.threads.notifyingthread.NotifyingThread;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+public class VirtualThreadsPooling {
+    private static final int BLOCKING_TASKS = 1000;
+
+    @Before
+    public void before() {
+        assumeTrue("Virtual threads require Java 21", VirtualThreads.isSupported());
+    }
+
+    @Test
+    public void testBlockingTasksWithoutLimit() throws InterruptedException {
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withVirtualThreads()
+                .build();
+        final CountDownLatch latch = new CountDownLatch(BLOCKING_TASKS);
+        long start = System.nanoTime();
+        for (int i = 0; i < BLOCKING_TASKS; ++i)
+            pooling.add(() -> {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(500);
+                } catch (InterruptedException ignored) {
+                }
+                assertTrue(VirtualThreads.isVirtual(Thread.currentThread()));
+                latch.countDown();
+            });
+        assertTrue(latch.await(1, TimeUnit.MINUTES));
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        System.out.println(BLOCKING_TASKS + " blocking tasks finished in " + elapsed + " ms");
+        assertTrue(elapsed < TimeUnit.SECONDS.toMillis(10));
+        assertTrue(pooling.shutdownWaitTermination(1, TimeUnit.MINUTES));
+    }
+
+    @Test
+    public void testConcurrencyLimitAndRejectedHandler() throws InterruptedException {
+        final AtomicInteger rejected = new AtomicInteger();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        ThreadsPooling pooling = ThreadsPooling.builder()
+                .withVirtualThreads(2)
+                .withQueueCapacity(3)
+                .withRejectedExecutionHandler((thread, executor) -> rejected.incrementAndGet())
+                .build();
+        for (int i = 0; i < 10; ++i)
+            pooling.add(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(200);
+                } catch (InterruptedException ignored) {
+                }
+                running.decrementAndGet();
+            });
+        assertEquals(5, rejected.get());
+        assertTrue(pooling.shutdownWaitTermination(1, TimeUnit.MINUTES));
+        assertEquals(2, maxRunning.get());
+    }
+
+    @Test
+    public void testNotifyingThreadOnVirtualThread() throws InterruptedException {
+        final AtomicReference<Thread> notified = new AtomicReference<>();
+        final AtomicReference<Boolean> ranOnVirtualThread = new AtomicReference<>();
+        NotifyingThread thread = new NotifyingThread("virtual-notifying-thread",
+                (finishedThread, exception) -> notified.set(finishedThread));
+        thread.setExecutable(() ->
+                ranOnVirtualThread.set(VirtualThreads.isVirtual(Thread.currentThread())));
+        thread.startVirtual().join();
+        assertSame(thread, notified.get());
+        assertTrue(ranOnVirtualThread.get());
+    }
+}
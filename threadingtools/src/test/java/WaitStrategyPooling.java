@@ -0,0 +1,166 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+import com.github.javinator9889.threading.pools.ThreadsPooling;
+import com.github.javinator9889.threading.pools.queues.RingBufferBlockingQueue;
+import com.github.javinator9889.threading.pools.queues.SpinningLinkedBlockingQueue;
+import com.github.javinator9889.threading.pools.queues.WaitStrategy;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.Assert.*;
+
+public class WaitStrategyPooling {
+    private static final int TASKS = 20000;
+    private static final int HANDOFFS = 2000;
+    private static final long HANDOFF_GAP = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final List<WaitStrategy> STRATEGIES = Arrays.asList(
+            WaitStrategy.blocking(),
+            WaitStrategy.spinThenPark(WaitStrategy.DEFAULT_SPINS, WaitStrategy.DEFAULT_YIELDS),
+            WaitStrategy.spinThenYield(WaitStrategy.DEFAULT_SPINS),
+            WaitStrategy.busySpin());
+
+    @Test
+    public void testAllStrategiesAndQueues() throws InterruptedException {
+        for (WaitStrategy waitStrategy : STRATEGIES) {
+            runTasks(ThreadsPooling.builder().withWaitStrategy(waitStrategy), waitStrategy);
+            runTasks(ThreadsPooling.builder()
+                    .withWaitStrategy(waitStrategy)
+                    .withRingBufferQueue(), waitStrategy);
+            runTasks(ThreadsPooling.builder()
+                    .withWaitStrategy(waitStrategy)
+                    .withWorkStealing(), waitStrategy);
+        }
+    }
+
+    @Test
+    public void testTimedPollAndInterruption() throws InterruptedException {
+        for (WaitStrategy waitStrategy : STRATEGIES) {
+            RingBufferBlockingQueue<Runnable> ring = new RingBufferBlockingQueue<>(16);
+            ring.setWaitStrategy(waitStrategy);
+            List<BlockingQueue<Runnable>> queues = Arrays.asList(ring,
+                    new SpinningLinkedBlockingQueue<>(16, waitStrategy));
+            for (final BlockingQueue<Runnable> queue : queues) {
+                long start = System.nanoTime();
+                assertNull(queue.poll(100, TimeUnit.MILLISECONDS));
+                long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                assertTrue(waitStrategy + " waited " + elapsed, elapsed >= 90);
+                final AtomicBoolean interrupted = new AtomicBoolean();
+                Thread consumer = new Thread(() -> {
+                    try {
+                        queue.take();
+                    } catch (InterruptedException ignored) {
+                        interrupted.set(true);
+                    }
+                });
+                consumer.start();
+                TimeUnit.MILLISECONDS.sleep(50);
+                consumer.interrupt();
+                consumer.join(TimeUnit.SECONDS.toMillis(10));
+                assertTrue(waitStrategy.toString(), interrupted.get());
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSpins() {
+        WaitStrategy.spinThenPark(-1, 0);
+    }
+
+    @Test
+    public void testLatencyAndCpuTradeoff() throws InterruptedException {
+        System.out.println(String.format("%-40s %10s %10s %12s", "Strategy", "p50 (us)",
+                "p99 (us)", "CPU (ms)"));
+        for (WaitStrategy waitStrategy : STRATEGIES) {
+            final List<Thread> workers = new CopyOnWriteArrayList<>();
+            ThreadFactory threadFactory = runnable -> {
+                Thread worker = new Thread(runnable);
+                worker.setDaemon(true);
+                workers.add(worker);
+                return worker;
+            };
+            ThreadsPooling pooling = ThreadsPooling.builder()
+                    .withConcurrentThreadsRunning(2)
+                    .withMaximumPoolSize(2)
+                    .withThreadFactory(threadFactory)
+                    .withWaitStrategy(waitStrategy)
+                    .build();
+            pooling.start();
+            final long[] latencies = new long[HANDOFFS];
+            final AtomicLong addedAt = new AtomicLong();
+            ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+            long cpuStart = workersCpuTime(threadMXBean, workers);
+            for (int i = 0; i < HANDOFFS; ++i) {
+                final int index = i;
+                final CountDownLatch done = new CountDownLatch(1);
+                addedAt.set(System.nanoTime());
+                pooling.add(() -> {
+                    latencies[index] = System.nanoTime() - addedAt.get();
+                    done.countDown();
+                });
+                assertTrue(done.await(10, TimeUnit.SECONDS));
+                LockSupport.parkNanos(HANDOFF_GAP);
+            }
+            long cpuTime = workersCpuTime(threadMXBean, workers) - cpuStart;
+            Arrays.sort(latencies);
+            System.out.println(String.format("%-40s %10.1f %10.1f %12d",
+                    waitStrategy,
+                    latencies[HANDOFFS / 2] / 1000D,
+                    latencies[HANDOFFS * 99 / 100] / 1000D,
+                    TimeUnit.NANOSECONDS.toMillis(cpuTime)));
+            assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    private static long workersCpuTime(ThreadMXBean threadMXBean, List<Thread> workers) {
+        long cpuTime = 0L;
+        for (Thread worker : workers)
+            cpuTime += Math.max(0L, threadMXBean.getThreadCpuTime(worker.getId()));
+        return cpuTime;
+    }
+
+    private static void runTasks(ThreadsPooling.Builder builder, WaitStrategy waitStrategy)
+            throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(TASKS);
+        final AtomicInteger executed = new AtomicInteger();
+        ThreadsPooling pooling = builder.withQueueCapacity(TASKS).build();
+        pooling.start();
+        for (int i = 0; i < TASKS; ++i)
+            pooling.add(() -> {
+                executed.incrementAndGet();
+                latch.countDown();
+            });
+        assertTrue(waitStrategy.toString(), latch.await(30, TimeUnit.SECONDS));
+        assertEquals(TASKS, executed.get());
+        assertTrue(pooling.shutdownWaitTermination(10, TimeUnit.SECONDS));
+    }
+}
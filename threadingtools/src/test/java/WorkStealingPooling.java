@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2018 - present | ThreadingTools by Javinator9889
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see https://www.gnu.org/licenses/.
+ *
+ * Created by Javinator9889 on 18/10/2026 - ThreadingTools.
+ */
+
+import com.github.javinator9889.threading.pools.ThreadsPooling;
+import com.github.javinator9889.threading.pools.queues.WorkStealingBlockingQueue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class WorkStealingPooling {
+    private static final int DEPTH = 12;
+    private ThreadsPooling mThreadsPooling;
+
+    @Before
+    public void before() {
+        mThreadsPooling = ThreadsPooling.builder()
+                .withWorkStealing()
+                .withQueueCapacity(1 << (DEPTH + 1))
+                .build();
+    }
+
+    private Runnable split(final int depth, final CountDownLatch leaves,
+                           final AtomicInteger nestedOnSameThread) {
+        final Thread parent = Thread.currentThread();
+        return () -> {
+            if (Thread.currentThread() == parent)
+                nestedOnSameThread.incrementAndGet();
+            if (depth == 0)
+                leaves.countDown();
+            else {
+                mThreadsPooling.add(split(depth - 1, leaves, nestedOnSameThread));
+                mThreadsPooling.add(split(depth - 1, leaves, nestedOnSameThread));
+            }
+        };
+    }
+
+    @Test
+    public void testNestedSubmissions() throws InterruptedException {
+        CountDownLatch leaves = new CountDownLatch(1 << DEPTH);
+        AtomicInteger nestedOnSameThread = new AtomicInteger();
+        mThreadsPooling.add(split(DEPTH, leaves, nestedOnSameThread));
+        mThreadsPooling.start();
+        assertTrue(leaves.await(1, TimeUnit.MINUTES));
+        assertTrue(nestedOnSameThread.get() > 0);
+        WorkStealingBlockingQueue<?> queue =
+                (WorkStealingBlockingQueue<?>) mThreadsPooling.getWorkingThreadsQueue();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (queue.getWorkersCount() < ThreadsPooling.DEFAULT_CORE_THREADS &&
+                System.nanoTime() < deadline)
+            TimeUnit.MILLISECONDS.sleep(10);
+        assertEquals(ThreadsPooling.DEFAULT_CORE_THREADS, queue.getWorkersCount());
+        System.out.println("Nested tasks run by their parent worker: " + nestedOnSameThread);
+    }
+
+    @Test
+    public void testUpdateConcurrentThreads() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(50);
+        for (int i = 0; i < 50; ++i)
+            mThreadsPooling.add(latch::countDown);
+        mThreadsPooling.start();
+        mThreadsPooling.updateConcurrentThreadsRunning(6);
+        assertTrue(latch.await(1, TimeUnit.MINUTES));
+    }
+
+    @After
+    public void after() throws InterruptedException {
+        assertTrue(mThreadsPooling.shutdownWaitTermination(1, TimeUnit.MINUTES));
+    }
+}